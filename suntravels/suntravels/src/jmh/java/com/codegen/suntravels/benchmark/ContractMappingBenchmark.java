@@ -0,0 +1,70 @@
+package com.codegen.suntravels.benchmark;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.repository.CatalogListingRepository;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import com.codegen.suntravels.service.ContractService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the DTO assembly of {@link ContractService#getAllContracts()}, i.e. attaching the room type
+ * projections to the contract projections, over stand-in repositories holding synthetic contracts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ContractMappingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int roomTypes;
+
+    private ContractService contractService;
+
+    @Setup
+    public void setUp() {
+        List<Contract> contracts = SyntheticCatalog.contracts(roomTypes);
+        List<ContractDTO> contractDTOs = contracts.stream()
+                .map(c -> new ContractDTO(c.getId(), c.getHotel().getId(), c.getHotel().getName(), c.getStartDate(),
+                        c.getEndDate(), c.getMarkupPercentage()))
+                .toList();
+        List<RoomTypeDTO> roomTypeDTOs = contracts.stream()
+                .flatMap(c -> c.getRoomTypes().stream())
+                .map(rt -> new RoomTypeDTO(rt.getId(), rt.getName(), rt.getContract().getId(),
+                        rt.getPricePerPersonCents(), rt.getNumberOfRooms(), rt.getMaxAdults()))
+                .toList();
+
+        contractService = new ContractService(
+                SyntheticCatalog.repository(ContractRepository.class, Map.of("findAllContractDTOs", contractDTOs)),
+                SyntheticCatalog.repository(HotelRepository.class, Map.of()),
+                SyntheticCatalog.repository(RoomTypeRepository.class, Map.of("findAllRoomTypeDTOs", roomTypeDTOs)),
+                new CatalogListingRepository(0),
+                event -> {
+                });
+    }
+
+    @Benchmark
+    public List<ContractDTO> getAllContracts() {
+        return contractService.getAllContracts();
+    }
+}
@@ -0,0 +1,91 @@
+package com.codegen.suntravels.benchmark;
+
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.RoomAllocationRepository;
+import com.codegen.suntravels.repository.SearchOfferRepository;
+import com.codegen.suntravels.service.AvailabilityIndex;
+import com.codegen.suntravels.service.InventoryLedger;
+import com.codegen.suntravels.service.SearchMetrics;
+import com.codegen.suntravels.service.SearchResultCache;
+import com.codegen.suntravels.service.SearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SearchService#searchAvailableRooms(SearchRequestDTO, Pageable)} against synthetic
+ * contract sets held by the {@link AvailabilityIndex}, so only the in-memory lookup, the availability
+ * checks against the {@link InventoryLedger}, the room assignment and the pricing are measured.
+ * The result cache is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int roomTypes;
+
+    private SearchService searchService;
+    private SearchRequestDTO searchRequest;
+
+    @Setup
+    public void setUp() {
+        List<Contract> contracts = SyntheticCatalog.contracts(roomTypes);
+        ContractRepository contractRepository = SyntheticCatalog.repository(ContractRepository.class,
+                Map.of("findAllWithHotelAndRoomTypes", contracts));
+
+        AvailabilityIndex availabilityIndex = new AvailabilityIndex(contractRepository, true);
+        availabilityIndex.rebuild();
+        InventoryLedger inventoryLedger = new InventoryLedger(contractRepository,
+                SyntheticCatalog.repository(RoomAllocationRepository.class, Map.of()));
+        inventoryLedger.rebuild();
+
+        searchService = new SearchService(SyntheticCatalog.repository(SearchOfferRepository.class, Map.of()), availabilityIndex, inventoryLedger,
+                new SearchResultCache(false, 0, Duration.ZERO), null, new SearchMetrics(new SimpleMeterRegistry()));
+
+        // A stay in the middle of the generated contract periods, for a double and a triple room
+        searchRequest = new SearchRequestDTO(SyntheticCatalog.FIRST_START_DATE.plusDays(SyntheticCatalog.START_DAYS / 2), 3,
+                List.of(new RoomRequestDTO(2, 1), new RoomRequestDTO(3, 1)));
+    }
+
+    /**
+     * A page of 20 results, as requested by the search screen.
+     */
+    @Benchmark
+    public Page<SearchResultDTO> searchFirstPage() {
+        return searchService.searchAvailableRooms(searchRequest, PageRequest.of(0, 20));
+    }
+
+    /**
+     * Every contract covering the stay, to measure the pricing and availability logic over the whole set.
+     */
+    @Benchmark
+    public Page<SearchResultDTO> searchUnpaged() {
+        return searchService.searchAvailableRooms(searchRequest, Pageable.unpaged());
+    }
+}
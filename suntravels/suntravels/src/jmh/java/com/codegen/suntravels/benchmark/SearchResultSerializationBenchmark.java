@@ -0,0 +1,77 @@
+package com.codegen.suntravels.benchmark;
+
+import com.codegen.suntravels.dto.AssignedRoomDTO;
+import com.codegen.suntravels.dto.RoomTypeResultDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Jackson serialization of a page of {@link SearchResultDTO}s, as written by the
+ * search endpoint. The object mapper is configured the way Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<SearchResultDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<SearchResultDTO> results = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            results.add(searchResult(i));
+        }
+        page = new PageImpl<>(results, PageRequest.of(0, pageSize), 10L * pageSize);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    /**
+     * A result for a double and a triple room, with the four room types of the synthetic contracts.
+     */
+    private static SearchResultDTO searchResult(int i) {
+        List<RoomTypeResultDTO> roomTypes = new ArrayList<>();
+        for (int adults = 1; adults <= SyntheticCatalog.ROOM_TYPES_PER_CONTRACT; adults++) {
+            long priceCents = adults >= 3 ? 3L * adults * (5_000 + i) : 0L;
+            roomTypes.add(new RoomTypeResultDTO((long) i * 4 + adults, adults + " Adult Room", priceCents / 100.0,
+                    priceCents, adults >= 3, adults, 10));
+        }
+        List<AssignedRoomDTO> assignedRooms = List.of(
+                new AssignedRoomDTO((long) i * 4 + 2, "2 Adult Room", 2, 2, 300.0, 30_000L),
+                new AssignedRoomDTO((long) i * 4 + 3, "3 Adult Room", 3, 3, 450.0, 45_000L));
+        return new SearchResultDTO("Hotel " + i, roomTypes, assignedRooms, 750.0, 75_000L);
+    }
+}
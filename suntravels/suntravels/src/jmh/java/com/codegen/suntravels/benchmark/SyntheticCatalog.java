@@ -0,0 +1,105 @@
+package com.codegen.suntravels.benchmark;
+
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic contracts for the benchmarks and stands in for the Spring Data repositories,
+ * so the services can be benchmarked without a database.
+ *
+ * <p>Every contract has {@value #ROOM_TYPES_PER_CONTRACT} room types taking one to four adults and
+ * lasts {@value #CONTRACT_DAYS} days. Contract start dates are spread over {@value #START_DAYS} days
+ * from {@link #FIRST_START_DATE}, so a stay in the middle of that range is covered by about a fifth
+ * of the contracts.</p>
+ */
+final class SyntheticCatalog {
+
+    static final int ROOM_TYPES_PER_CONTRACT = 4;
+    static final int CONTRACT_DAYS = 60;
+    static final int START_DAYS = 300;
+    static final LocalDate FIRST_START_DATE = LocalDate.of(2026, 1, 1);
+
+    private static final String[] ROOM_NAMES = {"Single Room", "Double Room", "Triple Room", "Family Room"};
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * Generates contracts, with their hotels and room types, holding the given number of room types in total.
+     * The same seed always generates the same contracts.
+     *
+     * @param roomTypes the total number of room types
+     * @return the contracts, each with its own hotel
+     */
+    static List<Contract> contracts(int roomTypes) {
+        Random random = new Random(42);
+        int count = Math.max(roomTypes / ROOM_TYPES_PER_CONTRACT, 1);
+        List<Contract> contracts = new ArrayList<>(count);
+        long roomTypeId = 1;
+        for (int i = 0; i < count; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setId((long) i + 1);
+            hotel.setName("Hotel " + (i + 1));
+            hotel.setLocation("Location " + (i % 100));
+
+            Contract contract = new Contract();
+            contract.setId((long) i + 1);
+            contract.setHotel(hotel);
+            contract.setStartDate(FIRST_START_DATE.plusDays(i % START_DAYS));
+            contract.setEndDate(contract.getStartDate().plusDays(CONTRACT_DAYS));
+            contract.setMarkupPercentage(5.0 + random.nextInt(20));
+
+            List<RoomType> contractRoomTypes = new ArrayList<>(ROOM_TYPES_PER_CONTRACT);
+            for (int adults = 1; adults <= ROOM_TYPES_PER_CONTRACT; adults++) {
+                RoomType roomType = new RoomType();
+                roomType.setId(roomTypeId++);
+                roomType.setName(ROOM_NAMES[adults - 1]);
+                roomType.setContract(contract);
+                roomType.setPricePerPersonCents(2_000L + random.nextInt(20_000));
+                roomType.setNumberOfRooms(1 + random.nextInt(20));
+                roomType.setMaxAdults(adults);
+                contractRoomTypes.add(roomType);
+            }
+            contract.setRoomTypes(contractRoomTypes);
+            contracts.add(contract);
+        }
+        return contracts;
+    }
+
+    /**
+     * Creates a stand-in for a repository interface. The methods named in {@code answers} return the
+     * mapped value, any other method returns an empty list if it returns a list and fails otherwise.
+     *
+     * @param repositoryType the repository interface
+     * @param answers        the return value of each stubbed method, by method name
+     * @return the stand-in repository
+     */
+    static <T> T repository(Class<T> repositoryType, Map<String, Object> answers) {
+        Object stub = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (answers.containsKey(method.getName())) {
+                        return answers.get(method.getName());
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> proxy == args[0];
+                            case "hashCode" -> System.identityHashCode(proxy);
+                            default -> repositoryType.getSimpleName() + " stand-in";
+                        };
+                    }
+                    if (method.getReturnType() == List.class) {
+                        return List.of();
+                    }
+                    throw new UnsupportedOperationException(method.getName() + " is not available in benchmarks");
+                });
+        return repositoryType.cast(stub);
+    }
+}
@@ -0,0 +1,88 @@
+package com.codegen.suntravels.config;
+
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+
+/**
+ * Tag values shared by the application's own meters.
+ *
+ * <p>Result sizes are tagged by order of magnitude rather than by count, to keep the number of time
+ * series bounded: {@code 0}, {@code 1}, {@code 2-10}, {@code 11-100}, {@code 101-1000} and {@code >1000}.</p>
+ */
+public final class MetricTags {
+
+    /**
+     * The endpoint tag of work done outside of a request, or on a thread the request was handed off from.
+     */
+    public static final String NO_ENDPOINT = "none";
+
+    /**
+     * The result size tag of methods that do not return a collection.
+     */
+    public static final String NOT_A_COLLECTION = "n/a";
+
+    private MetricTags() {
+    }
+
+    /**
+     * Returns the endpoint handling the current request, as its HTTP method and URI template,
+     * e.g. {@code POST /api/search}.
+     *
+     * @return the endpoint, or {@value #NO_ENDPOINT} if the current thread is not handling a request
+     */
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NO_ENDPOINT;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : NO_ENDPOINT;
+    }
+
+    /**
+     * Returns the size bucket of a number of results.
+     *
+     * @param size the number of results
+     * @return the bucket the size falls into
+     */
+    public static String sizeBucket(long size) {
+        if (size <= 1) {
+            return size <= 0 ? "0" : "1";
+        }
+        if (size <= 10) {
+            return "2-10";
+        }
+        if (size <= 100) {
+            return "11-100";
+        }
+        return size <= 1000 ? "101-1000" : ">1000";
+    }
+
+    /**
+     * Returns the size bucket of a method's result: the number of elements of a collection, a page or
+     * slice, or a keyset slice.
+     *
+     * @param result the value returned by the method
+     * @return the bucket of the result's size, or {@value #NOT_A_COLLECTION} for any other value
+     */
+    public static String sizeBucketOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return sizeBucket(collection.size());
+        }
+        if (result instanceof Slice<?> slice) {
+            return sizeBucket(slice.getNumberOfElements());
+        }
+        if (result instanceof KeysetSliceDTO<?> slice && slice.getContent() != null) {
+            return sizeBucket(slice.getContent().size());
+        }
+        return NOT_A_COLLECTION;
+    }
+}
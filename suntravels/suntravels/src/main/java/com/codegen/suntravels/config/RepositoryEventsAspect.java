@@ -0,0 +1,62 @@
+package com.codegen.suntravels.config;
+
+import com.codegen.suntravels.jfr.RepositoryQueryEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records a {@link RepositoryQueryEvent} for every call to the {@code ContractRepository} and
+ * {@code RoomTypeRepository}, so slow queries show up in Flight Recorder next to the GC and lock
+ * events of the same moment.
+ */
+@Aspect
+@Component
+public class RepositoryEventsAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.codegen.suntravels.repository.ContractRepository+.*(..)) || " +
+            "execution(* com.codegen.suntravels.repository.RoomTypeRepository+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryQueryEvent event = RepositoryQueryEvent.begin(repositoryName(joinPoint), joinPoint.getSignature().getName());
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end(sizeOf(result));
+        }
+    }
+
+    /**
+     * Returns the name of the repository interface, rather than of the proxy implementing it or of the
+     * Spring Data interface declaring an inherited method such as {@code findAll}.
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        return repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), proxyType -> {
+            for (Class<?> type : proxyType.getInterfaces()) {
+                if (type.getPackageName().equals("com.codegen.suntravels.repository")) {
+                    return type.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+
+    private static int sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.codegen.suntravels.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the application's {@link org.springframework.stereotype.Service} beans.
+ *
+ * <p>Each call is recorded by the {@value #METRIC} timer, tagged with the service and method, the
+ * endpoint the call was made for (see {@link MetricTags#currentEndpoint()}), the size bucket of the
+ * returned collection or page (see {@link MetricTags#sizeBucketOf(Object)}) and the exception thrown,
+ * if any. The timers publish the 50th, 95th and 99th percentiles and a percentile histogram.</p>
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    /**
+     * The name of the service method timer.
+     */
+    public static final String METRIC = "suntravels.service.method";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.codegen.suntravels..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String endpoint = MetricTags.currentEndpoint();
+        long started = System.nanoTime();
+        Object result = null;
+        Throwable thrown = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable t) {
+            thrown = t;
+            throw t;
+        } finally {
+            Timer.builder(METRIC)
+                 .description("Time spent in service methods")
+                 .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                 .tag("method", joinPoint.getSignature().getName())
+                 .tag("endpoint", endpoint)
+                 .tag("result.size", thrown == null ? MetricTags.sizeBucketOf(result) : MetricTags.NOT_A_COLLECTION)
+                 .tag("exception", thrown == null ? "none" : thrown.getClass().getSimpleName())
+                 .publishPercentiles(0.5, 0.95, 0.99)
+                 .publishPercentileHistogram()
+                 .register(meterRegistry)
+                 .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.codegen.suntravels.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration applied when requests are handled on virtual threads ({@code spring.threads.virtual.enabled=true}).
+ *
+ * <p>Spring Boot then runs Tomcat's request handling, the MVC async executor used by streamed responses
+ * and the application task executor on virtual threads. Because there is no longer a bounded thread pool
+ * in front of the database, the {@link DataSource} is wrapped in a {@link ConnectionLimitingDataSource}
+ * with as many permits as the Hikari pool has connections.</p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Wraps the application's data source in a {@link ConnectionLimitingDataSource}.
+     *
+     * @param environment the environment holding the connection limit and acquire timeout
+     * @return the post-processor wrapping the data source
+     */
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConnections = environment.getProperty("suntravels.datasource.max-concurrent-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("suntravels.datasource.acquire-timeout", Duration.class,
+                Duration.ofSeconds(30));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
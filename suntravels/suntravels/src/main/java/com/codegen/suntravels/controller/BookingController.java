@@ -0,0 +1,66 @@
+package com.codegen.suntravels.controller;
+
+import com.codegen.suntravels.dto.BookingDTO;
+import com.codegen.suntravels.dto.BookingRequestDTO;
+import com.codegen.suntravels.service.BookingService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for booking rooms.
+ */
+@RestController
+@RequestMapping("/api/bookings")
+@CrossOrigin(origins = "*")
+public class BookingController {
+
+    private final BookingService bookingService;
+
+    /**
+     * Constructor to initialize BookingController with BookingService.
+     *
+     * @param bookingService the booking service to handle business logic
+     */
+    @Autowired
+    public BookingController(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    /**
+     * Books rooms of a room type for a stay. Responds with 409 Conflict if any night of the stay
+     * does not have the rooms free.
+     *
+     * @param bookingRequestDTO the room type, stay, rooms and guest to book
+     * @return the confirmed booking
+     */
+    @PostMapping
+    public ResponseEntity<BookingDTO> createBooking(@Valid @RequestBody BookingRequestDTO bookingRequestDTO) {
+        BookingDTO booking = bookingService.createBooking(bookingRequestDTO);
+        return new ResponseEntity<>(booking, HttpStatus.CREATED);
+    }
+
+    /**
+     * Retrieves a booking by its ID.
+     *
+     * @param id the booking ID
+     * @return the booking details
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BookingDTO> getBookingById(@PathVariable Long id) {
+        return ResponseEntity.ok(bookingService.getBookingById(id));
+    }
+
+    /**
+     * Cancels a booking and gives its rooms back.
+     *
+     * @param id the booking ID
+     * @return the cancelled booking
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<BookingDTO> cancelBooking(@PathVariable Long id) {
+        return ResponseEntity.ok(bookingService.cancelBooking(id));
+    }
+}
@@ -0,0 +1,51 @@
+package com.codegen.suntravels.controller;
+
+import com.codegen.suntravels.dto.CacheRegionStatsDTO;
+import com.codegen.suntravels.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the Hibernate second-level and query cache of hotels, contracts and room types.
+ */
+@RestController
+@RequestMapping("/api/diagnostics/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    /**
+     * Constructor to initialize CacheController with EntityCacheService.
+     *
+     * @param entityCacheService the service managing the cache
+     */
+    @Autowired
+    public CacheController(EntityCacheService entityCacheService) {
+        this.entityCacheService = entityCacheService;
+    }
+
+    /**
+     * Retrieves the hit, miss and put counters of every cache region.
+     *
+     * @return the statistics of the regions
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheRegionStatsDTO>> getRegionStats() {
+        return ResponseEntity.ok(entityCacheService.getRegionStats());
+    }
+
+    /**
+     * Empties every cache region, e.g. after rows were changed directly in the database.
+     *
+     * @return no content
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        entityCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,11 +2,27 @@ package com.codegen.suntravels.controller;
 
 import com.codegen.suntravels.dto.ContractDTO;
 import com.codegen.suntravels.dto.ContractExpiryReportDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.importer.ContractImporter;
+import com.codegen.suntravels.importer.ContractRecordReader;
+import com.codegen.suntravels.importer.ImportFormat;
+import com.codegen.suntravels.repository.CatalogListingRepository.ContractSort;
 import com.codegen.suntravels.service.ContractService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,14 +35,24 @@ import java.util.List;
 public class ContractController {
 
     private final ContractService contractService;
+    private final ContractImporter contractImporter;
+    private final ObjectMapper objectMapper;
+    private final SliceSizeLimit sliceSizeLimit;
 
     /**
      * Constructor to initialize ContractController with ContractService.
      *
-     * @param contractService the contract service to handle business logic
+     * @param contractService  the contract service to handle business logic
+     * @param contractImporter the importer of supplier contract files
+     * @param objectMapper     the mapper used to write exported contracts and import reports
+     * @param sliceSizeLimit   the bounds of the size of a listed slice
      */
-    public ContractController(ContractService contractService) {
+    public ContractController(ContractService contractService, ContractImporter contractImporter,
+                              ObjectMapper objectMapper, SliceSizeLimit sliceSizeLimit) {
         this.contractService = contractService;
+        this.contractImporter = contractImporter;
+        this.objectMapper = objectMapper;
+        this.sliceSizeLimit = sliceSizeLimit;
     }
 
     /**
@@ -39,6 +65,100 @@ public class ContractController {
         return ResponseEntity.ok(contractService.getAllContracts());
     }
 
+    /**
+     * Lists contracts with their room types and keyset pagination, optionally filtered by hotel and by a
+     * date the contracts must cover. Contracts are ordered by {@code sort} and then by ID; the returned
+     * {@code nextCursor} is passed back as {@code cursor}, with the same sort order, to fetch the next slice.
+     *
+     * @param hotelId   optional hotel ID filter
+     * @param activeOn  optional date the contracts must cover
+     * @param sort      the sort order, {@code ID}, {@code START_DATE} or {@code END_DATE}
+     * @param direction the direction of the sort order, {@code ASC} or {@code DESC}
+     * @param cursor    the continuation token of the previous slice, omitted for the first slice
+     * @param size      the maximum number of contracts in the slice, capped at {@code suntravels.listing.max-size}
+     * @return a slice of contracts
+     */
+    @GetMapping("/list")
+    public ResponseEntity<KeysetSliceDTO<ContractDTO>> listContracts(
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate activeOn,
+            @RequestParam(defaultValue = "ID") ContractSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(contractService.listContracts(hotelId, activeOn, sort, direction, cursor,
+                sliceSizeLimit.clamp(size)));
+    }
+
+    /**
+     * Exports the contracts with their room types as newline-delimited JSON, one {@link ContractDTO} per
+     * line in ID order, optionally filtered by hotel and by a date the contracts must cover. Contracts are
+     * written as they are read from the database, so the response is not held in memory whatever the
+     * number of contracts.
+     *
+     * @param hotelId  optional hotel ID filter
+     * @param activeOn optional date the contracts must cover
+     * @return the streamed contracts
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportContracts(
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate activeOn) {
+
+        StreamingResponseBody body = outputStream -> contractService.exportContracts(hotelId, activeOn, contract -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(contract));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                // The client went away, abort the export and release the cursor
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
+    }
+
+    /**
+     * Imports supplier contracts with their room types from the request body, a CSV rate sheet sent as
+     * {@code text/csv} or newline-delimited {@link ContractDTO}s sent as {@code application/x-ndjson}, such
+     * as an export. The body is read as it arrives and written in chunks of {@code suntravels.import.chunk-size}
+     * contracts, one transaction each. The report of every chunk, with the contracts it rejected, is streamed
+     * back as a line of newline-delimited JSON as soon as the chunk is committed.
+     *
+     * @param request the request whose body is imported
+     * @return the streamed chunk reports
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> importContracts(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.of(MediaType.parseMediaType(request.getContentType()));
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        // Opened before the response starts, so a CSV file without the expected header is a bad request
+        ContractRecordReader reader = contractImporter.open(new InputStreamReader(request.getInputStream(), charset), format);
+
+        StreamingResponseBody body = outputStream -> {
+            try (reader) {
+                contractImporter.importContracts(reader, report -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(report));
+                        outputStream.write('\n');
+                        outputStream.flush();
+                    } catch (IOException e) {
+                        // The client went away; the chunks written so far stay imported
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
+    }
+
     /**
      * Retrieves a contract by its ID.
      *
@@ -73,6 +193,20 @@ public class ContractController {
         return ResponseEntity.ok(contractService.updateContract(id, contractDTO));
     }
 
+    /**
+     * Saves a contract together with its complete set of room types in one transaction. Room types
+     * without an ID are added, those with an ID are updated, and stored room types missing from the
+     * request are removed.
+     *
+     * @param id          the contract ID
+     * @param contractDTO the contract data with all of its room types
+     * @return the saved contract with its room types
+     */
+    @PutMapping("/{id}/full")
+    public ResponseEntity<ContractDTO> saveContractWithRoomTypes(@PathVariable Long id, @RequestBody ContractDTO contractDTO) {
+        return ResponseEntity.ok(contractService.saveContractWithRoomTypes(id, contractDTO));
+    }
+
     /**
      * Deletes a contract by its ID.
      *
@@ -90,6 +224,8 @@ public class ContractController {
      *
      * @param fromDate the start date of the range
      * @param toDate   the end date of the range
+     * @param page     the page number for pagination, from zero
+     * @param size     the page size for pagination, capped at {@code suntravels.listing.max-size}
      * @return a list of expiring contracts
      */
     @GetMapping("/expiring")
@@ -99,24 +235,30 @@ public class ContractController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
-        return ResponseEntity.ok(contractService.getContractsExpiringBetween(fromDate, toDate, page, size));
+        return ResponseEntity.ok(contractService.getContractsExpiringBetween(fromDate, toDate,
+                Math.max(page, 0), sliceSizeLimit.clamp(size)));
     }
 
 
     /**
-     * Searches contracts based on hotel name and optional date range.
+     * Searches contracts based on hotel name and optional date range with pagination.
      *
      * @param hotelName optional hotel name filter
      * @param startDate optional start date filter
      * @param endDate   optional end date filter
-     * @return a list of matching contracts
+     * @param page      the page number for pagination, from zero
+     * @param size      the page size for pagination, capped at {@code suntravels.listing.max-size}
+     * @return a page of matching contracts
      */
     @GetMapping("/search")
-    public ResponseEntity<List<ContractDTO>> searchContracts(
+    public ResponseEntity<Page<ContractDTO>> searchContracts(
             @RequestParam(required = false) String hotelName,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
 
-        return ResponseEntity.ok(contractService.searchContracts(hotelName, startDate, endDate));
+        return ResponseEntity.ok(contractService.searchContracts(hotelName, startDate, endDate,
+                Math.max(page, 0), sliceSizeLimit.clamp(size)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.codegen.suntravels.controller;
+
+import com.codegen.suntravels.dto.RecordingStatusDTO;
+import com.codegen.suntravels.exception.InvalidRecordingSettingsException;
+import com.codegen.suntravels.exception.RecordingStateException;
+import com.codegen.suntravels.service.FlightRecordingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * REST controller for on-demand JDK Flight Recorder recordings, so slow searches can be correlated
+ * with GC, lock and I/O events without attaching an agent to the running application.
+ *
+ * <p>A recording exposes the internals of the application and costs CPU and disk, so the endpoints only
+ * exist when {@code suntravels.jfr.recording.enabled} is set, and are not open to other origins.</p>
+ */
+@RestController
+@RequestMapping("/api/diagnostics/recording")
+@ConditionalOnProperty(name = "suntravels.jfr.recording.enabled", havingValue = "true")
+public class DiagnosticsController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * Constructor to initialize DiagnosticsController with FlightRecordingService.
+     *
+     * @param flightRecordingService the service managing the recording
+     */
+    @Autowired
+    public DiagnosticsController(FlightRecordingService flightRecordingService) {
+        this.flightRecordingService = flightRecordingService;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param maxAge  the maximum age of the data to keep, as an ISO-8601 duration such as {@code PT5M}
+     * @param maxSize the maximum size in bytes of the data to keep
+     * @return the status of the started recording
+     * @throws InvalidRecordingSettingsException if the maximum age or size is not positive or exceeds its limit
+     * @throws RecordingStateException           if a recording is already running
+     */
+    @PostMapping("/start")
+    public ResponseEntity<RecordingStatusDTO> startRecording(@RequestParam(required = false) Duration maxAge,
+                                                             @RequestParam(required = false) Long maxSize) {
+        return ResponseEntity.ok(flightRecordingService.start(maxAge, maxSize));
+    }
+
+    /**
+     * Stops the running recording and downloads it as a {@code .jfr} file, to be opened with
+     * JDK Mission Control or the {@code jfr} tool.
+     *
+     * @return the recording file
+     * @throws RecordingStateException if no recording is running
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stopRecording() throws IOException {
+        Path file = flightRecordingService.stop();
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                             .contentLength(Files.size(file))
+                             .header(HttpHeaders.CONTENT_DISPOSITION,
+                                     ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                             .body(body);
+    }
+
+    /**
+     * Retrieves the state of the recording.
+     *
+     * @return the recording status
+     */
+    @GetMapping
+    public ResponseEntity<RecordingStatusDTO> getRecordingStatus() {
+        return ResponseEntity.ok(flightRecordingService.getStatus());
+    }
+}
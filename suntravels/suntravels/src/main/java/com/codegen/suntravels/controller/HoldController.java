@@ -0,0 +1,83 @@
+package com.codegen.suntravels.controller;
+
+import com.codegen.suntravels.dto.BookingDTO;
+import com.codegen.suntravels.dto.HoldBookingRequestDTO;
+import com.codegen.suntravels.dto.HoldDTO;
+import com.codegen.suntravels.dto.HoldRequestDTO;
+import com.codegen.suntravels.service.HoldService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for holding rooms while a guest completes a booking.
+ */
+@RestController
+@RequestMapping("/api/holds")
+@CrossOrigin(origins = "*")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    /**
+     * Constructor to initialize HoldController with HoldService.
+     *
+     * @param holdService the hold service to handle business logic
+     */
+    @Autowired
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    /**
+     * Holds rooms of a room type for a stay until the hold expires. Responds with 409 Conflict if any
+     * night of the stay does not have the rooms free.
+     *
+     * @param holdRequestDTO the room type, stay and number of rooms to hold
+     * @return the hold, with the time it expires
+     */
+    @PostMapping
+    public ResponseEntity<HoldDTO> createHold(@Valid @RequestBody HoldRequestDTO holdRequestDTO) {
+        HoldDTO hold = holdService.createHold(holdRequestDTO);
+        return new ResponseEntity<>(hold, HttpStatus.CREATED);
+    }
+
+    /**
+     * Retrieves a hold by its ID. Responds with 404 Not Found once the hold has expired.
+     *
+     * @param id the hold ID
+     * @return the hold details
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldDTO> getHoldById(@PathVariable Long id) {
+        return ResponseEntity.ok(holdService.getHoldById(id));
+    }
+
+    /**
+     * Books the rooms of a hold.
+     *
+     * @param id                    the hold ID
+     * @param holdBookingRequestDTO the adults per room and the guest to book for
+     * @return the confirmed booking
+     */
+    @PostMapping("/{id}/book")
+    public ResponseEntity<BookingDTO> bookHold(@PathVariable Long id,
+                                               @Valid @RequestBody HoldBookingRequestDTO holdBookingRequestDTO) {
+        BookingDTO booking = holdService.bookHold(id, holdBookingRequestDTO);
+        return new ResponseEntity<>(booking, HttpStatus.CREATED);
+    }
+
+    /**
+     * Releases a hold and gives its rooms back.
+     *
+     * @param id the hold ID
+     * @return an empty response
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> releaseHold(@PathVariable Long id) {
+        holdService.releaseHold(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,13 +2,21 @@ package com.codegen.suntravels.controller;
 
 
 import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.repository.CatalogListingRepository.HotelSort;
 import com.codegen.suntravels.service.HotelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -20,15 +28,21 @@ import java.util.List;
 public class HotelController {
 
     private final HotelService hotelService;
+    private final ObjectMapper objectMapper;
+    private final SliceSizeLimit sliceSizeLimit;
 
     /**
      * Constructor to initialize HotelController with HotelService.
      *
      * @param hotelService the hotel service to handle business logic
+     * @param objectMapper the mapper used to write exported hotels
+     * @param sliceSizeLimit the bounds of the size of a listed slice
      */
     @Autowired
-    public HotelController(HotelService hotelService) {
+    public HotelController(HotelService hotelService, ObjectMapper objectMapper, SliceSizeLimit sliceSizeLimit) {
         this.hotelService = hotelService;
+        this.objectMapper = objectMapper;
+        this.sliceSizeLimit = sliceSizeLimit;
     }
 
     /**
@@ -41,6 +55,56 @@ public class HotelController {
         return ResponseEntity.ok(hotelService.getAllHotels());
     }
 
+    /**
+     * Lists hotels with keyset pagination, optionally filtered by name and location. Hotels are ordered
+     * by {@code sort} and then by ID; the returned {@code nextCursor} is passed back as {@code cursor},
+     * with the same sort order, to fetch the next slice.
+     *
+     * @param name      optional text the hotel name must contain
+     * @param location  optional location of the hotels
+     * @param sort      the sort order, {@code ID} or {@code NAME}
+     * @param direction the direction of the sort order, {@code ASC} or {@code DESC}
+     * @param cursor    the continuation token of the previous slice, omitted for the first slice
+     * @param size      the maximum number of hotels in the slice, capped at {@code suntravels.listing.max-size}
+     * @return a slice of hotels
+     */
+    @GetMapping("/list")
+    public ResponseEntity<KeysetSliceDTO<HotelDTO>> listHotels(@RequestParam(required = false) String name,
+                                                               @RequestParam(required = false) String location,
+                                                               @RequestParam(defaultValue = "ID") HotelSort sort,
+                                                               @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(hotelService.listHotels(name, location, sort, direction, cursor,
+                sliceSizeLimit.clamp(size)));
+    }
+
+    /**
+     * Exports the hotels as newline-delimited JSON, one {@link HotelDTO} per line in ID order,
+     * optionally filtered by name and location. Hotels are written as they are read from the
+     * database, so the response is not held in memory whatever the number of hotels.
+     *
+     * @param name     optional text the hotel name must contain
+     * @param location optional location of the hotels
+     * @return the streamed hotels
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportHotels(@RequestParam(required = false) String name,
+                                                              @RequestParam(required = false) String location) {
+        StreamingResponseBody body = outputStream -> hotelService.exportHotels(name, location, hotel -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(hotel));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                // The client went away, abort the export and release the cursor
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
+    }
+
     /**
      * Retrieves a hotel by its ID.
      *
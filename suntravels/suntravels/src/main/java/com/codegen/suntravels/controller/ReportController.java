@@ -0,0 +1,81 @@
+package com.codegen.suntravels.controller;
+
+import com.codegen.suntravels.dto.ContractExpiryReportDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.dto.RoomAvailabilityReportDTO;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST controller for the contract expiry and room availability reports.
+ * Both reports use keyset pagination: a slice carries an opaque {@code nextCursor} that is passed
+ * back as the {@code cursor} parameter to fetch the following slice.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*")
+public class ReportController {
+
+    private final ContractService contractService;
+    private final SearchService searchService;
+    private final SliceSizeLimit sliceSizeLimit;
+
+    /**
+     * Constructor to initialize ReportController with ContractService and SearchService.
+     *
+     * @param contractService the contract service to build the expiry report
+     * @param searchService   the search service to build the availability report
+     * @param sliceSizeLimit  the bounds of the size of a report slice
+     */
+    @Autowired
+    public ReportController(ContractService contractService, SearchService searchService, SliceSizeLimit sliceSizeLimit) {
+        this.contractService = contractService;
+        this.searchService = searchService;
+        this.sliceSizeLimit = sliceSizeLimit;
+    }
+
+    /**
+     * Retrieves a slice of the contracts expiring within a given date range.
+     *
+     * @param fromDate the start date of the range
+     * @param toDate   the end date of the range
+     * @param cursor   the continuation token of the previous slice, omitted for the first slice
+     * @param size     the maximum number of contracts in the slice, capped at {@code suntravels.listing.max-size}
+     * @return a slice of expiring contracts
+     */
+    @GetMapping("/contracts/expiring")
+    public ResponseEntity<KeysetSliceDTO<ContractExpiryReportDTO>> getContractsExpiringReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(contractService.getContractsExpiringBetween(fromDate, toDate, cursor, sliceSizeLimit.clamp(size)));
+    }
+
+    /**
+     * Retrieves a slice of the room availability report for a given date range.
+     *
+     * @param fromDate the start date of the range
+     * @param toDate   the end date of the range
+     * @param cursor   the continuation token of the previous slice, omitted for the first slice
+     * @param size     the maximum number of contracts whose room types are in the slice, capped at
+     *                 {@code suntravels.listing.max-size}
+     * @return a slice of room availability report items
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<KeysetSliceDTO<RoomAvailabilityReportDTO>> getRoomAvailabilityReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        return ResponseEntity.ok(searchService.generateRoomAvailabilityReport(fromDate, toDate, cursor, sliceSizeLimit.clamp(size)));
+    }
+}
@@ -1,14 +1,25 @@
 package com.codegen.suntravels.controller;
 
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.dto.SearchCacheStatsDTO;
 import com.codegen.suntravels.dto.SearchRequestDTO;
 import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.exception.BatchTooLargeException;
 import com.codegen.suntravels.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * REST controller for handling room search requests.
@@ -19,15 +30,26 @@ import org.springframework.web.bind.annotation.*;
 public class SearchController {
 
     private final SearchService searchService;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+    private final SliceSizeLimit sliceSizeLimit;
 
     /**
      * Constructor to initialize SearchController with SearchService.
      *
-     * @param searchService the search service to handle search logic
+     * @param searchService  the search service to handle search logic
+     * @param objectMapper   the mapper used to write streamed results
+     * @param maxBatchSize   the maximum number of searches accepted in one batch
+     * @param sliceSizeLimit the bounds of the size of a page or slice of results
      */
     @Autowired
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, ObjectMapper objectMapper,
+                            @Value("${suntravels.search.batch.max-size:1000}") int maxBatchSize,
+                            SliceSizeLimit sliceSizeLimit) {
         this.searchService = searchService;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.sliceSizeLimit = sliceSizeLimit;
     }
 
     /**
@@ -35,7 +57,7 @@ public class SearchController {
      *
      * @param searchRequestDTO the search request containing criteria such as dates and location
      * @param page the page number for pagination
-     * @param size the page size for pagination
+     * @param size the page size for pagination, capped at {@code suntravels.listing.max-size}
      * @return a page of available rooms matching the criteria
      */
     @PostMapping
@@ -44,7 +66,7 @@ public class SearchController {
                                                              @RequestParam(defaultValue = "1") int size) {
 
         // Create Pageable object for pagination
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), sliceSizeLimit.clamp(size));
 
         // Call the service method to get paginated results
         Page<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable);
@@ -52,4 +74,71 @@ public class SearchController {
         // Return the paginated response
         return ResponseEntity.ok(results);
     }
+
+    /**
+     * Searches for available rooms with keyset pagination. Results are ordered by contract end date and
+     * then contract ID; the returned {@code nextCursor} is passed back as {@code cursor} to fetch the next slice.
+     *
+     * @param searchRequestDTO the search request containing criteria such as dates and room requests
+     * @param cursor the continuation token of the previous slice, omitted for the first slice
+     * @param size the maximum number of results in the slice, capped at {@code suntravels.listing.max-size}
+     * @return a slice of available rooms matching the criteria
+     */
+    @PostMapping("/cursor")
+    public ResponseEntity<KeysetSliceDTO<SearchResultDTO>> searchRoomsByCursor(@RequestBody SearchRequestDTO searchRequestDTO,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(searchService.searchAvailableRooms(searchRequestDTO, cursor, sliceSizeLimit.clamp(size)));
+    }
+
+    /**
+     * Evaluates many searches in one call. The contracts are read once for the whole batch and the
+     * searches are evaluated in parallel; the results are not paginated.
+     *
+     * @param searchRequests the searches to evaluate
+     * @return the results of every search, in the order of the requests
+     * @throws BatchTooLargeException if the batch holds more searches than allowed
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<List<SearchResultDTO>>> searchRoomsInBatch(@RequestBody List<SearchRequestDTO> searchRequests) {
+        if (searchRequests.size() > maxBatchSize) {
+            throw new BatchTooLargeException("A batch can hold at most " + maxBatchSize + " searches");
+        }
+        return ResponseEntity.ok(searchService.searchAvailableRoomsInBatch(searchRequests));
+    }
+
+    /**
+     * Streams the available rooms as newline-delimited JSON, one {@link SearchResultDTO} per line.
+     * Each line is flushed as soon as its contract has been evaluated, so clients can render results
+     * before the search has finished and no page size applies.
+     *
+     * @param searchRequestDTO the search request containing criteria such as dates and room requests
+     * @return the streamed search results
+     */
+    @PostMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRooms(@RequestBody SearchRequestDTO searchRequestDTO) {
+        StreamingResponseBody body = outputStream -> searchService.streamAvailableRooms(searchRequestDTO, result -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(result));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                // The client went away, abort the search and release the cursor
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                             .contentType(MediaType.APPLICATION_NDJSON)
+                             .body(body);
+    }
+
+    /**
+     * Retrieves the hit, miss, eviction and invalidation counters of the search result cache.
+     *
+     * @return the search result cache statistics
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<SearchCacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(searchService.getCacheStats());
+    }
 }
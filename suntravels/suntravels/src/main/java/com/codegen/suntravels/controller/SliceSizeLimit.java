@@ -0,0 +1,33 @@
+package com.codegen.suntravels.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The bounds of the page and slice sizes clients may request from the listing, report and search endpoints.
+ *
+ * <p>Every endpoint that takes a {@code size} parameter clamps it here, so no response holds more than
+ * {@code suntravels.listing.max-size} items and the services never see a size that overflows the one
+ * extra row a keyset query fetches to detect the next slice.</p>
+ */
+@Component
+public class SliceSizeLimit {
+
+    private final int maxSize;
+
+    @Autowired
+    public SliceSizeLimit(@Value("${suntravels.listing.max-size:500}") int maxSize) {
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /**
+     * Clamps a requested size to between one and the maximum size.
+     *
+     * @param size the size the client requested
+     * @return the size to use
+     */
+    public int clamp(int size) {
+        return Math.max(1, Math.min(size, maxSize));
+    }
+}
@@ -0,0 +1,51 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) class for representing a single room of a search result's room assignment.
+ * It contains the room type the room was assigned to, the adults staying in it and the price of the stay.
+ *
+ * <p>This class is used to tell the client which room type each requested room was placed in
+ * and what that room costs for the whole stay.</p>
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignedRoomDTO {
+
+    /**
+     * The unique identifier of the room type the room was assigned to.
+     */
+    private Long roomTypeId;
+
+    /**
+     * The name of the room type the room was assigned to (e.g., "Double Room").
+     */
+    private String roomName;
+
+    /**
+     * The maximum number of adults allowed in the assigned room type.
+     */
+    private Integer maxAdults;
+
+    /**
+     * The number of adults of the request staying in this room.
+     */
+    private Integer assignedAdults;
+
+    /**
+     * The price of this room for the whole stay, including the contract markup.
+     */
+    private Double price;
+
+    /**
+     * The price of this room for the whole stay in minor units (cents).
+     */
+    private Long priceCents;
+}
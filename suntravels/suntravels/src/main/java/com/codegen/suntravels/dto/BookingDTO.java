@@ -0,0 +1,92 @@
+package com.codegen.suntravels.dto;
+
+import com.codegen.suntravels.model.BookingStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) class for representing a booking.
+ * It contains the booked room type, the stay, the rooms and adults, the price and the status of the booking.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDTO {
+
+    /**
+     * The unique identifier for the booking.
+     */
+    private Long id;
+
+    /**
+     * The identifier of the booked room type, or {@code null} if it has been deleted since.
+     */
+    private Long roomTypeId;
+
+    /**
+     * The name of the hotel.
+     */
+    private String hotelName;
+
+    /**
+     * The name of the booked room type.
+     */
+    private String roomTypeName;
+
+    /**
+     * The name of the guest.
+     */
+    private String guestName;
+
+    /**
+     * The date of the first night of the stay.
+     */
+    private LocalDate checkInDate;
+
+    /**
+     * The date the guest leaves.
+     */
+    private LocalDate checkOutDate;
+
+    /**
+     * The number of nights of the stay.
+     */
+    private Integer numberOfNights;
+
+    /**
+     * The number of rooms booked.
+     */
+    private Integer numberOfRooms;
+
+    /**
+     * The number of adults staying in each room.
+     */
+    private Integer adultsPerRoom;
+
+    /**
+     * The price of the whole stay.
+     */
+    private Double totalPrice;
+
+    /**
+     * The price of the whole stay in minor units (cents).
+     */
+    private Long totalPriceCents;
+
+    /**
+     * Whether the booking is confirmed or cancelled.
+     */
+    private BookingStatus status;
+
+    /**
+     * When the booking was made.
+     */
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) class for representing the statistics of a region of the second-level
+ * or query cache.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+    /**
+     * The name of the region.
+     */
+    private String region;
+
+    /**
+     * The number of entities, collections or query results found in the region.
+     */
+    private long hitCount;
+
+    /**
+     * The number of lookups that had to go to the database.
+     */
+    private long missCount;
+
+    /**
+     * The number of entries put into the region.
+     */
+    private long putCount;
+
+    /**
+     * The ratio of hits to all lookups, {@code 1.0} if there were no lookups yet.
+     */
+    private double hitRate;
+}
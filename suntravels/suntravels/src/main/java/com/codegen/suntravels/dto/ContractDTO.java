@@ -49,4 +49,24 @@ public class ContractDTO {
      * List of room types associated with this contract.
      */
     private List<RoomTypeDTO> roomTypes = new ArrayList<>();
+
+    /**
+     * Creates a contract DTO without its room types, as selected by the contract repository projections.
+     *
+     * @param id               the contract ID
+     * @param hotelId          the ID of the hotel
+     * @param hotelName        the name of the hotel
+     * @param startDate        the start date of the contract
+     * @param endDate          the end date of the contract
+     * @param markupPercentage the markup percentage of the contract
+     */
+    public ContractDTO(Long id, Long hotelId, String hotelName, LocalDate startDate, LocalDate endDate,
+                       Double markupPercentage) {
+        this.id = id;
+        this.hotelId = hotelId;
+        this.hotelName = hotelName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.markupPercentage = markupPercentage;
+    }
 }
\ No newline at end of file
@@ -37,4 +37,19 @@ public class ContractExpiryReportDTO {
      * Number of days remaining until the contract expires.
      */
     private Long daysToExpiry;
+
+    /**
+     * Creates a report item without the days to expiry, as selected by the contract repository projections.
+     *
+     * @param contractId the contract ID
+     * @param hotelName  the name of the hotel
+     * @param startDate  the start date of the contract
+     * @param endDate    the end date of the contract
+     */
+    public ContractExpiryReportDTO(Long contractId, String hotelName, LocalDate startDate, LocalDate endDate) {
+        this.contractId = contractId;
+        this.hotelName = hotelName;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.codegen.suntravels.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) class for representing a request to book the rooms of a hold.
+ * The room type, stay and rooms are those of the hold.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldBookingRequestDTO {
+
+    /**
+     * The number of adults staying in each room.
+     */
+    @NotNull(message = "Adults per room is required")
+    @Positive(message = "Adults per room must be positive")
+    private Integer adultsPerRoom;
+
+    /**
+     * The name of the guest the rooms are booked for.
+     */
+    @NotBlank(message = "Guest name is required")
+    private String guestName;
+}
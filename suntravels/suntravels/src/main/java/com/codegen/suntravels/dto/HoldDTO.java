@@ -0,0 +1,61 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) class for representing a hold.
+ * It contains the held room type, the stay, the number of rooms and when the hold expires.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldDTO {
+
+    /**
+     * The unique identifier for the hold.
+     */
+    private Long id;
+
+    /**
+     * The identifier of the held room type.
+     */
+    private Long roomTypeId;
+
+    /**
+     * The date of the first night of the stay.
+     */
+    private LocalDate checkInDate;
+
+    /**
+     * The date the guest leaves.
+     */
+    private LocalDate checkOutDate;
+
+    /**
+     * The number of nights of the stay.
+     */
+    private Integer numberOfNights;
+
+    /**
+     * The number of rooms held.
+     */
+    private Integer numberOfRooms;
+
+    /**
+     * When the hold was placed.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * When the hold expires unless it is booked before.
+     */
+    private LocalDateTime expiresAt;
+}
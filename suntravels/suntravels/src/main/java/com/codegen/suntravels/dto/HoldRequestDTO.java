@@ -0,0 +1,51 @@
+package com.codegen.suntravels.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object (DTO) class for representing a request to hold rooms.
+ * It names the room type, the stay and the number of rooms to hold until the guest books them.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldRequestDTO {
+
+    /**
+     * The identifier of the room type to hold.
+     */
+    @NotNull(message = "Room type is required")
+    private Long roomTypeId;
+
+    /**
+     * The date of the first night of the stay.
+     * This field must not be null and must not represent a past date.
+     */
+    @NotNull(message = "Check-in date is required")
+    @FutureOrPresent(message = "Check-in date cannot be in the past")
+    private LocalDate checkInDate;
+
+    /**
+     * The number of nights of the stay.
+     */
+    @NotNull(message = "Number of nights is required")
+    @Positive(message = "Number of nights must be positive")
+    private Integer numberOfNights;
+
+    /**
+     * The number of rooms to hold.
+     */
+    @NotNull(message = "Number of rooms is required")
+    @Positive(message = "Number of rooms must be positive")
+    private Integer numberOfRooms;
+}
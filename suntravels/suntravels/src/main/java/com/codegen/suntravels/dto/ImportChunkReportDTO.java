@@ -0,0 +1,67 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class for representing the outcome of one chunk of a contract import.
+ * Each chunk is written in a transaction of its own, so the contracts it reports as imported are committed
+ * whatever happens to the chunks after it.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportChunkReportDTO {
+
+    /**
+     * The number of the chunk, counting from 1.
+     */
+    private int chunk;
+
+    /**
+     * The first line of the import file read into this chunk.
+     */
+    private long firstLine;
+
+    /**
+     * The last line of the import file read into this chunk.
+     */
+    private long lastLine;
+
+    /**
+     * The number of contracts read in this chunk.
+     */
+    private int contractsRead;
+
+    /**
+     * The number of contracts of this chunk that were written.
+     */
+    private int contractsImported;
+
+    /**
+     * The number of room types of this chunk that were written.
+     */
+    private int roomTypesImported;
+
+    /**
+     * The contracts of this chunk that were rejected, and why.
+     */
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+
+    /**
+     * The number of contracts written by this and every earlier chunk of the import.
+     */
+    private long totalContractsImported;
+
+    /**
+     * The number of contracts rejected in this and every earlier chunk of the import.
+     */
+    private long totalContractsRejected;
+}
@@ -0,0 +1,27 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) class for representing a contract rejected by an import.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+
+    /**
+     * The line of the import file the rejected contract starts on, counting from 1.
+     */
+    private long line;
+
+    /**
+     * Why the contract was rejected.
+     */
+    private String message;
+}
@@ -0,0 +1,38 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) class for representing one slice of a keyset paginated result.
+ * Unlike a page it carries no total count; the next slice is requested with {@link #nextCursor}.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ *
+ * @param <T> the type of the items in the slice
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetSliceDTO<T> {
+
+    /**
+     * The items of this slice.
+     */
+    private List<T> content = new ArrayList<>();
+
+    /**
+     * The opaque continuation token to request the next slice with, or {@code null} on the last slice.
+     */
+    private String nextCursor;
+
+    /**
+     * Whether there is a next slice.
+     */
+    private boolean hasNext;
+}
@@ -0,0 +1,39 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) class for representing the state of the diagnostics flight recording.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatusDTO {
+
+    /**
+     * Whether a recording is currently running.
+     */
+    private boolean running;
+
+    /**
+     * When the running recording was started, {@code null} if none is running.
+     */
+    private Instant startTime;
+
+    /**
+     * The maximum age of the data kept by the running recording, in seconds.
+     */
+    private long maxAgeSeconds;
+
+    /**
+     * The maximum size of the data kept by the running recording, in bytes.
+     */
+    private long maxSizeBytes;
+}
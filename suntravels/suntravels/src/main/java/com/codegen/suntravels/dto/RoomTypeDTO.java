@@ -1,6 +1,5 @@
 package com.codegen.suntravels.dto;
 
-import ch.qos.logback.core.rolling.helper.IntegerTokenConverter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -45,6 +44,12 @@ public class RoomTypeDTO {
      */
     private Double pricePerPerson;
 
+    /**
+     * The price per person for this room type in minor units (cents).
+     * When given, it takes precedence over {@link #pricePerPerson}.
+     */
+    private Long pricePerPersonCents;
+
     /**
      * The total number of rooms available for this room type.
      * Indicates how many rooms of this type are available in the hotel.
@@ -56,4 +61,25 @@ public class RoomTypeDTO {
      * Specifies the upper limit of adult occupancy for this room type.
      */
     private Integer maxAdults;
+
+    /**
+     * Creates a room type DTO from its stored price in cents, as selected by the room type repository projections.
+     *
+     * @param id                  the room type ID
+     * @param name                the name of the room type
+     * @param contractId          the ID of the contract
+     * @param pricePerPersonCents the price per person per night, in cents
+     * @param numberOfRooms       the number of rooms
+     * @param maxAdults           the maximum number of adults per room
+     */
+    public RoomTypeDTO(Long id, String name, Long contractId, Long pricePerPersonCents, Integer numberOfRooms,
+                       Integer maxAdults) {
+        this.id = id;
+        this.name = name;
+        this.contractId = contractId;
+        this.pricePerPerson = pricePerPersonCents != null ? pricePerPersonCents / 100.0 : null;
+        this.pricePerPersonCents = pricePerPersonCents;
+        this.numberOfRooms = numberOfRooms;
+        this.maxAdults = maxAdults;
+    }
 }
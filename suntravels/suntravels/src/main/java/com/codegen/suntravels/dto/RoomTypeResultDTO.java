@@ -38,6 +38,12 @@ public class RoomTypeResultDTO {
      */
     private Double totalPrice;
 
+    /**
+     * The total price for this room type in minor units (cents).
+     * This is the exact amount {@link #totalPrice} is derived from.
+     */
+    private Long totalPriceCents;
+
     /**
      * A boolean flag indicating whether the room type is available.
      * If true, the room type is available for booking; if false, it is not available.
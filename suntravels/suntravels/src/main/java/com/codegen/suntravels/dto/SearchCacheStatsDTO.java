@@ -0,0 +1,52 @@
+package com.codegen.suntravels.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) class for representing the statistics of the search result cache.
+ *
+ * <p>The class includes Lombok annotations to automatically generate getters, setters,
+ * a no-arguments constructor, and an all-arguments constructor.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchCacheStatsDTO {
+
+    /**
+     * Whether searches are cached at all.
+     */
+    private boolean enabled;
+
+    /**
+     * The number of searches currently cached.
+     */
+    private long size;
+
+    /**
+     * The number of searches answered from the cache.
+     */
+    private long hitCount;
+
+    /**
+     * The number of searches that had to be evaluated.
+     */
+    private long missCount;
+
+    /**
+     * The ratio of hits to all cache lookups, {@code 1.0} if there were no lookups yet.
+     */
+    private double hitRate;
+
+    /**
+     * The number of entries evicted because the cache was full or the entry expired.
+     */
+    private long evictionCount;
+
+    /**
+     * The number of entries removed because a contract, room type or hotel was written.
+     */
+    private long invalidationCount;
+}
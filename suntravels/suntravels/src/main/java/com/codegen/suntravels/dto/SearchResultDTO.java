@@ -34,4 +34,20 @@ public class SearchResultDTO {
      * such as room type name, pricing, and availability.
      */
     private List<RoomTypeResultDTO> availableRoomTypes = new ArrayList<>();
+
+    /**
+     * The cheapest placement of every requested room into the hotel's room types, one entry per room.
+     * This list is empty if the requested rooms cannot all be placed.
+     */
+    private List<AssignedRoomDTO> assignedRooms = new ArrayList<>();
+
+    /**
+     * The total price of the assigned rooms, or {@code null} if the requested rooms cannot all be placed.
+     */
+    private Double totalPrice;
+
+    /**
+     * The total price of the assigned rooms in minor units (cents).
+     */
+    private Long totalPriceCents;
 }
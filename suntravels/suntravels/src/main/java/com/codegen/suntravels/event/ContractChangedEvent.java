@@ -0,0 +1,38 @@
+package com.codegen.suntravels.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a contract or one of its room types is created, updated or deleted.
+ * Listeners reload the contract by its ID; a contract that no longer exists is treated as removed.
+ *
+ * <p>The date range spans every date the change can affect: for an update that moves the contract
+ * it covers both the old and the new period. An unknown range ({@code null} dates) affects all dates.</p>
+ *
+ * @param contractId the ID of the contract that changed
+ * @param fromDate   the first date affected by the change, or {@code null} if unknown
+ * @param toDate     the last date affected by the change, or {@code null} if unknown
+ */
+public record ContractChangedEvent(Long contractId, LocalDate fromDate, LocalDate toDate) {
+
+    /**
+     * Creates an event for a change whose affected dates are unknown.
+     *
+     * @param contractId the ID of the contract that changed
+     */
+    public ContractChangedEvent(Long contractId) {
+        this(contractId, null, null);
+    }
+
+    /**
+     * Checks whether the change can affect a stay between the given dates.
+     *
+     * @param checkInDate  the check-in date of the stay
+     * @param checkOutDate the check-out date of the stay
+     * @return {@code true} if the stay overlaps the affected date range
+     */
+    public boolean overlaps(LocalDate checkInDate, LocalDate checkOutDate) {
+        return fromDate == null || toDate == null
+                || (!checkInDate.isAfter(toDate) && !checkOutDate.isBefore(fromDate));
+    }
+}
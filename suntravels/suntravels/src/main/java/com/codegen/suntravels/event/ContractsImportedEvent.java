@@ -0,0 +1,28 @@
+package com.codegen.suntravels.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published once for every chunk of contracts committed by the contract importer.
+ * The importer reserves a contiguous block of contract IDs per chunk, so the new contracts are
+ * identified by the range of their IDs, and the listeners reload the whole chunk at once instead
+ * of handling one {@link ContractChangedEvent} per contract.
+ *
+ * @param firstContractId the lowest ID of the imported contracts
+ * @param lastContractId  the highest ID of the imported contracts
+ * @param fromDate        the earliest start date of the imported contracts
+ * @param toDate          the latest end date of the imported contracts
+ */
+public record ContractsImportedEvent(long firstContractId, long lastContractId, LocalDate fromDate, LocalDate toDate) {
+
+    /**
+     * Checks whether the imported contracts can affect a stay between the given dates.
+     *
+     * @param checkInDate  the check-in date of the stay
+     * @param checkOutDate the check-out date of the stay
+     * @return {@code true} if the stay overlaps the imported date range
+     */
+    public boolean overlaps(LocalDate checkInDate, LocalDate checkOutDate) {
+        return !checkInDate.isAfter(toDate) && !checkOutDate.isBefore(fromDate);
+    }
+}
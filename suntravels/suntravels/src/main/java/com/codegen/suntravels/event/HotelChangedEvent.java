@@ -0,0 +1,39 @@
+package com.codegen.suntravels.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever a hotel is updated or deleted.
+ * Hotel details such as the name are copied into search results, so every contract
+ * of the hotel has to be refreshed by the listeners.
+ *
+ * <p>The date range spans the periods of all contracts of the hotel. An unknown range
+ * ({@code null} dates) affects all dates.</p>
+ *
+ * @param hotelId  the ID of the hotel that changed
+ * @param fromDate the earliest start date of the hotel's contracts, or {@code null} if unknown
+ * @param toDate   the latest end date of the hotel's contracts, or {@code null} if unknown
+ */
+public record HotelChangedEvent(Long hotelId, LocalDate fromDate, LocalDate toDate) {
+
+    /**
+     * Creates an event for a change whose affected dates are unknown.
+     *
+     * @param hotelId the ID of the hotel that changed
+     */
+    public HotelChangedEvent(Long hotelId) {
+        this(hotelId, null, null);
+    }
+
+    /**
+     * Checks whether the change can affect a stay between the given dates.
+     *
+     * @param checkInDate  the check-in date of the stay
+     * @param checkOutDate the check-out date of the stay
+     * @return {@code true} if the stay overlaps the affected date range
+     */
+    public boolean overlaps(LocalDate checkInDate, LocalDate checkOutDate) {
+        return fromDate == null || toDate == null
+                || (!checkInDate.isAfter(toDate) && !checkOutDate.isBefore(fromDate));
+    }
+}
@@ -0,0 +1,26 @@
+package com.codegen.suntravels.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever rooms of a room type are booked or given back for the nights of a stay.
+ * Listeners run once the change is committed, so they only ever see rooms the database has granted.
+ *
+ * @param roomTypeId   the ID of the room type
+ * @param checkInDate  the first night of the stay
+ * @param checkOutDate the day after the last night of the stay
+ * @param rooms        the number of rooms taken, negative if rooms were given back
+ */
+public record InventoryChangedEvent(Long roomTypeId, LocalDate checkInDate, LocalDate checkOutDate, int rooms) {
+
+    /**
+     * Checks whether the change can affect a stay between the given dates.
+     *
+     * @param checkInDate  the check-in date of the stay
+     * @param checkOutDate the check-out date of the stay
+     * @return {@code true} if the stay shares a night with the changed nights
+     */
+    public boolean overlaps(LocalDate checkInDate, LocalDate checkOutDate) {
+        return checkInDate.isBefore(this.checkOutDate) && checkOutDate.isAfter(this.checkInDate);
+    }
+}
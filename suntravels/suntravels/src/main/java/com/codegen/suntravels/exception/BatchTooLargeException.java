@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a batch request holds more entries than the
+ * application accepts in a single call.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link BatchTooLargeException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
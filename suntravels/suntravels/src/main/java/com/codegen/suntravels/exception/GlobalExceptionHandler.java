@@ -6,6 +6,8 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +34,115 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles {@link NoResourceFoundException}, raised for a path no controller is mapped to, and sends a
+     * 404 Not Found response with the exception's message.
+     *
+     * @param ex the {@link NoResourceFoundException} thrown by the framework
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 404
+     */
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNoResourceFoundException(NoResourceFoundException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handles {@link InvalidCursorException} and sends a 400 Bad Request response with the exception's message.
+     *
+     * @param ex the {@link InvalidCursorException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link BatchTooLargeException} and sends a 400 Bad Request response with the exception's message.
+     *
+     * @param ex the {@link BatchTooLargeException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLargeException(BatchTooLargeException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link InvalidImportException} and sends a 400 Bad Request response with the exception's message.
+     *
+     * @param ex the {@link InvalidImportException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidImportException(InvalidImportException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link InvalidContractException} and sends a 400 Bad Request response with the exception's message.
+     *
+     * @param ex the {@link InvalidContractException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(InvalidContractException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidContractException(InvalidContractException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link InvalidBookingException} and sends a 400 Bad Request response with the exception's message.
+     *
+     * @param ex the {@link InvalidBookingException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(InvalidBookingException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBookingException(InvalidBookingException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link RoomsUnavailableException} and sends a 409 Conflict response with the exception's message.
+     *
+     * @param ex the {@link RoomsUnavailableException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 409
+     */
+    @ExceptionHandler(RoomsUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleRoomsUnavailableException(RoomsUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles {@link InvalidRecordingSettingsException} and sends a 400 Bad Request response with the exception's message.
+     *
+     * @param ex the {@link InvalidRecordingSettingsException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(InvalidRecordingSettingsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRecordingSettingsException(InvalidRecordingSettingsException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles {@link RecordingStateException} and sends a 409 Conflict response with the exception's message.
+     *
+     * @param ex the {@link RecordingStateException} thrown by the application
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 409
+     */
+    @ExceptionHandler(RecordingStateException.class)
+    public ResponseEntity<ErrorResponse> handleRecordingStateException(RecordingStateException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles validation errors caused by invalid input parameters in the request.
      * It processes a {@link MethodArgumentNotValidException} and returns a list of validation errors.
@@ -50,6 +161,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errors, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles request parameters that cannot be converted to the expected type, e.g. an unknown sort order,
+     * and sends a 400 Bad Request response naming the parameter.
+     *
+     * @param ex the {@link MethodArgumentTypeMismatchException} thrown while binding the request
+     * @return a {@link ResponseEntity} containing the error details with HTTP status 400
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        ErrorResponse error = new ErrorResponse(HttpStatus.BAD_REQUEST.value(),
+                "Invalid value for parameter " + ex.getName() + ": " + ex.getValue());
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles any other exceptions that are not specifically caught by other handlers.
      * This is a global exception handler that catches unexpected exceptions.
@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a booking cannot be made as requested, such as a stay
+ * outside the dates of the room type's contract or more adults than a room takes.
+ */
+public class InvalidBookingException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link InvalidBookingException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidBookingException(String message) {
+        super(message);
+    }
+}
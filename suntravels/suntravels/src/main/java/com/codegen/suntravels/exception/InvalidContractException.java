@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a contract is saved without details it cannot do without,
+ * such as the hotel it belongs to.
+ */
+public class InvalidContractException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link InvalidContractException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidContractException(String message) {
+        super(message);
+    }
+}
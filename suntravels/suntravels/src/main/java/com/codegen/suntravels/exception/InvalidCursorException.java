@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a continuation token of a keyset paginated
+ * endpoint cannot be decoded, e.g. because the client altered or truncated it.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link InvalidCursorException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when an import file cannot be read at all, such as a CSV
+ * file without the required columns or a file of an unknown format.
+ */
+public class InvalidImportException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link InvalidImportException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a flight recording is started with a maximum age or size
+ * that is not positive or exceeds the configured limit.
+ */
+public class InvalidRecordingSettingsException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link InvalidRecordingSettingsException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public InvalidRecordingSettingsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a flight recording is started while one is already
+ * running, or stopped while none is.
+ */
+public class RecordingStateException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link RecordingStateException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
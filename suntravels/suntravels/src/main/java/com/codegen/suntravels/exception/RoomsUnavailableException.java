@@ -0,0 +1,17 @@
+package com.codegen.suntravels.exception;
+
+/**
+ * Custom exception class that is thrown when a room type does not have the requested number of rooms
+ * free on every night of a stay.
+ */
+public class RoomsUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new {@link RoomsUnavailableException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public RoomsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,270 @@
+package com.codegen.suntravels.generator;
+
+import com.codegen.suntravels.model.Hotel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the "hotels", "hotel_name_trigrams", "contracts" and "room_types" tables with a synthetic
+ * catalog for performance work.
+ *
+ * <p>Rows are written with JDBC batch inserts, bypassing JPA, one transaction per batch of hotels.
+ * IDs are assigned by the generator, continuing after the highest ID already in each table, so the
+ * rows of a batch can reference each other without reading generated keys back. MySQL, and H2 in
+ * MySQL mode, move their auto-increment counters past explicitly inserted hotel IDs. Contract and
+ * room type IDs also continue after the last ID reserved in the "id_generators" table, and each
+ * batch moves that ID past its own rows, so Hibernate reserves its next blocks after them. Generate
+ * a catalog while the application is not creating contracts or room types. On MySQL, add
+ * {@code rewriteBatchedStatements=true} to the connection URL to have every batch sent as
+ * multi-row inserts.</p>
+ *
+ * <p>The catalog is drawn from a single random generator seeded from the {@link CatalogSpec}, so the
+ * same spec always generates the same rows:</p>
+ * <ul>
+ *     <li>Every hotel gets a price level, skewed towards cheap hotels, and its room type prices vary
+ *     around that level.</li>
+ *     <li>The contracts of a hotel follow each other as seasons: each one starts between half way
+ *     through and a fifth past the end of the previous one, so seasons overlap or leave gaps.</li>
+ *     <li>The number of room types of a contract is skewed towards small contracts; most room types
+ *     take two adults.</li>
+ * </ul>
+ */
+public class CatalogGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+
+    private static final String INSERT_HOTEL =
+            "INSERT INTO hotels (id, name, normalized_name, location, contact_details) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TRIGRAM =
+            "INSERT INTO hotel_name_trigrams (hotel_id, trigram) VALUES (?, ?)";
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO contracts (id, hotel_id, start_date, end_date, markup_percentage) VALUES (?, ?, ?, ?, ?)";
+    private static final String RESERVE_IDS =
+            "UPDATE id_generators SET last_id = GREATEST(last_id, ?) WHERE name = ?";
+    private static final String INSERT_ROOM_TYPE =
+            "INSERT INTO room_types (id, name, contract_id, price_per_person_cents, number_of_rooms, max_adults) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] NAME_PREFIXES = {
+            "Grand", "Royal", "Blue", "Golden", "Palm", "Ocean", "Hill", "Lake", "Sun", "Coral", "Silver", "Green"};
+    private static final String[] PLACES = {
+            "Colombo", "Kandy", "Galle", "Negombo", "Bentota", "Ella", "Jaffna", "Trincomalee", "Nuwara Eliya",
+            "Mirissa", "Sigiriya", "Hikkaduwa", "Arugam Bay", "Dambulla", "Unawatuna", "Pasikudah"};
+    private static final String[] NAME_SUFFIXES = {
+            "Hotel", "Resort", "Inn", "Suites", "Lodge", "Villas", "Retreat", "Beach Hotel"};
+    private static final String[] ROOM_GRADES = {
+            "Standard", "Superior", "Deluxe", "Premier", "Executive", "Garden View", "Sea View", "Junior Suite", "Suite"};
+    private static final String[] OCCUPANCIES = {"Single", "Double", "Triple", "Quad", "Family", "Family Plus"};
+
+    /**
+     * Cumulative weights of rooms taking one to six adults: 15%, 45%, 20%, 14%, 4% and 2%.
+     */
+    private static final int[] MAX_ADULTS_CUMULATIVE_WEIGHTS = {15, 60, 80, 94, 98, 100};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Creates a generator.
+     *
+     * @param jdbcTemplate       the template the rows are written with
+     * @param transactionManager the transaction manager each batch of hotels is written in
+     * @param batchSize          the number of hotels written per transaction, and of rows per JDBC batch
+     */
+    public CatalogGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Generates a catalog and writes it to the database, after any rows already there.
+     *
+     * @param spec the size and shape of the catalog
+     * @return the number of rows written
+     */
+    public GeneratedCatalog generate(CatalogSpec spec) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        Batch batch = new Batch(nextId("hotels"), Math.max(nextId("contracts"), nextReservedId("contracts")),
+                Math.max(nextId("room_types"), nextReservedId("room_types")));
+        long hotels = 0;
+        long contracts = 0;
+        long roomTypes = 0;
+        long logEvery = Math.max(spec.hotels() / 10, batchSize);
+        long nextLog = logEvery;
+
+        for (int i = 0; i < spec.hotels(); i++) {
+            addHotel(batch, spec, random);
+            if (batch.hotels.size() == batchSize || i == spec.hotels() - 1) {
+                hotels += batch.hotels.size();
+                contracts += batch.contracts.size();
+                roomTypes += batch.roomTypes.size();
+                write(batch);
+                batch = batch.next();
+                if (hotels >= nextLog) {
+                    log.info("Generated {} of {} hotels", hotels, spec.hotels());
+                    nextLog += logEvery;
+                }
+            }
+        }
+
+        GeneratedCatalog catalog = new GeneratedCatalog(hotels, contracts, roomTypes,
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Generated {} hotels, {} contracts and {} room types in {}", catalog.hotels(), catalog.contracts(),
+                catalog.roomTypes(), catalog.elapsed());
+        return catalog;
+    }
+
+    /**
+     * Returns the number of hotels already stored.
+     *
+     * @return the number of rows in the "hotels" table
+     */
+    public long countHotels() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hotels", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max != null ? max + 1 : 1L;
+    }
+
+    private long nextReservedId(String table) {
+        Long last = jdbcTemplate.queryForObject("SELECT last_id FROM id_generators WHERE name = ?", Long.class, table);
+        return last != null ? last + 1 : 1L;
+    }
+
+    private void addHotel(Batch batch, CatalogSpec spec, SplittableRandom random) {
+        long hotelId = batch.nextHotelId++;
+        String place = pick(PLACES, random);
+        String name = pick(NAME_PREFIXES, random) + " " + place + " " + pick(NAME_SUFFIXES, random) + " " + hotelId;
+        String normalizedName = Hotel.normalize(name);
+        String contactDetails = String.format("+94 %02d %07d", 11 + random.nextInt(80), random.nextInt(10_000_000));
+        batch.hotels.add(new Object[]{hotelId, name, normalizedName, place + ", Sri Lanka", contactDetails});
+        for (String trigram : Hotel.trigrams(normalizedName)) {
+            batch.trigrams.add(new Object[]{hotelId, trigram});
+        }
+
+        // The price level of the hotel; a skew above 1 makes cheap hotels more common than expensive ones
+        double level = Math.pow(random.nextDouble(), spec.priceSkew());
+        double hotelPrice = spec.minPriceCents() + level * (spec.maxPriceCents() - spec.minPriceCents());
+
+        int contracts = between(spec.minContractsPerHotel(), spec.maxContractsPerHotel(), random);
+        // The first season may already be under way on the start date
+        LocalDate startDate = spec.startDate().minusDays(random.nextInt(spec.minContractDays()));
+        for (int c = 0; c < contracts; c++) {
+            int days = between(spec.minContractDays(), spec.maxContractDays(), random);
+            long contractId = batch.nextContractId++;
+            double markupPercentage = 5.0 + 0.5 * random.nextInt(41);
+            batch.contracts.add(new Object[]{contractId, hotelId, Date.valueOf(startDate),
+                    Date.valueOf(startDate.plusDays(days)), markupPercentage});
+
+            double seasonPrice = hotelPrice * (0.85 + 0.3 * random.nextDouble());
+            addRoomTypes(batch, spec, random, contractId, seasonPrice);
+
+            startDate = startDate.plusDays(Math.max(1, Math.round(days * (0.5 + 0.7 * random.nextDouble()))));
+        }
+    }
+
+    private void addRoomTypes(Batch batch, CatalogSpec spec, SplittableRandom random, long contractId, double seasonPrice) {
+        // Skewed towards the smallest number of room types
+        int range = spec.maxRoomTypesPerContract() - spec.minRoomTypesPerContract() + 1;
+        int roomTypes = spec.minRoomTypesPerContract() + (int) (range * Math.pow(random.nextDouble(), 2));
+
+        for (int r = 0; r < roomTypes; r++) {
+            int maxAdults = maxAdults(random);
+            String name = pick(ROOM_GRADES, random) + " " + OCCUPANCIES[maxAdults - 1] + " Room";
+            long priceCents = Math.round(seasonPrice * (0.8 + 0.1 * maxAdults + 0.3 * random.nextDouble()));
+            priceCents = Math.min(Math.max(priceCents, spec.minPriceCents()), spec.maxPriceCents());
+            int numberOfRooms = 1 + (int) (49 * Math.pow(random.nextDouble(), 2));
+            batch.roomTypes.add(new Object[]{batch.nextRoomTypeId++, name, contractId, priceCents, numberOfRooms, maxAdults});
+        }
+    }
+
+    private void write(Batch batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_HOTEL, batch.hotels, batchSize, Batch::setValues);
+            jdbcTemplate.batchUpdate(INSERT_TRIGRAM, batch.trigrams, batchSize, Batch::setValues);
+            jdbcTemplate.batchUpdate(INSERT_CONTRACT, batch.contracts, batchSize, Batch::setValues);
+            jdbcTemplate.batchUpdate(INSERT_ROOM_TYPE, batch.roomTypes, batchSize, Batch::setValues);
+            jdbcTemplate.update(RESERVE_IDS, batch.nextContractId - 1, "contracts");
+            jdbcTemplate.update(RESERVE_IDS, batch.nextRoomTypeId - 1, "room_types");
+        });
+    }
+
+    private static int maxAdults(SplittableRandom random) {
+        int weight = random.nextInt(100);
+        int adults = 0;
+        while (weight >= MAX_ADULTS_CUMULATIVE_WEIGHTS[adults]) {
+            adults++;
+        }
+        return adults + 1;
+    }
+
+    private static int between(int min, int max, SplittableRandom random) {
+        return min + random.nextInt(max - min + 1);
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * The rows of a batch of hotels, and the next ID of every table.
+     */
+    private static final class Batch {
+
+        private final List<Object[]> hotels = new ArrayList<>();
+        private final List<Object[]> trigrams = new ArrayList<>();
+        private final List<Object[]> contracts = new ArrayList<>();
+        private final List<Object[]> roomTypes = new ArrayList<>();
+        private long nextHotelId;
+        private long nextContractId;
+        private long nextRoomTypeId;
+
+        private Batch(long nextHotelId, long nextContractId, long nextRoomTypeId) {
+            this.nextHotelId = nextHotelId;
+            this.nextContractId = nextContractId;
+            this.nextRoomTypeId = nextRoomTypeId;
+        }
+
+        private Batch next() {
+            return new Batch(nextHotelId, nextContractId, nextRoomTypeId);
+        }
+
+        private static void setValues(PreparedStatement statement, Object[] row) throws SQLException {
+            for (int i = 0; i < row.length; i++) {
+                statement.setObject(i + 1, row[i]);
+            }
+        }
+    }
+
+    /**
+     * The number of rows written by a run of the generator.
+     *
+     * @param hotels    the number of hotels
+     * @param contracts the number of contracts
+     * @param roomTypes the number of room types
+     * @param elapsed   the time taken
+     */
+    public record GeneratedCatalog(long hotels, long contracts, long roomTypes, Duration elapsed) {
+    }
+}
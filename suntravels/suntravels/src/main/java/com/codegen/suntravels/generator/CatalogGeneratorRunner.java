@@ -0,0 +1,92 @@
+package com.codegen.suntravels.generator;
+
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.Pricing;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+/**
+ * Runs the {@link CatalogGenerator} on startup with the {@code suntravels.generator.*} properties.
+ *
+ * <p>Active in two profiles:</p>
+ * <ul>
+ *     <li>{@code generate-catalog} generates the catalog and exits, without starting the web server.</li>
+ *     <li>{@code scale-test} generates the catalog only if there are no hotels yet, then keeps serving
+ *     requests against it.</li>
+ * </ul>
+ *
+ * <p>The generator writes with JDBC and publishes no change events, so the search offers are rebuilt and
+ * the second-level cache is emptied once it is done.</p>
+ */
+@Component
+@Profile({"generate-catalog", "scale-test"})
+public class CatalogGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogGeneratorRunner.class);
+
+    private final CatalogGenerator generator;
+    private final EntityCacheService entityCacheService;
+    private final SearchOfferProjector searchOfferProjector;
+    private final CatalogSpec spec;
+    private final boolean onlyIfEmpty;
+    private final boolean exitWhenDone;
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public CatalogGeneratorRunner(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  ConfigurableApplicationContext context, EntityCacheService entityCacheService,
+                                  SearchOfferProjector searchOfferProjector,
+                                  @Value("${suntravels.generator.seed:42}") long seed,
+                                  @Value("${suntravels.generator.hotels:10000}") int hotels,
+                                  @Value("${suntravels.generator.contracts-per-hotel.min:1}") int minContractsPerHotel,
+                                  @Value("${suntravels.generator.contracts-per-hotel.max:4}") int maxContractsPerHotel,
+                                  @Value("${suntravels.generator.contract-days.min:30}") int minContractDays,
+                                  @Value("${suntravels.generator.contract-days.max:365}") int maxContractDays,
+                                  @Value("${suntravels.generator.room-types-per-contract.min:1}") int minRoomTypesPerContract,
+                                  @Value("${suntravels.generator.room-types-per-contract.max:30}") int maxRoomTypesPerContract,
+                                  @Value("${suntravels.generator.price-per-person.min:20.00}") double minPricePerPerson,
+                                  @Value("${suntravels.generator.price-per-person.max:2000.00}") double maxPricePerPerson,
+                                  @Value("${suntravels.generator.price-skew:3.0}") double priceSkew,
+                                  @Value("${suntravels.generator.start-date:}") String startDate,
+                                  @Value("${suntravels.generator.batch-size:1000}") int batchSize,
+                                  @Value("${suntravels.generator.only-if-empty:false}") boolean onlyIfEmpty,
+                                  @Value("${suntravels.generator.exit-when-done:false}") boolean exitWhenDone) {
+        this.generator = new CatalogGenerator(jdbcTemplate, transactionManager, batchSize);
+        this.entityCacheService = entityCacheService;
+        this.searchOfferProjector = searchOfferProjector;
+        this.spec = new CatalogSpec(seed, hotels, minContractsPerHotel, maxContractsPerHotel, minContractDays,
+                maxContractDays, minRoomTypesPerContract, maxRoomTypesPerContract, Pricing.toCents(minPricePerPerson),
+                Pricing.toCents(maxPricePerPerson), priceSkew,
+                startDate.isBlank() ? LocalDate.now() : LocalDate.parse(startDate));
+        this.onlyIfEmpty = onlyIfEmpty;
+        this.exitWhenDone = exitWhenDone;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (onlyIfEmpty && generator.countHotels() > 0) {
+            log.info("Skipping catalog generation, the database already holds hotels");
+        } else {
+            generator.generate(spec);
+            searchOfferProjector.rebuild();
+            entityCacheService.evictAll();
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.codegen.suntravels.generator;
+
+import java.time.LocalDate;
+
+/**
+ * The size and shape of a synthetic catalog generated by the {@link CatalogGenerator}.
+ *
+ * @param seed                    the seed of the random generator; the same spec always generates the same catalog
+ * @param hotels                  the number of hotels to generate
+ * @param minContractsPerHotel    the smallest number of contracts of a hotel
+ * @param maxContractsPerHotel    the largest number of contracts of a hotel
+ * @param minContractDays         the shortest contract, in days
+ * @param maxContractDays         the longest contract, in days
+ * @param minRoomTypesPerContract the smallest number of room types of a contract
+ * @param maxRoomTypesPerContract the largest number of room types of a contract
+ * @param minPriceCents           the lowest price per person, in cents
+ * @param maxPriceCents           the highest price per person, in cents
+ * @param priceSkew               how strongly prices lean towards the lowest price; 1 spreads them evenly
+ * @param startDate               the date around which the first contract of every hotel starts
+ */
+public record CatalogSpec(long seed,
+                          int hotels,
+                          int minContractsPerHotel,
+                          int maxContractsPerHotel,
+                          int minContractDays,
+                          int maxContractDays,
+                          int minRoomTypesPerContract,
+                          int maxRoomTypesPerContract,
+                          long minPriceCents,
+                          long maxPriceCents,
+                          double priceSkew,
+                          LocalDate startDate) {
+
+    public CatalogSpec {
+        requireRange("contracts per hotel", minContractsPerHotel, maxContractsPerHotel, 1);
+        requireRange("contract days", minContractDays, maxContractDays, 1);
+        requireRange("room types per contract", minRoomTypesPerContract, maxRoomTypesPerContract, 1);
+        requireRange("price per person", minPriceCents, maxPriceCents, 1);
+        if (hotels < 0) {
+            throw new IllegalArgumentException("The number of hotels must not be negative");
+        }
+        if (priceSkew <= 0) {
+            throw new IllegalArgumentException("The price skew must be positive");
+        }
+        if (startDate == null) {
+            throw new IllegalArgumentException("The start date is required");
+        }
+    }
+
+    private static void requireRange(String name, long min, long max, long lowest) {
+        if (min < lowest || max < min) {
+            throw new IllegalArgumentException("Invalid range of " + name + ": " + min + " to " + max);
+        }
+    }
+}
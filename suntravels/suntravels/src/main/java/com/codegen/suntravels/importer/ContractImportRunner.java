@@ -0,0 +1,76 @@
+package com.codegen.suntravels.importer;
+
+import com.codegen.suntravels.dto.ImportChunkReportDTO;
+import com.codegen.suntravels.dto.ImportErrorDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Imports the contracts of the file named by {@code suntravels.import.file} with the {@link ContractImporter}
+ * on startup and exits, without starting the web server. Active in the {@code import-contracts} profile.
+ *
+ * <p>The format is taken from {@code suntravels.import.format}, {@code CSV} or {@code NDJSON}, or else from
+ * the extension of the file. Every chunk is logged with its rejected contracts as it is written; the
+ * application exits with status 1 if any contract was rejected.</p>
+ */
+@Component
+@Profile("import-contracts")
+public class ContractImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractImportRunner.class);
+
+    private final ContractImporter importer;
+    private final ConfigurableApplicationContext context;
+    private final String file;
+    private final String format;
+
+    @Autowired
+    public ContractImportRunner(ContractImporter importer, ConfigurableApplicationContext context,
+                                @Value("${suntravels.import.file:}") String file,
+                                @Value("${suntravels.import.format:}") String format) {
+        this.importer = importer;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (file.isBlank()) {
+            throw new IllegalStateException("Set suntravels.import.file to the file to import");
+        }
+        Path path = Path.of(file);
+        ImportFormat importFormat = format.isBlank()
+                ? ImportFormat.ofFileName(path.getFileName().toString())
+                : ImportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+
+        ContractImporter.ImportResult result;
+        try (ContractRecordReader reader = importer.open(Files.newBufferedReader(path, StandardCharsets.UTF_8), importFormat)) {
+            result = importer.importContracts(reader, ContractImportRunner::log);
+        }
+        System.exit(SpringApplication.exit(context, () -> result.rejected() > 0 ? 1 : 0));
+    }
+
+    private static void log(ImportChunkReportDTO report) {
+        log.info("Chunk {}, lines {} to {}: imported {} of {} contracts with {} room types",
+                report.getChunk(), report.getFirstLine(), report.getLastLine(), report.getContractsImported(),
+                report.getContractsRead(), report.getRoomTypesImported());
+        for (ImportErrorDTO error : report.getErrors()) {
+            log.warn("Line {}: {}", error.getLine(), error.getMessage());
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.codegen.suntravels.importer;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ImportChunkReportDTO;
+import com.codegen.suntravels.dto.ImportErrorDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.event.ContractsImportedEvent;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Imports supplier contracts with their room types from CSV or newline-delimited JSON files.
+ *
+ * <p>Contracts are read one at a time and written in chunks of {@code suntravels.import.chunk-size}
+ * contracts, each chunk in a transaction of its own, so neither the file nor the transaction grows with
+ * the size of the import. For every contract:</p>
+ * <ul>
+ *     <li>the hotel is looked up by its normalized name in a map of all hotels, loaded once per import;
+ *     unknown names, and names shared by several hotels, reject the contract;</li>
+ *     <li>the contract and its room types are checked against the Bean Validation constraints of
+ *     {@link Contract} and {@link RoomType}, as the forms are; a contract with any violation is rejected
+ *     as a whole.</li>
+ * </ul>
+ *
+ * <p>The valid contracts of a chunk are written with JDBC batch inserts. Their IDs are reserved as one
+ * block in the "id_generators" table, under the same row lock Hibernate reserves its blocks with, so
+ * imports can run while the application creates contracts. A {@link ContractsImportedEvent} for the
+ * chunk then derives the search offers in the same transaction and, once committed, updates the
+ * in-memory indexes. If a chunk fails to write, its contracts are reported as rejected and the import
+ * continues with the next chunk.</p>
+ */
+@Component
+public class ContractImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractImporter.class);
+
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO contracts (id, hotel_id, start_date, end_date, markup_percentage) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_ROOM_TYPE =
+            "INSERT INTO room_types (id, name, contract_id, price_per_person_cents, number_of_rooms, max_adults) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String LOCK_LAST_ID = "SELECT last_id FROM id_generators WHERE name = ? FOR UPDATE";
+    private static final String RESERVE_IDS = "UPDATE id_generators SET last_id = ? WHERE name = ?";
+
+    /**
+     * Stands in the hotel map for a name shared by several hotels.
+     */
+    private static final long AMBIGUOUS = -1L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCacheService entityCacheService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    @Autowired
+    public ContractImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            Validator validator, ApplicationEventPublisher eventPublisher,
+                            EntityCacheService entityCacheService, ObjectMapper objectMapper,
+                            @Value("${suntravels.import.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.entityCacheService = entityCacheService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    /**
+     * Opens a file for import. A CSV header is read and checked right away.
+     *
+     * @param reader the contents of the file
+     * @param format the format of the file
+     * @return the reader to pass to {@link #importContracts}
+     * @throws IOException if the file cannot be read
+     */
+    public ContractRecordReader open(Reader reader, ImportFormat format) throws IOException {
+        return format.open(reader, objectMapper);
+    }
+
+    /**
+     * Imports every contract of a file, reporting each chunk once it has been written.
+     *
+     * @param reader   the contracts to import
+     * @param progress called with the report of every chunk
+     * @return the totals of the import
+     * @throws IOException if the file cannot be read; the chunks written until then stay committed
+     */
+    public ImportResult importContracts(ContractRecordReader reader, Consumer<ImportChunkReportDTO> progress)
+            throws IOException {
+        long started = System.nanoTime();
+        Map<String, Long> hotelIds = loadHotelIds();
+        int chunks = 0;
+        long imported = 0;
+        long roomTypes = 0;
+        long rejected = 0;
+
+        ContractRecord record = reader.next();
+        while (record != null) {
+            Chunk chunk = new Chunk(++chunks, record.firstLine());
+            while (record != null) {
+                add(chunk, record, hotelIds);
+                record = chunk.read < chunkSize ? reader.next() : null;
+            }
+            write(chunk);
+
+            imported += chunk.contracts.size() - chunk.failed;
+            roomTypes += chunk.roomTypesImported;
+            rejected += chunk.rejected + chunk.failed;
+            progress.accept(new ImportChunkReportDTO(chunk.number, chunk.firstLine, chunk.lastLine, chunk.read,
+                    chunk.contracts.size() - chunk.failed, chunk.roomTypesImported, chunk.errors, imported, rejected));
+
+            // Only read on once the chunk is reported, so a slow upload shows progress as it arrives
+            record = chunk.read == chunkSize ? reader.next() : null;
+        }
+
+        ImportResult result = new ImportResult(chunks, imported, roomTypes, rejected,
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Imported {} contracts with {} room types in {} chunks, rejected {}, in {}", result.contracts(),
+                result.roomTypes(), result.chunks(), result.rejected(), result.elapsed());
+        return result;
+    }
+
+    /**
+     * Maps the normalized name of every hotel to its ID, or to {@link #AMBIGUOUS} if several hotels share it.
+     */
+    private Map<String, Long> loadHotelIds() {
+        Map<String, Long> hotelIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, normalized_name FROM hotels", rs -> {
+            String name = rs.getString(2);
+            if (name != null) {
+                hotelIds.merge(name, rs.getLong(1), (first, second) -> AMBIGUOUS);
+            }
+        });
+        return hotelIds;
+    }
+
+    private void add(Chunk chunk, ContractRecord record, Map<String, Long> hotelIds) {
+        chunk.read++;
+        chunk.lastLine = record.lastLine();
+        List<ImportErrorDTO> errors = new ArrayList<>(record.errors());
+        if (errors.isEmpty()) {
+            ContractDTO contractDTO = record.contract();
+            Long hotelId = resolveHotel(contractDTO.getHotelName(), hotelIds, record.firstLine(), errors);
+            Contract contract = toContract(contractDTO, record.firstLine(), errors);
+            if (contract != null) {
+                validate(contract, record.firstLine(), errors);
+            }
+            if (errors.isEmpty()) {
+                chunk.contracts.add(new ImportedContract(record.firstLine(), hotelId, contract));
+                chunk.roomTypes += contract.getRoomTypes().size();
+                return;
+            }
+        }
+        chunk.errors.addAll(errors);
+        chunk.rejected++;
+    }
+
+    private static Long resolveHotel(String hotelName, Map<String, Long> hotelIds, long line,
+                                     List<ImportErrorDTO> errors) {
+        if (hotelName == null || hotelName.isBlank()) {
+            errors.add(new ImportErrorDTO(line, "Hotel name is required"));
+            return null;
+        }
+        Long hotelId = hotelIds.get(Hotel.normalize(hotelName));
+        if (hotelId == null) {
+            errors.add(new ImportErrorDTO(line, "Hotel not found with name: " + hotelName));
+        } else if (hotelId == AMBIGUOUS) {
+            errors.add(new ImportErrorDTO(line, "More than one hotel is named: " + hotelName));
+            return null;
+        }
+        return hotelId;
+    }
+
+    private static Contract toContract(ContractDTO contractDTO, long line, List<ImportErrorDTO> errors) {
+        Contract contract = new Contract();
+        contract.setStartDate(contractDTO.getStartDate());
+        contract.setEndDate(contractDTO.getEndDate());
+        contract.setMarkupPercentage(contractDTO.getMarkupPercentage());
+        if (contractDTO.getRoomTypes() == null) {
+            return contract;
+        }
+        for (RoomTypeDTO roomTypeDTO : contractDTO.getRoomTypes()) {
+            RoomType roomType = new RoomType();
+            roomType.setName(roomTypeDTO.getName());
+            roomType.setContract(contract);
+            try {
+                if (roomTypeDTO.getPricePerPersonCents() != null) {
+                    roomType.setPricePerPersonCents(roomTypeDTO.getPricePerPersonCents());
+                } else {
+                    roomType.setPricePerPerson(roomTypeDTO.getPricePerPerson());
+                }
+            } catch (ArithmeticException | NumberFormatException e) {
+                errors.add(new ImportErrorDTO(line, "Room type '" + roomTypeDTO.getName() + "': Price is out of range"));
+                return null;
+            }
+            roomType.setNumberOfRooms(roomTypeDTO.getNumberOfRooms());
+            roomType.setMaxAdults(roomTypeDTO.getMaxAdults());
+            contract.getRoomTypes().add(roomType);
+        }
+        return contract;
+    }
+
+    private void validate(Contract contract, long line, List<ImportErrorDTO> errors) {
+        List<String> messages = new ArrayList<>();
+        for (ConstraintViolation<Contract> violation : validator.validate(contract)) {
+            messages.add(violation.getMessage());
+        }
+        for (RoomType roomType : contract.getRoomTypes()) {
+            for (ConstraintViolation<RoomType> violation : validator.validate(roomType)) {
+                messages.add("Room type '" + roomType.getName() + "': " + violation.getMessage());
+            }
+        }
+        messages.sort(null);
+        for (String message : messages) {
+            errors.add(new ImportErrorDTO(line, message));
+        }
+    }
+
+    /**
+     * Writes the valid contracts of a chunk and their room types in one transaction. If the transaction
+     * fails, every contract of the chunk is reported as rejected.
+     */
+    private void write(Chunk chunk) {
+        if (chunk.contracts.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long contractId = reserveIds("contracts", chunk.contracts.size());
+                long roomTypeId = chunk.roomTypes > 0 ? reserveIds("room_types", chunk.roomTypes) : 0L;
+                long firstContractId = contractId;
+                LocalDate fromDate = null;
+                LocalDate toDate = null;
+                List<Object[]> contractRows = new ArrayList<>(chunk.contracts.size());
+                List<Object[]> roomTypeRows = new ArrayList<>(chunk.roomTypes);
+                for (ImportedContract imported : chunk.contracts) {
+                    Contract contract = imported.contract();
+                    contractRows.add(new Object[]{contractId, imported.hotelId(), Date.valueOf(contract.getStartDate()),
+                            Date.valueOf(contract.getEndDate()), contract.getMarkupPercentage()});
+                    for (RoomType roomType : contract.getRoomTypes()) {
+                        roomTypeRows.add(new Object[]{roomTypeId++, roomType.getName(), contractId,
+                                roomType.getPricePerPersonCents(), roomType.getNumberOfRooms(), roomType.getMaxAdults()});
+                    }
+                    fromDate = fromDate == null || contract.getStartDate().isBefore(fromDate) ? contract.getStartDate() : fromDate;
+                    toDate = toDate == null || contract.getEndDate().isAfter(toDate) ? contract.getEndDate() : toDate;
+                    contractId++;
+                }
+                jdbcTemplate.batchUpdate(INSERT_CONTRACT, contractRows);
+                if (!roomTypeRows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_ROOM_TYPE, roomTypeRows);
+                }
+                eventPublisher.publishEvent(new ContractsImportedEvent(firstContractId, contractId - 1, fromDate, toDate));
+            });
+            chunk.roomTypesImported = chunk.roomTypes;
+            // The date-range queries are cached; rows written around Hibernate do not invalidate them
+            entityCacheService.evictQueryResults();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Chunk {} of the import failed, lines {} to {}", chunk.number, chunk.firstLine, chunk.lastLine, e);
+            String message = "Not imported, the chunk failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (ImportedContract imported : chunk.contracts) {
+                chunk.errors.add(new ImportErrorDTO(imported.line(), message));
+            }
+            chunk.errors.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            chunk.failed = chunk.contracts.size();
+        }
+    }
+
+    /**
+     * Reserves a block of IDs for a table, following the last ID reserved in the "id_generators" table.
+     *
+     * @return the first ID of the block
+     */
+    private long reserveIds(String table, int count) {
+        Long lastId = jdbcTemplate.queryForObject(LOCK_LAST_ID, Long.class, table);
+        long firstId = (lastId != null ? lastId : 0L) + 1;
+        jdbcTemplate.update(RESERVE_IDS, firstId + count - 1, table);
+        return firstId;
+    }
+
+    /**
+     * The contracts read into a chunk, and what became of them.
+     */
+    private static final class Chunk {
+
+        private final int number;
+        private final long firstLine;
+        private final List<ImportedContract> contracts = new ArrayList<>();
+        private final List<ImportErrorDTO> errors = new ArrayList<>();
+        private long lastLine;
+        private int read;
+        private int roomTypes;
+        private int roomTypesImported;
+        private int rejected;
+        private int failed;
+
+        private Chunk(int number, long firstLine) {
+            this.number = number;
+            this.firstLine = firstLine;
+        }
+    }
+
+    private record ImportedContract(long line, Long hotelId, Contract contract) {
+    }
+
+    /**
+     * The totals of an import.
+     *
+     * @param chunks    the number of chunks
+     * @param contracts the number of contracts imported
+     * @param roomTypes the number of room types imported
+     * @param rejected  the number of contracts rejected
+     * @param elapsed   the time taken
+     */
+    public record ImportResult(int chunks, long contracts, long roomTypes, long rejected, Duration elapsed) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.codegen.suntravels.importer;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ImportErrorDTO;
+
+import java.util.List;
+
+/**
+ * A contract read from an import file, with its room types and the name of its hotel, or the reasons
+ * it could not be read.
+ *
+ * @param firstLine the line of the file the contract starts on, counting from 1
+ * @param lastLine  the line of the file the contract ends on
+ * @param contract  the contract, or {@code null} if it could not be read
+ * @param errors    why the contract could not be read, empty if it could
+ */
+public record ContractRecord(long firstLine, long lastLine, ContractDTO contract, List<ImportErrorDTO> errors) {
+}
@@ -0,0 +1,19 @@
+package com.codegen.suntravels.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads the contracts of an import file one at a time, so that a file of any size is imported without
+ * being held in memory.
+ */
+public interface ContractRecordReader extends Closeable {
+
+    /**
+     * Reads the next contract of the file.
+     *
+     * @return the next contract, or {@code null} at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    ContractRecord next() throws IOException;
+}
@@ -0,0 +1,228 @@
+package com.codegen.suntravels.importer;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ImportErrorDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.exception.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads contracts from a CSV rate sheet with one room type per row.
+ *
+ * <p>The first line names the columns, in any order: {@code hotel_name}, {@code start_date},
+ * {@code end_date} and {@code markup_percentage} describe the contract, {@code room_type},
+ * {@code price_per_person}, {@code number_of_rooms} and {@code max_adults} one of its room types.
+ * Consecutive rows with the same contract columns make up one contract; a row whose room type columns
+ * are all empty adds a contract without room types. Dates are written as {@code yyyy-MM-dd} and prices
+ * as decimal amounts.</p>
+ *
+ * <p>Fields may be quoted with double quotes, with a doubled quote standing for a quote inside the field.
+ * Quoted fields cannot span lines. Blank lines are skipped.</p>
+ */
+public class CsvContractReader implements ContractRecordReader {
+
+    private static final List<String> CONTRACT_COLUMNS =
+            List.of("hotel_name", "start_date", "end_date", "markup_percentage");
+    private static final List<String> ROOM_TYPE_COLUMNS =
+            List.of("room_type", "price_per_person", "number_of_rooms", "max_adults");
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long lineNumber;
+    private Row pending;
+
+    /**
+     * Creates a reader and reads the header line.
+     *
+     * @param reader the CSV to read
+     * @throws IOException            if the CSV cannot be read
+     * @throws InvalidImportException if the CSV is empty or its header lacks a column
+     */
+    public CsvContractReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        Row header = readRow();
+        if (header == null) {
+            throw new InvalidImportException("The CSV file is empty");
+        }
+        if (header.fields == null) {
+            throw new InvalidImportException("The CSV header has an unterminated quoted field");
+        }
+        for (int i = 0; i < header.fields.size(); i++) {
+            // Spreadsheets may start the file with a byte order mark
+            String column = header.fields.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(column, i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String column : CONTRACT_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                missing.add(column);
+            }
+        }
+        for (String column : ROOM_TYPE_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                missing.add(column);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new InvalidImportException("The CSV header lacks the columns " + String.join(", ", missing));
+        }
+    }
+
+    @Override
+    public ContractRecord next() throws IOException {
+        Row first = pending != null ? pending : readRow();
+        pending = null;
+        if (first == null) {
+            return null;
+        }
+        List<ImportErrorDTO> errors = new ArrayList<>();
+        if (!isComplete(first, errors)) {
+            return new ContractRecord(first.line, first.line, null, errors);
+        }
+
+        ContractDTO contract = new ContractDTO();
+        contract.setHotelName(field(first, "hotel_name"));
+        contract.setStartDate(parse(first, "start_date", LocalDate::parse, "a date (yyyy-MM-dd)", errors));
+        contract.setEndDate(parse(first, "end_date", LocalDate::parse, "a date (yyyy-MM-dd)", errors));
+        contract.setMarkupPercentage(parse(first, "markup_percentage", CsvContractReader::parseDecimal, "a number", errors));
+        addRoomType(contract, first, errors);
+
+        long lastLine = first.line;
+        Row row;
+        while ((row = readRow()) != null && sameContract(first, row)) {
+            if (isComplete(row, errors)) {
+                addRoomType(contract, row, errors);
+            }
+            lastLine = row.line;
+        }
+        pending = row;
+        return new ContractRecord(first.line, lastLine, errors.isEmpty() ? contract : null, errors);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void addRoomType(ContractDTO contract, Row row, List<ImportErrorDTO> errors) {
+        if (ROOM_TYPE_COLUMNS.stream().allMatch(column -> field(row, column).isEmpty())) {
+            return;
+        }
+        RoomTypeDTO roomType = new RoomTypeDTO();
+        roomType.setName(field(row, "room_type"));
+        roomType.setPricePerPerson(parse(row, "price_per_person", CsvContractReader::parseDecimal, "a number", errors));
+        roomType.setNumberOfRooms(parse(row, "number_of_rooms", Integer::valueOf, "a whole number", errors));
+        roomType.setMaxAdults(parse(row, "max_adults", Integer::valueOf, "a whole number", errors));
+        contract.getRoomTypes().add(roomType);
+    }
+
+    private boolean isComplete(Row row, List<ImportErrorDTO> errors) {
+        if (row.fields == null) {
+            errors.add(new ImportErrorDTO(row.line, "Unterminated quoted field"));
+            return false;
+        }
+        if (row.fields.size() != columns.size()) {
+            errors.add(new ImportErrorDTO(row.line, "Expected " + columns.size() + " fields but found " + row.fields.size()));
+            return false;
+        }
+        return true;
+    }
+
+    private boolean sameContract(Row first, Row row) {
+        return row.fields != null && row.fields.size() == columns.size()
+               && CONTRACT_COLUMNS.stream().allMatch(column -> field(first, column).equals(field(row, column)));
+    }
+
+    private String field(Row row, String column) {
+        return row.fields.get(columns.get(column)).trim();
+    }
+
+    /**
+     * Parses a field, recording an error and returning {@code null} if it holds no valid value.
+     * An empty field is {@code null} without an error, and left to the validation of the contract.
+     */
+    private <T> T parse(Row row, String column, Function<String, T> parser, String expected,
+                        List<ImportErrorDTO> errors) {
+        String value = field(row, column);
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            errors.add(new ImportErrorDTO(row.line, column + " '" + value + "' is not " + expected));
+            return null;
+        }
+    }
+
+    private static Double parseDecimal(String value) {
+        double number = Double.parseDouble(value);
+        if (!Double.isFinite(number)) {
+            throw new NumberFormatException(value);
+        }
+        return number;
+    }
+
+    /**
+     * Reads the next non-blank line and splits it into fields.
+     *
+     * @return the row, with {@code null} fields if a quoted field is not terminated, or {@code null} at
+     * the end of the file
+     */
+    private Row readRow() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+        return new Row(lineNumber, split(line));
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private record Row(long line, List<String> fields) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.codegen.suntravels.importer;
+
+import com.codegen.suntravels.exception.InvalidImportException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+
+/**
+ * The file formats contracts can be imported from.
+ */
+public enum ImportFormat {
+
+    /**
+     * A rate sheet with one room type per row, see {@link CsvContractReader}.
+     */
+    CSV(new MediaType("text", "csv")),
+
+    /**
+     * One contract with its room types per line, see {@link NdjsonContractReader}.
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the media type files of this format are sent with.
+     *
+     * @return the media type
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Opens a reader for a file of this format.
+     *
+     * @param reader       the contents of the file
+     * @param objectMapper the mapper JSON is read with
+     * @return the reader of the contracts in the file
+     * @throws IOException if the file cannot be read
+     */
+    public ContractRecordReader open(Reader reader, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvContractReader(reader);
+            case NDJSON -> new NdjsonContractReader(reader, objectMapper);
+        };
+    }
+
+    /**
+     * Returns the format of a file sent with the given media type.
+     *
+     * @param mediaType the media type of the file
+     * @return the format
+     * @throws InvalidImportException if contracts cannot be imported from that media type
+     */
+    public static ImportFormat of(MediaType mediaType) {
+        for (ImportFormat format : values()) {
+            if (format.mediaType.equalsTypeAndSubtype(mediaType)) {
+                return format;
+            }
+        }
+        throw new InvalidImportException("Contracts cannot be imported from " + mediaType);
+    }
+
+    /**
+     * Returns the format of a file from its extension: {@code .csv}, or {@code .ndjson}, {@code .jsonl}
+     * or {@code .json} for newline-delimited JSON.
+     *
+     * @param fileName the name of the file
+     * @return the format
+     * @throws InvalidImportException if the extension is not known
+     */
+    public static ImportFormat ofFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new InvalidImportException("Cannot tell the format of " + fileName + ", set it explicitly");
+    }
+}
@@ -0,0 +1,65 @@
+package com.codegen.suntravels.importer;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ImportErrorDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Reads contracts from newline-delimited JSON, one {@link ContractDTO} with its room types per line, as
+ * written by the contract export. The hotel is given by {@code hotelName}; IDs are ignored, as every
+ * contract and room type read is imported as a new one. Blank lines are skipped.
+ */
+public class NdjsonContractReader implements ContractRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    /**
+     * Creates a reader.
+     *
+     * @param reader       the newline-delimited JSON to read
+     * @param objectMapper the mapper each line is read with
+     */
+    public NdjsonContractReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ContractRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            ContractDTO contract = objectMapper.readValue(line, ContractDTO.class);
+            if (contract != null) {
+                return new ContractRecord(lineNumber, lineNumber, contract, List.of());
+            }
+            return error("Not a contract: null");
+        } catch (JsonProcessingException e) {
+            return error("Not a contract: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ContractRecord error(String message) {
+        return new ContractRecord(lineNumber, lineNumber, null, List.of(new ImportErrorDTO(lineNumber, message)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.codegen.suntravels.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the conversion of one entity to its DTO, including any nested DTOs.
+ *
+ * <p>Listings convert one entity per row, so the event is disabled by default and only enabled for
+ * recordings started through the diagnostics endpoint, or with a custom recording setting.</p>
+ */
+@Name("com.codegen.suntravels.DtoConversion")
+@Label("DTO Conversion")
+@Category({"SunTravels", "Mapping"})
+@Description("The conversion of an entity to its DTO")
+@Enabled(false)
+@StackTrace(false)
+public class DtoConversionEvent extends Event {
+
+    @Label("DTO Type")
+    private String dtoType;
+
+    @Label("Entity ID")
+    private long entityId;
+
+    @Label("Nested DTOs")
+    @Description("The number of nested DTOs built along, e.g. the room types of a contract")
+    private int nestedDtos;
+
+    /**
+     * Starts timing a conversion.
+     *
+     * @param dtoType the DTO class being built
+     * @return the started event
+     */
+    public static DtoConversionEvent begin(Class<?> dtoType) {
+        DtoConversionEvent event = new DtoConversionEvent();
+        if (event.isEnabled()) {
+            event.dtoType = dtoType.getSimpleName();
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Ends the conversion and commits the event if it is enabled and over its threshold.
+     *
+     * @param entityId   the ID of the converted entity, or {@code null}
+     * @param nestedDtos the number of nested DTOs built
+     */
+    public void end(Long entityId, int nestedDtos) {
+        if (shouldCommit()) {
+            this.entityId = entityId != null ? entityId : 0L;
+            this.nestedDtos = nestedDtos;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codegen.suntravels.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a call to a Spring Data repository method, recorded by the
+ * {@link com.codegen.suntravels.config.RepositoryEventsAspect}.
+ */
+@Name("com.codegen.suntravels.RepositoryQuery")
+@Label("Repository Query")
+@Category({"SunTravels", "Repository"})
+@Description("A call to a repository method, including the statements it runs and the entities it loads")
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Result Size")
+    @Description("The number of elements returned, or -1 if the method does not return a collection or page")
+    private int resultSize = -1;
+
+    /**
+     * Starts timing a repository call.
+     *
+     * @param repository the simple name of the repository interface
+     * @param method     the name of the called method
+     * @return the started event
+     */
+    public static RepositoryQueryEvent begin(String repository, String method) {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (event.isEnabled()) {
+            event.repository = repository;
+            event.method = method;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Ends the call and commits the event if it is enabled and over its threshold.
+     *
+     * @param resultSize the number of elements returned, or -1
+     */
+    public void end(int resultSize) {
+        if (shouldCommit()) {
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
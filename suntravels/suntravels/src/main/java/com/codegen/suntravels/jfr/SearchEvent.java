@@ -0,0 +1,97 @@
+package com.codegen.suntravels.jfr;
+
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a room search, from the validated request to the built results.
+ *
+ * <p>A search served from the result cache is recorded with {@code cached} set and no contracts scanned.</p>
+ */
+@Name("com.codegen.suntravels.Search")
+@Label("Search")
+@Category({"SunTravels", "Search"})
+@Description("A room search, from the validated request to the built results")
+@StackTrace(false)
+public class SearchEvent extends Event {
+
+    @Label("Operation")
+    @Description("The kind of search: page, keyset, stream or batch")
+    private String operation;
+
+    @Label("Check-in Date")
+    private String checkInDate;
+
+    @Label("Nights")
+    private int nights;
+
+    @Label("Rooms")
+    @Description("The total number of rooms requested")
+    private int rooms;
+
+    @Label("Adults")
+    @Description("The total number of adults over all requested rooms")
+    private int adults;
+
+    @Label("Contracts Scanned")
+    @Description("The contracts evaluated against the request")
+    private int contractsScanned;
+
+    @Label("Results")
+    private int results;
+
+    @Label("Cached")
+    @Description("Whether the results were served from the search result cache")
+    private boolean cached = true;
+
+    /**
+     * Starts timing a search.
+     *
+     * @param operation        the kind of search
+     * @param searchRequestDTO the validated search request
+     * @return the started event
+     */
+    public static SearchEvent begin(String operation, SearchRequestDTO searchRequestDTO) {
+        SearchEvent event = new SearchEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.checkInDate = String.valueOf(searchRequestDTO.getCheckInDate());
+            event.nights = searchRequestDTO.getNumberOfNights();
+            for (RoomRequestDTO roomRequest : searchRequestDTO.getRoomRequests()) {
+                int rooms = roomRequest.getNumberOfRooms() != null ? roomRequest.getNumberOfRooms() : 1;
+                event.rooms += rooms;
+                event.adults += rooms * (roomRequest.getNumberOfAdults() != null ? roomRequest.getNumberOfAdults() : 0);
+            }
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Adds contracts evaluated against the request, and marks the search as not served from the cache.
+     *
+     * @param contracts the number of contracts evaluated
+     */
+    public void scanned(int contracts) {
+        contractsScanned += contracts;
+        cached = false;
+    }
+
+    /**
+     * Ends the search and commits the event if it is enabled and over its threshold.
+     *
+     * @param results the number of results of the search
+     */
+    public void end(int results) {
+        if (shouldCommit()) {
+            this.results = results;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.codegen.suntravels.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a booking of one or more rooms of a room type for the nights of a stay.
+ * While the booking is confirmed its rooms are counted in the {@link RoomAllocation} rows of every
+ * night from the check-in date up to, but not including, the check-out date.
+ *
+ * <p>This entity is mapped to the "bookings" table in the database. The hotel and room type names
+ * and the rate are copied in when the booking is made; if the room type is deleted later, the
+ * database clears the reference and the booking keeps them.</p>
+ */
+@Entity
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_room_type", columnList = "room_type_id, check_in_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Booking {
+
+    /**
+     * The unique identifier for the booking.
+     * This is the primary key in the "bookings" table.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The room type whose rooms are booked, or {@code null} if it has been deleted since.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private RoomType roomType;
+
+    /**
+     * The name of the hotel when the booking was made.
+     */
+    @Column(nullable = false)
+    private String hotelName;
+
+    /**
+     * The name of the room type when the booking was made.
+     */
+    @Column(nullable = false)
+    private String roomTypeName;
+
+    /**
+     * The name of the guest the rooms are booked for.
+     */
+    @NotBlank(message = "Guest name is required")
+    @Column(nullable = false)
+    private String guestName;
+
+    /**
+     * The date of the first night of the stay.
+     */
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    /**
+     * The date the guest leaves; the night before it is the last night of the stay.
+     */
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    /**
+     * The number of rooms booked.
+     */
+    @Positive(message = "Number of rooms must be positive")
+    @Column(nullable = false)
+    private Integer numberOfRooms;
+
+    /**
+     * The number of adults staying in each room.
+     */
+    @Positive(message = "Adults per room must be positive")
+    @Column(nullable = false)
+    private Integer adultsPerRoom;
+
+    /**
+     * The marked-up price per person per night, in cents, when the booking was made.
+     */
+    @Column(nullable = false)
+    private Long ratePerPersonCents;
+
+    /**
+     * The price of the whole stay, in cents.
+     */
+    @Column(nullable = false)
+    private Long totalPriceCents;
+
+    /**
+     * Whether the booking is confirmed or cancelled.
+     */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
+    private BookingStatus status;
+
+    /**
+     * When the booking was made.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.codegen.suntravels.model;
+
+/**
+ * The states of a {@link Booking}.
+ */
+public enum BookingStatus {
+
+    /**
+     * The rooms are taken for every night of the stay.
+     */
+    CONFIRMED,
+
+    /**
+     * The booking was cancelled and its rooms were given back.
+     */
+    CANCELLED
+}
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -19,9 +21,16 @@ import java.util.List;
  *
  * <p>This entity is mapped to the "contracts" table in the database, with relationships to the
  * {@link Hotel} and {@link RoomType} entities.</p>
+ *
+ * <p>Contracts are held in the "contracts" region of the second-level cache, and the IDs of their
+ * room types in the "contract-room-types" region.</p>
  */
 @Entity
-@Table(name = "contracts")
+@Table(name = "contracts", indexes = {
+        @Index(name = "idx_contracts_end_date", columnList = "end_date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contracts")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,17 +38,20 @@ public class Contract {
 
     /**
      * The unique identifier for the contract.
-     * This is the primary key in the "contracts" table.
+     * This is the primary key in the "contracts" table. IDs are reserved from the "id_generators" table in
+     * blocks of 50, so new contracts are inserted in JDBC batches rather than one statement each.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "contracts")
+    @TableGenerator(name = "contracts", table = "id_generators", pkColumnName = "name", valueColumnName = "last_id",
+                    pkColumnValue = "contracts", allocationSize = 50)
     private Long id;
 
     /**
      * The hotel associated with this contract.
      * This is a many-to-one relationship with the {@link Hotel} entity, indicating which hotel this contract belongs to.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id", nullable = false)
     private Hotel hotel;
 
@@ -71,5 +83,6 @@ public class Contract {
      * The list is cascaded with all operations and orphan removal is enabled.
      */
     @OneToMany(mappedBy = "contract", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "contract-room-types")
     private List<RoomType> roomTypes = new ArrayList<>();
 }
@@ -2,16 +2,23 @@ package com.codegen.suntravels.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Represents a hotel entity.
@@ -20,14 +27,18 @@ import java.util.List;
  *
  * <p>The hotel can have multiple contracts, which are represented by the {@link Contract} entity,
  * forming a one-to-many relationship between the hotel and its contracts.</p>
+ *
+ * <p>Hotels are held in the "hotels" region of the second-level cache.</p>
  */
 @Entity
 @Table(name = "hotels")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotels")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString(exclude = "contracts")  // Prevent recursion
+@ToString(exclude = {"contracts", "nameTrigrams"})  // Prevent recursion
 public class Hotel {
 
     /**
@@ -45,6 +56,29 @@ public class Hotel {
     @NotBlank(message = "Hotel name is required")
     private String name;
 
+    /**
+     * The hotel name normalised for searching: lower case, without accents and with single spaces.
+     * This field is maintained by {@link #setName(String)}.
+     */
+    @Column(name = "normalized_name")
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private String normalizedName;
+
+    /**
+     * The distinct three-character sequences of the normalised name. They are stored in the indexed
+     * "hotel_name_trigrams" table, so a name search only visits the hotels that share every trigram of the query.
+     * This field is maintained by {@link #setName(String)}.
+     */
+    @ElementCollection
+    @CollectionTable(name = "hotel_name_trigrams",
+                     joinColumns = @JoinColumn(name = "hotel_id"),
+                     indexes = @Index(name = "idx_hotel_name_trigrams_trigram", columnList = "trigram, hotel_id"))
+    @Column(name = "trigram", length = 3, nullable = false)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private Set<String> nameTrigrams = new HashSet<>();
+
     /**
      * The location of the hotel.
      * This field provides information about where the hotel is situated.
@@ -65,4 +99,43 @@ public class Hotel {
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Contract> contracts;
+
+    /**
+     * Sets the name of the hotel and updates its normalised name and trigrams.
+     *
+     * @param name the name of the hotel
+     */
+    public void setName(String name) {
+        this.name = name;
+        this.normalizedName = name != null ? normalize(name) : null;
+        this.nameTrigrams.clear();
+        if (normalizedName != null) {
+            this.nameTrigrams.addAll(trigrams(normalizedName));
+        }
+    }
+
+    /**
+     * Normalises a hotel name or search text: strips accents, lower-cases it and collapses whitespace.
+     *
+     * @param text the text to normalise
+     * @return the normalised text
+     */
+    public static String normalize(String text) {
+        String withoutAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Returns the distinct three-character sequences of a normalised text.
+     *
+     * @param normalized the normalised text
+     * @return the trigrams, empty if the text is shorter than three characters
+     */
+    public static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            trigrams.add(normalized.substring(i, i + 3));
+        }
+        return trigrams;
+    }
 }
@@ -0,0 +1,55 @@
+package com.codegen.suntravels.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Represents the number of rooms of a room type that are allocated for a single night.
+ * Together the rows of a room type form its per-night inventory ledger; nights without a row
+ * have no rooms allocated.
+ *
+ * <p>This entity is mapped to the "room_allocations" table in the database. Rows are removed
+ * by the database when their {@link RoomType} is deleted.</p>
+ */
+@Entity
+@Table(name = "room_allocations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_room_allocation_night", columnNames = {"room_type_id", "stay_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAllocation {
+
+    /**
+     * The unique identifier for the allocation row.
+     * This is the primary key in the "room_allocations" table.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The room type whose rooms are allocated.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RoomType roomType;
+
+    /**
+     * The night the rooms are allocated for, identified by its date.
+     */
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    /**
+     * The number of rooms allocated for the night.
+     */
+    @Column(nullable = false)
+    private int allocated;
+}
@@ -0,0 +1,75 @@
+package com.codegen.suntravels.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents rooms of a room type held for the nights of a stay while the guest completes a booking.
+ * Like a {@link Booking}, a hold counts its rooms in the {@link RoomAllocation} rows of every night of the
+ * stay; it gives them back when it is released or expires, or passes them on when it is booked.
+ *
+ * <p>This entity is mapped to the "room_holds" table in the database. Holds are deleted once they end,
+ * so every row is an active hold.</p>
+ */
+@Entity
+@Table(name = "room_holds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHold {
+
+    /**
+     * The unique identifier for the hold.
+     * This is the primary key in the "room_holds" table.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The room type whose rooms are held. The hold is deleted with it.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_type_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private RoomType roomType;
+
+    /**
+     * The date of the first night of the stay.
+     */
+    @Column(nullable = false)
+    private LocalDate checkInDate;
+
+    /**
+     * The day after the last night of the stay.
+     */
+    @Column(nullable = false)
+    private LocalDate checkOutDate;
+
+    /**
+     * The number of rooms held.
+     */
+    @Positive(message = "Number of rooms must be positive")
+    @Column(nullable = false)
+    private Integer numberOfRooms;
+
+    /**
+     * When the hold was placed.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * When the hold expires and its rooms are given back, unless it is booked before.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,11 +1,14 @@
 package com.codegen.suntravels.model;
 
+import com.codegen.suntravels.service.Pricing;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a room type within a hotel contract.
@@ -14,9 +17,13 @@ import lombok.NoArgsConstructor;
  * This class maps to the "room_types" table in the database.
  *
  * <p>Each room type is associated with a contract, and the room type details such as price and availability are determined by the contract.</p>
+ *
+ * <p>Room types are held in the "room-types" region of the second-level cache.</p>
  */
 @Entity
 @Table(name = "room_types")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "room-types")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,10 +31,13 @@ public class RoomType {
 
     /**
      * The unique identifier for the room type.
-     * This is the primary key in the "room_types" table.
+     * This is the primary key in the "room_types" table. Like contract IDs, it is taken from a block
+     * reserved in the "id_generators" table, so the new room types of a contract are inserted in one batch.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "room_types")
+    @TableGenerator(name = "room_types", table = "id_generators", pkColumnName = "name", valueColumnName = "last_id",
+                    pkColumnValue = "room_types", allocationSize = 50)
     private Long id;
 
     /**
@@ -41,16 +51,17 @@ public class RoomType {
      * The contract associated with this room type.
      * This is a many-to-one relationship with the {@link Contract} entity, indicating that a room type belongs to a specific contract.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contract_id", nullable = false)
     private Contract contract;
 
     /**
-     * The price per person for this room type.
+     * The price per person per night for this room type, in minor units (cents).
      * This value must be positive, indicating the cost of staying in the room type.
      */
     @Positive(message = "Price must be positive")
-    private Double pricePerPerson;
+    @Column(name = "price_per_person_cents")
+    private Long pricePerPersonCents;
 
     /**
      * The number of rooms available for this room type.
@@ -65,4 +76,23 @@ public class RoomType {
      */
     @Positive(message = "Maximum adults must be positive")
     private Integer maxAdults;
+
+    /**
+     * Returns the price per person per night as a decimal amount.
+     *
+     * @return the price per person, or {@code null} if no price is set
+     */
+    public Double getPricePerPerson() {
+        return pricePerPersonCents != null ? Pricing.toDecimal(pricePerPersonCents) : null;
+    }
+
+    /**
+     * Sets the price per person per night from a decimal amount, rounded half-up to whole cents,
+     * see {@link Pricing#toCents(Double)}.
+     *
+     * @param pricePerPerson the price per person, or {@code null} to clear the price
+     */
+    public void setPricePerPerson(Double pricePerPerson) {
+        this.pricePerPersonCents = Pricing.toCents(pricePerPerson);
+    }
 }
@@ -0,0 +1,106 @@
+package com.codegen.suntravels.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a room type as it is offered to searches: one flat row per room type, carrying the name of
+ * its hotel, the period of its contract and its nightly rate with the contract markup already applied.
+ * This class maps to the "search_offers" table in the database.
+ *
+ * <p>The table is a read model. It is written only by the
+ * {@link com.codegen.suntravels.service.SearchOfferProjector}, in the same transaction as the change to
+ * the hotels, contracts and room types it is derived from, and never through this entity. There are no
+ * foreign keys, so deleting a hotel, contract or room type is never held up by its offers.</p>
+ */
+@Entity
+@Immutable
+@Table(name = "search_offers", indexes = {
+        @Index(name = "idx_search_offers_stay", columnList = "end_date, start_date, max_adults, number_of_rooms"),
+        @Index(name = "idx_search_offers_contract", columnList = "contract_id"),
+        @Index(name = "idx_search_offers_hotel", columnList = "hotel_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchOffer {
+
+    /**
+     * The unique identifier of the offered room type.
+     * This is the primary key in the "search_offers" table.
+     */
+    @Id
+    @Column(name = "room_type_id")
+    private Long roomTypeId;
+
+    /**
+     * The name of the room type.
+     */
+    @Column(name = "room_type_name", nullable = false)
+    private String roomTypeName;
+
+    /**
+     * The unique identifier of the contract the room type is offered under.
+     */
+    @Column(name = "contract_id", nullable = false)
+    private Long contractId;
+
+    /**
+     * The unique identifier of the contracted hotel.
+     */
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    /**
+     * The name of the contracted hotel.
+     */
+    @Column(name = "hotel_name", nullable = false)
+    private String hotelName;
+
+    /**
+     * The first date covered by the contract.
+     */
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /**
+     * The last date covered by the contract.
+     */
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    /**
+     * The markup of the contract, in basis points.
+     */
+    @Column(name = "markup_basis_points", nullable = false)
+    private long markupBasisPoints;
+
+    /**
+     * The base price per person per night, in cents.
+     */
+    @Column(name = "price_per_person_cents", nullable = false)
+    private long pricePerPersonCents;
+
+    /**
+     * The price per person per night including the contract markup, in cents.
+     */
+    @Column(name = "rate_per_person_cents", nullable = false)
+    private long ratePerPersonCents;
+
+    /**
+     * The number of rooms contracted for the room type.
+     */
+    @Column(name = "number_of_rooms", nullable = false)
+    private int numberOfRooms;
+
+    /**
+     * The maximum number of adults a room can accommodate.
+     */
+    @Column(name = "max_adults", nullable = false)
+    private int maxAdults;
+}
@@ -0,0 +1,31 @@
+package com.codegen.suntravels.repository;
+
+import com.codegen.suntravels.model.Booking;
+import com.codegen.suntravels.model.BookingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for performing CRUD operations on {@link Booking} entities.
+ */
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    /**
+     * Moves a booking from one status to another, if it still has the expected status.
+     * Of concurrent calls for the same booking only one updates it, so its rooms are given back once.
+     *
+     * @param id       the unique identifier of the booking
+     * @param expected the status the booking must have
+     * @param status   the new status
+     * @return {@code 1} if the booking was updated, {@code 0} if it does not exist or has another status
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id = :id AND b.status = :expected")
+    int updateStatus(@Param("id") Long id, @Param("expected") BookingStatus expected, @Param("status") BookingStatus status);
+}
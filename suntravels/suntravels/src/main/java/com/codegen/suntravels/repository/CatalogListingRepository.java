@@ -0,0 +1,298 @@
+package com.codegen.suntravels.repository;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Lists hotels and contracts one keyset slice at a time, with optional filters and a choice of sort
+ * order, or exports all of them as a stream.
+ *
+ * <p>Both select DTO projections, so no entity is loaded. A slice is ordered by the sort column and then
+ * by ID, and holds the rows strictly after the last row of the previous slice. No offset is skipped, so
+ * every slice costs the same whatever its position. Exports read through a Hibernate scrollable cursor
+ * with a fetch size of {@code suntravels.listing.export.fetch-size} rows and hand each hotel or contract
+ * to the consumer as soon as it has been read. On MySQL the driver only honours the fetch size with
+ * {@code useCursorFetch=true} on the connection URL.</p>
+ */
+@Repository
+public class CatalogListingRepository {
+
+    /**
+     * The orders hotels can be listed in. Every order ends with the hotel ID, which breaks ties.
+     */
+    public enum HotelSort {
+        /** By hotel ID. */
+        ID(null, hotel -> null, key -> null),
+        /** By hotel name. */
+        NAME("h.name", HotelDTO::getName, key -> key);
+
+        private final String path;
+        private final Function<HotelDTO, String> key;
+        private final Function<String, Object> parser;
+
+        HotelSort(String path, Function<HotelDTO, String> key, Function<String, Object> parser) {
+            this.path = path;
+            this.key = key;
+            this.parser = parser;
+        }
+
+        /**
+         * Returns the sort key of a hotel, as stored in a continuation token.
+         *
+         * @param hotel the hotel
+         * @return the sort key, {@code null} when sorting by ID
+         */
+        public String keyOf(HotelDTO hotel) {
+            return key.apply(hotel);
+        }
+
+        /**
+         * Parses a sort key stored in a continuation token.
+         *
+         * @param key the sort key
+         * @return the value to compare the sort column with
+         */
+        public Object parse(String key) {
+            return parser.apply(key);
+        }
+    }
+
+    /**
+     * The orders contracts can be listed in. Every order ends with the contract ID, which breaks ties.
+     */
+    public enum ContractSort {
+        /** By contract ID. */
+        ID(null, contract -> null, key -> null),
+        /** By the date the contract starts. */
+        START_DATE("c.startDate", contract -> contract.getStartDate().toString(), LocalDate::parse),
+        /** By the date the contract ends. */
+        END_DATE("c.endDate", contract -> contract.getEndDate().toString(), LocalDate::parse);
+
+        private final String path;
+        private final Function<ContractDTO, String> key;
+        private final Function<String, Object> parser;
+
+        ContractSort(String path, Function<ContractDTO, String> key, Function<String, Object> parser) {
+            this.path = path;
+            this.key = key;
+            this.parser = parser;
+        }
+
+        /**
+         * Returns the sort key of a contract, as stored in a continuation token.
+         *
+         * @param contract the contract
+         * @return the sort key, {@code null} when sorting by ID
+         */
+        public String keyOf(ContractDTO contract) {
+            return key.apply(contract);
+        }
+
+        /**
+         * Parses a sort key stored in a continuation token.
+         *
+         * @param key the sort key
+         * @return the value to compare the sort column with
+         */
+        public Object parse(String key) {
+            return parser.apply(key);
+        }
+    }
+
+    private static final String HOTEL_SELECT =
+            "SELECT new com.codegen.suntravels.dto.HotelDTO(h.id, h.name, h.location, h.contactDetails) FROM Hotel h WHERE 1 = 1";
+
+    private static final String CONTRACT_SELECT =
+            "SELECT new com.codegen.suntravels.dto.ContractDTO(c.id, h.id, h.name, c.startDate, c.endDate, c.markupPercentage) " +
+            "FROM Contract c JOIN c.hotel h WHERE 1 = 1";
+
+    private static final String CONTRACT_EXPORT_SELECT =
+            "SELECT c.id, h.id, h.name, c.startDate, c.endDate, c.markupPercentage, " +
+            "rt.id, rt.name, rt.pricePerPersonCents, rt.numberOfRooms, rt.maxAdults " +
+            "FROM Contract c JOIN c.hotel h LEFT JOIN c.roomTypes rt WHERE 1 = 1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public CatalogListingRepository(@Value("${suntravels.listing.export.fetch-size:500}") int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Selects a slice of hotels.
+     *
+     * @param namePattern the {@code LIKE} pattern for the normalised hotel name, with {@code !} as escape
+     *                    character, or {@code null} for any name
+     * @param location    the location, matched case-insensitively, or {@code null} for any location
+     * @param sort        the sort order
+     * @param descending  whether to sort in descending order
+     * @param afterKey    the parsed sort key of the last hotel of the previous slice, {@code null} for the first slice
+     *                    or when sorting by ID
+     * @param afterId     the ID of the last hotel of the previous slice, or {@code null} for the first slice
+     * @param limit       the maximum number of hotels to return
+     * @return the hotels following the keyset position
+     */
+    public List<HotelDTO> findHotels(String namePattern, String location, HotelSort sort, boolean descending,
+                                     Object afterKey, Long afterId, int limit) {
+        return hotelQuery(namePattern, location, sort.path, descending, afterKey, afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Streams every hotel matching the filters, in ID order.
+     *
+     * @param namePattern the {@code LIKE} pattern for the normalised hotel name, or {@code null} for any name
+     * @param location    the location, matched case-insensitively, or {@code null} for any location
+     * @param consumer    receives each hotel as soon as it has been read
+     */
+    @Transactional(readOnly = true)
+    public void streamHotels(String namePattern, String location, Consumer<HotelDTO> consumer) {
+        TypedQuery<HotelDTO> query = hotelQuery(namePattern, location, null, false, null, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        try (Stream<HotelDTO> hotels = query.getResultStream()) {
+            hotels.forEach(consumer);
+        }
+    }
+
+    /**
+     * Selects a slice of contracts. The room types of the contracts are left empty.
+     *
+     * @param hotelId    the unique identifier of the hotel, or {@code null} for any hotel
+     * @param activeOn   a date the contract must cover, or {@code null} for any period
+     * @param sort       the sort order
+     * @param descending whether to sort in descending order
+     * @param afterKey   the parsed sort key of the last contract of the previous slice, {@code null} for the first
+     *                   slice or when sorting by ID
+     * @param afterId    the ID of the last contract of the previous slice, or {@code null} for the first slice
+     * @param limit      the maximum number of contracts to return
+     * @return the contracts following the keyset position
+     */
+    public List<ContractDTO> findContracts(Long hotelId, LocalDate activeOn, ContractSort sort, boolean descending,
+                                           Object afterKey, Long afterId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(CONTRACT_SELECT);
+        appendContractFilters(jpql, parameters, hotelId, activeOn);
+        appendKeyset(jpql, parameters, sort.path, "c.id", descending, afterKey, afterId);
+        return query(jpql, parameters, ContractDTO.class)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Streams every contract matching the filters, with its room types, in ID order. The contracts and
+     * room types are read as one joined result set, and only one contract is held in memory at a time.
+     *
+     * @param hotelId  the unique identifier of the hotel, or {@code null} for any hotel
+     * @param activeOn a date the contract must cover, or {@code null} for any period
+     * @param consumer receives each contract once all of its room types have been read
+     */
+    @Transactional(readOnly = true)
+    public void streamContracts(Long hotelId, LocalDate activeOn, Consumer<ContractDTO> consumer) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(CONTRACT_EXPORT_SELECT);
+        appendContractFilters(jpql, parameters, hotelId, activeOn);
+        jpql.append(" ORDER BY c.id, rt.id");
+        TypedQuery<Object[]> query = query(jpql, parameters, Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+
+        ContractDTO current = null;
+        try (Stream<Object[]> rows = query.getResultStream()) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                if (current == null || !current.getId().equals(row[0])) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = new ContractDTO((Long) row[0], (Long) row[1], (String) row[2], (LocalDate) row[3],
+                            (LocalDate) row[4], (Double) row[5]);
+                    current.setRoomTypes(new ArrayList<>());
+                }
+                if (row[6] != null) {
+                    current.getRoomTypes().add(new RoomTypeDTO((Long) row[6], (String) row[7], current.getId(),
+                            (Long) row[8], (Integer) row[9], (Integer) row[10]));
+                }
+            }
+        }
+        if (current != null) {
+            consumer.accept(current);
+        }
+    }
+
+    private TypedQuery<HotelDTO> hotelQuery(String namePattern, String location, String sortPath, boolean descending,
+                                            Object afterKey, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder jpql = new StringBuilder(HOTEL_SELECT);
+        if (namePattern != null) {
+            jpql.append(" AND h.normalizedName LIKE :namePattern ESCAPE '!'");
+            parameters.put("namePattern", namePattern);
+        }
+        if (location != null) {
+            jpql.append(" AND LOWER(h.location) = LOWER(:location)");
+            parameters.put("location", location);
+        }
+        appendKeyset(jpql, parameters, sortPath, "h.id", descending, afterKey, afterId);
+        return query(jpql, parameters, HotelDTO.class);
+    }
+
+    private static void appendContractFilters(StringBuilder jpql, Map<String, Object> parameters,
+                                              Long hotelId, LocalDate activeOn) {
+        if (hotelId != null) {
+            jpql.append(" AND h.id = :hotelId");
+            parameters.put("hotelId", hotelId);
+        }
+        if (activeOn != null) {
+            jpql.append(" AND c.startDate <= :activeOn AND c.endDate >= :activeOn");
+            parameters.put("activeOn", activeOn);
+        }
+    }
+
+    /**
+     * Appends the keyset position and the order of a slice. The sort path and the ID path come from
+     * the sort enums, never from the client.
+     */
+    private static void appendKeyset(StringBuilder jpql, Map<String, Object> parameters, String sortPath, String idPath,
+                                     boolean descending, Object afterKey, Long afterId) {
+        String after = descending ? " < " : " > ";
+        String direction = descending ? " DESC" : "";
+        if (afterId != null) {
+            if (sortPath == null) {
+                jpql.append(" AND ").append(idPath).append(after).append(":afterId");
+            } else {
+                jpql.append(" AND (").append(sortPath).append(after).append(":afterKey OR (")
+                    .append(sortPath).append(" = :afterKey AND ").append(idPath).append(after).append(":afterId))");
+                parameters.put("afterKey", afterKey);
+            }
+            parameters.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY ");
+        if (sortPath != null) {
+            jpql.append(sortPath).append(direction).append(", ");
+        }
+        jpql.append(idPath).append(direction);
+    }
+
+    private <T> TypedQuery<T> query(CharSequence jpql, Map<String, Object> parameters, Class<T> resultType) {
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultType);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
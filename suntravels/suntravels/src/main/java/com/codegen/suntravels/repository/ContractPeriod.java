@@ -0,0 +1,20 @@
+package com.codegen.suntravels.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the period spanned by one or more contracts.
+ * Both dates are {@code null} when there is no contract to span.
+ */
+public interface ContractPeriod {
+
+    /**
+     * @return the earliest start date of the contracts
+     */
+    LocalDate getFromDate();
+
+    /**
+     * @return the latest end date of the contracts
+     */
+    LocalDate getToDate();
+}
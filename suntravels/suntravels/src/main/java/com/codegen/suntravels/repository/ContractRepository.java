@@ -1,14 +1,23 @@
 package com.codegen.suntravels.repository;
 
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ContractExpiryReportDTO;
 import com.codegen.suntravels.model.Contract;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 /**
  * Repository interface for performing CRUD operations on {@link Contract} entities.
@@ -17,39 +26,169 @@ import org.springframework.data.domain.Pageable;
  *
  * <p>By using Spring Data JPA, this repository provides methods for querying the database
  * and retrieving contract data based on certain conditions.</p>
+ *
+ * <p>The results of the date-range queries are kept in the "contract-date-range-queries" region of the
+ * query cache. Hibernate drops them whenever the contracts or room_types table is written through JPA.</p>
  */
 @Repository
 public interface ContractRepository extends JpaRepository<Contract, Long> {
 
     /**
-     * Finds contracts that expire between the specified start and end date.
-     * This version supports pagination.
+     * Selects the columns of every contract's DTO and its hotel's name, without loading any entity.
+     * The room types of the DTOs are left empty.
+     *
+     * @return the DTOs of all contracts, ordered by ID
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.ContractDTO(c.id, h.id, h.name, c.startDate, c.endDate, c.markupPercentage) " +
+           "FROM Contract c JOIN c.hotel h ORDER BY c.id")
+    List<ContractDTO> findAllContractDTOs();
+
+    /**
+     * Selects the columns of a contract's DTO and its hotel's name, without loading any entity.
+     * The room types of the DTO are left empty.
+     *
+     * @param id the unique identifier of the contract
+     * @return the DTO of the contract, if it exists
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.ContractDTO(c.id, h.id, h.name, c.startDate, c.endDate, c.markupPercentage) " +
+           "FROM Contract c JOIN c.hotel h WHERE c.id = :id")
+    Optional<ContractDTO> findContractDTOById(@Param("id") Long id);
+
+    /**
+     * Selects the report rows of the contracts that expire between the specified start and end date.
+     * This version supports pagination. The days to expiry are left for the caller to compute.
      *
      * @param fromDate the starting date for the contract expiration range
      * @param toDate the ending date for the contract expiration range
      * @param pageable pagination information
-     * @return a page of contracts that expire within the specified date range
+     * @return a page of report rows of the contracts that expire within the specified date range
      */
-    @Query("SELECT c FROM Contract c WHERE c.endDate BETWEEN :fromDate AND :toDate")
-    Page<Contract> findContractsExpiringBetween(
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "contract-date-range-queries")})
+    @Query(value = "SELECT new com.codegen.suntravels.dto.ContractExpiryReportDTO(c.id, h.name, c.startDate, c.endDate) " +
+                   "FROM Contract c JOIN c.hotel h WHERE c.endDate BETWEEN :fromDate AND :toDate",
+           countQuery = "SELECT COUNT(c) FROM Contract c WHERE c.endDate BETWEEN :fromDate AND :toDate")
+    Page<ContractExpiryReportDTO> findContractsExpiringBetween(
             @Param("fromDate") LocalDate fromDate,
             @Param("toDate") LocalDate toDate,
             Pageable pageable);
 
     /**
-     * Finds contracts that are valid for the given check-in and check-out dates.
-     * This version supports pagination.
-     * A contract is considered valid if both the check-in and check-out dates
-     * fall within the contract's start and end date.
+     * Selects the report rows of the contracts that expire between the specified start and end date,
+     * after a keyset position. Rows are ordered by end date and then ID, and no total is counted.
+     *
+     * @param fromDate the starting date for the contract expiration range
+     * @param toDate the ending date for the contract expiration range
+     * @param afterEndDate the end date of the last contract of the previous slice, or {@code null} for the first slice
+     * @param afterId the ID of the last contract of the previous slice, or {@code null} for the first slice
+     * @param limit the maximum number of rows to return
+     * @return the report rows following the keyset position
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "contract-date-range-queries")})
+    @Query("SELECT new com.codegen.suntravels.dto.ContractExpiryReportDTO(c.id, h.name, c.startDate, c.endDate) " +
+           "FROM Contract c JOIN c.hotel h WHERE c.endDate BETWEEN :fromDate AND :toDate " +
+           "AND (:afterEndDate IS NULL OR c.endDate > :afterEndDate OR (c.endDate = :afterEndDate AND c.id > :afterId)) " +
+           "ORDER BY c.endDate, c.id")
+    List<ContractExpiryReportDTO> findContractsExpiringBetweenAfter(
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("afterEndDate") LocalDate afterEndDate,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    /**
+     * Searches contracts by normalised hotel name and contract period, ordered by contract ID.
+     * Used when the hotel name is too short to have trigrams.
      *
-     * @param checkInDate the check-in date to check against contract validity
-     * @param checkOutDate the check-out date to check against contract validity
+     * @param namePattern the {@code LIKE} pattern for the normalised hotel name, with {@code !} as escape character
+     * @param startDate the date the contract must start on or before, or {@code null} for any period
+     * @param endDate the date the contract must end on or after, or {@code null} for any period
      * @param pageable pagination information
-     * @return a page of contracts that are valid for the specified date range
+     * @return a page of the DTOs of matching contracts, with their room types left empty
      */
-    @Query("SELECT c FROM Contract c WHERE :checkInDate BETWEEN c.startDate AND c.endDate AND :checkOutDate BETWEEN c.startDate AND c.endDate")
-    Page<Contract> findValidContractsForDateRange(
-            @Param("checkInDate") LocalDate checkInDate,
-            @Param("checkOutDate") LocalDate checkOutDate,
+    @Query(value = "SELECT new com.codegen.suntravels.dto.ContractDTO(c.id, h.id, h.name, c.startDate, c.endDate, " +
+                   "c.markupPercentage) FROM Contract c JOIN c.hotel h " +
+                   "WHERE h.normalizedName LIKE :namePattern ESCAPE '!' " +
+                   "AND (:startDate IS NULL OR c.startDate <= :startDate) AND (:endDate IS NULL OR c.endDate >= :endDate) " +
+                   "ORDER BY c.id",
+           countQuery = "SELECT COUNT(c) FROM Contract c JOIN c.hotel h " +
+                        "WHERE h.normalizedName LIKE :namePattern ESCAPE '!' " +
+                        "AND (:startDate IS NULL OR c.startDate <= :startDate) AND (:endDate IS NULL OR c.endDate >= :endDate)")
+    Page<ContractDTO> searchByHotelName(
+            @Param("namePattern") String namePattern,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
             Pageable pageable);
+
+    /**
+     * Searches contracts by hotel name trigrams and contract period, ordered by contract ID.
+     * Candidate hotels are found through the trigram index: a hotel is only considered if its name
+     * contains every trigram of the search text. The pattern then confirms that the trigrams are adjacent.
+     *
+     * @param trigrams the trigrams of the normalised search text
+     * @param trigramCount the number of trigrams
+     * @param namePattern the {@code LIKE} pattern for the normalised hotel name, with {@code !} as escape character
+     * @param startDate the date the contract must start on or before, or {@code null} for any period
+     * @param endDate the date the contract must end on or after, or {@code null} for any period
+     * @param pageable pagination information
+     * @return a page of the DTOs of matching contracts, with their room types left empty
+     */
+    @Query(value = "SELECT new com.codegen.suntravels.dto.ContractDTO(c.id, h.id, h.name, c.startDate, c.endDate, " +
+                   "c.markupPercentage) FROM Contract c JOIN c.hotel h " +
+                   "WHERE h.id IN (SELECT th.id FROM Hotel th JOIN th.nameTrigrams t WHERE t IN :trigrams " +
+                   "GROUP BY th.id HAVING COUNT(t) = :trigramCount) " +
+                   "AND h.normalizedName LIKE :namePattern ESCAPE '!' " +
+                   "AND (:startDate IS NULL OR c.startDate <= :startDate) AND (:endDate IS NULL OR c.endDate >= :endDate) " +
+                   "ORDER BY c.id",
+           countQuery = "SELECT COUNT(c) FROM Contract c JOIN c.hotel h " +
+                        "WHERE h.id IN (SELECT th.id FROM Hotel th JOIN th.nameTrigrams t WHERE t IN :trigrams " +
+                        "GROUP BY th.id HAVING COUNT(t) = :trigramCount) " +
+                        "AND h.normalizedName LIKE :namePattern ESCAPE '!' " +
+                        "AND (:startDate IS NULL OR c.startDate <= :startDate) AND (:endDate IS NULL OR c.endDate >= :endDate)")
+    Page<ContractDTO> searchByHotelNameTrigrams(
+            @Param("trigrams") Collection<String> trigrams,
+            @Param("trigramCount") long trigramCount,
+            @Param("namePattern") String namePattern,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    /**
+     * Loads every contract together with its hotel and room types in a single statement.
+     * Used to build the in-memory availability index at startup.
+     *
+     * @return all contracts with their hotel and room types initialised
+     */
+    @Query("SELECT DISTINCT c FROM Contract c JOIN FETCH c.hotel LEFT JOIN FETCH c.roomTypes")
+    List<Contract> findAllWithHotelAndRoomTypes();
+
+    /**
+     * Loads a single contract together with its hotel and room types.
+     *
+     * @param id the unique identifier of the contract
+     * @return the contract with its hotel and room types initialised, if it exists
+     */
+    @Query("SELECT DISTINCT c FROM Contract c JOIN FETCH c.hotel LEFT JOIN FETCH c.roomTypes WHERE c.id = :id")
+    Optional<Contract> findByIdWithHotelAndRoomTypes(@Param("id") Long id);
+
+    /**
+     * Loads the contracts within a range of IDs together with their hotel and room types, such as a
+     * chunk written by the contract importer.
+     *
+     * @param firstId the lowest contract ID, inclusive
+     * @param lastId  the highest contract ID, inclusive
+     * @return the contracts in the range with their hotel and room types initialised
+     */
+    @Query("SELECT DISTINCT c FROM Contract c JOIN FETCH c.hotel LEFT JOIN FETCH c.roomTypes WHERE c.id BETWEEN :firstId AND :lastId")
+    List<Contract> findByIdRangeWithHotelAndRoomTypes(@Param("firstId") Long firstId, @Param("lastId") Long lastId);
+
+    /**
+     * Loads all contracts of a hotel together with their room types.
+     *
+     * @param hotelId the unique identifier of the hotel
+     * @return the contracts of the hotel with their room types initialised
+     */
+    @Query("SELECT DISTINCT c FROM Contract c JOIN FETCH c.hotel LEFT JOIN FETCH c.roomTypes WHERE c.hotel.id = :hotelId")
+    List<Contract> findByHotelIdWithRoomTypes(@Param("hotelId") Long hotelId);
 }
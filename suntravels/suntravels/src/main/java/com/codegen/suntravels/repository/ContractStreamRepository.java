@@ -0,0 +1,128 @@
+package com.codegen.suntravels.repository;
+
+import com.codegen.suntravels.service.ContractSnapshot;
+import com.codegen.suntravels.service.RoomTypeSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads search candidates through a forward-only JDBC cursor instead of loading them into a page.
+ *
+ * <p>The matching room types are read from the "search_offers" read model as one result set ordered
+ * by contract ID, with a fetch size of {@code suntravels.search.stream.fetch-size} rows, and each
+ * contract is handed to the consumer as soon as its last row has been read. Only one contract is held
+ * in memory at a time. On MySQL the driver only honours the fetch size with {@code useCursorFetch=true}
+ * on the connection URL.</p>
+ */
+@Repository
+public class ContractStreamRepository {
+
+    private static final String VALID_CONTRACTS_SQL =
+            "SELECT contract_id, hotel_id, hotel_name, start_date, end_date, markup_basis_points, " +
+            "room_type_id, room_type_name, price_per_person_cents, rate_per_person_cents, number_of_rooms, max_adults " +
+            "FROM search_offers " +
+            "WHERE start_date <= ? AND end_date >= ? AND max_adults >= ? AND number_of_rooms >= ? " +
+            "ORDER BY contract_id, room_type_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    @Autowired
+    public ContractStreamRepository(JdbcTemplate jdbcTemplate,
+                                    @Value("${suntravels.search.stream.fetch-size:100}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the contracts that cover the given stay, restricted to the room types that can take
+     * the requested party, in contract ID order.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @param maxAdults    the number of adults a matching room type must at least accommodate
+     * @param totalRooms   the number of rooms a matching room type must at least have
+     * @param consumer     receives each contract once all of its room types have been read
+     */
+    public void streamValidContracts(LocalDate checkInDate, LocalDate checkOutDate, int maxAdults, int totalRooms,
+                                     Consumer<ContractSnapshot> consumer) {
+        ContractAssembler assembler = new ContractAssembler(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(VALID_CONTRACTS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setDate(1, Date.valueOf(checkInDate));
+            statement.setDate(2, Date.valueOf(checkOutDate));
+            statement.setInt(3, maxAdults);
+            statement.setInt(4, totalRooms);
+            return statement;
+        }, assembler);
+        assembler.finish();
+    }
+
+    /**
+     * Groups consecutive rows of the same contract into a {@link ContractSnapshot}.
+     */
+    private static final class ContractAssembler implements RowCallbackHandler {
+
+        private final Consumer<ContractSnapshot> consumer;
+
+        private Long contractId;
+        private Long hotelId;
+        private String hotelName;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private long markupBasisPoints;
+        private List<RoomTypeSnapshot> roomTypes = new ArrayList<>();
+
+        private ContractAssembler(Consumer<ContractSnapshot> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("contract_id");
+            if (contractId == null || contractId != id) {
+                finish();
+                contractId = id;
+                hotelId = rs.getLong("hotel_id");
+                hotelName = rs.getString("hotel_name");
+                startDate = rs.getObject("start_date", LocalDate.class);
+                endDate = rs.getObject("end_date", LocalDate.class);
+                markupBasisPoints = rs.getLong("markup_basis_points");
+            }
+            roomTypes.add(new RoomTypeSnapshot(
+                    rs.getLong("room_type_id"),
+                    rs.getString("room_type_name"),
+                    rs.getLong("price_per_person_cents"),
+                    rs.getLong("rate_per_person_cents"),
+                    rs.getInt("number_of_rooms"),
+                    rs.getInt("max_adults")));
+        }
+
+        /**
+         * Hands the contract read so far to the consumer.
+         */
+        private void finish() {
+            if (contractId == null) {
+                return;
+            }
+            consumer.accept(new ContractSnapshot(contractId, hotelId, hotelName, startDate, endDate,
+                    markupBasisPoints, List.copyOf(roomTypes)));
+            contractId = null;
+            roomTypes = new ArrayList<>();
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.codegen.suntravels.repository;
 
+import com.codegen.suntravels.dto.HotelDTO;
 import com.codegen.suntravels.model.Hotel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for performing CRUD operations on {@link Hotel} entities.
  * This interface extends {@link JpaRepository}, which provides basic CRUD operations
@@ -14,4 +20,40 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+
+    /**
+     * Selects the columns of every hotel's DTO, without loading any hotel entity.
+     *
+     * @return the DTOs of all hotels, ordered by ID
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.HotelDTO(h.id, h.name, h.location, h.contactDetails) " +
+           "FROM Hotel h ORDER BY h.id")
+    List<HotelDTO> findAllHotelDTOs();
+
+    /**
+     * Selects the columns of a hotel's DTO, without loading the hotel entity.
+     *
+     * @param id the unique identifier of the hotel
+     * @return the DTO of the hotel, if it exists
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.HotelDTO(h.id, h.name, h.location, h.contactDetails) " +
+           "FROM Hotel h WHERE h.id = :id")
+    Optional<HotelDTO> findHotelDTOById(@Param("id") Long id);
+
+    /**
+     * Finds the period spanned by all contracts of a hotel.
+     *
+     * @param hotelId the unique identifier of the hotel
+     * @return the earliest start and latest end date of the hotel's contracts
+     */
+    @Query("SELECT MIN(c.startDate) AS fromDate, MAX(c.endDate) AS toDate FROM Contract c WHERE c.hotel.id = :hotelId")
+    ContractPeriod findContractPeriodByHotelId(@Param("hotelId") Long hotelId);
+
+    /**
+     * Finds the hotels whose normalised name and name trigrams have not been computed yet,
+     * i.e. hotels stored before hotel names were indexed.
+     *
+     * @return the hotels without a normalised name
+     */
+    List<Hotel> findByNormalizedNameIsNull();
 }
@@ -0,0 +1,84 @@
+package com.codegen.suntravels.repository;
+
+import com.codegen.suntravels.model.RoomAllocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for performing CRUD operations on {@link RoomAllocation} entities,
+ * the persisted form of the per-night inventory ledger.
+ */
+@Repository
+public interface RoomAllocationRepository extends JpaRepository<RoomAllocation, Long> {
+
+    /**
+     * Finds all allocation rows of the given room types.
+     *
+     * @param roomTypeIds the unique identifiers of the room types
+     * @return the allocation rows of the room types
+     */
+    @Query("SELECT a FROM RoomAllocation a WHERE a.roomType.id IN :roomTypeIds")
+    List<RoomAllocation> findByRoomTypeIds(@Param("roomTypeIds") Collection<Long> roomTypeIds);
+
+    /**
+     * Finds the nights of a stay that already have an allocation row.
+     *
+     * @param roomTypeId   the unique identifier of the room type
+     * @param checkInDate  the first night of the stay
+     * @param checkOutDate the day after the last night of the stay
+     * @return the dates of the nights that have a row
+     */
+    @Query("SELECT a.stayDate FROM RoomAllocation a WHERE a.roomType.id = :roomTypeId " +
+           "AND a.stayDate >= :checkInDate AND a.stayDate < :checkOutDate")
+    List<LocalDate> findStayDates(@Param("roomTypeId") Long roomTypeId,
+                                  @Param("checkInDate") LocalDate checkInDate,
+                                  @Param("checkOutDate") LocalDate checkOutDate);
+
+    /**
+     * Adds rooms to every night of a stay on which the room type still has that many rooms free.
+     * The check against the contracted number of rooms and the increment are one statement, so the
+     * database applies them atomically under the row locks of the update and concurrent callers can
+     * never take more rooms than the room type has. Nights without a row are not updated.
+     *
+     * @param roomTypeId   the unique identifier of the room type
+     * @param checkInDate  the first night of the stay
+     * @param checkOutDate the day after the last night of the stay
+     * @param rooms        the number of rooms to take
+     * @return the number of nights updated; fewer than the nights of the stay if any of them is sold out
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomAllocation a SET a.allocated = a.allocated + :rooms WHERE a.roomType.id = :roomTypeId " +
+           "AND a.stayDate >= :checkInDate AND a.stayDate < :checkOutDate " +
+           "AND a.allocated + :rooms <= (SELECT rt.numberOfRooms FROM RoomType rt WHERE rt.id = :roomTypeId)")
+    int allocateIfAvailable(@Param("roomTypeId") Long roomTypeId,
+                            @Param("checkInDate") LocalDate checkInDate,
+                            @Param("checkOutDate") LocalDate checkOutDate,
+                            @Param("rooms") int rooms);
+
+    /**
+     * Gives back rooms on every night of a stay.
+     *
+     * @param roomTypeId   the unique identifier of the room type
+     * @param checkInDate  the first night of the stay
+     * @param checkOutDate the day after the last night of the stay
+     * @param rooms        the number of rooms to give back
+     * @return the number of nights updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RoomAllocation a SET a.allocated = a.allocated - :rooms WHERE a.roomType.id = :roomTypeId " +
+           "AND a.stayDate >= :checkInDate AND a.stayDate < :checkOutDate AND a.allocated >= :rooms")
+    int release(@Param("roomTypeId") Long roomTypeId,
+                @Param("checkInDate") LocalDate checkInDate,
+                @Param("checkOutDate") LocalDate checkOutDate,
+                @Param("rooms") int rooms);
+}
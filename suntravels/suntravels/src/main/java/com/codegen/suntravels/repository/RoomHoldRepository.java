@@ -0,0 +1,52 @@
+package com.codegen.suntravels.repository;
+
+import com.codegen.suntravels.model.RoomHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for performing CRUD operations on {@link RoomHold} entities.
+ */
+@Repository
+public interface RoomHoldRepository extends JpaRepository<RoomHold, Long> {
+
+    /**
+     * Finds a hold by its ID, fetching its room type, contract and hotel in the same query.
+     *
+     * @param id the unique identifier of the hold
+     * @return an {@link Optional} containing the hold if found, or empty if not found
+     */
+    @Query("SELECT h FROM RoomHold h JOIN FETCH h.roomType rt JOIN FETCH rt.contract c JOIN FETCH c.hotel WHERE h.id = :id")
+    Optional<RoomHold> findByIdWithRoomType(@Param("id") Long id);
+
+    /**
+     * Deletes a hold. Of concurrent calls for the same hold only one deletes it, so its rooms are
+     * given back or booked once.
+     *
+     * @param id the unique identifier of the hold
+     * @return {@code 1} if the hold was deleted, {@code 0} if it no longer exists
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RoomHold h WHERE h.id = :id")
+    int deleteHold(@Param("id") Long id);
+
+    /**
+     * Deletes a hold that has not expired yet.
+     *
+     * @param id  the unique identifier of the hold
+     * @param now the current time
+     * @return {@code 1} if the hold was deleted, {@code 0} if it no longer exists or has expired
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RoomHold h WHERE h.id = :id AND h.expiresAt > :now")
+    int deleteActiveHold(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
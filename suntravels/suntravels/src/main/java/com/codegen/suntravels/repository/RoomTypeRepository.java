@@ -1,12 +1,15 @@
 package com.codegen.suntravels.repository;
 
+import com.codegen.suntravels.dto.RoomTypeDTO;
 import com.codegen.suntravels.model.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for performing CRUD operations on {@link RoomType} entities.
@@ -19,6 +22,54 @@ import java.util.List;
 @Repository
 public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
 
+    /**
+     * Loads a room type together with its contract, whose period is needed to announce a change.
+     *
+     * @param id the unique identifier of the room type
+     * @return the room type with its contract initialised, if it exists
+     */
+    @Query("SELECT rt FROM RoomType rt JOIN FETCH rt.contract WHERE rt.id = :id")
+    Optional<RoomType> findByIdWithContract(@Param("id") Long id);
+
+    /**
+     * Selects the columns of a room type's DTO, without loading the room type or its contract.
+     *
+     * @param id the unique identifier of the room type
+     * @return the DTO of the room type, if it exists
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.RoomTypeDTO(rt.id, rt.name, rt.contract.id, rt.pricePerPersonCents, " +
+           "rt.numberOfRooms, rt.maxAdults) FROM RoomType rt WHERE rt.id = :id")
+    Optional<RoomTypeDTO> findRoomTypeDTOById(@Param("id") Long id);
+
+    /**
+     * Selects the columns of the DTOs of a contract's room types, without loading any entity.
+     *
+     * @param contractId the unique identifier of the contract
+     * @return the DTOs of the contract's room types, ordered by ID
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.RoomTypeDTO(rt.id, rt.name, rt.contract.id, rt.pricePerPersonCents, " +
+           "rt.numberOfRooms, rt.maxAdults) FROM RoomType rt WHERE rt.contract.id = :contractId ORDER BY rt.id")
+    List<RoomTypeDTO> findRoomTypeDTOsByContractId(@Param("contractId") Long contractId);
+
+    /**
+     * Selects the columns of the DTOs of the room types of several contracts, e.g. of a page of contracts.
+     *
+     * @param contractIds the unique identifiers of the contracts
+     * @return the DTOs of the contracts' room types, ordered by ID
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.RoomTypeDTO(rt.id, rt.name, rt.contract.id, rt.pricePerPersonCents, " +
+           "rt.numberOfRooms, rt.maxAdults) FROM RoomType rt WHERE rt.contract.id IN :contractIds ORDER BY rt.id")
+    List<RoomTypeDTO> findRoomTypeDTOsByContractIdIn(@Param("contractIds") Collection<Long> contractIds);
+
+    /**
+     * Selects the columns of the DTOs of all room types, without loading any entity.
+     *
+     * @return the DTOs of all room types, ordered by ID
+     */
+    @Query("SELECT new com.codegen.suntravels.dto.RoomTypeDTO(rt.id, rt.name, rt.contract.id, rt.pricePerPersonCents, " +
+           "rt.numberOfRooms, rt.maxAdults) FROM RoomType rt ORDER BY rt.id")
+    List<RoomTypeDTO> findAllRoomTypeDTOs();
+
     /**
      * Finds all room types associated with a specific contract.
      *
@@ -38,19 +89,4 @@ public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
     List<RoomType> findValidRoomTypesForContract(
             @Param("contractId") Long contractId,
             @Param("requiredAdults") Integer requiredAdults);
-
-    /**
-     * Finds room types associated with a specific contract that have at least the specified number of rooms
-     * and can accommodate the required number of adults.
-     *
-     * @param contractId the unique identifier of the contract
-     * @param requiredRooms the minimum number of rooms that should be available
-     * @param requiredAdults the minimum number of adults the room type should accommodate
-     * @return a list of room types that meet both the room and adult requirements for the specified contract
-     */
-    @Query("SELECT rt FROM RoomType rt WHERE rt.contract.id = :contractId AND rt.numberOfRooms >= :requiredRooms AND rt.maxAdults >= :requiredAdults")
-    List<RoomType> findAvailableRoomTypesForContract(
-            @Param("contractId") Long contractId,
-            @Param("requiredRooms") Integer requiredRooms,
-            @Param("requiredAdults") Integer requiredAdults);
 }
@@ -0,0 +1,150 @@
+package com.codegen.suntravels.repository;
+
+import com.codegen.suntravels.model.SearchOffer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for reading {@link SearchOffer} rows, the read model searches are answered from
+ * when the {@link com.codegen.suntravels.service.AvailabilityIndex} is disabled.
+ *
+ * <p>Every query reads the "search_offers" table alone, without joining hotels, contracts or room types.
+ * A contract covers a stay when it starts on or before the check-in date and ends on or after the
+ * check-out date, and a room type matches when it takes at least the requested adults and has at least
+ * the requested rooms. Pages and slices are cut on contracts rather than on rows, in a derived table,
+ * so that one statement returns every matching room type of the contracts of a page. The queries are
+ * native because JPQL cannot limit a derived table.</p>
+ */
+@Repository
+public interface SearchOfferRepository extends JpaRepository<SearchOffer, Long> {
+
+    /**
+     * Selects the matching room types of a page of the contracts covering a stay, in contract ID order.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @param maxAdults    the number of adults a matching room type must at least accommodate
+     * @param totalRooms   the number of rooms a matching room type must at least have
+     * @param limit        the maximum number of contracts
+     * @param offset       the number of contracts to skip
+     * @return the matching offers, ordered by contract ID and then room type ID
+     */
+    @Query(value = "SELECT o.* FROM search_offers o JOIN (" +
+                   "SELECT DISTINCT contract_id FROM search_offers " +
+                   "WHERE start_date <= :checkInDate AND end_date >= :checkOutDate " +
+                   "AND max_adults >= :maxAdults AND number_of_rooms >= :totalRooms " +
+                   "ORDER BY contract_id LIMIT :limit OFFSET :offset) p ON p.contract_id = o.contract_id " +
+                   "WHERE o.max_adults >= :maxAdults AND o.number_of_rooms >= :totalRooms " +
+                   "ORDER BY o.contract_id, o.room_type_id",
+           nativeQuery = true)
+    List<SearchOffer> findPage(
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("maxAdults") int maxAdults,
+            @Param("totalRooms") int totalRooms,
+            @Param("limit") int limit,
+            @Param("offset") long offset);
+
+    /**
+     * Counts the contracts covering a stay that have at least one matching room type.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @param maxAdults    the number of adults a matching room type must at least accommodate
+     * @param totalRooms   the number of rooms a matching room type must at least have
+     * @return the number of matching contracts
+     */
+    @Query(value = "SELECT COUNT(DISTINCT contract_id) FROM search_offers " +
+                   "WHERE start_date <= :checkInDate AND end_date >= :checkOutDate " +
+                   "AND max_adults >= :maxAdults AND number_of_rooms >= :totalRooms",
+           nativeQuery = true)
+    long countContracts(
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("maxAdults") int maxAdults,
+            @Param("totalRooms") int totalRooms);
+
+    /**
+     * Selects the matching room types of the first slice of the contracts covering a stay, in end date
+     * and then contract ID order.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @param maxAdults    the number of adults a matching room type must at least accommodate
+     * @param totalRooms   the number of rooms a matching room type must at least have
+     * @param limit        the maximum number of contracts
+     * @return the matching offers, ordered by end date, contract ID and room type ID
+     */
+    @Query(value = "SELECT o.* FROM search_offers o JOIN (" +
+                   "SELECT DISTINCT contract_id, end_date FROM search_offers " +
+                   "WHERE start_date <= :checkInDate AND end_date >= :checkOutDate " +
+                   "AND max_adults >= :maxAdults AND number_of_rooms >= :totalRooms " +
+                   "ORDER BY end_date, contract_id LIMIT :limit) p ON p.contract_id = o.contract_id " +
+                   "WHERE o.max_adults >= :maxAdults AND o.number_of_rooms >= :totalRooms " +
+                   "ORDER BY o.end_date, o.contract_id, o.room_type_id",
+           nativeQuery = true)
+    List<SearchOffer> findFirstSlice(
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("maxAdults") int maxAdults,
+            @Param("totalRooms") int totalRooms,
+            @Param("limit") int limit);
+
+    /**
+     * Selects the matching room types of the slice of the contracts covering a stay that follows a
+     * keyset position, in end date and then contract ID order.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @param maxAdults    the number of adults a matching room type must at least accommodate
+     * @param totalRooms   the number of rooms a matching room type must at least have
+     * @param afterEndDate the end date of the last contract of the previous slice
+     * @param afterId      the ID of the last contract of the previous slice
+     * @param limit        the maximum number of contracts
+     * @return the matching offers, ordered by end date, contract ID and room type ID
+     */
+    @Query(value = "SELECT o.* FROM search_offers o JOIN (" +
+                   "SELECT DISTINCT contract_id, end_date FROM search_offers " +
+                   "WHERE start_date <= :checkInDate AND end_date >= :checkOutDate " +
+                   "AND max_adults >= :maxAdults AND number_of_rooms >= :totalRooms " +
+                   "AND (end_date > :afterEndDate OR (end_date = :afterEndDate AND contract_id > :afterId)) " +
+                   "ORDER BY end_date, contract_id LIMIT :limit) p ON p.contract_id = o.contract_id " +
+                   "WHERE o.max_adults >= :maxAdults AND o.number_of_rooms >= :totalRooms " +
+                   "ORDER BY o.end_date, o.contract_id, o.room_type_id",
+           nativeQuery = true)
+    List<SearchOffer> findSliceAfter(
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("maxAdults") int maxAdults,
+            @Param("totalRooms") int totalRooms,
+            @Param("afterEndDate") LocalDate afterEndDate,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Selects the matching room types of every contract that could cover at least one of a batch of
+     * stays, i.e. that starts on or before the latest check-in date and ends on or after the earliest
+     * check-out date.
+     *
+     * @param latestCheckInDate    the latest check-in date of the batch
+     * @param earliestCheckOutDate the earliest check-out date of the batch
+     * @param maxAdults            the number of adults a matching room type must at least accommodate
+     * @param totalRooms           the number of rooms a matching room type must at least have
+     * @return the matching offers, ordered by contract ID and then room type ID
+     */
+    @Query(value = "SELECT * FROM search_offers " +
+                   "WHERE start_date <= :latestCheckInDate AND end_date >= :earliestCheckOutDate " +
+                   "AND max_adults >= :maxAdults AND number_of_rooms >= :totalRooms " +
+                   "ORDER BY contract_id, room_type_id",
+           nativeQuery = true)
+    List<SearchOffer> findBatchCandidates(
+            @Param("latestCheckInDate") LocalDate latestCheckInDate,
+            @Param("earliestCheckOutDate") LocalDate earliestCheckOutDate,
+            @Param("maxAdults") int maxAdults,
+            @Param("totalRooms") int totalRooms);
+}
@@ -0,0 +1,289 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.ContractsImportedEvent;
+import com.codegen.suntravels.event.HotelChangedEvent;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.repository.ContractRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory availability index over all contracts, used by the {@link SearchService} to answer
+ * check-in/check-out queries without a database round trip.
+ *
+ * <p>Contracts are kept as {@link ContractSnapshot}s in an interval tree keyed on the contract
+ * start and end dates. The tree is an implicit balanced binary search tree over the contracts sorted
+ * by start date, where every node stores the latest end date of its subtree, so a stabbing query only
+ * visits subtrees that can contain a contract covering the stay.</p>
+ *
+ * <p>The index is built when the application is ready and kept current from the
+ * {@link ContractChangedEvent} and {@link HotelChangedEvent} published by the write paths of
+ * {@link ContractService}, {@link RoomTypeService} and {@link HotelService}. It can be switched off
+ * with {@code suntravels.search.availability-index.enabled=false}, in which case searches read the
+ * "search_offers" read model, see {@link SearchOfferProjector}.</p>
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private static final Comparator<ContractSnapshot> BY_START_DATE =
+            Comparator.comparing(ContractSnapshot::startDate).thenComparing(ContractSnapshot::id);
+
+    private final ContractRepository contractRepository;
+    private final boolean enabled;
+
+    private final Map<Long, ContractSnapshot> contracts = new ConcurrentHashMap<>();
+    private volatile IntervalTree tree = IntervalTree.EMPTY;
+
+    @Autowired
+    public AvailabilityIndex(ContractRepository contractRepository,
+                             @Value("${suntravels.search.availability-index.enabled:true}") boolean enabled) {
+        this.contractRepository = contractRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indicates whether searches should be answered from this index.
+     *
+     * @return {@code true} if the index is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rebuilds the whole index from the database. Called once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<Contract> all = contractRepository.findAllWithHotelAndRoomTypes();
+
+        synchronized (this) {
+            contracts.clear();
+            for (Contract contract : all) {
+                contracts.put(contract.getId(), ContractSnapshot.from(contract));
+            }
+            rebuildTree();
+        }
+        log.info("Availability index built with {} contracts", all.size());
+    }
+
+    /**
+     * Finds all contracts that cover the given stay, ordered by contract ID.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @return the contracts whose period contains both dates
+     */
+    public List<ContractSnapshot> findValidContractsForDateRange(LocalDate checkInDate, LocalDate checkOutDate) {
+        LocalDate from = checkInDate.isAfter(checkOutDate) ? checkOutDate : checkInDate;
+        LocalDate to = checkInDate.isAfter(checkOutDate) ? checkInDate : checkOutDate;
+
+        List<ContractSnapshot> matches = tree.stab((int) from.toEpochDay(), (int) to.toEpochDay());
+        matches.sort(Comparator.comparing(ContractSnapshot::id));
+        return matches;
+    }
+
+    /**
+     * Finds all contracts that could cover at least one of a batch of stays, i.e. that start on or before
+     * the latest check-in date and end on or after the earliest check-out date, ordered by contract ID.
+     * The dates may be in either order, as they are when the stays of the batch do not overlap.
+     *
+     * @param latestCheckInDate    the latest check-in date of the batch
+     * @param earliestCheckOutDate the earliest check-out date of the batch
+     * @return the candidate contracts, each to be checked against the individual stays
+     */
+    public List<ContractSnapshot> findCandidateContracts(LocalDate latestCheckInDate, LocalDate earliestCheckOutDate) {
+        List<ContractSnapshot> matches = tree.stab((int) latestCheckInDate.toEpochDay(), (int) earliestCheckOutDate.toEpochDay());
+        matches.sort(Comparator.comparing(ContractSnapshot::id));
+        return matches;
+    }
+
+    /**
+     * Returns the number of contracts currently held by the index.
+     *
+     * @return the number of indexed contracts
+     */
+    public int size() {
+        return contracts.size();
+    }
+
+    /**
+     * Reloads a single contract after it, or one of its room types, has been written.
+     *
+     * @param event the event identifying the changed contract
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractChanged(ContractChangedEvent event) {
+        if (!enabled || event.contractId() == null) {
+            return;
+        }
+        ContractSnapshot snapshot = contractRepository.findByIdWithHotelAndRoomTypes(event.contractId())
+                                                      .map(ContractSnapshot::from)
+                                                      .orElse(null);
+        synchronized (this) {
+            if (snapshot == null) {
+                contracts.remove(event.contractId());
+            } else {
+                contracts.put(snapshot.id(), snapshot);
+            }
+            rebuildTree();
+        }
+    }
+
+    /**
+     * Adds a chunk of imported contracts, rebuilding the tree once for the whole chunk.
+     *
+     * @param event the event identifying the imported contracts
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractsImported(ContractsImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Contract> imported = contractRepository.findByIdRangeWithHotelAndRoomTypes(event.firstContractId(),
+                event.lastContractId());
+
+        synchronized (this) {
+            for (Contract contract : imported) {
+                contracts.put(contract.getId(), ContractSnapshot.from(contract));
+            }
+            rebuildTree();
+        }
+    }
+
+    /**
+     * Reloads all contracts of a hotel after the hotel has been updated or deleted.
+     *
+     * @param event the event identifying the changed hotel
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        if (!enabled || event.hotelId() == null) {
+            return;
+        }
+        List<Contract> hotelContracts = contractRepository.findByHotelIdWithRoomTypes(event.hotelId());
+
+        synchronized (this) {
+            contracts.values().removeIf(contract -> event.hotelId().equals(contract.hotelId()));
+            for (Contract contract : hotelContracts) {
+                contracts.put(contract.getId(), ContractSnapshot.from(contract));
+            }
+            rebuildTree();
+        }
+    }
+
+    /**
+     * Replaces the published tree with one built from the current contents of the index.
+     * Readers keep using the previous tree until the new one is assigned.
+     */
+    private void rebuildTree() {
+        tree = IntervalTree.build(contracts.values());
+    }
+
+    /**
+     * Immutable interval tree over contract periods.
+     *
+     * <p>Contracts are sorted by start date and laid out as an implicit balanced binary search tree
+     * where the node of a range {@code [lo, hi]} is its midpoint. {@code maxEnd} holds the latest end
+     * date within each node's subtree. Dates are stored as epoch days to keep the arrays primitive.</p>
+     */
+    static final class IntervalTree {
+
+        static final IntervalTree EMPTY = new IntervalTree(new ContractSnapshot[0], new int[0], new int[0], new int[0]);
+
+        private final ContractSnapshot[] entries;
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] maxEnd;
+
+        private IntervalTree(ContractSnapshot[] entries, int[] starts, int[] ends, int[] maxEnd) {
+            this.entries = entries;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnd = maxEnd;
+        }
+
+        static IntervalTree build(Collection<ContractSnapshot> contracts) {
+            ContractSnapshot[] entries = contracts.stream()
+                                                  .filter(c -> c.startDate() != null && c.endDate() != null)
+                                                  .sorted(BY_START_DATE)
+                                                  .toArray(ContractSnapshot[]::new);
+            int n = entries.length;
+            int[] starts = new int[n];
+            int[] ends = new int[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = (int) entries[i].startDate().toEpochDay();
+                ends[i] = (int) entries[i].endDate().toEpochDay();
+            }
+            int[] maxEnd = new int[n];
+            Arrays.fill(maxEnd, Integer.MIN_VALUE);
+            computeMaxEnd(ends, maxEnd, 0, n - 1);
+            return new IntervalTree(entries, starts, ends, maxEnd);
+        }
+
+        private static int computeMaxEnd(int[] ends, int[] maxEnd, int lo, int hi) {
+            if (lo > hi) {
+                return Integer.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            int max = Math.max(ends[mid], Math.max(
+                    computeMaxEnd(ends, maxEnd, lo, mid - 1),
+                    computeMaxEnd(ends, maxEnd, mid + 1, hi)));
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        /**
+         * Collects every contract with {@code start <= from} and {@code end >= to}.
+         */
+        List<ContractSnapshot> stab(int from, int to) {
+            List<ContractSnapshot> out = new ArrayList<>();
+            stab(0, entries.length - 1, from, to, out);
+            return out;
+        }
+
+        private void stab(int lo, int hi, int from, int to, List<ContractSnapshot> out) {
+            if (lo > hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxEnd[mid] < to) {
+                return; // nothing in this subtree lasts long enough
+            }
+            stab(lo, mid - 1, from, to, out);
+            if (starts[mid] > from) {
+                return; // this node and its right subtree start after the check-in date
+            }
+            if (ends[mid] >= to) {
+                out.add(entries[mid]);
+            }
+            stab(mid + 1, hi, from, to, out);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.dto.BookingDTO;
+import com.codegen.suntravels.dto.BookingRequestDTO;
+import com.codegen.suntravels.dto.HoldBookingRequestDTO;
+import com.codegen.suntravels.exception.InvalidBookingException;
+import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.exception.RoomsUnavailableException;
+import com.codegen.suntravels.model.Booking;
+import com.codegen.suntravels.model.BookingStatus;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.RoomHold;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.BookingRepository;
+import com.codegen.suntravels.repository.RoomHoldRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Service class responsible for booking rooms and cancelling bookings.
+ *
+ * <p>The rooms of a booking are taken by the {@link RoomInventory} in the transaction that records the
+ * booking, so a booking exists exactly when its rooms are taken. A booking made from a hold takes over
+ * the rooms of the hold instead.</p>
+ */
+@Service
+public class BookingService {
+
+    private final BookingRepository bookingRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomHoldRepository roomHoldRepository;
+    private final RoomInventory roomInventory;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    public BookingService(BookingRepository bookingRepository,
+                          RoomTypeRepository roomTypeRepository,
+                          RoomHoldRepository roomHoldRepository,
+                          RoomInventory roomInventory,
+                          PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomHoldRepository = roomHoldRepository;
+        this.roomInventory = roomInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Books rooms of a room type for the nights of a stay.
+     *
+     * @param request the room type, stay, rooms and guest to book
+     * @return the confirmed {@link BookingDTO}
+     * @throws ResourceNotFoundException  if the room type does not exist
+     * @throws InvalidBookingException    if the stay is outside the room type's contract or a room does not
+     *                                    take that many adults
+     * @throws RoomsUnavailableException  if any night of the stay does not have the rooms free
+     */
+    public BookingDTO createBooking(BookingRequestDTO request) {
+        Quote quote = readOnlyTransactionTemplate.execute(status -> quote(
+                roomTypeRepository.findByIdWithContract(request.getRoomTypeId())
+                                  .orElseThrow(() -> new ResourceNotFoundException("Room type not found with id: " + request.getRoomTypeId())),
+                request));
+        LocalDate checkOutDate = request.getCheckInDate().plusDays(request.getNumberOfNights());
+
+        return roomInventory.take(request.getRoomTypeId(), request.getCheckInDate(), checkOutDate,
+                request.getNumberOfRooms(), () -> convertToDTO(save(request, checkOutDate, quote)));
+    }
+
+    /**
+     * Books the rooms of a hold, which ends the hold. The rooms stay taken, now by the booking.
+     *
+     * @param holdId  the unique identifier of the hold
+     * @param request the adults per room and the guest to book for
+     * @return the confirmed {@link BookingDTO}
+     * @throws ResourceNotFoundException if the hold does not exist, e.g. because it has expired
+     * @throws InvalidBookingException   if the stay is no longer covered by the room type's contract or a
+     *                                   room does not take that many adults
+     */
+    public BookingDTO createBookingFromHold(Long holdId, HoldBookingRequestDTO request) {
+        BookingRequestDTO bookingRequest = new BookingRequestDTO();
+        Quote quote = readOnlyTransactionTemplate.execute(status -> {
+            RoomHold hold = roomHoldRepository.findByIdWithRoomType(holdId)
+                                              .orElseThrow(() -> holdNotFound(holdId));
+            bookingRequest.setRoomTypeId(hold.getRoomType().getId());
+            bookingRequest.setCheckInDate(hold.getCheckInDate());
+            bookingRequest.setNumberOfNights((int) (hold.getCheckOutDate().toEpochDay() - hold.getCheckInDate().toEpochDay()));
+            bookingRequest.setNumberOfRooms(hold.getNumberOfRooms());
+            bookingRequest.setAdultsPerRoom(request.getAdultsPerRoom());
+            bookingRequest.setGuestName(request.getGuestName());
+            return quote(hold.getRoomType(), bookingRequest);
+        });
+        LocalDate checkOutDate = bookingRequest.getCheckInDate().plusDays(bookingRequest.getNumberOfNights());
+
+        return transactionTemplate.execute(status -> {
+            if (roomHoldRepository.deleteActiveHold(holdId, LocalDateTime.now()) == 0) {
+                throw holdNotFound(holdId);
+            }
+            return convertToDTO(save(bookingRequest, checkOutDate, quote));
+        });
+    }
+
+    /**
+     * Cancels a booking and gives its rooms back. Cancelling a cancelled booking changes nothing.
+     *
+     * @param id the unique identifier of the booking
+     * @return the cancelled {@link BookingDTO}
+     * @throws ResourceNotFoundException if the booking with the specified ID is not found
+     */
+    public BookingDTO cancelBooking(Long id) {
+        return transactionTemplate.execute(status -> {
+            boolean cancelled = bookingRepository.updateStatus(id, BookingStatus.CONFIRMED, BookingStatus.CANCELLED) > 0;
+            Booking booking = bookingRepository.findById(id)
+                                               .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
+            if (cancelled && booking.getRoomType() != null) {
+                roomInventory.giveBack(booking.getRoomType().getId(), booking.getCheckInDate(),
+                        booking.getCheckOutDate(), booking.getNumberOfRooms());
+            }
+            return convertToDTO(booking);
+        });
+    }
+
+    /**
+     * Retrieves a booking by its ID.
+     *
+     * @param id the unique identifier of the booking
+     * @return the {@link BookingDTO} representing the booking
+     * @throws ResourceNotFoundException if the booking with the specified ID is not found
+     */
+    public BookingDTO getBookingById(Long id) {
+        return readOnlyTransactionTemplate.execute(status -> bookingRepository.findById(id)
+                .map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id)));
+    }
+
+    /**
+     * Checks the request against the room type and its contract and prices the stay.
+     */
+    private Quote quote(RoomType roomType, BookingRequestDTO request) {
+        Contract contract = roomType.getContract();
+        roomInventory.requireCovered(roomType, request.getCheckInDate(), request.getCheckInDate().plusDays(request.getNumberOfNights()));
+        if (roomType.getMaxAdults() == null || request.getAdultsPerRoom() > roomType.getMaxAdults()) {
+            throw new InvalidBookingException("Room type with id: " + roomType.getId() + " takes at most "
+                                              + roomType.getMaxAdults() + " adults per room");
+        }
+        long rate = Pricing.markUp(roomType.getPricePerPersonCents(), Pricing.toBasisPoints(contract.getMarkupPercentage()));
+        long total = Pricing.quote(rate, request.getNumberOfNights(), request.getAdultsPerRoom(), request.getNumberOfRooms());
+        return new Quote(contract.getHotel().getName(), roomType.getName(), rate, total);
+    }
+
+    /**
+     * Records a confirmed booking, in the caller's transaction.
+     */
+    private Booking save(BookingRequestDTO request, LocalDate checkOutDate, Quote quote) {
+        Booking booking = new Booking();
+        booking.setRoomType(roomTypeRepository.getReferenceById(request.getRoomTypeId()));
+        booking.setHotelName(quote.hotelName());
+        booking.setRoomTypeName(quote.roomTypeName());
+        booking.setGuestName(request.getGuestName().trim());
+        booking.setCheckInDate(request.getCheckInDate());
+        booking.setCheckOutDate(checkOutDate);
+        booking.setNumberOfRooms(request.getNumberOfRooms());
+        booking.setAdultsPerRoom(request.getAdultsPerRoom());
+        booking.setRatePerPersonCents(quote.ratePerPersonCents());
+        booking.setTotalPriceCents(quote.totalPriceCents());
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setCreatedAt(LocalDateTime.now());
+        return bookingRepository.save(booking);
+    }
+
+    private static ResourceNotFoundException holdNotFound(Long holdId) {
+        return new ResourceNotFoundException("Hold not found with id: " + holdId);
+    }
+
+    /**
+     * Converts a {@link Booking} entity to a {@link BookingDTO}.
+     *
+     * @param booking the booking entity to convert
+     * @return the corresponding {@link BookingDTO}
+     */
+    private BookingDTO convertToDTO(Booking booking) {
+        BookingDTO dto = new BookingDTO();
+        dto.setId(booking.getId());
+        dto.setRoomTypeId(booking.getRoomType() != null ? booking.getRoomType().getId() : null);
+        dto.setHotelName(booking.getHotelName());
+        dto.setRoomTypeName(booking.getRoomTypeName());
+        dto.setGuestName(booking.getGuestName());
+        dto.setCheckInDate(booking.getCheckInDate());
+        dto.setCheckOutDate(booking.getCheckOutDate());
+        dto.setNumberOfNights((int) (booking.getCheckOutDate().toEpochDay() - booking.getCheckInDate().toEpochDay()));
+        dto.setNumberOfRooms(booking.getNumberOfRooms());
+        dto.setAdultsPerRoom(booking.getAdultsPerRoom());
+        dto.setTotalPrice(Pricing.toDecimal(booking.getTotalPriceCents()));
+        dto.setTotalPriceCents(booking.getTotalPriceCents());
+        dto.setStatus(booking.getStatus());
+        dto.setCreatedAt(booking.getCreatedAt());
+        return dto;
+    }
+
+    /**
+     * The names and prices of a stay, taken before the rooms are.
+     */
+    private record Quote(String hotelName, String roomTypeName, long ratePerPersonCents, long totalPriceCents) {
+    }
+}
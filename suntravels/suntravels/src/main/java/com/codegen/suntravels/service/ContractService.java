@@ -2,23 +2,38 @@ package com.codegen.suntravels.service;
 
 import com.codegen.suntravels.dto.ContractDTO;
 import com.codegen.suntravels.dto.ContractExpiryReportDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
 import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.exception.InvalidContractException;
 import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.jfr.DtoConversionEvent;
 import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.Hotel;
 import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.CatalogListingRepository;
+import com.codegen.suntravels.repository.CatalogListingRepository.ContractSort;
 import com.codegen.suntravels.repository.ContractRepository;
 import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -26,90 +41,233 @@ import java.util.stream.Collectors;
  * This service provides methods for creating, updating, deleting, retrieving,
  * and searching contracts, as well as generating reports on contracts expiring
  * within a specific date range.
+ *
+ * <p>Every write runs in a transaction, which the {@link SearchOfferProjector} joins to update the
+ * search offers of the contract.</p>
  */
 @Service
 public class ContractService {
 
     private final ContractRepository contractRepository;
     private final HotelRepository hotelRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final CatalogListingRepository catalogListingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ContractService(ContractRepository contractRepository, HotelRepository hotelRepository) {
+    public ContractService(ContractRepository contractRepository, HotelRepository hotelRepository,
+                           RoomTypeRepository roomTypeRepository, CatalogListingRepository catalogListingRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.contractRepository = contractRepository;
         this.hotelRepository = hotelRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.catalogListingRepository = catalogListingRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Retrieves all contracts and converts them to DTOs.
+     * Retrieves all contracts as DTOs. The contract and room type columns are selected by one
+     * projection each, so no entity is loaded.
      *
      * @return a list of {@link ContractDTO} representing all contracts
      */
     public List<ContractDTO> getAllContracts() {
-        return contractRepository.findAll().stream()
-                                 .map(this::convertToDTO)
-                                 .collect(Collectors.toList());
+        List<ContractDTO> contracts = contractRepository.findAllContractDTOs();
+        Map<Long, List<RoomTypeDTO>> roomTypes = roomTypeRepository.findAllRoomTypeDTOs().stream()
+                .collect(Collectors.groupingBy(RoomTypeDTO::getContractId));
+        contracts.forEach(contract -> contract.setRoomTypes(roomTypes.getOrDefault(contract.getId(), List.of())));
+        return contracts;
     }
 
     /**
-     * Retrieves a contract by its ID and converts it to a DTO.
+     * Retrieves a contract by its ID as a DTO, without loading any entity.
      *
      * @param id the unique identifier of the contract
      * @return the {@link ContractDTO} representing the contract
      * @throws ResourceNotFoundException if the contract with the specified ID is not found
      */
     public ContractDTO getContractById(Long id) {
-        Contract contract = contractRepository.findById(id)
-                                              .orElseThrow(() -> new ResourceNotFoundException("Contract not found with id: " + id));
-        return convertToDTO(contract);
+        ContractDTO contract = contractRepository.findContractDTOById(id)
+                                                 .orElseThrow(() -> new ResourceNotFoundException("Contract not found with id: " + id));
+        contract.setRoomTypes(roomTypeRepository.findRoomTypeDTOsByContractId(id));
+        return contract;
+    }
+
+    /**
+     * Lists contracts with keyset pagination. Contracts are ordered by the given sort order and then by ID;
+     * the next slice is requested with the returned continuation token, and no total is counted. The room
+     * types of the whole slice are selected in one statement.
+     *
+     * @param hotelId   the unique identifier of the hotel, {@code null} for any hotel
+     * @param activeOn  a date the contracts must cover, {@code null} for any period
+     * @param sort      the sort order
+     * @param direction the direction of the sort order
+     * @param cursor    the continuation token of the previous slice, {@code null} for the first slice
+     * @param size      the maximum number of contracts in the slice
+     * @return a slice of {@link ContractDTO}
+     * @throws com.codegen.suntravels.exception.InvalidCursorException if the cursor cannot be decoded
+     *                                                                or was issued for another sort order
+     */
+    public KeysetSliceDTO<ContractDTO> listContracts(Long hotelId, LocalDate activeOn, ContractSort sort,
+                                                     Sort.Direction direction, String cursor, int size) {
+        ListingCursor after = ListingCursor.decode(cursor, sort.name(), direction);
+        int limit = Math.max(size, 1);
+
+        // Fetch one extra contract to learn whether there is a next slice
+        List<ContractDTO> contracts = catalogListingRepository.findContracts(hotelId, activeOn, sort,
+                direction.isDescending(), after != null ? after.parseKey(sort::parse) : null,
+                after != null ? after.id() : null, limit + 1);
+        boolean hasNext = contracts.size() > limit;
+        List<ContractDTO> slice = hasNext ? contracts.subList(0, limit) : contracts;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ContractDTO last = slice.get(slice.size() - 1);
+            nextCursor = new ListingCursor(sort.name(), direction, last.getId(), sort.keyOf(last)).encode();
+        }
+        return new KeysetSliceDTO<>(withRoomTypes(slice), nextCursor, hasNext);
+    }
+
+    /**
+     * Exports every contract matching the filters with its room types, in ID order, one at a time.
+     *
+     * @param hotelId  the unique identifier of the hotel, {@code null} for any hotel
+     * @param activeOn a date the contracts must cover, {@code null} for any period
+     * @param consumer receives each contract once all of its room types have been read
+     */
+    public void exportContracts(Long hotelId, LocalDate activeOn, Consumer<ContractDTO> consumer) {
+        catalogListingRepository.streamContracts(hotelId, activeOn, consumer);
     }
 
     /**
-     * Creates a new contract based on the provided {@link ContractDTO}.
+     * Creates a new contract based on the provided {@link ContractDTO}, together with the room types it
+     * lists. The room types are inserted in one JDBC batch.
      *
      * @param contractDTO the DTO containing contract details
      * @return the created {@link ContractDTO}
      */
+    @Transactional
     public ContractDTO createContract(ContractDTO contractDTO) {
         Contract contract = convertToEntity(contractDTO);
+        if (contractDTO.getRoomTypes() != null) {
+            for (RoomTypeDTO roomTypeDTO : contractDTO.getRoomTypes()) {
+                contract.getRoomTypes().add(newRoomType(contract, roomTypeDTO));
+            }
+        }
         Contract savedContract = contractRepository.save(contract);
+        eventPublisher.publishEvent(new ContractChangedEvent(savedContract.getId(),
+                savedContract.getStartDate(), savedContract.getEndDate()));
         return convertToDTO(savedContract);
     }
 
     /**
      * Updates an existing contract by its ID with the details from the provided {@link ContractDTO}.
+     * The contract is loaded together with its hotel and room types, which the returned DTO needs.
      *
      * @param id the unique identifier of the contract to update
      * @param contractDTO the DTO containing updated contract details
      * @return the updated {@link ContractDTO}
      * @throws ResourceNotFoundException if the contract with the specified ID is not found
      */
+    @Transactional
     public ContractDTO updateContract(Long id, ContractDTO contractDTO) {
-        Contract existingContract = contractRepository.findById(id)
+        Contract existingContract = contractRepository.findByIdWithHotelAndRoomTypes(id)
                                                       .orElseThrow(() -> new ResourceNotFoundException("Contract not found with id: " + id));
 
         Hotel hotel = hotelRepository.findById(contractDTO.getHotelId())
                                      .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + contractDTO.getHotelId()));
 
+        LocalDate previousStartDate = existingContract.getStartDate();
+        LocalDate previousEndDate = existingContract.getEndDate();
+
         existingContract.setHotel(hotel);
         existingContract.setStartDate(contractDTO.getStartDate());
         existingContract.setEndDate(contractDTO.getEndDate());
         existingContract.setMarkupPercentage(contractDTO.getMarkupPercentage());
 
         Contract updatedContract = contractRepository.save(existingContract);
+        // The change affects both the old and the new period of the contract
+        eventPublisher.publishEvent(new ContractChangedEvent(updatedContract.getId(),
+                earliest(previousStartDate, updatedContract.getStartDate()),
+                latest(previousEndDate, updatedContract.getEndDate())));
         return convertToDTO(updatedContract);
     }
 
+    /**
+     * Saves a contract together with its complete set of room types, as edited in one form.
+     *
+     * <p>The listed room types are compared with the stored ones: room types without an ID are added,
+     * room types with an ID are updated, and stored room types that are not listed are removed. Only the
+     * room types that actually changed are written, the inserts, updates and deletes each in one JDBC
+     * batch, and a single change event is published for the whole contract.</p>
+     *
+     * @param id the unique identifier of the contract to save
+     * @param contractDTO the DTO containing the contract details and all of its room types
+     * @return the saved {@link ContractDTO}
+     * @throws InvalidContractException  if no hotel ID is given
+     * @throws ResourceNotFoundException if the contract or its hotel is not found, or a listed room type
+     *                                   ID is not one of the contract's room types
+     */
+    @Transactional
+    public ContractDTO saveContractWithRoomTypes(Long id, ContractDTO contractDTO) {
+        if (contractDTO.getHotelId() == null) {
+            throw new InvalidContractException("Hotel ID is required");
+        }
+        Contract contract = contractRepository.findByIdWithHotelAndRoomTypes(id)
+                                              .orElseThrow(() -> new ResourceNotFoundException("Contract not found with id: " + id));
+
+        // The hotel is already loaded with the contract, so it is only looked up when the contract moves
+        if (!contractDTO.getHotelId().equals(contract.getHotel().getId())) {
+            contract.setHotel(hotelRepository.findById(contractDTO.getHotelId())
+                                             .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + contractDTO.getHotelId())));
+        }
+
+        LocalDate previousStartDate = contract.getStartDate();
+        LocalDate previousEndDate = contract.getEndDate();
+
+        contract.setStartDate(contractDTO.getStartDate());
+        contract.setEndDate(contractDTO.getEndDate());
+        contract.setMarkupPercentage(contractDTO.getMarkupPercentage());
+
+        Map<Long, RoomType> unlisted = contract.getRoomTypes().stream()
+                                               .collect(Collectors.toMap(RoomType::getId, roomType -> roomType));
+        List<RoomType> added = new ArrayList<>();
+        List<RoomTypeDTO> roomTypeDTOs = contractDTO.getRoomTypes() != null ? contractDTO.getRoomTypes() : List.of();
+        for (RoomTypeDTO roomTypeDTO : roomTypeDTOs) {
+            if (roomTypeDTO.getId() == null) {
+                added.add(newRoomType(contract, roomTypeDTO));
+                continue;
+            }
+            RoomType roomType = unlisted.remove(roomTypeDTO.getId());
+            if (roomType == null) {
+                throw new ResourceNotFoundException("Room type not found with id: " + roomTypeDTO.getId() +
+                                                    " in contract with id: " + id);
+            }
+            copyRoomType(roomTypeDTO, roomType);
+        }
+        // Room types that are no longer listed are deleted as orphans
+        contract.getRoomTypes().removeIf(roomType -> unlisted.containsKey(roomType.getId()));
+        contract.getRoomTypes().addAll(added);
+
+        Contract savedContract = contractRepository.save(contract);
+        eventPublisher.publishEvent(new ContractChangedEvent(savedContract.getId(),
+                earliest(previousStartDate, savedContract.getStartDate()),
+                latest(previousEndDate, savedContract.getEndDate())));
+        return convertToDTO(savedContract);
+    }
+
     /**
      * Deletes a contract by its ID.
      *
      * @param id the unique identifier of the contract to delete
      * @throws ResourceNotFoundException if the contract with the specified ID is not found
      */
+    @Transactional
     public void deleteContract(Long id) {
-        if (!contractRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Contract not found with id: " + id);
-        }
+        Contract contract = contractRepository.findById(id)
+                                              .orElseThrow(() -> new ResourceNotFoundException("Contract not found with id: " + id));
         contractRepository.deleteById(id);
+        eventPublisher.publishEvent(new ContractChangedEvent(id, contract.getStartDate(), contract.getEndDate()));
     }
 
     /**
@@ -121,24 +279,74 @@ public class ContractService {
      */
     public List<ContractExpiryReportDTO> getContractsExpiringBetween(LocalDate fromDate, LocalDate toDate, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Contract> expiringContractsPage = contractRepository.findContractsExpiringBetween(fromDate, toDate, pageable);
+        Page<ContractExpiryReportDTO> expiringContractsPage =
+                contractRepository.findContractsExpiringBetween(fromDate, toDate, pageable);
 
-        return expiringContractsPage.stream()
-                                    .map(contract -> {
-                                        ContractExpiryReportDTO reportDTO = new ContractExpiryReportDTO();
-                                        reportDTO.setContractId(contract.getId());
-                                        reportDTO.setHotelName(contract.getHotel().getName());
-                                        reportDTO.setStartDate(contract.getStartDate());
-                                        reportDTO.setEndDate(contract.getEndDate());
+        return withDaysToExpiry(expiringContractsPage.getContent());
+    }
 
-                                        long daysToExpiry = ChronoUnit.DAYS.between(LocalDate.now(), contract.getEndDate());
-                                        reportDTO.setDaysToExpiry(daysToExpiry);
+    /**
+     * Retrieves contracts that are expiring between the specified dates with keyset pagination.
+     * Contracts are ordered by end date and then ID; the next slice is requested with the returned
+     * continuation token, and no total is counted.
+     *
+     * @param fromDate the start date of the expiry range
+     * @param toDate the end date of the expiry range
+     * @param cursor the continuation token of the previous slice, {@code null} for the first slice
+     * @param size the maximum number of contracts in the slice
+     * @return a slice of {@link ContractExpiryReportDTO} containing contract expiry details
+     * @throws com.codegen.suntravels.exception.InvalidCursorException if the cursor cannot be decoded
+     */
+    public KeysetSliceDTO<ContractExpiryReportDTO> getContractsExpiringBetween(LocalDate fromDate, LocalDate toDate,
+                                                                            String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.max(size, 1);
+
+        // Fetch one extra contract to learn whether there is a next slice
+        List<ContractExpiryReportDTO> rows = contractRepository.findContractsExpiringBetweenAfter(fromDate, toDate,
+                after != null ? after.endDate() : null, after != null ? after.id() : null, Limit.of(limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<ContractExpiryReportDTO> slice = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ContractExpiryReportDTO last = slice.get(slice.size() - 1);
+            nextCursor = new KeysetCursor(last.getEndDate(), last.getContractId()).encode();
+        }
+        return new KeysetSliceDTO<>(withDaysToExpiry(slice), nextCursor, hasNext);
+    }
+
+    /**
+     * Fills in the days to expiry of the report rows selected by the repository, counted from today.
+     *
+     * @param rows the report rows
+     * @return the same rows
+     */
+    private List<ContractExpiryReportDTO> withDaysToExpiry(List<ContractExpiryReportDTO> rows) {
+        LocalDate today = LocalDate.now();
+        rows.forEach(row -> row.setDaysToExpiry(ChronoUnit.DAYS.between(today, row.getEndDate())));
+        return rows;
+    }
 
-                                        return reportDTO;
-                                    })
-                                    .collect(Collectors.toList());
+    /**
+     * Returns the earlier of two dates, or {@code null} if either is unknown.
+     */
+    private static LocalDate earliest(LocalDate first, LocalDate second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        return first.isBefore(second) ? first : second;
     }
 
+    /**
+     * Returns the later of two dates, or {@code null} if either is unknown.
+     */
+    private static LocalDate latest(LocalDate first, LocalDate second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        return first.isAfter(second) ? first : second;
+    }
 
     /**
      * Converts a {@link Contract} entity to a {@link ContractDTO}.
@@ -147,6 +355,7 @@ public class ContractService {
      * @return the converted {@link ContractDTO}
      */
     private ContractDTO convertToDTO(Contract contract) {
+        DtoConversionEvent event = DtoConversionEvent.begin(ContractDTO.class);
         ContractDTO contractDTO = new ContractDTO();
         contractDTO.setId(contract.getId());
         contractDTO.setHotelId(contract.getHotel().getId());
@@ -161,6 +370,7 @@ public class ContractService {
 
         contractDTO.setRoomTypes(roomTypeDTOs);
 
+        event.end(contract.getId(), roomTypeDTOs.size());
         return contractDTO;
     }
 
@@ -176,11 +386,33 @@ public class ContractService {
         roomTypeDTO.setName(roomType.getName());
         roomTypeDTO.setContractId(roomType.getContract().getId());
         roomTypeDTO.setPricePerPerson(roomType.getPricePerPerson());
+        roomTypeDTO.setPricePerPersonCents(roomType.getPricePerPersonCents());
         roomTypeDTO.setNumberOfRooms(roomType.getNumberOfRooms());
         roomTypeDTO.setMaxAdults(roomType.getMaxAdults());
         return roomTypeDTO;
     }
 
+    /**
+     * Creates a new room type of a contract from a {@link RoomTypeDTO}, ignoring the contract ID of the DTO.
+     */
+    private static RoomType newRoomType(Contract contract, RoomTypeDTO roomTypeDTO) {
+        RoomType roomType = new RoomType();
+        roomType.setContract(contract);
+        copyRoomType(roomTypeDTO, roomType);
+        return roomType;
+    }
+
+    /**
+     * Copies the details of a {@link RoomTypeDTO} to a room type. Unchanged values leave the room type
+     * clean, so that it is not written.
+     */
+    private static void copyRoomType(RoomTypeDTO roomTypeDTO, RoomType roomType) {
+        roomType.setName(roomTypeDTO.getName());
+        RoomTypeService.setPrice(roomType, roomTypeDTO);
+        roomType.setNumberOfRooms(roomTypeDTO.getNumberOfRooms());
+        roomType.setMaxAdults(roomTypeDTO.getMaxAdults());
+    }
+
     /**
      * Converts a {@link ContractDTO} to a {@link Contract} entity.
      *
@@ -205,33 +437,58 @@ public class ContractService {
     }
 
     /**
-     * Searches for contracts based on hotel name and date range.
+     * Searches for contracts based on hotel name and date range, one page at a time.
+     * The hotel name is matched case- and accent-insensitively anywhere in the name. Names of three or more
+     * characters are looked up through the hotel name trigram index, and the date range is applied by the
+     * database, so the cost depends on the number of matches rather than on the number of contracts.
      *
-     * @param hotelName the hotel name to search for
+     * @param hotelName the hotel name to search for, {@code null} or blank for any hotel
      * @param startDate the start date of the search range
-     * @param endDate the end date of the search range
-     * @return a list of {@link ContractDTO} matching the search criteria
-     */
-    public List<ContractDTO> searchContracts(String hotelName, LocalDate startDate, LocalDate endDate) {
-        List<Contract> contracts = contractRepository.findAll();
-
-        return contracts.stream()
-                        .filter(contract -> {
-                            boolean matches = true;
-
-                            if (hotelName != null && !hotelName.isEmpty()) {
-                                matches = contract.getHotel().getName().toLowerCase().contains(hotelName.toLowerCase());
-                            }
-
-                            if (matches && startDate != null && endDate != null) {
-                                // Contract must start on or before startDate AND end on or after endDate
-                                matches = !contract.getStartDate().isAfter(startDate) &&
-                                                  !contract.getEndDate().isBefore(endDate);
-                            }
-
-                            return matches;
-                        })
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+     * @param endDate the end date of the search range; the range only applies if both dates are given
+     * @param page the page number
+     * @param size the page size
+     * @return a page of {@link ContractDTO} matching the search criteria, ordered by contract ID
+     */
+    public Page<ContractDTO> searchContracts(String hotelName, LocalDate startDate, LocalDate endDate, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        boolean byPeriod = startDate != null && endDate != null;
+        LocalDate contractStartsBy = byPeriod ? startDate : null;
+        LocalDate contractEndsBy = byPeriod ? endDate : null;
+
+        String normalizedName = hotelName != null ? Hotel.normalize(hotelName) : "";
+        String namePattern = "%" + escapeLike(normalizedName) + "%";
+        Set<String> trigrams = Hotel.trigrams(normalizedName);
+
+        Page<ContractDTO> contracts = trigrams.isEmpty()
+                ? contractRepository.searchByHotelName(namePattern, contractStartsBy, contractEndsBy, pageable)
+                : contractRepository.searchByHotelNameTrigrams(trigrams, trigrams.size(), namePattern,
+                                                               contractStartsBy, contractEndsBy, pageable);
+        withRoomTypes(contracts.getContent());
+        return contracts;
+    }
+
+    /**
+     * Fills in the room types of contracts selected by a projection, selecting the room types of all of
+     * them in one statement rather than one per contract.
+     *
+     * @param contracts the contracts
+     * @return the same contracts
+     */
+    private List<ContractDTO> withRoomTypes(List<ContractDTO> contracts) {
+        if (contracts.isEmpty()) {
+            return contracts;
+        }
+        Map<Long, List<RoomTypeDTO>> roomTypes = roomTypeRepository.findRoomTypeDTOsByContractIdIn(
+                contracts.stream().map(ContractDTO::getId).toList()).stream()
+                .collect(Collectors.groupingBy(RoomTypeDTO::getContractId));
+        contracts.forEach(contract -> contract.setRoomTypes(roomTypes.getOrDefault(contract.getId(), List.of())));
+        return contracts;
+    }
+
+    /**
+     * Escapes the {@code LIKE} wildcards of a text with {@code !} as escape character.
+     */
+    static String escapeLike(String text) {
+        return text.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 }
@@ -0,0 +1,106 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.SearchOffer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, detached copy of a {@link Contract} together with its hotel name and room types.
+ * This is the unit stored in the {@link AvailabilityIndex} and evaluated by the {@link SearchService}.
+ *
+ * @param id                the unique identifier of the contract
+ * @param hotelId           the unique identifier of the contracted hotel
+ * @param hotelName         the name of the contracted hotel
+ * @param startDate         the first date covered by the contract
+ * @param endDate           the last date covered by the contract
+ * @param markupBasisPoints the markup applied to the room type prices, in basis points
+ * @param roomTypes         the room types offered under the contract
+ */
+public record ContractSnapshot(Long id,
+                               Long hotelId,
+                               String hotelName,
+                               LocalDate startDate,
+                               LocalDate endDate,
+                               long markupBasisPoints,
+                               List<RoomTypeSnapshot> roomTypes) {
+
+    /**
+     * Copies a {@link Contract} entity. The hotel and room types must already be initialised.
+     *
+     * @param contract the contract entity to copy
+     * @return the snapshot of the contract
+     */
+    public static ContractSnapshot from(Contract contract) {
+        long markupBasisPoints = Pricing.toBasisPoints(contract.getMarkupPercentage());
+        List<RoomTypeSnapshot> roomTypes = contract.getRoomTypes() == null
+                ? List.of()
+                : contract.getRoomTypes().stream().map(rt -> RoomTypeSnapshot.from(rt, markupBasisPoints)).toList();
+
+        return new ContractSnapshot(
+                contract.getId(),
+                contract.getHotel().getId(),
+                contract.getHotel().getName(),
+                contract.getStartDate(),
+                contract.getEndDate(),
+                markupBasisPoints,
+                roomTypes);
+    }
+
+    /**
+     * Groups consecutive offers of the same contract into snapshots, keeping the order of the offers.
+     *
+     * @param offers the offers, with the offers of each contract next to each other
+     * @return one snapshot per contract, with the room types of its offers
+     */
+    public static List<ContractSnapshot> fromOffers(List<SearchOffer> offers) {
+        List<ContractSnapshot> contracts = new ArrayList<>();
+        int first = 0;
+        for (int i = 1; i <= offers.size(); i++) {
+            if (i == offers.size() || !offers.get(i).getContractId().equals(offers.get(first).getContractId())) {
+                SearchOffer offer = offers.get(first);
+                List<RoomTypeSnapshot> roomTypes = offers.subList(first, i).stream().map(RoomTypeSnapshot::from).toList();
+                contracts.add(new ContractSnapshot(offer.getContractId(), offer.getHotelId(), offer.getHotelName(),
+                        offer.getStartDate(), offer.getEndDate(), offer.getMarkupBasisPoints(), roomTypes));
+                first = i;
+            }
+        }
+        return contracts;
+    }
+
+    /**
+     * Checks whether the contract covers the whole stay, i.e. both the check-in and the check-out date
+     * fall within the contract period.
+     *
+     * @param checkInDate  the check-in date
+     * @param checkOutDate the check-out date
+     * @return {@code true} if the contract covers the stay
+     */
+    public boolean covers(LocalDate checkInDate, LocalDate checkOutDate) {
+        return !startDate.isAfter(checkInDate) && !endDate.isBefore(checkOutDate);
+    }
+
+    /**
+     * Restricts the contract to the room types that can take the requested party, mirroring the room
+     * constraints of the {@link com.codegen.suntravels.repository.SearchOfferRepository} queries.
+     *
+     * @param maxAdults  the number of adults a matching room type must at least accommodate
+     * @param totalRooms the number of rooms a matching room type must at least have
+     * @return this snapshot if every room type matches, a copy with the matching room types,
+     *         or {@code null} if none matches
+     */
+    public ContractSnapshot withRoomTypesFor(int maxAdults, int totalRooms) {
+        List<RoomTypeSnapshot> matching = roomTypes.stream()
+                                                   .filter(rt -> rt.maxAdults() >= maxAdults && rt.numberOfRooms() >= totalRooms)
+                                                   .toList();
+        if (matching.isEmpty()) {
+            return null;
+        }
+        if (matching.size() == roomTypes.size()) {
+            return this;
+        }
+        return new ContractSnapshot(id, hotelId, hotelName, startDate, endDate, markupBasisPoints, matching);
+    }
+}
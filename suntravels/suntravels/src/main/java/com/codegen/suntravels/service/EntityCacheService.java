@@ -0,0 +1,69 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service class for the Hibernate second-level and query cache.
+ *
+ * <p>Hibernate keeps the cache up to date on every write it performs itself, including the bulk JPQL
+ * updates of the repositories. Rows written around it, with JDBC or SQL outside the application, are
+ * not seen: whoever writes them must call {@link #evictAll()} afterwards.</p>
+ */
+@Service
+public class EntityCacheService {
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Returns the hit, miss and put counters of every entity, collection and query region, ordered by name.
+     * The counters are only maintained with {@code hibernate.generate_statistics=true}.
+     *
+     * @return the statistics of the regions
+     */
+    public List<CacheRegionStatsDTO> getRegionStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                     .sorted()
+                     .map(statistics::getCacheRegionStatistics)
+                     .filter(Objects::nonNull)
+                     .map(EntityCacheService::toDTO)
+                     .toList();
+    }
+
+    /**
+     * Removes every entry of every region, so the next reads go to the database.
+     */
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    /**
+     * Removes the cached query results only, so the next queries see rows inserted around Hibernate.
+     * Newly inserted rows cannot be stale in the entity regions, which are kept.
+     */
+    public void evictQueryResults() {
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    private static CacheRegionStatsDTO toDTO(CacheRegionStatistics region) {
+        long lookups = region.getHitCount() + region.getMissCount();
+        double hitRate = lookups == 0 ? 1.0 : (double) region.getHitCount() / lookups;
+        return new CacheRegionStatsDTO(region.getRegionName(), region.getHitCount(), region.getMissCount(),
+                region.getPutCount(), hitRate);
+    }
+}
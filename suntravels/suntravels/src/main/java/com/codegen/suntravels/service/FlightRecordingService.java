@@ -0,0 +1,128 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.dto.RecordingStatusDTO;
+import com.codegen.suntravels.exception.InvalidRecordingSettingsException;
+import com.codegen.suntravels.exception.RecordingStateException;
+import com.codegen.suntravels.jfr.DtoConversionEvent;
+import com.codegen.suntravels.jfr.RepositoryQueryEvent;
+import com.codegen.suntravels.jfr.SearchEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Service class for the on-demand JDK Flight Recorder recording of the diagnostics endpoint.
+ *
+ * <p>At most one recording runs at a time. It uses the JDK's {@code profile} settings, so GC, lock,
+ * allocation and I/O events are recorded next to the application's {@link SearchEvent},
+ * {@link RepositoryQueryEvent} and {@link DtoConversionEvent}, all of which are enabled without a
+ * threshold. The recording keeps a bounded window of data: the oldest chunks are dropped once the
+ * maximum age or size is reached. Both are limited by {@code suntravels.jfr.max-age-limit} and
+ * {@code suntravels.jfr.max-size-limit}, so a caller cannot make the recording grow without bound.</p>
+ */
+@Service
+public class FlightRecordingService {
+
+    private final String settings;
+    private final Duration defaultMaxAge;
+    private final long defaultMaxSize;
+    private final Duration maxAgeLimit;
+    private final long maxSizeLimit;
+
+    private Recording recording;
+
+    @Autowired
+    public FlightRecordingService(@Value("${suntravels.jfr.settings:profile}") String settings,
+                                  @Value("${suntravels.jfr.max-age:PT10M}") Duration defaultMaxAge,
+                                  @Value("${suntravels.jfr.max-size:104857600}") long defaultMaxSize,
+                                  @Value("${suntravels.jfr.max-age-limit:PT1H}") Duration maxAgeLimit,
+                                  @Value("${suntravels.jfr.max-size-limit:536870912}") long maxSizeLimit) {
+        this.settings = settings;
+        this.maxAgeLimit = maxAgeLimit;
+        this.maxSizeLimit = maxSizeLimit;
+        this.defaultMaxAge = defaultMaxAge.compareTo(maxAgeLimit) > 0 ? maxAgeLimit : defaultMaxAge;
+        this.defaultMaxSize = Math.min(defaultMaxSize, maxSizeLimit);
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param maxAge  the maximum age of the data to keep, or {@code null} for the configured default
+     * @param maxSize the maximum size in bytes of the data to keep, or {@code null} for the configured default
+     * @return the status of the started recording
+     * @throws InvalidRecordingSettingsException if the maximum age or size is not positive or exceeds its limit
+     * @throws RecordingStateException           if a recording is already running
+     */
+    public synchronized RecordingStatusDTO start(Duration maxAge, Long maxSize) {
+        // The recorder reads zero as no limit at all
+        if (maxAge != null && (maxAge.isNegative() || maxAge.isZero() || maxAge.compareTo(maxAgeLimit) > 0)) {
+            throw new InvalidRecordingSettingsException("The maximum age must be positive and at most " + maxAgeLimit);
+        }
+        if (maxSize != null && (maxSize <= 0 || maxSize > maxSizeLimit)) {
+            throw new InvalidRecordingSettingsException("The maximum size must be positive and at most " + maxSizeLimit + " bytes");
+        }
+        if (recording != null) {
+            throw new RecordingStateException("A flight recording is already running since " + recording.getStartTime());
+        }
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid flight recorder settings: " + settings, e);
+        }
+        started.setName("suntravels-diagnostics");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge != null ? maxAge : defaultMaxAge);
+        started.setMaxSize(maxSize != null ? maxSize : defaultMaxSize);
+        started.enable(SearchEvent.class).withoutThreshold();
+        started.enable(RepositoryQueryEvent.class).withoutThreshold();
+        started.enable(DtoConversionEvent.class).withoutThreshold();
+        started.start();
+        recording = started;
+        return getStatus();
+    }
+
+    /**
+     * Stops the running recording and dumps it to a temporary file, which the caller must delete.
+     *
+     * @return the path of the {@code .jfr} file
+     * @throws RecordingStateException if no recording is running
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new RecordingStateException("No flight recording is running");
+        }
+        try (Recording stopped = recording) {
+            recording = null;
+            stopped.stop();
+            Path file = Files.createTempFile("suntravels-", ".jfr");
+            stopped.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retrieves the state of the recording.
+     *
+     * @return the recording status
+     */
+    public synchronized RecordingStatusDTO getStatus() {
+        if (recording == null) {
+            return new RecordingStatusDTO(false, null, 0, 0);
+        }
+        return new RecordingStatusDTO(true, recording.getStartTime(), recording.getMaxAge().toSeconds(), recording.getMaxSize());
+    }
+}
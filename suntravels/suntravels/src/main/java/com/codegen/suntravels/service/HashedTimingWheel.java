@@ -0,0 +1,298 @@
+package com.codegen.suntravels.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel that hands tasks to a consumer once their delay has passed.
+ *
+ * <p>The wheel is a ring of buckets, one per tick. A task due in {@code n} ticks goes into the bucket
+ * {@code n} slots ahead of the current one, with the number of full turns of the wheel still to wait;
+ * tasks due further out than one turn share buckets with nearer ones. A single worker thread advances
+ * one bucket per tick and expires the tasks in it whose turns are used up, so scheduling and cancelling
+ * are O(1) and the cost of a tick depends only on the tasks in one bucket, however many are waiting.</p>
+ *
+ * <p>Tasks expire up to one tick after their delay, in the order their ticks come up, on the worker
+ * thread: the consumer should return quickly. Other threads never touch the buckets; they hand new and
+ * cancelled tasks to the worker through lock-free queues, which it drains at every tick. Closing the
+ * wheel stops the worker and drops the tasks still waiting.</p>
+ *
+ * @param <T> the type of the tasks
+ */
+public final class HashedTimingWheel<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Set<Timeout<T>>[] buckets;
+    private final int mask;
+    private final Consumer<T> consumer;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean closed;
+
+    /**
+     * The tick the worker processes next. Only read and written by the worker.
+     */
+    private long tick;
+
+    /**
+     * Creates a wheel. Its worker thread starts with the first scheduled task.
+     *
+     * @param name         the name of the worker thread
+     * @param tickDuration the time one bucket covers, which is also the precision of the delays
+     * @param wheelSize    the number of buckets, rounded up to a power of two
+     * @param consumer     receives the tasks as they expire
+     * @throws IllegalArgumentException if the tick duration or the wheel size is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, Duration tickDuration, int wheelSize, Consumer<T> consumer) {
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("The tick duration must be positive: " + tickDuration);
+        }
+        if (wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("The wheel size must be between 1 and 2^30: " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = tickDuration.toNanos();
+        this.buckets = new Set[Math.max(size, 1)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LinkedHashSet<>();
+        }
+        this.mask = buckets.length - 1;
+        this.consumer = consumer;
+        this.worker = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Schedules a task to expire once the delay has passed. A delay that is zero or negative expires
+     * the task at the next tick.
+     *
+     * @param task  the task
+     * @param delay the time until the task expires
+     * @return the handle the task can be cancelled with
+     * @throws IllegalStateException if the wheel has been closed
+     */
+    public Timeout<T> schedule(T task, Duration delay) {
+        if (closed) {
+            throw new IllegalStateException("The timing wheel has been closed");
+        }
+        if (started.compareAndSet(false, true)) {
+            worker.start();
+        }
+        long delayNanos = Math.max(saturatedNanos(delay), 0);
+        long deadline = System.nanoTime() - startNanos;
+        deadline = deadline > Long.MAX_VALUE - delayNanos ? Long.MAX_VALUE : deadline + delayNanos;
+
+        Timeout<T> timeout = new Timeout<>(this, task, deadline);
+        waiting.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of tasks that have been scheduled and have neither expired nor been cancelled.
+     *
+     * @return the number of waiting tasks
+     */
+    public int size() {
+        return waiting.get();
+    }
+
+    /**
+     * Stops the worker thread. Tasks that have not expired yet never will.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (started.get()) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            if (!awaitTick()) {
+                return;
+            }
+            Set<Timeout<T>> bucket = buckets[(int) (tick & mask)];
+            removeCancelled();
+            transferScheduled();
+            expire(bucket);
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the end of the current tick.
+     *
+     * @return {@code false} if the wheel was closed meanwhile
+     */
+    private boolean awaitTick() {
+        long end = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startNanos;
+            if (now >= end) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(end - now);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves newly scheduled tasks into the bucket of the tick they are due in, or into the current
+     * bucket if that tick has already passed.
+     */
+    private void transferScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() != PENDING) {
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (dueTick - tick) / buckets.length;
+            timeout.bucket = buckets[(int) (Math.max(dueTick, tick) & mask)];
+            timeout.bucket.add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+                timeout.bucket = null;
+            }
+        }
+    }
+
+    /**
+     * Expires the tasks of the current bucket that are due at this turn of the wheel. A task that lands
+     * here is due no later than the end of this tick, which has passed.
+     */
+    private void expire(Set<Timeout<T>> bucket) {
+        Iterator<Timeout<T>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            timeout.bucket = null;
+            if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                waiting.decrementAndGet();
+                try {
+                    consumer.accept(timeout.task);
+                } catch (RuntimeException e) {
+                    log.warn("Expiry of {} failed", timeout.task, e);
+                }
+            }
+        }
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * A task scheduled on a {@link HashedTimingWheel}.
+     *
+     * @param <T> the type of the task
+     */
+    public static final class Timeout<T> {
+
+        private final HashedTimingWheel<T> wheel;
+        private final T task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        /**
+         * The turns of the wheel still to wait and the bucket the task is in. Only used by the worker.
+         */
+        private long remainingRounds;
+        private Set<Timeout<T>> bucket;
+
+        private Timeout(HashedTimingWheel<T> wheel, T task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Returns the scheduled task.
+         *
+         * @return the task
+         */
+        public T task() {
+            return task;
+        }
+
+        /**
+         * Cancels the task, unless it has already expired.
+         *
+         * @return {@code true} if the task was cancelled by this call
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.waiting.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * Checks whether the task has expired and been handed to the consumer.
+         *
+         * @return {@code true} if the task has expired
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Checks whether the task has been cancelled.
+         *
+         * @return {@code true} if the task has been cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
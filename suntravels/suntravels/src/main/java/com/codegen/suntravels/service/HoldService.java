@@ -0,0 +1,287 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.dto.BookingDTO;
+import com.codegen.suntravels.dto.HoldBookingRequestDTO;
+import com.codegen.suntravels.dto.HoldDTO;
+import com.codegen.suntravels.dto.HoldRequestDTO;
+import com.codegen.suntravels.exception.InvalidBookingException;
+import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.exception.RoomsUnavailableException;
+import com.codegen.suntravels.model.RoomHold;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.RoomHoldRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class responsible for holding rooms between search and payment.
+ *
+ * <p>A hold takes rooms through the {@link RoomInventory} like a booking, for a limited time
+ * ({@code suntravels.holds.ttl}). Its expiry is scheduled on an in-process {@link HashedTimingWheel}
+ * rather than found by polling the database; when it comes up, the hold row is deleted and its rooms
+ * are given back, unless the hold has been booked or released first. The wheel's single thread only
+ * queues the expired holds: they are released on the application task executor, one transaction per
+ * hold, so a slow database never delays the ticks of the wheel. The hold rows are the durable record:
+ * at startup every hold is scheduled again, and holds that expired while the application was down are
+ * released at the first tick.</p>
+ */
+@Service
+public class HoldService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldService.class);
+
+    private final RoomHoldRepository roomHoldRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomInventory roomInventory;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Duration ttl;
+    private final HashedTimingWheel<Long> expiryWheel;
+    private final Map<Long, HashedTimingWheel.Timeout<Long>> expiries = new ConcurrentHashMap<>();
+    private final Queue<Long> expired = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean releasingExpired = new AtomicBoolean();
+
+    @Autowired
+    public HoldService(RoomHoldRepository roomHoldRepository,
+                       RoomTypeRepository roomTypeRepository,
+                       RoomInventory roomInventory,
+                       BookingService bookingService,
+                       PlatformTransactionManager transactionManager,
+                       @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                       @Value("${suntravels.holds.ttl:PT10M}") Duration ttl,
+                       @Value("${suntravels.holds.tick:PT1S}") Duration tick,
+                       @Value("${suntravels.holds.wheel-size:512}") int wheelSize) {
+        this.roomHoldRepository = roomHoldRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomInventory = roomInventory;
+        this.bookingService = bookingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+        this.ttl = ttl;
+        this.expiryWheel = new HashedTimingWheel<>("room-hold-expiry", tick, wheelSize, this::expire);
+    }
+
+    /**
+     * Schedules the expiry of every stored hold. Called once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<RoomHold> holds = roomHoldRepository.findAll();
+        holds.forEach(hold -> schedule(hold.getId(), hold.getExpiresAt()));
+        log.info("Scheduled the expiry of {} room holds", holds.size());
+    }
+
+    /**
+     * Holds rooms of a room type for the nights of a stay until the hold expires.
+     *
+     * @param request the room type, stay and number of rooms to hold
+     * @return the {@link HoldDTO} with the time the hold expires
+     * @throws ResourceNotFoundException if the room type does not exist
+     * @throws InvalidBookingException   if the stay is outside the room type's contract
+     * @throws RoomsUnavailableException if any night of the stay does not have the rooms free
+     */
+    public HoldDTO createHold(HoldRequestDTO request) {
+        LocalDate checkOutDate = request.getCheckInDate().plusDays(request.getNumberOfNights());
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            RoomType roomType = roomTypeRepository.findByIdWithContract(request.getRoomTypeId())
+                                                  .orElseThrow(() -> new ResourceNotFoundException("Room type not found with id: " + request.getRoomTypeId()));
+            roomInventory.requireCovered(roomType, request.getCheckInDate(), checkOutDate);
+        });
+
+        RoomHold hold = roomInventory.take(request.getRoomTypeId(), request.getCheckInDate(), checkOutDate,
+                request.getNumberOfRooms(), () -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    RoomHold newHold = new RoomHold();
+                    newHold.setRoomType(roomTypeRepository.getReferenceById(request.getRoomTypeId()));
+                    newHold.setCheckInDate(request.getCheckInDate());
+                    newHold.setCheckOutDate(checkOutDate);
+                    newHold.setNumberOfRooms(request.getNumberOfRooms());
+                    newHold.setCreatedAt(now);
+                    newHold.setExpiresAt(now.plus(ttl));
+                    return roomHoldRepository.save(newHold);
+                });
+        schedule(hold.getId(), hold.getExpiresAt());
+        return convertToDTO(hold, request.getRoomTypeId());
+    }
+
+    /**
+     * Retrieves a hold by its ID.
+     *
+     * @param id the unique identifier of the hold
+     * @return the {@link HoldDTO} representing the hold
+     * @throws ResourceNotFoundException if the hold does not exist, e.g. because it has expired
+     */
+    public HoldDTO getHoldById(Long id) {
+        return readOnlyTransactionTemplate.execute(status -> roomHoldRepository.findById(id)
+                .map(hold -> convertToDTO(hold, hold.getRoomType().getId()))
+                .orElseThrow(() -> holdNotFound(id)));
+    }
+
+    /**
+     * Releases a hold before it expires and gives its rooms back.
+     *
+     * @param id the unique identifier of the hold
+     * @throws ResourceNotFoundException if the hold does not exist, e.g. because it has expired
+     */
+    public void releaseHold(Long id) {
+        if (!release(id)) {
+            throw holdNotFound(id);
+        }
+        cancelExpiry(id);
+    }
+
+    /**
+     * Books the rooms of a hold, which ends the hold.
+     *
+     * @param id      the unique identifier of the hold
+     * @param request the adults per room and the guest to book for
+     * @return the confirmed {@link BookingDTO}
+     * @throws ResourceNotFoundException if the hold does not exist, e.g. because it has expired
+     * @throws InvalidBookingException   if a room does not take that many adults
+     */
+    public BookingDTO bookHold(Long id, HoldBookingRequestDTO request) {
+        BookingDTO booking = bookingService.createBookingFromHold(id, request);
+        cancelExpiry(id);
+        return booking;
+    }
+
+    /**
+     * Returns the number of holds whose expiry is scheduled.
+     *
+     * @return the number of scheduled expiries
+     */
+    public int scheduledExpiries() {
+        return expiryWheel.size();
+    }
+
+    /**
+     * Stops the expiry wheel. The holds it had scheduled are scheduled again at the next startup.
+     */
+    @Override
+    public void destroy() {
+        expiryWheel.close();
+    }
+
+    private void schedule(Long id, LocalDateTime expiresAt) {
+        HashedTimingWheel.Timeout<Long> previous =
+                expiries.put(id, expiryWheel.schedule(id, Duration.between(LocalDateTime.now(), expiresAt)));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancelExpiry(Long id) {
+        HashedTimingWheel.Timeout<Long> expiry = expiries.remove(id);
+        if (expiry != null) {
+            expiry.cancel();
+        }
+    }
+
+    /**
+     * Queues a hold whose time has come up and makes sure the queue is being released. Runs on the thread
+     * of the expiry wheel, so it never touches the database.
+     */
+    private void expire(Long id) {
+        expiries.remove(id);
+        expired.add(id);
+        if (releasingExpired.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(this::releaseExpired);
+            } catch (TaskRejectedException e) {
+                // Shutting down: the holds are still stored and expire again at the next startup
+                releasingExpired.set(false);
+                log.debug("Releasing expired room holds was rejected", e);
+            }
+        }
+    }
+
+    /**
+     * Releases the queued expired holds until the queue is empty. Runs on the task executor, at most once
+     * at a time.
+     */
+    private void releaseExpired() {
+        do {
+            Long id;
+            while ((id = expired.poll()) != null) {
+                try {
+                    if (release(id)) {
+                        log.debug("Room hold {} expired", id);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Releasing expired room hold {} failed", id, e);
+                }
+            }
+            releasingExpired.set(false);
+            // A hold queued after the last poll but before the flag was cleared found it still set
+        } while (!expired.isEmpty() && releasingExpired.compareAndSet(false, true));
+    }
+
+    /**
+     * Deletes a hold and gives its rooms back, in one transaction.
+     *
+     * @return {@code false} if the hold no longer exists
+     */
+    private boolean release(Long id) {
+        Boolean released = transactionTemplate.execute(status -> {
+            RoomHold hold = roomHoldRepository.findById(id).orElse(null);
+            if (hold == null || roomHoldRepository.deleteHold(id) == 0) {
+                return false;
+            }
+            roomInventory.giveBack(hold.getRoomType().getId(), hold.getCheckInDate(), hold.getCheckOutDate(),
+                    hold.getNumberOfRooms());
+            return true;
+        });
+        return Boolean.TRUE.equals(released);
+    }
+
+    private static ResourceNotFoundException holdNotFound(Long id) {
+        return new ResourceNotFoundException("Hold not found with id: " + id);
+    }
+
+    /**
+     * Converts a {@link RoomHold} entity to a {@link HoldDTO}.
+     *
+     * @param hold       the hold entity to convert
+     * @param roomTypeId the ID of the held room type
+     * @return the corresponding {@link HoldDTO}
+     */
+    private HoldDTO convertToDTO(RoomHold hold, Long roomTypeId) {
+        HoldDTO dto = new HoldDTO();
+        dto.setId(hold.getId());
+        dto.setRoomTypeId(roomTypeId);
+        dto.setCheckInDate(hold.getCheckInDate());
+        dto.setCheckOutDate(hold.getCheckOutDate());
+        dto.setNumberOfNights((int) (hold.getCheckOutDate().toEpochDay() - hold.getCheckInDate().toEpochDay()));
+        dto.setNumberOfRooms(hold.getNumberOfRooms());
+        dto.setCreatedAt(hold.getCreatedAt());
+        dto.setExpiresAt(hold.getExpiresAt());
+        return dto;
+    }
+}
@@ -1,51 +1,133 @@
 package com.codegen.suntravels.service;
 
 import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.event.HotelChangedEvent;
 import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.jfr.DtoConversionEvent;
 import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.repository.CatalogListingRepository;
+import com.codegen.suntravels.repository.CatalogListingRepository.HotelSort;
+import com.codegen.suntravels.repository.ContractPeriod;
 import com.codegen.suntravels.repository.HotelRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Service class responsible for handling business logic related to hotels.
  * This service provides methods for creating, updating, deleting, retrieving hotels.
+ *
+ * <p>Every write runs in a transaction, which the {@link SearchOfferProjector} joins to update the
+ * search offers of the hotel's contracts.</p>
  */
 @Service
 public class HotelService {
 
+    private static final Logger log = LoggerFactory.getLogger(HotelService.class);
+
     private final HotelRepository hotelRepository;
+    private final CatalogListingRepository catalogListingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public HotelService(HotelRepository hotelRepository) {
+    public HotelService(HotelRepository hotelRepository, CatalogListingRepository catalogListingRepository,
+                        ApplicationEventPublisher eventPublisher) {
         this.hotelRepository = hotelRepository;
+        this.catalogListingRepository = catalogListingRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Computes the normalised names and name trigrams of hotels stored before hotel names were indexed.
+     * Called once the application has started; does nothing once every hotel is indexed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void indexHotelNames() {
+        List<Hotel> hotels = hotelRepository.findByNormalizedNameIsNull();
+        if (hotels.isEmpty()) {
+            return;
+        }
+        hotels.forEach(hotel -> hotel.setName(hotel.getName()));
+        hotelRepository.saveAll(hotels);
+        log.info("Indexed the names of {} hotels", hotels.size());
     }
 
     /**
-     * Retrieves all hotels and converts them to DTOs.
+     * Retrieves all hotels as DTOs, selected by a projection so that no hotel entity is loaded.
      *
      * @return a list of {@link HotelDTO} representing all hotels
      */
     public List<HotelDTO> getAllHotels() {
-        return hotelRepository.findAll().stream()
-                              .map(this::convertToDTO)
-                              .collect(Collectors.toList());
+        return hotelRepository.findAllHotelDTOs();
     }
 
     /**
-     * Retrieves a hotel by its ID and converts it to a DTO.
+     * Retrieves a hotel by its ID as a DTO, selected by a projection so that no hotel entity is loaded.
      *
      * @param id the unique identifier of the hotel
      * @return the {@link HotelDTO} representing the hotel
      * @throws ResourceNotFoundException if the hotel with the specified ID is not found
      */
     public HotelDTO getHotelById(Long id) {
-        Hotel hotel = hotelRepository.findById(id)
-                                     .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
-        return convertToDTO(hotel);
+        return hotelRepository.findHotelDTOById(id)
+                              .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
+    }
+
+    /**
+     * Lists hotels with keyset pagination. Hotels are ordered by the given sort order and then by ID;
+     * the next slice is requested with the returned continuation token, and no total is counted.
+     *
+     * @param name      text the hotel name must contain, matched case- and accent-insensitively,
+     *                  {@code null} or blank for any name
+     * @param location  the location of the hotels, matched case-insensitively, {@code null} or blank for any location
+     * @param sort      the sort order
+     * @param direction the direction of the sort order
+     * @param cursor    the continuation token of the previous slice, {@code null} for the first slice
+     * @param size      the maximum number of hotels in the slice
+     * @return a slice of {@link HotelDTO}
+     * @throws com.codegen.suntravels.exception.InvalidCursorException if the cursor cannot be decoded
+     *                                                                or was issued for another sort order
+     */
+    public KeysetSliceDTO<HotelDTO> listHotels(String name, String location, HotelSort sort, Sort.Direction direction,
+                                               String cursor, int size) {
+        ListingCursor after = ListingCursor.decode(cursor, sort.name(), direction);
+        int limit = Math.max(size, 1);
+
+        // Fetch one extra hotel to learn whether there is a next slice
+        List<HotelDTO> hotels = catalogListingRepository.findHotels(namePattern(name), blankToNull(location), sort,
+                direction.isDescending(), after != null ? after.parseKey(sort::parse) : null,
+                after != null ? after.id() : null, limit + 1);
+        boolean hasNext = hotels.size() > limit;
+        List<HotelDTO> slice = hasNext ? hotels.subList(0, limit) : hotels;
+
+        String nextCursor = null;
+        if (hasNext) {
+            HotelDTO last = slice.get(slice.size() - 1);
+            nextCursor = new ListingCursor(sort.name(), direction, last.getId(), sort.keyOf(last)).encode();
+        }
+        return new KeysetSliceDTO<>(slice, nextCursor, hasNext);
+    }
+
+    /**
+     * Exports every hotel matching the filters, in ID order, one at a time.
+     *
+     * @param name     text the hotel name must contain, {@code null} or blank for any name
+     * @param location the location of the hotels, {@code null} or blank for any location
+     * @param consumer receives each hotel as soon as it has been read
+     */
+    public void exportHotels(String name, String location, Consumer<HotelDTO> consumer) {
+        catalogListingRepository.streamHotels(namePattern(name), blankToNull(location), consumer);
     }
 
     /**
@@ -54,6 +136,7 @@ public class HotelService {
      * @param hotelDTO the DTO containing hotel details
      * @return the created {@link HotelDTO}
      */
+    @Transactional
     public HotelDTO createHotel(HotelDTO hotelDTO) {
         Hotel hotel = convertToEntity(hotelDTO);
         Hotel savedHotel = hotelRepository.save(hotel);
@@ -68,6 +151,7 @@ public class HotelService {
      * @return the updated {@link HotelDTO}
      * @throws ResourceNotFoundException if the hotel with the specified ID is not found
      */
+    @Transactional
     public HotelDTO updateHotel(Long id, HotelDTO hotelDTO) {
         Hotel existingHotel = hotelRepository.findById(id)
                                              .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + id));
@@ -77,6 +161,7 @@ public class HotelService {
         existingHotel.setContactDetails(hotelDTO.getContactDetails());
 
         Hotel updatedHotel = hotelRepository.save(existingHotel);
+        eventPublisher.publishEvent(hotelChanged(id));
         return convertToDTO(updatedHotel);
     }
 
@@ -86,11 +171,39 @@ public class HotelService {
      * @param id the unique identifier of the hotel to delete
      * @throws ResourceNotFoundException if the hotel with the specified ID is not found
      */
+    @Transactional
     public void deleteHotel(Long id) {
         if (!hotelRepository.existsById(id)) {
             throw new ResourceNotFoundException("Hotel not found with id: " + id);
         }
+        HotelChangedEvent event = hotelChanged(id);
         hotelRepository.deleteById(id);
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Returns the {@code LIKE} pattern matching normalised hotel names that contain a text, or
+     * {@code null} for a blank text.
+     */
+    private static String namePattern(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return "%" + ContractService.escapeLike(Hotel.normalize(name)) + "%";
+    }
+
+    private static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    /**
+     * Creates the change event of a hotel, spanning the periods of all its contracts.
+     */
+    private HotelChangedEvent hotelChanged(Long id) {
+        ContractPeriod period = hotelRepository.findContractPeriodByHotelId(id);
+        return period == null
+                ? new HotelChangedEvent(id)
+                : new HotelChangedEvent(id, period.getFromDate(), period.getToDate());
     }
 
     /**
@@ -100,11 +213,13 @@ public class HotelService {
      * @return the converted {@link HotelDTO}
      */
     private HotelDTO convertToDTO(Hotel hotel) {
+        DtoConversionEvent event = DtoConversionEvent.begin(HotelDTO.class);
         HotelDTO hotelDTO = new HotelDTO();
         hotelDTO.setId(hotel.getId());
         hotelDTO.setName(hotel.getName());
         hotelDTO.setLocation(hotel.getLocation());
         hotelDTO.setContactDetails(hotel.getContactDetails());
+        event.end(hotel.getId(), 0);
         return hotelDTO;
     }
 
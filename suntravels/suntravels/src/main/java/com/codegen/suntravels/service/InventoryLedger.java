@@ -0,0 +1,198 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.ContractsImportedEvent;
+import com.codegen.suntravels.event.InventoryChangedEvent;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.RoomAllocation;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.RoomAllocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Per-night inventory ledger of allocated rooms for every room type.
+ *
+ * <p>Each room type owns a primitive {@code int} array, indexed by the day offset from its
+ * contract's start date, holding the number of rooms allocated for that night. Reads are plain
+ * volatile array reads and updates are atomic, so any number of availability checks can run
+ * concurrently with them without locking. The ledger is loaded from the "room_allocations" table
+ * at startup and never writes to it.</p>
+ *
+ * <p>The free rooms of a room type for a stay is its contracted number of rooms minus the
+ * highest allocated count across the nights of the stay.</p>
+ *
+ * <p>Rooms are only ever taken and given back in the database, by bookings and holds through the
+ * {@link RoomInventory}. The ledger follows with each committed change, so held rooms are subtracted
+ * from availability like booked ones.</p>
+ */
+@Component
+public class InventoryLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedger.class);
+
+    private final ContractRepository contractRepository;
+    private final RoomAllocationRepository roomAllocationRepository;
+
+    private final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InventoryLedger(ContractRepository contractRepository,
+                           RoomAllocationRepository roomAllocationRepository) {
+        this.contractRepository = contractRepository;
+        this.roomAllocationRepository = roomAllocationRepository;
+    }
+
+    /**
+     * Loads the ledgers of all room types from the database. Called once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Contract> contracts = contractRepository.findAllWithHotelAndRoomTypes();
+        ledgers.clear();
+        load(contracts);
+        log.info("Inventory ledger loaded for {} room types", ledgers.size());
+    }
+
+    /**
+     * Reloads the ledgers of a contract's room types, e.g. after its dates or room types have changed.
+     *
+     * @param event the event identifying the changed contract
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractChanged(ContractChangedEvent event) {
+        if (event.contractId() == null) {
+            return;
+        }
+        ledgers.values().removeIf(ledger -> event.contractId().equals(ledger.contractId));
+        contractRepository.findByIdWithHotelAndRoomTypes(event.contractId())
+                          .ifPresent(contract -> load(List.of(contract)));
+    }
+
+    /**
+     * Adds the ledgers of the room types of a chunk of imported contracts.
+     *
+     * @param event the event identifying the imported contracts
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractsImported(ContractsImportedEvent event) {
+        load(contractRepository.findByIdRangeWithHotelAndRoomTypes(event.firstContractId(), event.lastContractId()));
+    }
+
+    /**
+     * Applies rooms booked or given back in the database to the nights of the stay.
+     *
+     * @param event the event describing the change
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        Ledger ledger = ledgers.get(event.roomTypeId());
+        if (ledger == null) {
+            return;
+        }
+        int first = Math.max(ledger.offset(event.checkInDate()), 0);
+        int last = Math.min(ledger.offset(event.checkOutDate()), ledger.nights.length());
+        for (int night = first; night < last; night++) {
+            ledger.nights.accumulateAndGet(night, event.rooms(), (current, delta) -> Math.max(current + delta, 0));
+        }
+    }
+
+    /**
+     * Returns the highest number of rooms allocated on any night of the stay.
+     *
+     * @param roomTypeId     the unique identifier of the room type
+     * @param checkInDate    the first night of the stay
+     * @param numberOfNights the number of nights
+     * @return the maximum allocated count across the nights, {@code 0} if nothing is allocated
+     */
+    public int maxAllocated(Long roomTypeId, LocalDate checkInDate, int numberOfNights) {
+        Ledger ledger = ledgers.get(roomTypeId);
+        if (ledger == null) {
+            return 0;
+        }
+        int first = ledger.offset(checkInDate);
+        int last = Math.min(first + numberOfNights, ledger.nights.length());
+        int max = 0;
+        for (int night = Math.max(first, 0); night < last; night++) {
+            max = Math.max(max, ledger.nights.get(night));
+        }
+        return max;
+    }
+
+    /**
+     * Creates the ledgers of the given contracts' room types and fills them from the database.
+     */
+    private void load(List<Contract> contracts) {
+        Map<Long, Ledger> loaded = new ConcurrentHashMap<>();
+        for (Contract contract : contracts) {
+            if (contract.getStartDate() == null || contract.getEndDate() == null) {
+                continue;
+            }
+            for (RoomType roomType : contract.getRoomTypes()) {
+                loaded.put(roomType.getId(), new Ledger(contract.getId(), contract.getStartDate(), contract.getEndDate()));
+            }
+        }
+        if (loaded.isEmpty()) {
+            return;
+        }
+
+        List<RoomAllocation> allocations = new ArrayList<>();
+        for (List<Long> batch : batches(List.copyOf(loaded.keySet()))) {
+            allocations.addAll(roomAllocationRepository.findByRoomTypeIds(batch));
+        }
+        for (RoomAllocation allocation : allocations) {
+            Ledger ledger = loaded.get(allocation.getRoomType().getId());
+            int night = ledger.offset(allocation.getStayDate());
+            if (night >= 0 && night < ledger.nights.length()) {
+                ledger.nights.set(night, allocation.getAllocated());
+            }
+        }
+        ledgers.putAll(loaded);
+    }
+
+    private static List<List<Long>> batches(List<Long> ids) {
+        int batchSize = 1000;
+        return IntStream.range(0, (ids.size() + batchSize - 1) / batchSize)
+                        .mapToObj(i -> ids.subList(i * batchSize, Math.min((i + 1) * batchSize, ids.size())))
+                        .collect(Collectors.toList());
+    }
+
+    /**
+     * Allocated room counts of one room type, one slot per night of its contract.
+     */
+    private static final class Ledger {
+        private final Long contractId;
+        private final long startEpochDay;
+        private final AtomicIntegerArray nights;
+
+        private Ledger(Long contractId, LocalDate startDate, LocalDate endDate) {
+            this.contractId = contractId;
+            this.startEpochDay = startDate.toEpochDay();
+            this.nights = new AtomicIntegerArray((int) Math.max(endDate.toEpochDay() - startEpochDay + 1, 0));
+        }
+
+        private int offset(LocalDate date) {
+            return (int) (date.toEpochDay() - startEpochDay);
+        }
+    }
+}
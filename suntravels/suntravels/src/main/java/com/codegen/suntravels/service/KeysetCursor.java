@@ -0,0 +1,71 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last contract of a keyset paginated slice. Slices are ordered by contract end date
+ * and then contract ID, which is unique and stable under inserts, so the next slice is everything
+ * strictly after this position and no offset has to be skipped.
+ *
+ * <p>Clients receive the position as an opaque URL-safe Base64 token.</p>
+ *
+ * @param endDate the end date of the last contract
+ * @param id      the unique identifier of the last contract
+ */
+public record KeysetCursor(LocalDate endDate, Long id) {
+
+    /**
+     * Encodes the position as an opaque continuation token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = endDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token.
+     *
+     * @param token the token, may be {@code null} or blank for the first slice
+     * @return the position, or {@code null} for the first slice
+     * @throws InvalidCursorException if the token was not produced by {@link #encode()}
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new KeysetCursor(LocalDate.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Checks whether a contract comes after this position in slice order.
+     *
+     * @param contract the contract
+     * @return {@code true} if the contract belongs to a later slice
+     */
+    public boolean isBefore(ContractSnapshot contract) {
+        int byEndDate = contract.endDate().compareTo(endDate);
+        return byEndDate > 0 || (byEndDate == 0 && contract.id() > id);
+    }
+
+    /**
+     * Returns the position of a contract.
+     *
+     * @param contract the contract
+     * @return the position just after the contract
+     */
+    public static KeysetCursor after(ContractSnapshot contract) {
+        return new KeysetCursor(contract.endDate(), contract.id());
+    }
+}
@@ -0,0 +1,76 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Position of the last row of a keyset paginated catalog listing. Listings are ordered by a sort
+ * column and then by ID, so the position holds the sort key and the ID of the last row, together with
+ * the sort order it belongs to: a token cannot be replayed against a different order.
+ *
+ * <p>Clients receive the position as an opaque URL-safe Base64 token.</p>
+ *
+ * @param sort      the name of the sort order
+ * @param direction the direction of the sort order
+ * @param id        the unique identifier of the last row
+ * @param key       the sort key of the last row, {@code null} when sorting by ID
+ */
+public record ListingCursor(String sort, Sort.Direction direction, long id, String key) {
+
+    /**
+     * Encodes the position as an opaque continuation token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = sort + ":" + direction + ":" + id + (key != null ? ":" + key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token issued for the given sort order.
+     *
+     * @param token     the token, may be {@code null} or blank for the first slice
+     * @param sort      the name of the sort order of the request
+     * @param direction the direction of the sort order of the request
+     * @return the position, or {@code null} for the first slice
+     * @throws InvalidCursorException if the token was not produced by {@link #encode()} for the same sort order
+     */
+    public static ListingCursor decode(String token, String sort, Sort.Direction direction) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        ListingCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            cursor = new ListingCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.parseLong(parts[2]),
+                    parts.length > 3 ? parts[3] : null);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+        if (!cursor.sort().equals(sort) || cursor.direction() != direction) {
+            throw new InvalidCursorException("Cursor was issued for another sort order: " + token);
+        }
+        return cursor;
+    }
+
+    /**
+     * Parses the sort key of the position.
+     *
+     * @param parser the parser of the sort order's keys
+     * @return the parsed key, or {@code null} when sorting by ID
+     * @throws InvalidCursorException if the key cannot be parsed
+     */
+    public Object parseKey(Function<String, Object> parser) {
+        try {
+            return parser.apply(key);
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor key: " + key);
+        }
+    }
+}
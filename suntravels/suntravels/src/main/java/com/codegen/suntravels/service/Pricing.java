@@ -0,0 +1,86 @@
+package com.codegen.suntravels.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for room prices.
+ *
+ * <p>Amounts are held as {@code long} minor units (cents) and markups as {@code long} basis points
+ * (1/100 of a percent). The marked-up nightly rate of a room type is computed once, when its contract
+ * is snapshotted, and rounded half-up to whole cents. Quoting a stay is then a plain multiplication of
+ * that rate with the nights, adults and rooms, so the quoted total is always a whole number of cents
+ * and every search for the same stay yields exactly the same price.</p>
+ */
+public final class Pricing {
+
+    /**
+     * The number of basis points in 100%.
+     */
+    public static final long BASIS_POINTS = 10_000;
+
+    private Pricing() {
+    }
+
+    /**
+     * Converts a decimal amount to minor units, rounding half-up to whole cents.
+     *
+     * @param amount the decimal amount, may be {@code null}
+     * @return the amount in cents, or {@code null} if the amount is {@code null}
+     */
+    public static Long toCents(Double amount) {
+        return amount != null ? scaleByHundred(amount) : null;
+    }
+
+    /**
+     * Converts an amount in minor units to a decimal amount.
+     *
+     * @param cents the amount in cents
+     * @return the decimal amount
+     */
+    public static double toDecimal(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Converts a markup percentage to basis points, rounding half-up, e.g. 12.5% becomes 1250.
+     *
+     * @param markupPercentage the markup percentage, may be {@code null}
+     * @return the markup in basis points, {@code 0} if the markup is {@code null}
+     */
+    public static long toBasisPoints(Double markupPercentage) {
+        return markupPercentage != null ? scaleByHundred(markupPercentage) : 0L;
+    }
+
+    /**
+     * Applies a markup to a price, rounding half-up to whole cents.
+     *
+     * @param cents             the base price in cents
+     * @param markupBasisPoints the markup in basis points
+     * @return the marked-up price in cents
+     * @throws ArithmeticException if the result overflows a {@code long}
+     */
+    public static long markUp(long cents, long markupBasisPoints) {
+        long scaled = Math.multiplyExact(cents, BASIS_POINTS + markupBasisPoints);
+        return Math.floorDiv(Math.addExact(scaled, BASIS_POINTS / 2), BASIS_POINTS);
+    }
+
+    /**
+     * Quotes a stay from a marked-up nightly rate per person.
+     *
+     * @param ratePerPersonCents the marked-up price per person per night in cents
+     * @param numberOfNights     the number of nights
+     * @param adults             the number of adults per room
+     * @param rooms              the number of rooms
+     * @return the total price in cents
+     * @throws ArithmeticException if the result overflows a {@code long}
+     */
+    public static long quote(long ratePerPersonCents, int numberOfNights, int adults, int rooms) {
+        long units = (long) numberOfNights * adults * rooms;
+        return Math.multiplyExact(ratePerPersonCents, units);
+    }
+
+    private static long scaleByHundred(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
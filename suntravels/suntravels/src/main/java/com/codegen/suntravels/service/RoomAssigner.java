@@ -0,0 +1,152 @@
+package com.codegen.suntravels.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Places every requested room of a party into the room types of one contract at the lowest total price.
+ *
+ * <p>Each room may go to any room type that can take its adults and still has a free room for the stay.
+ * The cheapest placement is found with a depth-first branch and bound: rooms are placed largest party
+ * first, room types are tried cheapest first, so the first complete placement is the greedy one, and a
+ * branch is cut as soon as its price plus the cheapest conceivable price of the rooms still to place
+ * reaches the best placement found so far. Rooms of the same size are placed into room types in a fixed
+ * order to avoid visiting permutations of the same placement. The search gives up after
+ * {@value #MAX_NODES} nodes and keeps the best placement found by then.</p>
+ */
+public final class RoomAssigner {
+
+    /**
+     * The maximum number of search nodes visited for a single party.
+     */
+    static final int MAX_NODES = 50_000;
+
+    private final long[] rates;
+    private final int[] capacities;
+    private final int[] remaining;
+    private final int[] adults;
+    private final int[][] candidates;
+    private final long[] lowerBounds;
+    private final int numberOfNights;
+
+    private final int[] choice;
+    private final int[] best;
+    private long bestCost = Long.MAX_VALUE;
+    private int nodes;
+
+    private RoomAssigner(List<RoomTypeSnapshot> roomTypes, int[] availableRooms, int[] adults, int numberOfNights) {
+        this.rates = roomTypes.stream().mapToLong(RoomTypeSnapshot::ratePerPersonCents).toArray();
+        this.capacities = roomTypes.stream().mapToInt(RoomTypeSnapshot::maxAdults).toArray();
+        this.remaining = availableRooms.clone();
+        this.adults = adults;
+        this.numberOfNights = numberOfNights;
+        this.choice = new int[adults.length];
+        this.best = new int[adults.length];
+
+        Integer[] byRate = IntStream.range(0, rates.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(byRate, Comparator.comparingLong(type -> rates[type]));
+
+        this.candidates = new int[adults.length][];
+        this.lowerBounds = new long[adults.length + 1];
+        for (int room = adults.length - 1; room >= 0; room--) {
+            int party = adults[room];
+            candidates[room] = Arrays.stream(byRate)
+                                     .mapToInt(Integer::intValue)
+                                     .filter(type -> capacities[type] >= party && remaining[type] > 0)
+                                     .toArray();
+            long cheapest = candidates[room].length > 0 ? cost(candidates[room][0], room) : 0L;
+            lowerBounds[room] = lowerBounds[room + 1] + cheapest;
+        }
+    }
+
+    /**
+     * Finds the cheapest placement of the requested rooms.
+     *
+     * @param roomTypes      the room types of the contract
+     * @param availableRooms the free rooms of each room type for the stay, in the order of {@code roomTypes}
+     * @param adultsPerRoom  the adults of every requested room, one entry per room
+     * @param numberOfNights the number of nights of the stay
+     * @return the placement, or {@code null} if the rooms cannot all be placed
+     */
+    public static Assignment assign(List<RoomTypeSnapshot> roomTypes, int[] availableRooms, int[] adultsPerRoom,
+                                    int numberOfNights) {
+        // Place the largest parties first, they have the fewest room types to choose from
+        Integer[] order = IntStream.range(0, adultsPerRoom.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingInt((Integer room) -> adultsPerRoom[room]).reversed());
+        int[] sorted = Arrays.stream(order).mapToInt(room -> adultsPerRoom[room]).toArray();
+
+        RoomAssigner assigner = new RoomAssigner(roomTypes, availableRooms, sorted, numberOfNights);
+        for (int[] candidate : assigner.candidates) {
+            if (candidate.length == 0) {
+                return null;
+            }
+        }
+        assigner.search(0, 0L);
+        if (assigner.bestCost == Long.MAX_VALUE) {
+            return null;
+        }
+
+        int[] roomTypeIndexes = new int[adultsPerRoom.length];
+        long[] prices = new long[adultsPerRoom.length];
+        for (int room = 0; room < sorted.length; room++) {
+            roomTypeIndexes[order[room]] = assigner.best[room];
+            prices[order[room]] = assigner.cost(assigner.best[room], room);
+        }
+        return new Assignment(roomTypeIndexes, prices, assigner.bestCost);
+    }
+
+    private void search(int room, long cost) {
+        if (cost + lowerBounds[room] >= bestCost || nodes++ >= MAX_NODES) {
+            return;
+        }
+        if (room == adults.length) {
+            bestCost = cost;
+            System.arraycopy(choice, 0, best, 0, choice.length);
+            return;
+        }
+        boolean sameAsPrevious = room > 0 && adults[room] == adults[room - 1];
+        for (int i = 0; i < candidates[room].length; i++) {
+            int type = candidates[room][i];
+            // Rooms of equal size take room types in rate order only, permutations cost the same
+            if (sameAsPrevious && i < position(room - 1)) {
+                continue;
+            }
+            if (remaining[type] == 0) {
+                continue;
+            }
+            remaining[type]--;
+            choice[room] = type;
+            search(room + 1, cost + cost(type, room));
+            remaining[type]++;
+        }
+    }
+
+    /**
+     * Returns the position of the chosen room type of a room within its candidates.
+     */
+    private int position(int room) {
+        int[] candidate = candidates[room];
+        for (int i = 0; i < candidate.length; i++) {
+            if (candidate[i] == choice[room]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private long cost(int type, int room) {
+        return Pricing.quote(rates[type], numberOfNights, adults[room], 1);
+    }
+
+    /**
+     * The cheapest placement of a party's rooms.
+     *
+     * @param roomTypeIndexes the index of the room type each requested room is placed in, in request order
+     * @param pricesCents     the price of each requested room for the whole stay in cents, in request order
+     * @param totalPriceCents the total price of all rooms in cents
+     */
+    public record Assignment(int[] roomTypeIndexes, long[] pricesCents, long totalPriceCents) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.event.InventoryChangedEvent;
+import com.codegen.suntravels.exception.InvalidBookingException;
+import com.codegen.suntravels.exception.RoomsUnavailableException;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.RoomAllocation;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.RoomAllocationRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Takes rooms of a room type for the nights of a stay and gives them back, for bookings and holds alike.
+ *
+ * <p>Rooms are taken with a single conditional update of the stay's rows in "room_allocations": every
+ * night is incremented only if it still has the requested rooms free, and the caller's transaction is
+ * rolled back unless all nights were updated. The database serializes concurrent callers on the row
+ * locks of the nights they share, so no table is locked and the contracted number of rooms is never
+ * exceeded. A caller that loses a lock conflict is retried a few times before it fails.</p>
+ *
+ * <p>Every committed change is published as an {@link InventoryChangedEvent}, which brings the
+ * {@link InventoryLedger} and the {@link SearchResultCache} up to date.</p>
+ */
+@Component
+public class RoomInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomInventory.class);
+
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomAllocationRepository roomAllocationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    @Autowired
+    public RoomInventory(RoomTypeRepository roomTypeRepository,
+                         RoomAllocationRepository roomAllocationRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${suntravels.booking.max-attempts:3}") int maxAttempts) {
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomAllocationRepository = roomAllocationRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+    }
+
+    /**
+     * Checks that a stay lies within the contract of a room type.
+     *
+     * @param roomType     the room type, with its contract
+     * @param checkInDate  the first night of the stay
+     * @param checkOutDate the day after the last night of the stay
+     * @throws InvalidBookingException if the contract does not cover every night of the stay
+     */
+    public void requireCovered(RoomType roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        Contract contract = roomType.getContract();
+        if (contract.getStartDate() == null || contract.getEndDate() == null
+            || checkInDate.isBefore(contract.getStartDate())
+            || checkOutDate.isAfter(contract.getEndDate())) {
+            throw new InvalidBookingException("The stay is not covered by the contract of room type with id: "
+                                              + roomType.getId());
+        }
+    }
+
+    /**
+     * Takes rooms for every night of a stay and records what they were taken for, in one transaction.
+     * Must not be called within a transaction, so that a lost lock conflict can be retried.
+     *
+     * @param roomTypeId   the unique identifier of the room type
+     * @param checkInDate  the first night of the stay
+     * @param checkOutDate the day after the last night of the stay
+     * @param rooms        the number of rooms to take
+     * @param recorder     writes the booking or hold the rooms are taken for, once they are taken
+     * @param <T>          the type of the record
+     * @return the result of the recorder
+     * @throws RoomsUnavailableException if any night of the stay does not have the rooms free
+     */
+    public <T> T take(Long roomTypeId, LocalDate checkInDate, LocalDate checkOutDate, int rooms, Supplier<T> recorder) {
+        int nights = (int) (checkOutDate.toEpochDay() - checkInDate.toEpochDay());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ensureNights(roomTypeId, checkInDate, checkOutDate);
+                return transactionTemplate.execute(status -> {
+                    if (roomAllocationRepository.allocateIfAvailable(roomTypeId, checkInDate, checkOutDate, rooms) < nights) {
+                        throw new RoomsUnavailableException("Room type with id: " + roomTypeId + " does not have "
+                                                            + rooms + " rooms free on every night of the stay");
+                    }
+                    T record = recorder.get();
+                    eventPublisher.publishEvent(new InventoryChangedEvent(roomTypeId, checkInDate, checkOutDate, rooms));
+                    return record;
+                });
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Taking rooms of room type {} lost a lock conflict, attempt {} of {}",
+                        roomTypeId, attempt, maxAttempts);
+            }
+        }
+    }
+
+    /**
+     * Gives back rooms on every night of a stay, in the caller's transaction.
+     *
+     * @param roomTypeId   the unique identifier of the room type
+     * @param checkInDate  the first night of the stay
+     * @param checkOutDate the day after the last night of the stay
+     * @param rooms        the number of rooms to give back
+     */
+    public void giveBack(Long roomTypeId, LocalDate checkInDate, LocalDate checkOutDate, int rooms) {
+        roomAllocationRepository.release(roomTypeId, checkInDate, checkOutDate, rooms);
+        eventPublisher.publishEvent(new InventoryChangedEvent(roomTypeId, checkInDate, checkOutDate, -rooms));
+    }
+
+    /**
+     * Inserts an empty allocation row for every night of the stay that has none yet, so that the
+     * conditional update finds a row for every night. Each row is inserted on its own; a row inserted
+     * by a concurrent caller in the meantime is simply kept.
+     */
+    private void ensureNights(Long roomTypeId, LocalDate checkInDate, LocalDate checkOutDate) {
+        Set<LocalDate> existing = new HashSet<>(roomAllocationRepository.findStayDates(roomTypeId, checkInDate, checkOutDate));
+        for (LocalDate night = checkInDate; night.isBefore(checkOutDate); night = night.plusDays(1)) {
+            if (existing.contains(night)) {
+                continue;
+            }
+            LocalDate stayDate = night;
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    RoomAllocation allocation = new RoomAllocation();
+                    allocation.setRoomType(roomTypeRepository.getReferenceById(roomTypeId));
+                    allocation.setStayDate(stayDate);
+                    allocation.setAllocated(0);
+                    roomAllocationRepository.save(allocation);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another caller inserted the night first
+            }
+        }
+    }
+}
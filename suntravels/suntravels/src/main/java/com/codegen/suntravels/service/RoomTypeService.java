@@ -1,21 +1,26 @@
 package com.codegen.suntravels.service;
 
 import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.event.ContractChangedEvent;
 import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.jfr.DtoConversionEvent;
 import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.RoomType;
 import com.codegen.suntravels.repository.ContractRepository;
 import com.codegen.suntravels.repository.RoomTypeRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service class responsible for handling business logic related to room types.
  * This service provides methods for creating, updating, deleting, retrieving room types.
+ *
+ * <p>The {@link SearchOfferProjector} joins the transaction of every write to update the search offers
+ * of the room type's contract.</p>
  */
 @Transactional
 @Service
@@ -23,36 +28,37 @@ public class RoomTypeService {
 
     private final RoomTypeRepository roomTypeRepository;
     private final ContractRepository contractRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public RoomTypeService(RoomTypeRepository roomTypeRepository, ContractRepository contractRepository) {
+    public RoomTypeService(RoomTypeRepository roomTypeRepository, ContractRepository contractRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.roomTypeRepository = roomTypeRepository;
         this.contractRepository = contractRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
-     * Retrieves all room types associated with a given contract ID.
+     * Retrieves all room types associated with a given contract ID, selected by a projection so that
+     * no room type or contract entity is loaded.
      *
      * @param contractId the ID of the contract for which room types are to be retrieved
      * @return a list of {@link RoomTypeDTO} representing the room types of the contract
      */
     public List<RoomTypeDTO> getRoomTypesByContractId(Long contractId) {
-        return roomTypeRepository.findByContractId(contractId).stream()
-                                 .map(this::convertToDTO)
-                                 .collect(Collectors.toList());
+        return roomTypeRepository.findRoomTypeDTOsByContractId(contractId);
     }
 
     /**
-     * Retrieves a room type by its ID.
+     * Retrieves a room type by its ID, selected by a projection so that no entity is loaded.
      *
      * @param id the unique identifier of the room type
      * @return the {@link RoomTypeDTO} representing the room type
      * @throws ResourceNotFoundException if the room type with the specified ID is not found
      */
     public RoomTypeDTO getRoomTypeById(Long id) {
-        RoomType roomType = roomTypeRepository.findById(id)
-                                              .orElseThrow(() -> new ResourceNotFoundException("Room type not found with id: " + id));
-        return convertToDTO(roomType);
+        return roomTypeRepository.findRoomTypeDTOById(id)
+                                 .orElseThrow(() -> new ResourceNotFoundException("Room type not found with id: " + id));
     }
 
     /**
@@ -64,6 +70,7 @@ public class RoomTypeService {
     public RoomTypeDTO createRoomType(RoomTypeDTO roomTypeDTO) {
         RoomType roomType = convertToEntity(roomTypeDTO);
         RoomType savedRoomType = roomTypeRepository.save(roomType);
+        eventPublisher.publishEvent(contractChanged(savedRoomType.getContract()));
         return convertToDTO(savedRoomType);
     }
 
@@ -76,15 +83,16 @@ public class RoomTypeService {
      * @throws ResourceNotFoundException if the room type with the specified ID is not found
      */
     public RoomTypeDTO updateRoomType(Long id, RoomTypeDTO roomTypeDTO) {
-        RoomType existingRoomType = roomTypeRepository.findById(id)
+        RoomType existingRoomType = roomTypeRepository.findByIdWithContract(id)
                                                       .orElseThrow(() -> new ResourceNotFoundException("Room type not found with id: " + id));
 
         existingRoomType.setName(roomTypeDTO.getName());
-        existingRoomType.setPricePerPerson(roomTypeDTO.getPricePerPerson());
+        setPrice(existingRoomType, roomTypeDTO);
         existingRoomType.setNumberOfRooms(roomTypeDTO.getNumberOfRooms());
         existingRoomType.setMaxAdults(roomTypeDTO.getMaxAdults());
 
         RoomType updatedRoomType = roomTypeRepository.save(existingRoomType);
+        eventPublisher.publishEvent(contractChanged(updatedRoomType.getContract()));
         return convertToDTO(updatedRoomType);
     }
 
@@ -95,10 +103,30 @@ public class RoomTypeService {
      * @throws ResourceNotFoundException if the room type with the specified ID is not found
      */
     public void deleteRoomType(Long id) {
-        if (!roomTypeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Room type not found with id: " + id);
+        RoomType roomType = roomTypeRepository.findByIdWithContract(id)
+                                              .orElseThrow(() -> new ResourceNotFoundException("Room type not found with id: " + id));
+        ContractChangedEvent event = contractChanged(roomType.getContract());
+        roomTypeRepository.delete(roomType);
+        eventPublisher.publishEvent(event);
+    }
+
+    /**
+     * Creates the change event of the contract a room type belongs to, spanning the contract's period.
+     */
+    private static ContractChangedEvent contractChanged(Contract contract) {
+        return new ContractChangedEvent(contract.getId(), contract.getStartDate(), contract.getEndDate());
+    }
+
+    /**
+     * Copies the price of a {@link RoomTypeDTO} to a room type. The price in cents takes precedence
+     * over the decimal price when both are given.
+     */
+    static void setPrice(RoomType roomType, RoomTypeDTO roomTypeDTO) {
+        if (roomTypeDTO.getPricePerPersonCents() != null) {
+            roomType.setPricePerPersonCents(roomTypeDTO.getPricePerPersonCents());
+        } else {
+            roomType.setPricePerPerson(roomTypeDTO.getPricePerPerson());
         }
-        roomTypeRepository.deleteById(id);
     }
 
     /**
@@ -108,13 +136,16 @@ public class RoomTypeService {
      * @return the converted {@link RoomTypeDTO}
      */
     private RoomTypeDTO convertToDTO(RoomType roomType) {
+        DtoConversionEvent event = DtoConversionEvent.begin(RoomTypeDTO.class);
         RoomTypeDTO roomTypeDTO = new RoomTypeDTO();
         roomTypeDTO.setId(roomType.getId());
         roomTypeDTO.setName(roomType.getName());
         roomTypeDTO.setContractId(roomType.getContract().getId());
         roomTypeDTO.setPricePerPerson(roomType.getPricePerPerson());
+        roomTypeDTO.setPricePerPersonCents(roomType.getPricePerPersonCents());
         roomTypeDTO.setNumberOfRooms(roomType.getNumberOfRooms());
         roomTypeDTO.setMaxAdults(roomType.getMaxAdults());
+        event.end(roomType.getId(), 0);
         return roomTypeDTO;
     }
 
@@ -140,7 +171,7 @@ public class RoomTypeService {
             roomType.setContract(contract);
         }
 
-        roomType.setPricePerPerson(roomTypeDTO.getPricePerPerson());
+        setPrice(roomType, roomTypeDTO);
         roomType.setNumberOfRooms(roomTypeDTO.getNumberOfRooms());
         roomType.setMaxAdults(roomTypeDTO.getMaxAdults());
 
@@ -0,0 +1,70 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.model.SearchOffer;
+
+/**
+ * Immutable, detached copy of the {@link RoomType} fields needed to answer a search.
+ * Instances are held by the {@link AvailabilityIndex} so searches never touch a managed entity.
+ *
+ * <p>The marked-up nightly rate is computed once when the snapshot is taken, see {@link Pricing}.</p>
+ *
+ * @param id                  the unique identifier of the room type
+ * @param name                the name of the room type
+ * @param pricePerPersonCents the base price per person per night in cents
+ * @param ratePerPersonCents  the price per person per night including the contract markup, in cents
+ * @param numberOfRooms       the number of rooms contracted for this room type
+ * @param maxAdults           the maximum number of adults a room can accommodate
+ */
+public record RoomTypeSnapshot(Long id,
+                               String name,
+                               long pricePerPersonCents,
+                               long ratePerPersonCents,
+                               int numberOfRooms,
+                               int maxAdults) {
+
+    /**
+     * Creates a snapshot and precomputes its marked-up nightly rate.
+     *
+     * @param id                  the unique identifier of the room type
+     * @param name                the name of the room type
+     * @param pricePerPersonCents the base price per person per night in cents
+     * @param markupBasisPoints   the markup of the contract in basis points
+     * @param numberOfRooms       the number of rooms contracted for this room type
+     * @param maxAdults           the maximum number of adults a room can accommodate
+     * @return the snapshot of the room type
+     */
+    public static RoomTypeSnapshot of(Long id, String name, long pricePerPersonCents, long markupBasisPoints,
+                                      int numberOfRooms, int maxAdults) {
+        return new RoomTypeSnapshot(id, name, pricePerPersonCents, Pricing.markUp(pricePerPersonCents, markupBasisPoints),
+                                    numberOfRooms, maxAdults);
+    }
+
+    /**
+     * Copies the search relevant fields of a {@link RoomType} entity.
+     *
+     * @param roomType          the room type entity to copy
+     * @param markupBasisPoints the markup of the room type's contract in basis points
+     * @return the snapshot of the room type
+     */
+    public static RoomTypeSnapshot from(RoomType roomType, long markupBasisPoints) {
+        return of(
+                roomType.getId(),
+                roomType.getName(),
+                roomType.getPricePerPersonCents() != null ? roomType.getPricePerPersonCents() : 0L,
+                markupBasisPoints,
+                roomType.getNumberOfRooms() != null ? roomType.getNumberOfRooms() : 0,
+                roomType.getMaxAdults() != null ? roomType.getMaxAdults() : 0);
+    }
+
+    /**
+     * Copies the room type fields of a {@link SearchOffer}, whose marked-up rate is already computed.
+     *
+     * @param offer the offer of the room type
+     * @return the snapshot of the room type
+     */
+    public static RoomTypeSnapshot from(SearchOffer offer) {
+        return new RoomTypeSnapshot(offer.getRoomTypeId(), offer.getRoomTypeName(), offer.getPricePerPersonCents(),
+                                    offer.getRatePerPersonCents(), offer.getNumberOfRooms(), offer.getMaxAdults());
+    }
+}
@@ -0,0 +1,68 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical form of a search, used as the key of the {@link SearchResultCache}.
+ *
+ * <p>Room requests asking for the same number of adults are merged by adding up their rooms, and the
+ * merged requests are sorted by number of adults. Searches that only differ in the order or the
+ * splitting of their room requests produce the same results and therefore share a key.</p>
+ *
+ * @param checkInDate    the check-in date
+ * @param numberOfNights the number of nights
+ * @param roomRequests   the merged room requests, sorted by number of adults
+ * @param pageable       the requested page
+ */
+public record SearchCacheKey(LocalDate checkInDate,
+                             int numberOfNights,
+                             List<RoomRequest> roomRequests,
+                             Pageable pageable) {
+
+    /**
+     * A merged room request.
+     *
+     * @param adults the number of adults per room
+     * @param rooms  the number of rooms
+     */
+    public record RoomRequest(int adults, int rooms) {
+    }
+
+    /**
+     * Builds the canonical key of a validated search request.
+     * A room request without a number of rooms asks for a single room.
+     *
+     * @param searchRequestDTO the search request
+     * @param pageable         the requested page
+     * @return the canonical key
+     */
+    public static SearchCacheKey of(SearchRequestDTO searchRequestDTO, Pageable pageable) {
+        Map<Integer, Integer> roomsByAdults = new TreeMap<>();
+        for (RoomRequestDTO request : searchRequestDTO.getRoomRequests()) {
+            int adults = request.getNumberOfAdults() != null ? request.getNumberOfAdults() : 0;
+            int rooms = request.getNumberOfRooms() != null ? request.getNumberOfRooms() : 1;
+            roomsByAdults.merge(adults, rooms, Integer::sum);
+        }
+
+        List<RoomRequest> roomRequests = new ArrayList<>(roomsByAdults.size());
+        roomsByAdults.forEach((adults, rooms) -> roomRequests.add(new RoomRequest(adults, rooms)));
+
+        return new SearchCacheKey(searchRequestDTO.getCheckInDate(), searchRequestDTO.getNumberOfNights(),
+                List.copyOf(roomRequests), pageable);
+    }
+
+    /**
+     * @return the check-out date of the stay
+     */
+    public LocalDate checkOutDate() {
+        return checkInDate.plusDays(numberOfNights);
+    }
+}
@@ -0,0 +1,132 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.config.MetricTags;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records where the {@link SearchService} spends its time, as one {@value #METRIC} timer per stage.
+ *
+ * <p>A search times its stages with a {@link Stages} lap clock: every call to {@link Stages#lap(Stage)}
+ * charges the time since the previous lap to the given stage, so a stage made of many short steps,
+ * such as pricing every room type, costs a single clock read per step. Once the search is done the
+ * accumulated times are recorded, tagged with the stage, the search operation, the endpoint and the
+ * size bucket of the results. The timers publish the 50th, 95th and 99th percentiles and a
+ * percentile histogram.</p>
+ */
+@Component
+public class SearchMetrics {
+
+    /**
+     * The name of the search stage timer.
+     */
+    public static final String METRIC = "suntravels.search.stage";
+
+    /**
+     * The stages of a search.
+     */
+    public enum Stage {
+        /** Finding the contracts covering the stay, from the availability index or the database. */
+        CONTRACT_FETCH,
+        /** Checking the free rooms and the capacity of every room type. */
+        ROOM_TYPE_EVALUATION,
+        /** Pricing the room types and assigning the requested rooms. */
+        PRICING,
+        /** Building the result DTOs and the page. */
+        DTO_ASSEMBLY;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts the lap clock of a search, on the thread handling the request.
+     *
+     * @param operation the kind of search, e.g. {@code page} or {@code batch}
+     * @return the clock, to be used by one thread at a time
+     */
+    public Stages start(String operation) {
+        return new Stages(operation, MetricTags.currentEndpoint());
+    }
+
+    /**
+     * The lap clock of a single search.
+     */
+    public final class Stages {
+
+        private final String operation;
+        private final String endpoint;
+        private final long[] nanos = new long[Stage.values().length];
+        private int lapped;
+        private long last = System.nanoTime();
+
+        private Stages(String operation, String endpoint) {
+            this.operation = operation;
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Charges the time since the previous lap, or since the clock was started, to a stage.
+         *
+         * @param stage the stage the time was spent in
+         */
+        public void lap(Stage stage) {
+            long now = System.nanoTime();
+            nanos[stage.ordinal()] += now - last;
+            lapped |= 1 << stage.ordinal();
+            last = now;
+        }
+
+        /**
+         * Discards the time since the previous lap, e.g. time spent by a caller's callback.
+         */
+        public void skip() {
+            last = System.nanoTime();
+        }
+
+        /**
+         * Starts a new clock for the same operation and endpoint, e.g. for one search of a batch
+         * evaluated on another thread.
+         *
+         * @return the new clock
+         */
+        public Stages fork() {
+            return new Stages(operation, endpoint);
+        }
+
+        /**
+         * Records the time of every stage that has been lapped at least once.
+         *
+         * @param results the number of results of the search
+         */
+        public void record(long results) {
+            String size = MetricTags.sizeBucket(results);
+            for (Stage stage : Stage.values()) {
+                if ((lapped & 1 << stage.ordinal()) == 0) {
+                    continue;
+                }
+                Timer.builder(METRIC)
+                     .description("Time spent in each stage of a search")
+                     .tag("stage", stage.tag)
+                     .tag("operation", operation)
+                     .tag("endpoint", endpoint)
+                     .tag("result.size", size)
+                     .publishPercentiles(0.5, 0.95, 0.99)
+                     .publishPercentileHistogram()
+                     .register(meterRegistry)
+                     .record(nanos[stage.ordinal()], TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
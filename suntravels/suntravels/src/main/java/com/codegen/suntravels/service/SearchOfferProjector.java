@@ -0,0 +1,171 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.ContractsImportedEvent;
+import com.codegen.suntravels.event.HotelChangedEvent;
+import com.codegen.suntravels.model.SearchOffer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the "search_offers" read model, see {@link SearchOffer}, in step with the hotels, contracts and
+ * room types it is derived from.
+ *
+ * <p>The read model answers the streamed search always, and every other search and the availability
+ * report when {@code suntravels.search.availability-index.enabled=false}; with the index enabled, the
+ * {@link AvailabilityIndex} answers those instead. Because the streamed search reads it whatever the
+ * setting, the offers are always kept current.</p>
+ *
+ * <p>The projector listens to the {@link ContractChangedEvent} and {@link HotelChangedEvent} published by
+ * the services, and to the {@link ContractsImportedEvent} of each chunk written by the contract importer.
+ * Unlike the other listeners it runs as soon as the event is published, inside the transaction of the
+ * change: it flushes the change, deletes the offers of the contract or hotel and inserts them again from
+ * the base tables. The offers therefore commit or roll back together with the change, and a search never
+ * sees a contract that is newer or older than its offers.</p>
+ *
+ * <p>Rows written with plain JDBC, such as by the catalog generator, publish no events. After such a
+ * write, {@link #rebuild()} derives the whole table again.</p>
+ */
+@Component
+public class SearchOfferProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchOfferProjector.class);
+
+    private static final String SELECT_SOURCE =
+            "SELECT rt.id, rt.name, c.id, h.id, h.name, c.start_date, c.end_date, c.markup_percentage, " +
+            "rt.price_per_person_cents, rt.number_of_rooms, rt.max_adults " +
+            "FROM contracts c " +
+            "JOIN hotels h ON h.id = c.hotel_id " +
+            "JOIN room_types rt ON rt.contract_id = c.id ";
+
+    private static final String INSERT_OFFER =
+            "INSERT INTO search_offers (room_type_id, room_type_name, contract_id, hotel_id, hotel_name, start_date, " +
+            "end_date, markup_basis_points, price_per_person_cents, rate_per_person_cents, number_of_rooms, max_adults) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    @Autowired
+    public SearchOfferProjector(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Value("${suntravels.search.offers.rebuild-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Derives the offers of a changed contract again, or removes them if the contract was deleted.
+     *
+     * @param event the change event
+     */
+    @EventListener
+    @Transactional
+    public void onContractChanged(ContractChangedEvent event) {
+        entityManager.flush();
+        jdbcTemplate.update("DELETE FROM search_offers WHERE contract_id = ?", event.contractId());
+        insertOffers("WHERE c.id = ?", event.contractId());
+    }
+
+    /**
+     * Derives the offers of a chunk of imported contracts, in the transaction that wrote the chunk.
+     *
+     * @param event the import event
+     */
+    @EventListener
+    @Transactional
+    public void onContractsImported(ContractsImportedEvent event) {
+        insertOffers("WHERE c.id BETWEEN ? AND ?", event.firstContractId(), event.lastContractId());
+    }
+
+    /**
+     * Derives the offers of every contract of a changed hotel again, or removes them if the hotel was deleted.
+     *
+     * @param event the change event
+     */
+    @EventListener
+    @Transactional
+    public void onHotelChanged(HotelChangedEvent event) {
+        entityManager.flush();
+        jdbcTemplate.update("DELETE FROM search_offers WHERE hotel_id = ?", event.hotelId());
+        insertOffers("WHERE c.hotel_id = ?", event.hotelId());
+    }
+
+    /**
+     * Derives the whole "search_offers" table again from the hotels, contracts and room types.
+     *
+     * <p>Contracts are processed in ID order, a batch of {@code suntravels.search.offers.rebuild-batch-size}
+     * contracts per transaction. Each transaction replaces the offers of every contract ID from just after
+     * the previous batch up to the last contract of its own, so the offers of deleted contracts go too and
+     * searches keep being answered, from either the old or the new offers of a contract, while the table
+     * is rebuilt.</p>
+     *
+     * @return the number of offers written
+     */
+    public long rebuild() {
+        long started = System.nanoTime();
+        long offers = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM contracts WHERE id > ? ORDER BY id LIMIT ?",
+                    Long.class, afterId, batchSize);
+            long fromId = afterId;
+            boolean last = ids.size() < batchSize;
+            // The last batch also takes the offers of any contract deleted after the last one left
+            long toId = last ? Long.MAX_VALUE : ids.get(ids.size() - 1);
+            Integer written = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM search_offers WHERE contract_id > ? AND contract_id <= ?", fromId, toId);
+                return insertOffers("WHERE c.id > ? AND c.id <= ?", fromId, toId);
+            });
+            offers += written != null ? written : 0;
+            if (last) {
+                break;
+            }
+            afterId = toId;
+        }
+        log.info("Rebuilt {} search offers in {}", offers, Duration.ofNanos(System.nanoTime() - started));
+        return offers;
+    }
+
+    /**
+     * Reads the room types of the selected contracts with their contract and hotel, and inserts their
+     * offers in one JDBC batch.
+     *
+     * @return the number of offers inserted
+     */
+    private int insertOffers(String where, Object... args) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query(SELECT_SOURCE + where, rs -> {
+            long markupBasisPoints = Pricing.toBasisPoints(rs.getDouble(8));
+            long pricePerPersonCents = rs.getLong(9);
+            rows.add(new Object[]{
+                    rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getString(5),
+                    rs.getObject(6, LocalDate.class), rs.getObject(7, LocalDate.class), markupBasisPoints,
+                    pricePerPersonCents, Pricing.markUp(pricePerPersonCents, markupBasisPoints),
+                    rs.getInt(10), rs.getInt(11)});
+        }, args);
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OFFER, rows);
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,33 @@
+package com.codegen.suntravels.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the "search_offers" read model on startup with the {@link SearchOfferProjector} and exits,
+ * without starting the web server. Active in the {@code rebuild-search-offers} profile.
+ */
+@Component
+@Profile("rebuild-search-offers")
+public class SearchOfferRebuildRunner implements ApplicationRunner {
+
+    private final SearchOfferProjector projector;
+    private final ConfigurableApplicationContext context;
+
+    @Autowired
+    public SearchOfferRebuildRunner(SearchOfferProjector projector, ConfigurableApplicationContext context) {
+        this.projector = projector;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        projector.rebuild();
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,157 @@
+package com.codegen.suntravels.service;
+
+import com.codegen.suntravels.dto.SearchCacheStatsDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.ContractsImportedEvent;
+import com.codegen.suntravels.event.HotelChangedEvent;
+import com.codegen.suntravels.event.InventoryChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of search result pages, keyed on the canonical {@link SearchCacheKey}
+ * of a search.
+ *
+ * <p>Entries are evicted when the cache exceeds {@code suntravels.search.cache.max-size} entries
+ * or {@code suntravels.search.cache.ttl} after they were written. Writes to contracts, room types
+ * and hotels remove only the entries whose stay overlaps the dates affected by the change, after the
+ * {@link AvailabilityIndex} and the {@link InventoryLedger} have been refreshed.</p>
+ *
+ * <p>Cached pages are shared between callers and must not be modified.</p>
+ */
+@Component
+public class SearchResultCache {
+
+    private final boolean enabled;
+    private final Cache<SearchCacheKey, Page<SearchResultDTO>> cache;
+
+    /**
+     * Incremented on every invalidation, so that a search evaluated while an invalidation ran is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public SearchResultCache(@Value("${suntravels.search.cache.enabled:true}") boolean enabled,
+                             @Value("${suntravels.search.cache.max-size:10000}") long maxSize,
+                             @Value("${suntravels.search.cache.ttl:PT5M}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maxSize)
+                             .expireAfterWrite(ttl)
+                             .recordStats()
+                             .build();
+    }
+
+    /**
+     * Returns the cached result page of a search, evaluating and caching it on a miss.
+     *
+     * @param searchRequestDTO the validated search request
+     * @param pageable         the requested page
+     * @param search           evaluates the search on a miss
+     * @return the result page
+     */
+    public Page<SearchResultDTO> get(SearchRequestDTO searchRequestDTO, Pageable pageable,
+                                     Supplier<Page<SearchResultDTO>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        SearchCacheKey key = SearchCacheKey.of(searchRequestDTO, pageable);
+        Page<SearchResultDTO> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long before = generation.get();
+        Page<SearchResultDTO> result = search.get();
+        cache.put(key, result);
+        if (generation.get() != before) {
+            // An invalidation ran while the search was evaluated and may have missed this entry
+            cache.invalidate(key);
+        }
+        return result;
+    }
+
+    /**
+     * Removes the searches whose stay overlaps a changed contract.
+     *
+     * @param event the event identifying the changed contract and its affected dates
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractChanged(ContractChangedEvent event) {
+        invalidate(key -> event.overlaps(key.checkInDate(), key.checkOutDate()));
+    }
+
+    /**
+     * Removes the searches whose stay overlaps a chunk of imported contracts.
+     *
+     * @param event the event identifying the imported contracts and their dates
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContractsImported(ContractsImportedEvent event) {
+        invalidate(key -> event.overlaps(key.checkInDate(), key.checkOutDate()));
+    }
+
+    /**
+     * Removes the searches whose stay overlaps a contract of a changed hotel.
+     *
+     * @param event the event identifying the changed hotel and its affected dates
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHotelChanged(HotelChangedEvent event) {
+        invalidate(key -> event.overlaps(key.checkInDate(), key.checkOutDate()));
+    }
+
+    /**
+     * Removes the searches whose stay shares a night with rooms that were booked or given back.
+     *
+     * @param event the event describing the change of inventory
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        invalidate(key -> event.overlaps(key.checkInDate(), key.checkOutDate()));
+    }
+
+    /**
+     * Returns the hit, miss, eviction and invalidation counters of the cache.
+     *
+     * @return the cache statistics
+     */
+    public SearchCacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return new SearchCacheStatsDTO(enabled, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount(), invalidations.sum());
+    }
+
+    private void invalidate(Predicate<SearchCacheKey> affected) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            if (affected.test(key)) {
+                invalidations.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+}
@@ -1,172 +1,562 @@
 package com.codegen.suntravels.service;
 
 import com.codegen.suntravels.dto.*;
-import com.codegen.suntravels.model.Contract;
-import com.codegen.suntravels.model.RoomType;
-import com.codegen.suntravels.dto.SearchRequestDTO;
-import com.codegen.suntravels.repository.ContractRepository;
-import com.codegen.suntravels.repository.RoomTypeRepository;
+import com.codegen.suntravels.jfr.SearchEvent;
+import com.codegen.suntravels.repository.ContractStreamRepository;
+import com.codegen.suntravels.repository.SearchOfferRepository;
+import com.codegen.suntravels.service.SearchMetrics.Stage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
  * Service class responsible for handling search functionality related to room availability.
  * Provides methods for searching available rooms based on the user's request and generating room availability reports.
+ *
+ * <p>The contracts covering a stay are found in one of two places. The paged and keyset searches, the
+ * batch search and the availability reports take them from the in-memory {@link AvailabilityIndex} while
+ * it is enabled, which it is by default, and from the "search_offers" read model kept by the
+ * {@link SearchOfferProjector} when it is not. The streamed search always reads the read model through
+ * a database cursor.</p>
  */
 @Service
 public class SearchService {
 
-    private final ContractRepository contractRepository;
-    private final RoomTypeRepository roomTypeRepository;
+    private static final Comparator<ContractSnapshot> KEYSET_ORDER =
+            Comparator.comparing(ContractSnapshot::endDate).thenComparing(ContractSnapshot::id);
 
-    @Autowired
-    public SearchService(ContractRepository contractRepository, RoomTypeRepository roomTypeRepository) {
-        this.contractRepository = contractRepository;
-        this.roomTypeRepository = roomTypeRepository;
-    }
+    private final SearchOfferRepository searchOfferRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final InventoryLedger inventoryLedger;
+    private final SearchResultCache searchResultCache;
+    private final ContractStreamRepository contractStreamRepository;
+    private final SearchMetrics searchMetrics;
 
-    // Hardcoded allocated rooms (roomTypeId -> allocated count)
-    private static final Map<Long, Integer> allocatedRooms = new HashMap<>();
-    static {
-        allocatedRooms.put(12L, 2); // Example: Room Type ID 1 has 2 rooms allocated
-        allocatedRooms.put(11L, 1); // Example: Room Type ID 2 has 1 room allocated
+    @Autowired
+    public SearchService(SearchOfferRepository searchOfferRepository, AvailabilityIndex availabilityIndex,
+                         InventoryLedger inventoryLedger, SearchResultCache searchResultCache,
+                         ContractStreamRepository contractStreamRepository, SearchMetrics searchMetrics) {
+        this.searchOfferRepository = searchOfferRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.inventoryLedger = inventoryLedger;
+        this.searchResultCache = searchResultCache;
+        this.contractStreamRepository = contractStreamRepository;
+        this.searchMetrics = searchMetrics;
     }
 
     /**
      * Searches for available rooms with pagination.
+     * Repeated searches are answered from the {@link SearchResultCache}. Contracts are taken from the
+     * {@link AvailabilityIndex} when it is enabled, otherwise from the "search_offers" read model.
      */
     public Page<SearchResultDTO> searchAvailableRooms(SearchRequestDTO searchRequestDTO, Pageable pageable) {
-        if (searchRequestDTO.getCheckInDate() == null ||
-                    searchRequestDTO.getNumberOfNights() == null ||
-                    searchRequestDTO.getRoomRequests() == null ||
-                    searchRequestDTO.getRoomRequests().isEmpty()) {
+        if (!isValid(searchRequestDTO)) {
             return Page.empty(); // Return an empty page if criteria are invalid
         }
 
+        SearchEvent event = SearchEvent.begin("page", searchRequestDTO);
+        Page<SearchResultDTO> page = searchResultCache.get(searchRequestDTO, pageable, () -> search(searchRequestDTO, pageable, event));
+        event.end(page.getNumberOfElements());
+        return page;
+    }
+
+    /**
+     * Searches for available rooms with keyset pagination. Results are ordered by contract end date and
+     * then contract ID, and the next slice is requested with the returned continuation token. No total
+     * is counted and no offset is skipped, so every slice costs the same however deep it is.
+     *
+     * @param searchRequestDTO the search request
+     * @param cursor           the continuation token of the previous slice, {@code null} for the first slice
+     * @param size             the maximum number of results in the slice
+     * @return the slice of search results
+     * @throws com.codegen.suntravels.exception.InvalidCursorException if the cursor cannot be decoded
+     */
+    public KeysetSliceDTO<SearchResultDTO> searchAvailableRooms(SearchRequestDTO searchRequestDTO, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        if (!isValid(searchRequestDTO)) {
+            return new KeysetSliceDTO<>();
+        }
+        SearchEvent event = SearchEvent.begin("keyset", searchRequestDTO);
+        SearchMetrics.Stages stages = searchMetrics.start("keyset");
+        int limit = Math.max(size, 1);
         LocalDate checkOutDate = searchRequestDTO.getCheckInDate().plusDays(searchRequestDTO.getNumberOfNights());
+        List<RoomRequestDTO> roomRequests = searchRequestDTO.getRoomRequests();
 
-        // Use repository to get paginated contracts
-        Page<Contract> validContracts = contractRepository.findValidContractsForDateRange(searchRequestDTO.getCheckInDate(), checkOutDate, pageable);
+        // Fetch one extra contract to learn whether there is a next slice
+        List<ContractSnapshot> contracts = findValidContractsAfter(searchRequestDTO.getCheckInDate(), checkOutDate,
+                minAdultsRequested(roomRequests), 1, after, limit + 1);
+        boolean hasNext = contracts.size() > limit;
+        List<ContractSnapshot> slice = hasNext ? contracts.subList(0, limit) : contracts;
+        stages.lap(Stage.CONTRACT_FETCH);
 
         List<SearchResultDTO> results = new ArrayList<>();
+        for (ContractSnapshot contract : slice) {
+            SearchResultDTO result = toSearchResult(contract, searchRequestDTO, stages);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        KeysetSliceDTO<SearchResultDTO> resultSlice = new KeysetSliceDTO<>(results, nextCursor(slice, hasNext), hasNext);
+        stages.lap(Stage.DTO_ASSEMBLY);
+        stages.record(results.size());
+        event.scanned(slice.size());
+        event.end(results.size());
+        return resultSlice;
+    }
+
+    /**
+     * Searches for available rooms and hands each result to the consumer as soon as its contract has
+     * been evaluated, in contract ID order. Contracts are read through a forward-only database cursor,
+     * so neither the contracts nor the results are collected in memory.
+     *
+     * @param searchRequestDTO the search request
+     * @param consumer         receives the result of every contract with a matching room type
+     */
+    public void streamAvailableRooms(SearchRequestDTO searchRequestDTO, Consumer<SearchResultDTO> consumer) {
+        if (!isValid(searchRequestDTO)) {
+            return;
+        }
+        SearchEvent event = SearchEvent.begin("stream", searchRequestDTO);
+        SearchMetrics.Stages stages = searchMetrics.start("stream");
+        LocalDate checkOutDate = searchRequestDTO.getCheckInDate().plusDays(searchRequestDTO.getNumberOfNights());
+        List<RoomRequestDTO> roomRequests = searchRequestDTO.getRoomRequests();
+        int[] results = new int[1];
+
+        contractStreamRepository.streamValidContracts(searchRequestDTO.getCheckInDate(), checkOutDate,
+                minAdultsRequested(roomRequests), 1, contract -> {
+                    stages.lap(Stage.CONTRACT_FETCH);
+                    event.scanned(1);
+                    SearchResultDTO result = toSearchResult(contract, searchRequestDTO, stages);
+                    if (result != null) {
+                        results[0]++;
+                        consumer.accept(result);
+                        stages.skip(); // writing the result is not part of the search
+                    }
+                });
+        stages.lap(Stage.CONTRACT_FETCH);
+        stages.record(results[0]);
+        event.end(results[0]);
+    }
+
+    /**
+     * Evaluates a batch of searches against a single read of the contracts. The contracts that could
+     * cover any of the stays are read once, from the {@link AvailabilityIndex} when it is enabled and
+     * otherwise in one statement, and the searches are then evaluated in parallel on the common
+     * fork/join pool. The results are neither paginated nor cached.
+     *
+     * @param searchRequests the searches to evaluate
+     * @return the results of every search in the order of the requests, an empty list for an invalid search
+     */
+    public List<List<SearchResultDTO>> searchAvailableRoomsInBatch(List<SearchRequestDTO> searchRequests) {
+        List<SearchRequestDTO> valid = searchRequests.stream()
+                                                     .filter(r -> r != null && isValid(r))
+                                                     .toList();
+        if (valid.isEmpty()) {
+            return searchRequests.stream().map(r -> List.<SearchResultDTO>of()).toList();
+        }
+
+        LocalDate latestCheckInDate = valid.stream().map(SearchRequestDTO::getCheckInDate).max(Comparator.naturalOrder()).get();
+        LocalDate earliestCheckOutDate = valid.stream().map(SearchService::checkOutDateOf).min(Comparator.naturalOrder()).get();
+        int minAdults = valid.stream().mapToInt(r -> minAdultsRequested(r.getRoomRequests())).min().getAsInt();
+        SearchMetrics.Stages stages = searchMetrics.start("batch");
+        List<ContractSnapshot> candidates = findBatchCandidates(latestCheckInDate, earliestCheckOutDate, minAdults);
+        stages.lap(Stage.CONTRACT_FETCH);
+
+        List<List<SearchResultDTO>> results = IntStream.range(0, searchRequests.size())
+                                                       .parallel()
+                                                       .mapToObj(i -> searchCandidates(searchRequests.get(i), candidates, stages.fork()))
+                                                       .toList();
+        stages.record(results.stream().mapToLong(List::size).sum());
+        return results;
+    }
+
+    /**
+     * Finds the contracts that could cover at least one stay of a batch, restricted to the room types
+     * that can take the smallest room requested by any search of the batch.
+     */
+    private List<ContractSnapshot> findBatchCandidates(LocalDate latestCheckInDate, LocalDate earliestCheckOutDate,
+                                                       int minAdults) {
+        if (availabilityIndex.isEnabled()) {
+            List<ContractSnapshot> matches = new ArrayList<>();
+            for (ContractSnapshot contract : availabilityIndex.findCandidateContracts(latestCheckInDate, earliestCheckOutDate)) {
+                ContractSnapshot matching = contract.withRoomTypesFor(minAdults, 1);
+                if (matching != null) {
+                    matches.add(matching);
+                }
+            }
+            return matches;
+        }
+        return ContractSnapshot.fromOffers(
+                searchOfferRepository.findBatchCandidates(latestCheckInDate, earliestCheckOutDate, minAdults, 1));
+    }
 
-        for (Contract contract : validContracts.getContent()) {
-            if (contract.getRoomTypes() == null || contract.getRoomTypes().isEmpty()) continue;
+    /**
+     * Evaluates a single search of a batch against the batch's candidate contracts, in contract ID order.
+     */
+    private List<SearchResultDTO> searchCandidates(SearchRequestDTO searchRequestDTO, List<ContractSnapshot> candidates,
+                                                   SearchMetrics.Stages stages) {
+        if (searchRequestDTO == null || !isValid(searchRequestDTO)) {
+            return List.of();
+        }
+        SearchEvent event = SearchEvent.begin("batch", searchRequestDTO);
+        LocalDate checkOutDate = checkOutDateOf(searchRequestDTO);
+        int minAdults = minAdultsRequested(searchRequestDTO.getRoomRequests());
 
-            SearchResultDTO result = new SearchResultDTO();
-            result.setHotelName(contract.getHotel().getName());
+        List<SearchResultDTO> results = new ArrayList<>();
+        for (ContractSnapshot contract : candidates) {
+            if (!contract.covers(searchRequestDTO.getCheckInDate(), checkOutDate)) {
+                continue;
+            }
+            event.scanned(1);
+            ContractSnapshot matching = contract.withRoomTypesFor(minAdults, 1);
+            stages.lap(Stage.CONTRACT_FETCH);
+            SearchResultDTO result = matching != null ? toSearchResult(matching, searchRequestDTO, stages) : null;
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        stages.lap(Stage.CONTRACT_FETCH);
+        stages.record(results.size());
+        event.end(results.size());
+        return results;
+    }
 
-            List<RoomTypeResultDTO> allRoomTypes = new ArrayList<>();
+    private static LocalDate checkOutDateOf(SearchRequestDTO searchRequestDTO) {
+        return searchRequestDTO.getCheckInDate().plusDays(searchRequestDTO.getNumberOfNights());
+    }
 
-            for (RoomType roomType : contract.getRoomTypes()) {
-                int allocated = allocatedRooms.getOrDefault(roomType.getId(), 0);
-                int availableRooms = Math.max(roomType.getNumberOfRooms() - allocated, 0);
+    private static boolean isValid(SearchRequestDTO searchRequestDTO) {
+        return searchRequestDTO.getCheckInDate() != null &&
+                       searchRequestDTO.getNumberOfNights() != null &&
+                       searchRequestDTO.getNumberOfNights() >= 1 &&
+                       searchRequestDTO.getRoomRequests() != null &&
+                       !searchRequestDTO.getRoomRequests().isEmpty();
+    }
 
-                RoomTypeResultDTO roomTypeResult = new RoomTypeResultDTO();
-                roomTypeResult.setId(roomType.getId());
-                roomTypeResult.setName(roomType.getName());
-                roomTypeResult.setMaxAdults(roomType.getMaxAdults());
-                roomTypeResult.setAvailableRooms(availableRooms);
+    /**
+     * Returns the hit, miss, eviction and invalidation counters of the search result cache.
+     */
+    public SearchCacheStatsDTO getCacheStats() {
+        return searchResultCache.stats();
+    }
 
-                // Check availability
-                boolean isAvailable = isRoomAvailable(roomType, searchRequestDTO.getRoomRequests(), availableRooms);
-                roomTypeResult.setAvailable(isAvailable);
+    /**
+     * Evaluates a validated search against the current contracts and allocations.
+     */
+    private Page<SearchResultDTO> search(SearchRequestDTO searchRequestDTO, Pageable pageable, SearchEvent event) {
+        SearchMetrics.Stages stages = searchMetrics.start("page");
+        LocalDate checkOutDate = searchRequestDTO.getCheckInDate().plusDays(searchRequestDTO.getNumberOfNights());
 
-                // Calculate price if available
-                if (isAvailable) {
-                    double totalPrice = calculateTotalPrice(roomType, searchRequestDTO.getRoomRequests(),
-                            searchRequestDTO.getNumberOfNights(), contract.getMarkupPercentage());
-                    roomTypeResult.setTotalPrice(totalPrice);
-                } else {
-                    roomTypeResult.setTotalPrice(0.0);
-                }
+        List<RoomRequestDTO> roomRequests = searchRequestDTO.getRoomRequests();
+        Page<ContractSnapshot> validContracts = findValidContracts(searchRequestDTO.getCheckInDate(), checkOutDate,
+                minAdultsRequested(roomRequests), 1, pageable);
+        stages.lap(Stage.CONTRACT_FETCH);
 
-                allRoomTypes.add(roomTypeResult);
-            }
+        List<SearchResultDTO> results = new ArrayList<>();
 
-            if (!allRoomTypes.isEmpty()) {
-                result.setAvailableRoomTypes(allRoomTypes);
+        for (ContractSnapshot contract : validContracts.getContent()) {
+            SearchResultDTO result = toSearchResult(contract, searchRequestDTO, stages);
+            if (result != null) {
                 results.add(result);
             }
         }
 
-        return new PageImpl<>(results, pageable, validContracts.getTotalElements()); // Return paginated results
+        Page<SearchResultDTO> page = new PageImpl<>(results, pageable, validContracts.getTotalElements()); // Return paginated results
+        stages.lap(Stage.DTO_ASSEMBLY);
+        stages.record(results.size());
+        event.scanned(validContracts.getNumberOfElements());
+        return page;
     }
 
+    /**
+     * Finds the page of contracts covering the stay, restricted to the room types that can take
+     * at least one of the requested rooms, either from the in-memory index or from the database.
+     *
+     * <p>The database path, taken when the index is disabled, reads a whole page from the "search_offers" read model in one statement,
+     * and a second one when the total has to be counted.</p>
+     */
+    private Page<ContractSnapshot> findValidContracts(LocalDate checkInDate, LocalDate checkOutDate,
+                                                      int maxAdults, int totalRooms, Pageable pageable) {
+        if (availabilityIndex.isEnabled()) {
+            List<ContractSnapshot> matches = new ArrayList<>();
+            for (ContractSnapshot contract : availabilityIndex.findValidContractsForDateRange(checkInDate, checkOutDate)) {
+                ContractSnapshot matching = contract.withRoomTypesFor(maxAdults, totalRooms);
+                if (matching != null) {
+                    matches.add(matching);
+                }
+            }
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(matches);
+            }
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            int to = Math.min(from + pageable.getPageSize(), matches.size());
+            return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+        }
+
+        List<ContractSnapshot> contracts = ContractSnapshot.fromOffers(pageable.isUnpaged()
+                ? searchOfferRepository.findPage(checkInDate, checkOutDate, maxAdults, totalRooms, Integer.MAX_VALUE, 0)
+                : searchOfferRepository.findPage(checkInDate, checkOutDate, maxAdults, totalRooms,
+                                                 pageable.getPageSize(), pageable.getOffset()));
+        return PageableExecutionUtils.getPage(contracts, pageable,
+                () -> searchOfferRepository.countContracts(checkInDate, checkOutDate, maxAdults, totalRooms));
+    }
 
     /**
-     * Checks if a given room type can accommodate the specified room requests, considering allocated rooms.
+     * Finds up to {@code limit} contracts covering the stay after a keyset position, ordered by end date
+     * and then ID, restricted to the room types that can take at least one of the requested rooms.
+     */
+    private List<ContractSnapshot> findValidContractsAfter(LocalDate checkInDate, LocalDate checkOutDate,
+                                                           int maxAdults, int totalRooms, KeysetCursor after, int limit) {
+        if (availabilityIndex.isEnabled()) {
+            List<ContractSnapshot> matches = new ArrayList<>();
+            for (ContractSnapshot contract : availabilityIndex.findValidContractsForDateRange(checkInDate, checkOutDate)) {
+                ContractSnapshot matching = contract.withRoomTypesFor(maxAdults, totalRooms);
+                if (matching != null && (after == null || after.isBefore(matching))) {
+                    matches.add(matching);
+                }
+            }
+            matches.sort(KEYSET_ORDER);
+            return matches.subList(0, Math.min(limit, matches.size()));
+        }
+
+        return ContractSnapshot.fromOffers(after == null
+                ? searchOfferRepository.findFirstSlice(checkInDate, checkOutDate, maxAdults, totalRooms, limit)
+                : searchOfferRepository.findSliceAfter(checkInDate, checkOutDate, maxAdults, totalRooms,
+                                                       after.endDate(), after.id(), limit));
+    }
+
+    /**
+     * Evaluates every room type of a contract against the search request, charging the time spent to
+     * the stages of the search.
+     *
+     * @return the search result for the contract's hotel, or {@code null} if the contract has no room types
+     */
+    private SearchResultDTO toSearchResult(ContractSnapshot contract, SearchRequestDTO searchRequestDTO,
+                                           SearchMetrics.Stages stages) {
+        if (contract.roomTypes().isEmpty()) return null;
+
+        SearchResultDTO result = new SearchResultDTO();
+        result.setHotelName(contract.hotelName());
+
+        List<RoomTypeResultDTO> allRoomTypes = new ArrayList<>();
+        int[] availableRoomsPerType = new int[contract.roomTypes().size()];
+        stages.lap(Stage.DTO_ASSEMBLY);
+
+        for (int i = 0; i < contract.roomTypes().size(); i++) {
+            RoomTypeSnapshot roomType = contract.roomTypes().get(i);
+            int availableRooms = availableRooms(roomType, searchRequestDTO.getCheckInDate(), searchRequestDTO.getNumberOfNights());
+            availableRoomsPerType[i] = availableRooms;
+
+            // Check availability
+            boolean isAvailable = isRoomAvailable(roomType, searchRequestDTO.getRoomRequests(), availableRooms);
+            stages.lap(Stage.ROOM_TYPE_EVALUATION);
+
+            // Calculate price if available
+            long totalPriceCents = isAvailable
+                    ? calculateTotalPriceCents(roomType, searchRequestDTO.getRoomRequests(),
+                                               searchRequestDTO.getNumberOfNights(), availableRooms)
+                    : 0L;
+            stages.lap(Stage.PRICING);
+
+            RoomTypeResultDTO roomTypeResult = new RoomTypeResultDTO();
+            roomTypeResult.setId(roomType.id());
+            roomTypeResult.setName(roomType.name());
+            roomTypeResult.setMaxAdults(roomType.maxAdults());
+            roomTypeResult.setAvailableRooms(availableRooms);
+            roomTypeResult.setAvailable(isAvailable);
+            roomTypeResult.setTotalPriceCents(totalPriceCents);
+            roomTypeResult.setTotalPrice(Pricing.toDecimal(totalPriceCents));
+
+            allRoomTypes.add(roomTypeResult);
+            stages.lap(Stage.DTO_ASSEMBLY);
+        }
+
+        result.setAvailableRoomTypes(allRoomTypes);
+        assignRooms(result, contract, searchRequestDTO, availableRoomsPerType, stages);
+        return result;
+    }
+
+    /**
+     * Places every requested room into the cheapest room type that can take it, see {@link RoomAssigner},
+     * and sets the assigned rooms and their total price on the result.
      */
-    private boolean isRoomAvailable(RoomType roomType, List<RoomRequestDTO> roomRequests, int availableRooms) {
-        int totalRoomsRequested = roomRequests.stream()
-                                              .mapToInt(RoomRequestDTO::getNumberOfRooms)
-                                              .sum();
+    private static void assignRooms(SearchResultDTO result, ContractSnapshot contract, SearchRequestDTO searchRequestDTO,
+                                    int[] availableRoomsPerType, SearchMetrics.Stages stages) {
+        int[] adultsPerRoom = searchRequestDTO.getRoomRequests().stream()
+                                              .flatMapToInt(r -> IntStream.generate(() -> adultsOf(r)).limit(roomsOf(r)))
+                                              .toArray();
+        RoomAssigner.Assignment assignment = RoomAssigner.assign(contract.roomTypes(), availableRoomsPerType,
+                adultsPerRoom, searchRequestDTO.getNumberOfNights());
+        stages.lap(Stage.PRICING);
+        if (assignment == null) {
+            return;
+        }
 
-        boolean canAccommodateAdults = roomRequests.stream()
-                                                   .allMatch(request -> roomType.getMaxAdults() >= request.getNumberOfAdults());
+        List<AssignedRoomDTO> assignedRooms = new ArrayList<>(adultsPerRoom.length);
+        for (int room = 0; room < adultsPerRoom.length; room++) {
+            RoomTypeSnapshot roomType = contract.roomTypes().get(assignment.roomTypeIndexes()[room]);
+            long priceCents = assignment.pricesCents()[room];
+            assignedRooms.add(new AssignedRoomDTO(roomType.id(), roomType.name(), roomType.maxAdults(),
+                    adultsPerRoom[room], Pricing.toDecimal(priceCents), priceCents));
+        }
+        result.setAssignedRooms(assignedRooms);
+        result.setTotalPriceCents(assignment.totalPriceCents());
+        result.setTotalPrice(Pricing.toDecimal(assignment.totalPriceCents()));
+        stages.lap(Stage.DTO_ASSEMBLY);
+    }
 
-        boolean canAccommodateRooms = availableRooms >= totalRoomsRequested;
+
+    /**
+     * Returns the rooms of a room type that are free on every night of the stay, according to the inventory ledger.
+     * The ledger counts booked and held rooms alike, so active holds cost nothing extra here.
+     */
+    private int availableRooms(RoomTypeSnapshot roomType, LocalDate checkInDate, int numberOfNights) {
+        int allocated = inventoryLedger.maxAllocated(roomType.id(), checkInDate, numberOfNights);
+        return Math.max(roomType.numberOfRooms() - allocated, 0);
+    }
+
+    /**
+     * Checks if a given room type can accommodate the specified room requests, considering allocated rooms.
+     */
+    private boolean isRoomAvailable(RoomTypeSnapshot roomType, List<RoomRequestDTO> roomRequests, int availableRooms) {
+        boolean canAccommodateAdults = roomType.maxAdults() >= maxAdultsRequested(roomRequests);
+
+        boolean canAccommodateRooms = availableRooms >= totalRoomsRequested(roomRequests);
 
         return canAccommodateAdults && canAccommodateRooms;
     }
 
     /**
-     * Calculates total price based on available rooms, allocated rooms, and markup.
+     * Returns the smallest number of adults requested for a single room. A contract can only place the
+     * party if it has at least one room type that takes this many adults.
+     */
+    private static int minAdultsRequested(List<RoomRequestDTO> roomRequests) {
+        return roomRequests.stream().mapToInt(SearchService::adultsOf).min().orElse(0);
+    }
+
+    /**
+     * Returns the largest number of adults requested for a single room.
+     */
+    private static int maxAdultsRequested(List<RoomRequestDTO> roomRequests) {
+        return roomRequests.stream().mapToInt(SearchService::adultsOf).max().orElse(0);
+    }
+
+    /**
+     * Returns the total number of rooms requested.
+     */
+    private static int totalRoomsRequested(List<RoomRequestDTO> roomRequests) {
+        return roomRequests.stream().mapToInt(SearchService::roomsOf).sum();
+    }
+
+    private static int adultsOf(RoomRequestDTO roomRequest) {
+        return roomRequest.getNumberOfAdults() != null ? roomRequest.getNumberOfAdults() : 0;
+    }
+
+    /**
+     * A room request without a number of rooms asks for a single room.
      */
-    private double calculateTotalPrice(RoomType roomType, List<RoomRequestDTO> roomRequests,
-                                       Integer numberOfNights, double markupPercentage) {
-        int allocated = allocatedRooms.getOrDefault(roomType.getId(), 0);
-        int availableRooms = Math.max(roomType.getNumberOfRooms() - allocated, 0);
+    private static int roomsOf(RoomRequestDTO roomRequest) {
+        return roomRequest.getNumberOfRooms() != null ? roomRequest.getNumberOfRooms() : 1;
+    }
 
-        double totalPrice = 0;
-        for (RoomRequestDTO roomRequest : roomRequests) {
-            if (roomRequest.getNumberOfRooms() > availableRooms) {
-                return 0.0; // Not enough available rooms
+    /**
+     * Calculates the total price in cents from the room type's marked-up nightly rate, see {@link Pricing}.
+     */
+    private long calculateTotalPriceCents(RoomTypeSnapshot roomType, List<RoomRequestDTO> roomRequests,
+                                          int numberOfNights, int availableRooms) {
+
+        long totalPriceCents = 0;
+        for (int i = 0; i < roomRequests.size(); i++) {
+            RoomRequestDTO roomRequest = roomRequests.get(i);
+            int rooms = roomsOf(roomRequest);
+            if (rooms > availableRooms) {
+                return 0L; // Not enough available rooms
             }
 
-            totalPrice += roomType.getPricePerPerson() *
-                                  (1 + markupPercentage / 100) *
-                                  numberOfNights *
-                                  roomRequest.getNumberOfAdults() *
-                                  roomRequest.getNumberOfRooms();
+            totalPriceCents += Pricing.quote(roomType.ratePerPersonCents(), numberOfNights, adultsOf(roomRequest), rooms);
         }
-        return Math.round(totalPrice * 100.0) / 100.0;
+        return totalPriceCents;
     }
 
     /**
-     * Generates a room availability report considering allocated rooms.
+     * Generates a room availability report. The available rooms of each room type are the rooms
+     * free on every night between the from and to date, according to the inventory ledger.
      */
     public Page<RoomAvailabilityReportDTO> generateRoomAvailabilityReport(LocalDate fromDate, LocalDate toDate, Pageable pageable) {
         List<RoomAvailabilityReportDTO> report = new ArrayList<>();
 
         // Using pagination
-        Page<Contract> validContractsPage = contractRepository.findValidContractsForDateRange(fromDate, toDate, pageable);
+        Page<ContractSnapshot> validContractsPage = findValidContracts(fromDate, toDate, 0, 0, pageable);
 
-        for (Contract contract : validContractsPage.getContent()) {
-            for (RoomType roomType : contract.getRoomTypes()) {
-                int allocated = allocatedRooms.getOrDefault(roomType.getId(), 0);
-                int availableRooms = Math.max(roomType.getNumberOfRooms() - allocated, 0);
+        for (ContractSnapshot contract : validContractsPage.getContent()) {
+            addReportItems(report, contract, fromDate, toDate);
+        }
 
-                RoomAvailabilityReportDTO reportItem = new RoomAvailabilityReportDTO();
-                reportItem.setHotelName(contract.getHotel().getName());
-                reportItem.setRoomTypeName(roomType.getName());
-                reportItem.setTotalRooms(roomType.getNumberOfRooms());
-                reportItem.setAvailableRooms(availableRooms);
-                reportItem.setDate(fromDate); // Simplified
+        return new PageImpl<>(report, pageable, validContractsPage.getTotalElements());
+    }
 
-                report.add(reportItem);
-            }
+    /**
+     * Generates a room availability report with keyset pagination. A slice holds the room types of up to
+     * {@code size} contracts, ordered by contract end date and then contract ID.
+     *
+     * @param fromDate the start date of the report
+     * @param toDate   the end date of the report
+     * @param cursor   the continuation token of the previous slice, {@code null} for the first slice
+     * @param size     the maximum number of contracts in the slice
+     * @return the slice of report items
+     * @throws com.codegen.suntravels.exception.InvalidCursorException if the cursor cannot be decoded
+     */
+    public KeysetSliceDTO<RoomAvailabilityReportDTO> generateRoomAvailabilityReport(LocalDate fromDate, LocalDate toDate,
+                                                                                   String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = Math.max(size, 1);
+
+        List<ContractSnapshot> contracts = findValidContractsAfter(fromDate, toDate, 0, 0, after, limit + 1);
+        boolean hasNext = contracts.size() > limit;
+        List<ContractSnapshot> slice = hasNext ? contracts.subList(0, limit) : contracts;
+
+        List<RoomAvailabilityReportDTO> report = new ArrayList<>();
+        for (ContractSnapshot contract : slice) {
+            addReportItems(report, contract, fromDate, toDate);
         }
+        return new KeysetSliceDTO<>(report, nextCursor(slice, hasNext), hasNext);
+    }
 
-        return new PageImpl<>(report, pageable, validContractsPage.getTotalElements());
+    /**
+     * Adds one report item per room type of a contract.
+     */
+    private void addReportItems(List<RoomAvailabilityReportDTO> report, ContractSnapshot contract,
+                                LocalDate fromDate, LocalDate toDate) {
+        int nights = (int) Math.max(ChronoUnit.DAYS.between(fromDate, toDate), 1);
+
+        for (RoomTypeSnapshot roomType : contract.roomTypes()) {
+            int availableRooms = availableRooms(roomType, fromDate, nights);
+
+            RoomAvailabilityReportDTO reportItem = new RoomAvailabilityReportDTO();
+            reportItem.setHotelName(contract.hotelName());
+            reportItem.setRoomTypeName(roomType.name());
+            reportItem.setTotalRooms(roomType.numberOfRooms());
+            reportItem.setAvailableRooms(availableRooms);
+            reportItem.setDate(fromDate); // Simplified
+
+            report.add(reportItem);
+        }
+    }
+
+    /**
+     * Returns the continuation token after the last contract of a slice, {@code null} on the last slice.
+     */
+    private static String nextCursor(List<ContractSnapshot> slice, boolean hasNext) {
+        return hasNext ? KeysetCursor.after(slice.get(slice.size() - 1)).encode() : null;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+-- The schema as spring.jpa.hibernate.ddl-auto=update created it before the schema was migrated by Flyway.
+-- Databases created that way already hold it and are baselined at this version instead, see
+-- spring.flyway.baseline-on-migrate; every later change is a migration of its own.
+
+CREATE TABLE hotels (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    name            VARCHAR(255) NOT NULL,
+    location        VARCHAR(255),
+    contact_details VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE contracts (
+    id                BIGINT NOT NULL AUTO_INCREMENT,
+    hotel_id          BIGINT NOT NULL,
+    start_date        DATE   NOT NULL,
+    end_date          DATE   NOT NULL,
+    markup_percentage FLOAT(53),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_contracts_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id)
+);
+
+CREATE TABLE room_types (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    contract_id      BIGINT       NOT NULL,
+    name             VARCHAR(255) NOT NULL,
+    price_per_person FLOAT(53),
+    number_of_rooms  INTEGER,
+    max_adults       INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_room_types_contract FOREIGN KEY (contract_id) REFERENCES contracts (id)
+);
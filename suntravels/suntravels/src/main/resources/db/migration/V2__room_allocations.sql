@@ -0,0 +1,10 @@
+-- The rooms of a room type taken on each night, one row per room type and night that has been booked.
+CREATE TABLE room_allocations (
+    id           BIGINT  NOT NULL AUTO_INCREMENT,
+    room_type_id BIGINT  NOT NULL,
+    stay_date    DATE    NOT NULL,
+    allocated    INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_room_allocation_night UNIQUE (room_type_id, stay_date),
+    CONSTRAINT fk_room_allocations_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id) ON DELETE CASCADE
+);
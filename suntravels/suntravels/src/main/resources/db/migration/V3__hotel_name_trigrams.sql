@@ -0,0 +1,13 @@
+-- The normalised hotel name and its trigrams, which name searches are answered from. They are computed in
+-- Java, see Hotel.normalize; the hotels stored before this migration are indexed at startup by
+-- HotelService.indexHotelNames.
+ALTER TABLE hotels ADD COLUMN normalized_name VARCHAR(255);
+
+CREATE TABLE hotel_name_trigrams (
+    hotel_id BIGINT     NOT NULL,
+    trigram  VARCHAR(3) NOT NULL,
+    PRIMARY KEY (trigram, hotel_id),
+    CONSTRAINT fk_hotel_name_trigrams_hotel FOREIGN KEY (hotel_id) REFERENCES hotels (id)
+);
+
+CREATE INDEX idx_hotel_name_trigrams_trigram ON hotel_name_trigrams (trigram, hotel_id);
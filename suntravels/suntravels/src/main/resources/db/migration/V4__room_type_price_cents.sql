@@ -0,0 +1,8 @@
+-- Room prices are held as whole cents, see Pricing. The decimal prices are converted the way
+-- Pricing.toCents rounds them, half-up, and the decimal column is dropped so that no price is kept twice.
+ALTER TABLE room_types ADD COLUMN price_per_person_cents BIGINT;
+
+UPDATE room_types SET price_per_person_cents = ROUND(CAST(price_per_person AS DECIMAL(30, 10)) * 100)
+WHERE price_per_person IS NOT NULL;
+
+ALTER TABLE room_types DROP COLUMN price_per_person;
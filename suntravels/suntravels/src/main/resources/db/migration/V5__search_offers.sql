@@ -0,0 +1,37 @@
+-- The denormalised read model searches are answered from, one row per room type, see SearchOffer. It is
+-- kept up to date by SearchOfferProjector; the offers of the contracts stored before this migration are
+-- derived here the way the projector derives them.
+CREATE TABLE search_offers (
+    room_type_id           BIGINT       NOT NULL,
+    room_type_name         VARCHAR(255) NOT NULL,
+    contract_id            BIGINT       NOT NULL,
+    hotel_id               BIGINT       NOT NULL,
+    hotel_name             VARCHAR(255) NOT NULL,
+    start_date             DATE         NOT NULL,
+    end_date               DATE         NOT NULL,
+    markup_basis_points    BIGINT       NOT NULL,
+    price_per_person_cents BIGINT       NOT NULL,
+    rate_per_person_cents  BIGINT       NOT NULL,
+    number_of_rooms        INTEGER      NOT NULL,
+    max_adults             INTEGER      NOT NULL,
+    PRIMARY KEY (room_type_id)
+);
+
+CREATE INDEX idx_search_offers_stay ON search_offers (end_date, start_date, max_adults, number_of_rooms);
+CREATE INDEX idx_search_offers_contract ON search_offers (contract_id);
+CREATE INDEX idx_search_offers_hotel ON search_offers (hotel_id);
+
+INSERT INTO search_offers (room_type_id, room_type_name, contract_id, hotel_id, hotel_name, start_date, end_date,
+                           markup_basis_points, price_per_person_cents, rate_per_person_cents, number_of_rooms, max_adults)
+SELECT o.room_type_id, o.room_type_name, o.contract_id, o.hotel_id, o.hotel_name, o.start_date, o.end_date,
+       o.markup_basis_points, o.price_per_person_cents,
+       FLOOR((o.price_per_person_cents * (10000 + o.markup_basis_points) + 5000) / 10000),
+       o.number_of_rooms, o.max_adults
+FROM (SELECT rt.id AS room_type_id, rt.name AS room_type_name, c.id AS contract_id, h.id AS hotel_id,
+             h.name AS hotel_name, c.start_date, c.end_date,
+             ROUND(COALESCE(c.markup_percentage, 0) * 100) AS markup_basis_points,
+             COALESCE(rt.price_per_person_cents, 0) AS price_per_person_cents,
+             COALESCE(rt.number_of_rooms, 0) AS number_of_rooms, COALESCE(rt.max_adults, 0) AS max_adults
+      FROM contracts c
+      JOIN hotels h ON h.id = c.hotel_id
+      JOIN room_types rt ON rt.contract_id = c.id) o;
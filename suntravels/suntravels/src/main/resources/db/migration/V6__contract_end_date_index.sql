@@ -0,0 +1,4 @@
+-- Contracts expiring between two dates, see ContractRepository.findContractsExpiringBetween. InnoDB
+-- appends the primary key to every secondary index, so the index is also in the end_date, id order of
+-- the keyset slices of the expiry report.
+CREATE INDEX idx_contracts_end_date ON contracts (end_date);
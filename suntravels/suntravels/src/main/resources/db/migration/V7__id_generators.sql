@@ -0,0 +1,11 @@
+-- Contract and room type IDs are reserved by Hibernate in blocks, so that new rows can be inserted in JDBC
+-- batches, which AUTO_INCREMENT keys rule out. Each row holds the last ID reserved for its table; new
+-- blocks start after it. The AUTO_INCREMENT of the columns is left in place but no longer used.
+CREATE TABLE id_generators (
+    name    VARCHAR(255) NOT NULL,
+    last_id BIGINT,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_generators (name, last_id) SELECT 'contracts', COALESCE(MAX(id), 0) FROM contracts;
+INSERT INTO id_generators (name, last_id) SELECT 'room_types', COALESCE(MAX(id), 0) FROM room_types;
@@ -0,0 +1,22 @@
+-- Bookings take rooms of a room type for the nights of a stay, see room_allocations. The hotel and room type
+-- names and the rate are copied in, so a booking still reads right after its room type is deleted, which
+-- only clears room_type_id.
+CREATE TABLE bookings (
+    id                    BIGINT       NOT NULL AUTO_INCREMENT,
+    room_type_id          BIGINT,
+    hotel_name            VARCHAR(255) NOT NULL,
+    room_type_name        VARCHAR(255) NOT NULL,
+    guest_name            VARCHAR(255) NOT NULL,
+    check_in_date         DATE         NOT NULL,
+    check_out_date        DATE         NOT NULL,
+    number_of_rooms       INTEGER      NOT NULL,
+    adults_per_room       INTEGER      NOT NULL,
+    rate_per_person_cents BIGINT       NOT NULL,
+    total_price_cents     BIGINT       NOT NULL,
+    status                VARCHAR(20)  NOT NULL,
+    created_at            DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_bookings_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_bookings_room_type ON bookings (room_type_id, check_in_date);
@@ -0,0 +1,14 @@
+-- Holds take rooms of a room type for the nights of a stay, see room_allocations, until they are booked,
+-- released or expire. Expiry is scheduled in memory and rescheduled from this table at startup, so nothing
+-- scans it by expires_at.
+CREATE TABLE room_holds (
+    id              BIGINT      NOT NULL AUTO_INCREMENT,
+    room_type_id    BIGINT      NOT NULL,
+    check_in_date   DATE        NOT NULL,
+    check_out_date  DATE        NOT NULL,
+    number_of_rooms INTEGER     NOT NULL,
+    created_at      DATETIME(6) NOT NULL,
+    expires_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_room_holds_room_type FOREIGN KEY (room_type_id) REFERENCES room_types (id) ON DELETE CASCADE
+);
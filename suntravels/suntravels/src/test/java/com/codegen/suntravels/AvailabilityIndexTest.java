@@ -0,0 +1,166 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.HotelChangedEvent;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.service.AvailabilityIndex;
+import com.codegen.suntravels.service.ContractSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityIndexTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    private AvailabilityIndex availabilityIndex;
+    private Hotel hotel;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new AvailabilityIndex(contractRepository, true);
+        today = LocalDate.of(2025, 1, 1);
+
+        hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Test Hotel");
+    }
+
+    @Test
+    void findValidContractsForDateRange_ShouldReturnOnlyContractsCoveringTheStay() {
+        Contract covering = contract(1L, today.minusDays(10), today.plusDays(30));
+        Contract endsTooEarly = contract(2L, today.minusDays(10), today.plusDays(2));
+        Contract startsTooLate = contract(3L, today.plusDays(1), today.plusDays(60));
+        when(contractRepository.findAllWithHotelAndRoomTypes()).thenReturn(List.of(covering, endsTooEarly, startsTooLate));
+
+        availabilityIndex.rebuild();
+        List<ContractSnapshot> result = availabilityIndex.findValidContractsForDateRange(today, today.plusDays(3));
+
+        assertThat(result).extracting(ContractSnapshot::id).containsExactly(1L);
+        assertThat(result.get(0).hotelName()).isEqualTo("Test Hotel");
+        assertThat(result.get(0).roomTypes()).hasSize(1);
+    }
+
+    @Test
+    void findValidContractsForDateRange_ShouldMatchBruteForceScan() {
+        Random random = new Random(42);
+        List<Contract> contracts = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDate start = today.plusDays(random.nextInt(365));
+            contracts.add(contract(id, start, start.plusDays(random.nextInt(120))));
+        }
+        when(contractRepository.findAllWithHotelAndRoomTypes()).thenReturn(contracts);
+        availabilityIndex.rebuild();
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate checkIn = today.plusDays(random.nextInt(400));
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(14));
+
+            List<Long> expected = contracts.stream()
+                                           .filter(c -> !c.getStartDate().isAfter(checkIn) && !c.getEndDate().isBefore(checkOut))
+                                           .map(Contract::getId)
+                                           .sorted()
+                                           .toList();
+
+            assertThat(availabilityIndex.findValidContractsForDateRange(checkIn, checkOut))
+                    .extracting(ContractSnapshot::id)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void findCandidateContracts_ShouldReturnContractsThatCouldCoverAnyStay() {
+        Contract early = contract(1L, today, today.plusDays(10));
+        Contract tooLate = contract(2L, today.plusDays(26), today.plusDays(40));
+        Contract tooShort = contract(3L, today, today.plusDays(2));
+        Contract late = contract(4L, today.plusDays(20), today.plusDays(40));
+        when(contractRepository.findAllWithHotelAndRoomTypes()).thenReturn(List.of(late, tooShort, early, tooLate));
+        availabilityIndex.rebuild();
+
+        // Stays of [today + 1, today + 3] and [today + 25, today + 28] do not overlap
+        List<ContractSnapshot> result = availabilityIndex.findCandidateContracts(today.plusDays(25), today.plusDays(3));
+
+        assertThat(result).extracting(ContractSnapshot::id).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void onContractChanged_ShouldReplaceAndRemoveContracts() {
+        Contract original = contract(1L, today.minusDays(10), today.plusDays(30));
+        when(contractRepository.findAllWithHotelAndRoomTypes()).thenReturn(List.of(original));
+        availabilityIndex.rebuild();
+
+        Contract shortened = contract(1L, today.minusDays(10), today.plusDays(1));
+        when(contractRepository.findByIdWithHotelAndRoomTypes(1L)).thenReturn(Optional.of(shortened));
+        availabilityIndex.onContractChanged(new ContractChangedEvent(1L));
+
+        assertThat(availabilityIndex.findValidContractsForDateRange(today, today.plusDays(3))).isEmpty();
+        assertThat(availabilityIndex.size()).isEqualTo(1);
+
+        when(contractRepository.findByIdWithHotelAndRoomTypes(1L)).thenReturn(Optional.empty());
+        availabilityIndex.onContractChanged(new ContractChangedEvent(1L));
+
+        assertThat(availabilityIndex.size()).isZero();
+    }
+
+    @Test
+    void onHotelChanged_ShouldRefreshHotelName() {
+        when(contractRepository.findAllWithHotelAndRoomTypes()).thenReturn(List.of(contract(1L, today, today.plusDays(30))));
+        availabilityIndex.rebuild();
+
+        hotel.setName("Renamed Hotel");
+        when(contractRepository.findByHotelIdWithRoomTypes(1L)).thenReturn(List.of(contract(1L, today, today.plusDays(30))));
+        availabilityIndex.onHotelChanged(new HotelChangedEvent(1L));
+
+        assertThat(availabilityIndex.findValidContractsForDateRange(today, today.plusDays(3)))
+                .extracting(ContractSnapshot::hotelName)
+                .containsExactly("Renamed Hotel");
+    }
+
+    @Test
+    void rebuild_WhenDisabled_ShouldNotQueryTheDatabase() {
+        AvailabilityIndex disabled = new AvailabilityIndex(contractRepository, false);
+
+        disabled.rebuild();
+        disabled.onContractChanged(new ContractChangedEvent(1L));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        verifyNoInteractions(contractRepository);
+    }
+
+    private Contract contract(Long id, LocalDate startDate, LocalDate endDate) {
+        Contract contract = new Contract();
+        contract.setId(id);
+        contract.setHotel(hotel);
+        contract.setStartDate(startDate);
+        contract.setEndDate(endDate);
+        contract.setMarkupPercentage(10.0);
+
+        RoomType roomType = new RoomType();
+        roomType.setId(id * 10);
+        roomType.setName("Deluxe Room");
+        roomType.setContract(contract);
+        roomType.setPricePerPerson(100.0);
+        roomType.setNumberOfRooms(5);
+        roomType.setMaxAdults(2);
+        contract.setRoomTypes(new ArrayList<>(Collections.singletonList(roomType)));
+        return contract;
+    }
+}
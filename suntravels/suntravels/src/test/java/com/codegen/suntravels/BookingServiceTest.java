@@ -0,0 +1,247 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.BookingDTO;
+import com.codegen.suntravels.dto.BookingRequestDTO;
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.exception.RoomsUnavailableException;
+import com.codegen.suntravels.model.BookingStatus;
+import com.codegen.suntravels.service.BookingService;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.InventoryLedger;
+import com.codegen.suntravels.service.RoomTypeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BookingServiceTest {
+
+    private static final LocalDate START_DATE = LocalDate.now();
+    private static final LocalDate END_DATE = START_DATE.plusDays(120);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private InventoryLedger inventoryLedger;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RoomTypeDTO doubleRoom;
+
+    @BeforeEach
+    void setUp() {
+        HotelDTO hotel = new HotelDTO();
+        hotel.setName("Palm Beach Resort");
+        hotel.setLocation("Galle");
+        hotel = hotelService.createHotel(hotel);
+
+        ContractDTO contract = new ContractDTO();
+        contract.setHotelId(hotel.getId());
+        contract.setStartDate(START_DATE);
+        contract.setEndDate(END_DATE);
+        contract.setMarkupPercentage(10.0);
+        contract = contractService.createContract(contract);
+
+        RoomTypeDTO roomType = new RoomTypeDTO();
+        roomType.setName("Double Room");
+        roomType.setContractId(contract.getId());
+        roomType.setPricePerPersonCents(1999L);
+        roomType.setNumberOfRooms(20);
+        roomType.setMaxAdults(2);
+        doubleRoom = roomTypeService.createRoomType(roomType);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("bookings", "search_offers", "room_allocations", "room_types", "contracts", "hotel_name_trigrams", "hotels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityCacheService.evictAll();
+        inventoryLedger.rebuild();
+    }
+
+    @Test
+    void createBooking_ShouldPriceTheStayAndTakeTheRoomsOfEveryNight() throws Exception {
+        LocalDate checkIn = START_DATE.plusDays(5);
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(request(checkIn, 3, 2))))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.hotelName").value("Palm Beach Resort"))
+               .andExpect(jsonPath("$.roomTypeName").value("Double Room"))
+               .andExpect(jsonPath("$.checkOutDate").value(checkIn.plusDays(3).toString()))
+               .andExpect(jsonPath("$.status").value("CONFIRMED"))
+               // 19.99 marked up by 10% is 21.99, for 3 nights, 2 adults and 2 rooms
+               .andExpect(jsonPath("$.totalPriceCents").value(2199 * 3 * 2 * 2));
+
+        assertThat(allocations()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                checkIn, 2, checkIn.plusDays(1), 2, checkIn.plusDays(2), 2));
+        assertThat(inventoryLedger.maxAllocated(doubleRoom.getId(), checkIn, 3)).isEqualTo(2);
+        assertThat(inventoryLedger.maxAllocated(doubleRoom.getId(), checkIn.plusDays(3), 1)).isZero();
+    }
+
+    @Test
+    void createBooking_ShouldRefuseASoldOutNightWithoutTakingAnyRooms() throws Exception {
+        LocalDate checkIn = START_DATE.plusDays(5);
+        bookingService.createBooking(request(checkIn.plusDays(1), 1, 19));
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(request(checkIn, 3, 2))))
+               .andExpect(status().isConflict());
+
+        assertThat(allocations()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                checkIn, 0, checkIn.plusDays(1), 19, checkIn.plusDays(2), 0));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void createBooking_ShouldRejectStaysOutsideTheContractAndTooManyAdults() throws Exception {
+        BookingRequestDTO outside = request(END_DATE.minusDays(1), 2, 1);
+        BookingRequestDTO crowded = request(START_DATE.plusDays(5), 2, 1);
+        crowded.setAdultsPerRoom(3);
+        BookingRequestDTO unknown = request(START_DATE.plusDays(5), 2, 1);
+        unknown.setRoomTypeId(doubleRoom.getId() + 1000);
+
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(outside)))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(crowded)))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                                             .content(objectMapper.writeValueAsString(unknown)))
+               .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content("{}"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.guestName").value("Guest name is required"));
+
+        assertThat(allocations()).isEmpty();
+    }
+
+    @Test
+    void cancelBooking_ShouldGiveTheRoomsBackOnce() throws Exception {
+        LocalDate checkIn = START_DATE.plusDays(5);
+        BookingDTO booking = bookingService.createBooking(request(checkIn, 2, 4));
+
+        mockMvc.perform(post("/api/bookings/{id}/cancel", booking.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.status").value("CANCELLED"));
+        mockMvc.perform(post("/api/bookings/{id}/cancel", booking.getId()))
+               .andExpect(status().isOk());
+        mockMvc.perform(get("/api/bookings/{id}", booking.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.status").value("CANCELLED"));
+        mockMvc.perform(post("/api/bookings/{id}/cancel", booking.getId() + 1000))
+               .andExpect(status().isNotFound());
+
+        assertThat(allocations()).containsExactlyInAnyOrderEntriesOf(Map.of(checkIn, 0, checkIn.plusDays(1), 0));
+        assertThat(inventoryLedger.maxAllocated(doubleRoom.getId(), checkIn, 2)).isZero();
+        assertThat(bookingService.getBookingById(booking.getId()).getStatus()).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void createBooking_ShouldNeverOversellUnderConcurrentBookings() throws Exception {
+        LocalDate checkIn = START_DATE.plusDays(10);
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger unavailable = new AtomicInteger();
+        List<Throwable> failures = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                // Overlapping three-night stays that all share the night of checkIn + 2
+                LocalDate stay = checkIn.plusDays(i % 3);
+                futures.add(executor.submit(() -> {
+                    try {
+                        bookingService.createBooking(request(stay, 3, 1));
+                        confirmed.incrementAndGet();
+                    } catch (RoomsUnavailableException e) {
+                        unavailable.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(failures).isEmpty();
+        assertThat(confirmed.get()).isEqualTo(20);
+        assertThat(unavailable.get()).isEqualTo(180);
+        assertThat(allocations().values()).allMatch(allocated -> allocated <= 20);
+        assertThat(allocations()).containsEntry(checkIn.plusDays(2), 20);
+        assertThat(jdbcTemplate.queryForObject("SELECT COALESCE(SUM(number_of_rooms), 0) FROM bookings WHERE status = 'CONFIRMED'", Long.class))
+                .isEqualTo(20);
+        assertThat(inventoryLedger.maxAllocated(doubleRoom.getId(), checkIn, 5)).isEqualTo(20);
+    }
+
+    private Map<LocalDate, Integer> allocations() {
+        Map<LocalDate, Integer> allocations = new TreeMap<>();
+        jdbcTemplate.query("SELECT stay_date, allocated FROM room_allocations WHERE room_type_id = ?",
+                rs -> {
+                    allocations.put(rs.getDate("stay_date").toLocalDate(), rs.getInt("allocated"));
+                }, doubleRoom.getId());
+        return allocations;
+    }
+
+    private BookingRequestDTO request(LocalDate checkIn, int nights, int rooms) {
+        return new BookingRequestDTO(doubleRoom.getId(), checkIn, nights, rooms, 2, "Jane Perera");
+    }
+}
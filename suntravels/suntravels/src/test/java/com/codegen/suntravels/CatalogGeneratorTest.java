@@ -0,0 +1,116 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.generator.CatalogGenerator;
+import com.codegen.suntravels.generator.CatalogSpec;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.repository.HotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class CatalogGeneratorTest {
+
+    private static final CatalogSpec SPEC = new CatalogSpec(7, 40, 1, 4, 30, 365, 1, 30, 2000, 200000, 3.0,
+            LocalDate.of(2026, 1, 1));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    private CatalogGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new CatalogGenerator(jdbcTemplate, transactionManager, 16);
+    }
+
+    @Test
+    void generate_ShouldWriteConsistentRows() {
+        CatalogGenerator.GeneratedCatalog catalog = generator.generate(SPEC);
+
+        assertThat(catalog.hotels()).isEqualTo(40);
+        assertThat(count("hotels")).isEqualTo(catalog.hotels());
+        assertThat(count("contracts")).isEqualTo(catalog.contracts()).isBetween(40L, 160L);
+        assertThat(count("room_types")).isEqualTo(catalog.roomTypes());
+
+        List<Map<String, Object>> roomTypesPerContract = jdbcTemplate.queryForList(
+                "SELECT c.id, COUNT(rt.id) AS room_types FROM contracts c LEFT JOIN room_types rt ON rt.contract_id = c.id GROUP BY c.id");
+        assertThat(roomTypesPerContract).allSatisfy(row ->
+                assertThat(((Number) row.get("room_types")).intValue()).isBetween(1, 30));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contracts WHERE end_date <= start_date", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM room_types WHERE price_per_person_cents NOT BETWEEN 2000 AND 200000 OR max_adults NOT BETWEEN 1 AND 6",
+                Long.class)).isZero();
+    }
+
+    @Test
+    void generate_ShouldIndexHotelNamesAndLeaveTheIdsToContinueFrom() {
+        generator.generate(SPEC);
+
+        Hotel generated = hotelRepository.findAll().get(0);
+        assertThat(generated.getNormalizedName()).isEqualTo(Hotel.normalize(generated.getName()));
+        assertThat(generated.getNameTrigrams()).isEqualTo(Hotel.trigrams(generated.getNormalizedName()));
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Typed In Hotel");
+        assertThat(hotelRepository.saveAndFlush(hotel).getId()).isGreaterThan(40L);
+
+        // Hibernate reserves its next contract and room type IDs after the last ones written
+        for (String table : List.of("contracts", "room_types")) {
+            assertThat(jdbcTemplate.queryForObject("SELECT last_id FROM id_generators WHERE name = ?", Long.class, table))
+                    .isEqualTo(jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class));
+        }
+    }
+
+    @Test
+    void generate_WithTheSameSpec_ShouldWriteTheSameCatalog() {
+        generator.generate(SPEC);
+        List<Map<String, Object>> first = catalogRows();
+
+        jdbcTemplate.update("DELETE FROM room_types");
+        jdbcTemplate.update("DELETE FROM contracts");
+        jdbcTemplate.update("DELETE FROM hotel_name_trigrams");
+        jdbcTemplate.update("DELETE FROM hotels");
+        generator.generate(SPEC);
+
+        assertThat(catalogRows()).isEqualTo(first);
+    }
+
+    @Test
+    void catalogSpec_WithAnInvalidRange_ShouldBeRejected() {
+        assertThatThrownBy(() -> new CatalogSpec(7, 10, 1, 4, 30, 365, 5, 2, 2000, 200000, 3.0, LocalDate.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private List<Map<String, Object>> catalogRows() {
+        return jdbcTemplate.queryForList(
+                "SELECT h.name, c.start_date, c.end_date, c.markup_percentage, rt.name AS room_type, " +
+                "rt.price_per_person_cents, rt.number_of_rooms, rt.max_adults " +
+                "FROM hotels h JOIN contracts c ON c.hotel_id = h.id JOIN room_types rt ON rt.contract_id = c.id " +
+                "ORDER BY h.id, c.id, rt.id");
+    }
+}
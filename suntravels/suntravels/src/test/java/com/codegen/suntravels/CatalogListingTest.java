@@ -0,0 +1,168 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.generator.CatalogGenerator;
+import com.codegen.suntravels.generator.CatalogSpec;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "suntravels.search.availability-index.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CatalogListingTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @BeforeAll
+    void seed() {
+        new CatalogGenerator(jdbcTemplate, transactionManager, 50)
+                .generate(new CatalogSpec(11, 60, 1, 3, 30, 365, 1, 4, 5000, 50000, 1.0, START_DATE));
+        entityCacheService.evictAll();
+    }
+
+    @AfterAll
+    void clear() {
+        for (String table : List.of("room_allocations", "room_types", "contracts", "hotel_name_trigrams", "hotels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void listHotels_ShouldPageThroughEveryHotelInTheRequestedOrder() throws Exception {
+        List<HotelDTO> hotels = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetSliceDTO<HotelDTO> slice = getSlice(get("/api/hotels/list").param("sort", "NAME")
+                                                                              .param("direction", "DESC")
+                                                                              .param("size", "7")
+                                                                              .param("cursor", cursor),
+                    new TypeReference<>() { });
+            assertThat(slice.getContent()).hasSizeLessThanOrEqualTo(7);
+            hotels.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(hotels).extracting(HotelDTO::getId)
+                          .containsExactlyElementsOf(jdbcTemplate.queryForList(
+                                  "SELECT id FROM hotels ORDER BY name DESC, id DESC", Long.class));
+    }
+
+    @Test
+    void listContracts_ShouldFilterByDateAndSortByEndDate() throws Exception {
+        LocalDate activeOn = START_DATE.plusDays(20);
+        List<ContractDTO> contracts = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetSliceDTO<ContractDTO> slice = getSlice(get("/api/contracts/list").param("activeOn", activeOn.toString())
+                                                                                    .param("sort", "END_DATE")
+                                                                                    .param("size", "5")
+                                                                                    .param("cursor", cursor),
+                    new TypeReference<>() { });
+            contracts.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(contracts).extracting(ContractDTO::getId)
+                             .containsExactlyElementsOf(jdbcTemplate.queryForList(
+                                     "SELECT id FROM contracts WHERE start_date <= ? AND end_date >= ? ORDER BY end_date, id",
+                                     Long.class, Date.valueOf(activeOn), Date.valueOf(activeOn)))
+                             .isNotEmpty();
+        assertThat(contracts).allSatisfy(contract -> assertThat(contract.getRoomTypes()).isNotEmpty());
+    }
+
+    @Test
+    void listHotels_WithCursorOfAnotherSortOrder_ShouldReturnBadRequest() throws Exception {
+        KeysetSliceDTO<HotelDTO> byName = getSlice(get("/api/hotels/list").param("sort", "NAME").param("size", "2"),
+                new TypeReference<>() { });
+
+        mockMvc.perform(get("/api/hotels/list").param("cursor", byName.getNextCursor()))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/hotels/list").param("sort", "LOCATION"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportContracts_ShouldStreamEveryContractWithItsRoomTypes() throws Exception {
+        List<ContractDTO> contracts = export(get("/api/contracts/export"), ContractDTO.class);
+
+        assertThat(contracts).extracting(ContractDTO::getId)
+                             .containsExactlyElementsOf(jdbcTemplate.queryForList("SELECT id FROM contracts ORDER BY id", Long.class));
+        assertThat(contracts.stream().mapToLong(contract -> contract.getRoomTypes().size()).sum())
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM room_types", Long.class));
+        assertThat(contracts).allSatisfy(contract -> assertThat(contract.getRoomTypes())
+                .allSatisfy(roomType -> assertThat(roomType.getContractId()).isEqualTo(contract.getId())));
+    }
+
+    @Test
+    void exportHotels_ShouldStreamTheHotelsOfALocation() throws Exception {
+        String location = jdbcTemplate.queryForObject("SELECT MIN(location) FROM hotels", String.class);
+
+        List<HotelDTO> hotels = export(get("/api/hotels/export").param("location", location.toUpperCase()), HotelDTO.class);
+
+        assertThat(hotels).extracting(HotelDTO::getId)
+                          .containsExactlyElementsOf(jdbcTemplate.queryForList(
+                                  "SELECT id FROM hotels WHERE location = ? ORDER BY id", Long.class, location));
+    }
+
+    private <T> KeysetSliceDTO<T> getSlice(MockHttpServletRequestBuilder request,
+                                           TypeReference<KeysetSliceDTO<T>> type) throws Exception {
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, type);
+    }
+
+    private <T> List<T> export(MockHttpServletRequestBuilder request, Class<T> type) throws Exception {
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        List<T> items = new ArrayList<>();
+        for (String line : started.getResponse().getContentAsString().split("\n")) {
+            if (!line.isBlank()) {
+                items.add(objectMapper.readValue(line, type));
+            }
+        }
+        return items;
+    }
+}
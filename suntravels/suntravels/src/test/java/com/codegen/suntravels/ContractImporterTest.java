@@ -0,0 +1,250 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.ImportChunkReportDTO;
+import com.codegen.suntravels.dto.ImportErrorDTO;
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.importer.ContractImporter;
+import com.codegen.suntravels.importer.ContractRecordReader;
+import com.codegen.suntravels.importer.ImportFormat;
+import com.codegen.suntravels.service.AvailabilityIndex;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "suntravels.import.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ContractImporterTest {
+
+    private static final String HEADER =
+            "hotel_name,start_date,end_date,markup_percentage,room_type,price_per_person,number_of_rooms,max_adults\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContractImporter contractImporter;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HotelDTO palmBeach;
+
+    @BeforeEach
+    void setUp() {
+        palmBeach = hotelService.createHotel(hotel("Palm Beach Resort"));
+        hotelService.createHotel(hotel("Hill Lodge"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("search_offers", "room_allocations", "room_types", "contracts", "hotel_name_trigrams", "hotels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityCacheService.evictAll();
+        availabilityIndex.rebuild();
+    }
+
+    @Test
+    void csvImport_ShouldWriteTheValidContractsChunkByChunkAndReportTheRejectedOnes() throws Exception {
+        String csv = HEADER +
+                     "Palm Beach Resort,2026-01-01,2026-06-30,10,Double Room,100.00,5,2\n" +
+                     "Palm Beach Resort,2026-01-01,2026-06-30,10,\"Family Room, Sea View\",150.50,2,4\n" +
+                     "Unknown Hotel,2026-01-01,2026-06-30,10,Double Room,80,3,2\n" +
+                     "hill lodge,2026-02-01,2026-03-31,12.5,Single Room,60,4,1\n" +
+                     "Hill Lodge,2026-04-01,2026-09-30,-5,Single Room,60,4,1\n" +
+                     "\n" +
+                     "Hill Lodge,2026-04-01,2026-09-30,5,Suite,abc,1,3\n" +
+                     "Palm Beach Resort,2026-07-01,2026-12-31,8,,,,\n";
+
+        List<ImportChunkReportDTO> reports = importBody(post("/api/contracts/import").contentType("text/csv").content(csv));
+
+        assertThat(reports).extracting(ImportChunkReportDTO::getChunk, ImportChunkReportDTO::getFirstLine,
+                                       ImportChunkReportDTO::getLastLine, ImportChunkReportDTO::getContractsRead,
+                                       ImportChunkReportDTO::getContractsImported, ImportChunkReportDTO::getRoomTypesImported,
+                                       ImportChunkReportDTO::getTotalContractsImported, ImportChunkReportDTO::getTotalContractsRejected)
+                           .containsExactly(tuple(1, 2L, 4L, 2, 1, 2, 1L, 1L),
+                                            tuple(2, 5L, 6L, 2, 1, 1, 2L, 2L),
+                                            tuple(3, 8L, 9L, 2, 1, 0, 3L, 3L));
+        assertThat(reports).flatExtracting(ImportChunkReportDTO::getErrors)
+                           .containsExactly(new ImportErrorDTO(4, "Hotel not found with name: Unknown Hotel"),
+                                            new ImportErrorDTO(6, "Markup percentage must be positive"),
+                                            new ImportErrorDTO(8, "price_per_person 'abc' is not a number"));
+
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM room_types ORDER BY id", String.class))
+                .containsExactly("Double Room", "Family Room, Sea View", "Single Room");
+        assertThat(jdbcTemplate.queryForObject("SELECT rate_per_person_cents FROM search_offers WHERE room_type_name = 'Family Room, Sea View'",
+                Long.class)).isEqualTo(16555L);
+        assertThat(availabilityIndex.size()).isEqualTo(3);
+
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(
+                new SearchRequestDTO(LocalDate.of(2026, 2, 10), 2, List.of(new RoomRequestDTO(2, 1))), PageRequest.of(0, 10))
+                                                     .getContent();
+        assertThat(results).extracting(SearchResultDTO::getHotelName).containsExactly("Palm Beach Resort");
+    }
+
+    @Test
+    void csvImport_ShouldReserveItsIdsAheadOfTheApplication() throws Exception {
+        ContractDTO before = contractService.createContract(contract(palmBeach.getId()));
+
+        importContracts(ImportFormat.CSV, HEADER + "Palm Beach Resort,2026-01-01,2026-06-30,10,Double Room,100.00,5,2\n");
+
+        ContractDTO after = contractService.createContract(contract(palmBeach.getId()));
+        Long importedId = jdbcTemplate.queryForObject("SELECT id FROM contracts WHERE id NOT IN (?, ?)", Long.class,
+                before.getId(), after.getId());
+        assertThat(importedId).isGreaterThan(before.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT last_id FROM id_generators WHERE name = 'contracts'", Long.class))
+                .isGreaterThanOrEqualTo(Math.max(importedId, after.getId()));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM search_offers", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void rowsThatCannotBeMatchedOrValidated_ShouldBeRejectedAsAWholeContract() throws Exception {
+        hotelService.createHotel(hotel("Twin Inn"));
+        hotelService.createHotel(hotel("Twin  Inn"));
+        String csv = HEADER +
+                     "Twin Inn,2026-01-01,2026-06-30,10,Double Room,100.00,5,2\n" +
+                     "Hill Lodge,2026-01-01,2026-06-30,10,Double Room,100.00,5,2\n" +
+                     "Hill Lodge,2026-01-01,2026-06-30,10,,90.00,0,2\n" +
+                     "Hill Lodge,2026-01-01,2026-06-30,10,Suite,\"250,00\n" +
+                     ",2026-01-01,,10,Suite,250,1,2\n";
+
+        List<ImportChunkReportDTO> reports = importContracts(ImportFormat.CSV, csv);
+
+        assertThat(reports).flatExtracting(ImportChunkReportDTO::getErrors)
+                           .containsExactly(new ImportErrorDTO(2, "More than one hotel is named: Twin Inn"),
+                                            new ImportErrorDTO(3, "Room type '': Number of rooms must be positive"),
+                                            new ImportErrorDTO(3, "Room type '': Room type name is required"),
+                                            new ImportErrorDTO(5, "Unterminated quoted field"),
+                                            new ImportErrorDTO(6, "Hotel name is required"),
+                                            new ImportErrorDTO(6, "End date is required"));
+        assertThat(reports.get(reports.size() - 1).getTotalContractsImported()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM contracts", Long.class)).isZero();
+    }
+
+    @Test
+    void ndjsonImport_ShouldImportAnExportAsNewContracts() throws Exception {
+        ContractDTO contract = contract(palmBeach.getId());
+        contract.getRoomTypes().add(roomType("Double Room", 2));
+        contract.getRoomTypes().add(roomType("Family Room", 4));
+        contractService.createContract(contract);
+        MvcResult export = mockMvc.perform(get("/api/contracts/export")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+        String ndjson = export.getResponse().getContentAsString() + "{\"hotelName\": \"Palm Beach Resort\", \"startDate\": \"soon\"}\n";
+
+        List<ImportChunkReportDTO> reports = importBody(post("/api/contracts/import").contentType("application/x-ndjson").content(ndjson));
+
+        assertThat(reports).singleElement().satisfies(report -> {
+            assertThat(report.getContractsImported()).isEqualTo(1);
+            assertThat(report.getRoomTypesImported()).isEqualTo(2);
+            assertThat(report.getErrors()).singleElement()
+                                          .satisfies(error -> assertThat(error.getLine()).isEqualTo(2));
+        });
+        assertThat(contractService.getAllContracts()).hasSize(2)
+                                                     .allSatisfy(imported -> assertThat(imported.getRoomTypes())
+                                                             .extracting(RoomTypeDTO::getName)
+                                                             .containsExactlyInAnyOrder("Double Room", "Family Room"));
+    }
+
+    @Test
+    void csvWithoutTheRequiredColumns_ShouldBeABadRequest() throws Exception {
+        mockMvc.perform(post("/api/contracts/import").contentType("text/csv").content("hotel_name,start_date\nHill Lodge,2026-01-01\n"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.message").value(
+                       "The CSV header lacks the columns end_date, markup_percentage, room_type, price_per_person, number_of_rooms, max_adults"));
+    }
+
+    private List<ImportChunkReportDTO> importBody(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        List<ImportChunkReportDTO> reports = new ArrayList<>();
+        for (String line : started.getResponse().getContentAsString().split("\n")) {
+            reports.add(objectMapper.readValue(line, ImportChunkReportDTO.class));
+        }
+        return reports;
+    }
+
+    private List<ImportChunkReportDTO> importContracts(ImportFormat format, String content) throws Exception {
+        List<ImportChunkReportDTO> reports = new ArrayList<>();
+        try (ContractRecordReader reader = contractImporter.open(new StringReader(content), format)) {
+            contractImporter.importContracts(reader, reports::add);
+        }
+        return reports;
+    }
+
+    private static HotelDTO hotel(String name) {
+        HotelDTO hotel = new HotelDTO();
+        hotel.setName(name);
+        hotel.setLocation("Galle");
+        return hotel;
+    }
+
+    private static ContractDTO contract(Long hotelId) {
+        ContractDTO contract = new ContractDTO();
+        contract.setHotelId(hotelId);
+        contract.setStartDate(LocalDate.of(2026, 1, 1));
+        contract.setEndDate(LocalDate.of(2026, 6, 30));
+        contract.setMarkupPercentage(10.0);
+        return contract;
+    }
+
+    private static RoomTypeDTO roomType(String name, int maxAdults) {
+        RoomTypeDTO roomType = new RoomTypeDTO();
+        roomType.setName(name);
+        roomType.setPricePerPersonCents(10000L);
+        roomType.setNumberOfRooms(5);
+        roomType.setMaxAdults(maxAdults);
+        return roomType;
+    }
+}
@@ -1,6 +1,8 @@
 package com.codegen.suntravels;
 
 
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ContractExpiryReportDTO;
 import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.Hotel;
 import com.codegen.suntravels.repository.ContractRepository;
@@ -10,6 +12,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
@@ -86,38 +92,98 @@ public class ContractRepositoryTest {
         // Act
         LocalDate fromDate = LocalDate.now().plusDays(15);
         LocalDate toDate = LocalDate.now().plusMonths(3);
-        List<Contract> expiringContracts = contractRepository.findContractsExpiringBetween(fromDate, toDate);
+        List<ContractExpiryReportDTO> expiringContracts = contractRepository.findContractsExpiringBetween(fromDate, toDate, Pageable.unpaged()).getContent();
 
         // Assert
         assertThat(expiringContracts).hasSize(2);
-        assertThat(expiringContracts).extracting(Contract::getMarkupPercentage).contains(10.0, 15.0);
+        assertThat(expiringContracts).extracting(ContractExpiryReportDTO::getContractId)
+                                     .containsExactlyInAnyOrder(contract1.getId(), contract2.getId());
+        assertThat(expiringContracts).extracting(ContractExpiryReportDTO::getHotelName).containsOnly("Test Hotel");
     }
 
     @Test
-    public void testFindValidContractsForDateRange() {
+    public void testFindContractDTOById() {
         // Arrange
-        Contract contract1 = new Contract();
-        contract1.setHotel(testHotel);
-        contract1.setStartDate(LocalDate.now().minusMonths(1));
-        contract1.setEndDate(LocalDate.now().plusMonths(2));
-        contract1.setMarkupPercentage(10.0);
+        Contract contract = saveContract(LocalDate.now().plusMonths(6));
 
-        Contract contract2 = new Contract();  // Outside date range
-        contract2.setHotel(testHotel);
-        contract2.setStartDate(LocalDate.now().plusMonths(3));
-        contract2.setEndDate(LocalDate.now().plusMonths(5));
-        contract2.setMarkupPercentage(15.0);
+        // Act
+        ContractDTO dto = contractRepository.findContractDTOById(contract.getId()).orElseThrow();
 
-        contractRepository.save(contract1);
-        contractRepository.save(contract2);
+        // Assert
+        assertThat(dto.getHotelId()).isEqualTo(testHotel.getId());
+        assertThat(dto.getHotelName()).isEqualTo("Test Hotel");
+        assertThat(dto.getEndDate()).isEqualTo(contract.getEndDate());
+        assertThat(dto.getMarkupPercentage()).isEqualTo(10.0);
+        assertThat(dto.getRoomTypes()).isEmpty();
+        assertThat(contractRepository.findContractDTOById(-1L)).isEmpty();
+    }
+
+    @Test
+    public void testFindContractsExpiringBetweenAfter() {
+        // Arrange: two contracts share an end date, so the ID has to break the tie
+        LocalDate sharedEndDate = LocalDate.now().plusMonths(1);
+        Contract first = saveContract(sharedEndDate);
+        Contract second = saveContract(sharedEndDate);
+        Contract third = saveContract(LocalDate.now().plusMonths(2));
+        saveContract(LocalDate.now().plusMonths(6));
+        LocalDate fromDate = LocalDate.now().plusDays(15);
+        LocalDate toDate = LocalDate.now().plusMonths(3);
+
+        // Act
+        List<ContractExpiryReportDTO> firstSlice = contractRepository.findContractsExpiringBetweenAfter(fromDate, toDate, null, null, Limit.of(2));
+        List<ContractExpiryReportDTO> secondSlice = contractRepository.findContractsExpiringBetweenAfter(fromDate, toDate,
+                sharedEndDate, second.getId(), Limit.of(2));
+
+        // Assert
+        assertThat(firstSlice).extracting(ContractExpiryReportDTO::getContractId).containsExactly(first.getId(), second.getId());
+        assertThat(secondSlice).extracting(ContractExpiryReportDTO::getContractId).containsExactly(third.getId());
+    }
+
+    @Test
+    public void testSearchByHotelNameTrigrams() {
+        // Arrange
+        Hotel other = new Hotel();
+        other.setName("Hôtel Côte d'Azur");
+        other = hotelRepository.save(other);
+        Contract matching = saveContract(LocalDate.now().plusMonths(6));
+        Contract elsewhere = saveContract(LocalDate.now().plusMonths(6));
+        elsewhere.setHotel(other);
+        contractRepository.save(elsewhere);
+        saveContract(LocalDate.now().plusDays(5)); // ends too early
+
+        // Act
+        Page<ContractDTO> byName = contractRepository.searchByHotelNameTrigrams(Hotel.trigrams("st hot"), Hotel.trigrams("st hot").size(),
+                "%st hot%", LocalDate.now().plusDays(1), LocalDate.now().plusMonths(1), PageRequest.of(0, 10));
+        Page<ContractDTO> accentInsensitive = contractRepository.searchByHotelNameTrigrams(Hotel.trigrams("cote"), 2,
+                "%cote%", null, null, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(byName.getContent()).extracting(ContractDTO::getId).containsExactly(matching.getId());
+        assertThat(byName.getTotalElements()).isEqualTo(1);
+        assertThat(accentInsensitive.getContent()).extracting(ContractDTO::getId).containsExactly(elsewhere.getId());
+        assertThat(accentInsensitive.getContent()).extracting(ContractDTO::getHotelName).containsExactly("Hôtel Côte d'Azur");
+    }
+
+    @Test
+    public void testSearchByHotelNameWithShortName() {
+        // Arrange
+        Contract contract = saveContract(LocalDate.now().plusMonths(6));
 
         // Act
-        LocalDate checkInDate = LocalDate.now();
-        LocalDate checkOutDate = LocalDate.now().plusDays(7);
-        List<Contract> validContracts = contractRepository.findValidContractsForDateRange(checkInDate, checkOutDate);
+        Page<ContractDTO> matches = contractRepository.searchByHotelName("%te%", null, null, PageRequest.of(0, 10));
+        Page<ContractDTO> none = contractRepository.searchByHotelName("%x!_%", null, null, PageRequest.of(0, 10));
 
         // Assert
-        assertThat(validContracts).hasSize(1);
-        assertThat(validContracts.get(0).getMarkupPercentage()).isEqualTo(10.0);
+        assertThat(matches.getContent()).extracting(ContractDTO::getId).containsExactly(contract.getId());
+        assertThat(none.getContent()).isEmpty();
+    }
+
+    private Contract saveContract(LocalDate endDate) {
+        Contract contract = new Contract();
+        contract.setHotel(testHotel);
+        contract.setStartDate(LocalDate.now());
+        contract.setEndDate(endDate);
+        contract.setMarkupPercentage(10.0);
+        return contractRepository.save(contract);
     }
-}
\ No newline at end of file
+}
@@ -2,28 +2,47 @@ package com.codegen.suntravels;
 
 import com.codegen.suntravels.dto.ContractDTO;
 import com.codegen.suntravels.dto.ContractExpiryReportDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.exception.InvalidContractException;
+import com.codegen.suntravels.exception.InvalidCursorException;
 import com.codegen.suntravels.exception.ResourceNotFoundException;
 import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.Hotel;
 import com.codegen.suntravels.model.RoomType;
 import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.KeysetCursor;
+import com.codegen.suntravels.service.ListingCursor;
+import com.codegen.suntravels.repository.CatalogListingRepository;
+import com.codegen.suntravels.repository.CatalogListingRepository.ContractSort;
 import com.codegen.suntravels.repository.ContractRepository;
 import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +54,15 @@ public class ContractServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private RoomTypeRepository roomTypeRepository;
+
+    @Mock
+    private CatalogListingRepository catalogListingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ContractService contractService;
 
@@ -42,6 +70,7 @@ public class ContractServiceTest {
     private Contract contract;
     private ContractDTO contractDTO;
     private RoomType roomType;
+    private RoomTypeDTO roomTypeDTO;
 
     @BeforeEach
     void setUp() {
@@ -78,12 +107,30 @@ public class ContractServiceTest {
         contractDTO.setStartDate(LocalDate.now().minusDays(10));
         contractDTO.setEndDate(LocalDate.now().plusDays(30));
         contractDTO.setMarkupPercentage(10.0);
+
+        roomTypeDTO = new RoomTypeDTO(1L, "Deluxe Room", 1L, 10000L, 5, 2);
+    }
+
+    /**
+     * Creates the DTO selected by the contract projection, i.e. without room types.
+     */
+    private ContractDTO projectedContract() {
+        return new ContractDTO(contract.getId(), hotel.getId(), hotel.getName(), contract.getStartDate(),
+                contract.getEndDate(), contract.getMarkupPercentage());
+    }
+
+    /**
+     * Creates the row selected by the expiry report projection, i.e. without the days to expiry.
+     */
+    private ContractExpiryReportDTO projectedReportRow(Contract contract) {
+        return new ContractExpiryReportDTO(contract.getId(), hotel.getName(), contract.getStartDate(), contract.getEndDate());
     }
 
     @Test
     void getAllContracts_ShouldReturnAllContracts() {
         // Given
-        when(contractRepository.findAll()).thenReturn(Collections.singletonList(contract));
+        when(contractRepository.findAllContractDTOs()).thenReturn(Collections.singletonList(projectedContract()));
+        when(roomTypeRepository.findAllRoomTypeDTOs()).thenReturn(List.of(roomTypeDTO));
 
         // When
         List<ContractDTO> result = contractService.getAllContracts();
@@ -97,14 +144,16 @@ public class ContractServiceTest {
         assertEquals(contract.getStartDate(), result.get(0).getStartDate());
         assertEquals(contract.getEndDate(), result.get(0).getEndDate());
         assertEquals(contract.getMarkupPercentage(), result.get(0).getMarkupPercentage());
+        assertEquals(List.of(roomTypeDTO), result.get(0).getRoomTypes());
 
-        verify(contractRepository).findAll();
+        verify(contractRepository, never()).findAll();
     }
 
     @Test
     void getContractById_WithValidId_ShouldReturnContract() {
         // Given
-        when(contractRepository.findById(1L)).thenReturn(Optional.of(contract));
+        when(contractRepository.findContractDTOById(1L)).thenReturn(Optional.of(projectedContract()));
+        when(roomTypeRepository.findRoomTypeDTOsByContractId(1L)).thenReturn(List.of(roomTypeDTO));
 
         // When
         ContractDTO result = contractService.getContractById(1L);
@@ -114,18 +163,20 @@ public class ContractServiceTest {
         assertEquals(contract.getId(), result.getId());
         assertEquals(hotel.getId(), result.getHotelId());
         assertEquals(hotel.getName(), result.getHotelName());
+        assertEquals(List.of(roomTypeDTO), result.getRoomTypes());
 
-        verify(contractRepository).findById(1L);
+        verify(contractRepository, never()).findById(any());
     }
 
     @Test
     void getContractById_WithInvalidId_ShouldThrowException() {
         // Given
-        when(contractRepository.findById(99L)).thenReturn(Optional.empty());
+        when(contractRepository.findContractDTOById(99L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> contractService.getContractById(99L));
-        verify(contractRepository).findById(99L);
+        verify(contractRepository).findContractDTOById(99L);
+        verifyNoInteractions(roomTypeRepository);
     }
 
     @Test
@@ -147,10 +198,84 @@ public class ContractServiceTest {
         verify(contractRepository).save(any(Contract.class));
     }
 
+    @Test
+    void createContract_WithRoomTypes_ShouldSaveThemWithTheContract() {
+        // Given
+        RoomTypeDTO suite = new RoomTypeDTO(null, "Suite", null, 25000L, 2, 3);
+        contractDTO.setRoomTypes(List.of(suite));
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(hotel));
+        when(contractRepository.save(any(Contract.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ContractDTO result = contractService.createContract(contractDTO);
+
+        // Then
+        assertEquals(1, result.getRoomTypes().size());
+        assertEquals("Suite", result.getRoomTypes().get(0).getName());
+        assertEquals(25000L, result.getRoomTypes().get(0).getPricePerPersonCents());
+    }
+
+    @Test
+    void saveContractWithRoomTypes_ShouldAddUpdateAndRemoveRoomTypes() {
+        // Given
+        RoomType family = new RoomType();
+        family.setId(2L);
+        family.setName("Family Room");
+        family.setContract(contract);
+        family.setPricePerPersonCents(15000L);
+        family.setNumberOfRooms(3);
+        family.setMaxAdults(4);
+        contract.getRoomTypes().add(family);
+
+        contractDTO.setEndDate(contract.getEndDate().plusDays(30));
+        contractDTO.setRoomTypes(List.of(new RoomTypeDTO(1L, "Deluxe Room", 1L, 12000L, 5, 2),
+                                         new RoomTypeDTO(null, "Suite", null, 25000L, 2, 3)));
+        when(contractRepository.findByIdWithHotelAndRoomTypes(1L)).thenReturn(Optional.of(contract));
+        when(contractRepository.save(contract)).thenReturn(contract);
+
+        // When
+        ContractDTO result = contractService.saveContractWithRoomTypes(1L, contractDTO);
+
+        // Then
+        assertEquals(List.of("Deluxe Room", "Suite"), result.getRoomTypes().stream().map(RoomTypeDTO::getName).toList());
+        assertSame(roomType, contract.getRoomTypes().get(0));
+        assertEquals(12000L, roomType.getPricePerPersonCents());
+        assertSame(contract, contract.getRoomTypes().get(1).getContract());
+        assertEquals(contractDTO.getEndDate(), contract.getEndDate());
+
+        verify(hotelRepository, never()).findById(any());
+        // One event spans the old and the new period of the contract
+        verify(eventPublisher).publishEvent(new ContractChangedEvent(1L, contract.getStartDate(), contractDTO.getEndDate()));
+    }
+
+    @Test
+    void saveContractWithRoomTypes_WithoutHotelId_ShouldThrowException() {
+        // Given
+        contractDTO.setHotelId(null);
+
+        // When & Then
+        assertThrows(InvalidContractException.class, () -> contractService.saveContractWithRoomTypes(1L, contractDTO));
+        verify(hotelRepository, never()).findById(any());
+        verify(contractRepository, never()).save(any(Contract.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void saveContractWithRoomTypes_WithRoomTypeOfAnotherContract_ShouldThrowException() {
+        // Given
+        contractDTO.setRoomTypes(List.of(new RoomTypeDTO(42L, "Borrowed Room", 7L, 12000L, 5, 2)));
+        when(contractRepository.findByIdWithHotelAndRoomTypes(1L)).thenReturn(Optional.of(contract));
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> contractService.saveContractWithRoomTypes(1L, contractDTO));
+        verify(contractRepository, never()).save(any(Contract.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void updateContract_WithValidId_ShouldReturnUpdatedContract() {
         // Given
-        when(contractRepository.findById(1L)).thenReturn(Optional.of(contract));
+        when(contractRepository.findByIdWithHotelAndRoomTypes(1L)).thenReturn(Optional.of(contract));
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(hotel));
         when(contractRepository.save(any(Contract.class))).thenReturn(contract);
 
@@ -163,7 +288,7 @@ public class ContractServiceTest {
         assertEquals(hotel.getId(), result.getHotelId());
         assertEquals(hotel.getName(), result.getHotelName());
 
-        verify(contractRepository).findById(1L);
+        verify(contractRepository).findByIdWithHotelAndRoomTypes(1L);
         verify(hotelRepository).findById(1L);
         verify(contractRepository).save(any(Contract.class));
     }
@@ -171,36 +296,37 @@ public class ContractServiceTest {
     @Test
     void updateContract_WithInvalidId_ShouldThrowException() {
         // Given
-        when(contractRepository.findById(99L)).thenReturn(Optional.empty());
+        when(contractRepository.findByIdWithHotelAndRoomTypes(99L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> contractService.updateContract(99L, contractDTO));
-        verify(contractRepository).findById(99L);
+        verify(contractRepository).findByIdWithHotelAndRoomTypes(99L);
         verify(contractRepository, never()).save(any(Contract.class));
     }
 
     @Test
     void deleteContract_WithValidId_ShouldDeleteContract() {
         // Given
-        when(contractRepository.existsById(1L)).thenReturn(true);
+        when(contractRepository.findById(1L)).thenReturn(Optional.of(contract));
         doNothing().when(contractRepository).deleteById(1L);
 
         // When
         contractService.deleteContract(1L);
 
         // Then
-        verify(contractRepository).existsById(1L);
+        verify(contractRepository).findById(1L);
         verify(contractRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new ContractChangedEvent(1L, contract.getStartDate(), contract.getEndDate()));
     }
 
     @Test
     void deleteContract_WithInvalidId_ShouldThrowException() {
         // Given
-        when(contractRepository.existsById(99L)).thenReturn(false);
+        when(contractRepository.findById(99L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> contractService.deleteContract(99L));
-        verify(contractRepository).existsById(99L);
+        verify(contractRepository).findById(99L);
         verify(contractRepository, never()).deleteById(any());
     }
 
@@ -210,11 +336,11 @@ public class ContractServiceTest {
         LocalDate fromDate = LocalDate.now();
         LocalDate toDate = LocalDate.now().plusDays(30);
 
-        when(contractRepository.findContractsExpiringBetween(fromDate, toDate))
-                .thenReturn(Collections.singletonList(contract));
+        when(contractRepository.findContractsExpiringBetween(eq(fromDate), eq(toDate), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(projectedReportRow(contract))));
 
         // When
-        List<ContractExpiryReportDTO> result = contractService.getContractsExpiringBetween(fromDate, toDate);
+        List<ContractExpiryReportDTO> result = contractService.getContractsExpiringBetween(fromDate, toDate, 0, 10);
 
         // Then
         assertNotNull(result);
@@ -223,67 +349,124 @@ public class ContractServiceTest {
         assertEquals(hotel.getName(), result.get(0).getHotelName());
         assertEquals(contract.getStartDate(), result.get(0).getStartDate());
         assertEquals(contract.getEndDate(), result.get(0).getEndDate());
+        assertEquals(30L, result.get(0).getDaysToExpiry());
 
-        verify(contractRepository).findContractsExpiringBetween(fromDate, toDate);
+        verify(contractRepository).findContractsExpiringBetween(eq(fromDate), eq(toDate), any(Pageable.class));
     }
 
     @Test
-    void searchContracts_WithHotelName_ShouldReturnMatchingContracts() {
+    void getContractsExpiringBetween_WithCursor_ShouldReturnSliceAndNextCursor() {
         // Given
-        String hotelName = "Test";
-        LocalDate startDate = null;
-        LocalDate endDate = null;
+        LocalDate fromDate = LocalDate.now();
+        LocalDate toDate = LocalDate.now().plusDays(30);
+        Contract next = new Contract();
+        next.setId(2L);
+        next.setHotel(hotel);
+        next.setStartDate(contract.getStartDate());
+        next.setEndDate(contract.getEndDate());
 
-        when(contractRepository.findAll()).thenReturn(Collections.singletonList(contract));
+        String cursor = new KeysetCursor(fromDate, 7L).encode();
+        when(contractRepository.findContractsExpiringBetweenAfter(fromDate, toDate, fromDate, 7L, Limit.of(2)))
+                .thenReturn(List.of(projectedReportRow(contract), projectedReportRow(next)));
 
         // When
-        List<ContractDTO> result = contractService.searchContracts(hotelName, startDate, endDate);
+        KeysetSliceDTO<ContractExpiryReportDTO> result = contractService.getContractsExpiringBetween(fromDate, toDate, cursor, 1);
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(contract.getId(), result.get(0).getId());
-        assertEquals(hotel.getName(), result.get(0).getHotelName());
+        assertEquals(1, result.getContent().size());
+        assertEquals(contract.getId(), result.getContent().get(0).getContractId());
+        assertTrue(result.isHasNext());
+        assertEquals(new KeysetCursor(contract.getEndDate(), contract.getId()), KeysetCursor.decode(result.getNextCursor()));
+    }
 
-        verify(contractRepository).findAll();
+    @Test
+    void getContractsExpiringBetween_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class,
+                () -> contractService.getContractsExpiringBetween(LocalDate.now(), LocalDate.now(), "not-a-cursor", 10));
+        verifyNoInteractions(contractRepository);
     }
 
     @Test
-    void searchContracts_WithDateRange_ShouldReturnMatchingContracts() {
+    void listContracts_ShouldReturnSliceWithRoomTypesAndNextCursor() {
         // Given
-        String hotelName = null;
-        LocalDate startDate = LocalDate.now().minusDays(10);
-        LocalDate endDate = LocalDate.now().plusDays(30);
+        LocalDate activeOn = LocalDate.now();
+        ContractDTO next = new ContractDTO(2L, hotel.getId(), hotel.getName(), contract.getStartDate(),
+                contract.getEndDate(), contract.getMarkupPercentage());
+        when(catalogListingRepository.findContracts(1L, activeOn, ContractSort.END_DATE, false, null, null, 2))
+                .thenReturn(List.of(projectedContract(), next));
+        when(roomTypeRepository.findRoomTypeDTOsByContractIdIn(List.of(contract.getId()))).thenReturn(List.of(roomTypeDTO));
+
+        // When
+        KeysetSliceDTO<ContractDTO> result = contractService.listContracts(1L, activeOn, ContractSort.END_DATE,
+                Sort.Direction.ASC, null, 1);
 
-        when(contractRepository.findAll()).thenReturn(Collections.singletonList(contract));
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertEquals(List.of(roomTypeDTO), result.getContent().get(0).getRoomTypes());
+        assertTrue(result.isHasNext());
+        assertEquals(new ListingCursor("END_DATE", Sort.Direction.ASC, contract.getId(), contract.getEndDate().toString()),
+                ListingCursor.decode(result.getNextCursor(), "END_DATE", Sort.Direction.ASC));
+    }
+
+    @Test
+    void listContracts_WithCursorOfAnotherSortOrder_ShouldThrowException() {
+        String cursor = new ListingCursor("END_DATE", Sort.Direction.ASC, 1L, LocalDate.now().toString()).encode();
+
+        assertThrows(InvalidCursorException.class, () ->
+                contractService.listContracts(null, null, ContractSort.START_DATE, Sort.Direction.ASC, cursor, 10));
+        verifyNoInteractions(catalogListingRepository);
+    }
+
+    @Test
+    void searchContracts_WithHotelName_ShouldSearchByTrigrams() {
+        // Given
+        when(contractRepository.searchByHotelNameTrigrams(eq(Set.of("tes", "est")), eq(2L), eq("%test%"), isNull(), isNull(), any()))
+                .thenReturn(new PageImpl<>(Collections.singletonList(projectedContract())));
+        when(roomTypeRepository.findRoomTypeDTOsByContractIdIn(List.of(contract.getId())))
+                .thenReturn(List.of(roomTypeDTO));
 
         // When
-        List<ContractDTO> result = contractService.searchContracts(hotelName, startDate, endDate);
+        Page<ContractDTO> result = contractService.searchContracts(" TEST ", null, null, 0, 10);
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(contract.getId(), result.get(0).getId());
-
-        verify(contractRepository).findAll();
+        assertEquals(1, result.getContent().size());
+        assertEquals(contract.getId(), result.getContent().get(0).getId());
+        assertEquals(hotel.getName(), result.getContent().get(0).getHotelName());
+        assertEquals(List.of(roomTypeDTO), result.getContent().get(0).getRoomTypes());
+        verify(contractRepository, never()).findAll();
     }
 
     @Test
-    void searchContracts_WithNoMatchingContracts_ShouldReturnEmptyList() {
+    void searchContracts_WithDateRange_ShouldPushDatesIntoTheQuery() {
         // Given
-        String hotelName = "NonExistent";
-        LocalDate startDate = null;
-        LocalDate endDate = null;
+        LocalDate startDate = LocalDate.now().minusDays(10);
+        LocalDate endDate = LocalDate.now().plusDays(30);
+        when(contractRepository.searchByHotelName("%%", startDate, endDate, PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(projectedContract())));
+        when(roomTypeRepository.findRoomTypeDTOsByContractIdIn(List.of(contract.getId())))
+                .thenReturn(List.of());
 
-        when(contractRepository.findAll()).thenReturn(Collections.singletonList(contract));
+        // When
+        Page<ContractDTO> result = contractService.searchContracts(null, startDate, endDate, 0, 10);
+
+        // Then
+        assertEquals(1, result.getContent().size());
+        assertEquals(contract.getId(), result.getContent().get(0).getId());
+    }
+
+    @Test
+    void searchContracts_WithShortNameAndOneDate_ShouldMatchNameOnly() {
+        // Given: too short for trigrams, and a single date does not restrict the period
+        when(contractRepository.searchByHotelName(eq("%a!_%"), isNull(), isNull(), any()))
+                .thenReturn(Page.empty());
 
         // When
-        List<ContractDTO> result = contractService.searchContracts(hotelName, startDate, endDate);
+        Page<ContractDTO> result = contractService.searchContracts("A_", LocalDate.now(), null, 0, 10);
 
         // Then
-        assertNotNull(result);
         assertTrue(result.isEmpty());
-
-        verify(contractRepository).findAll();
+        verifyNoInteractions(roomTypeRepository);
+        verify(contractRepository, never()).searchByHotelNameTrigrams(any(), anyLong(), any(), any(), any(), any());
     }
-}
\ No newline at end of file
+}
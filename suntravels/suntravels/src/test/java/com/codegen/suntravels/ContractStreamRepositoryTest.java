@@ -0,0 +1,118 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractStreamRepository;
+import com.codegen.suntravels.service.ContractSnapshot;
+import com.codegen.suntravels.service.RoomTypeSnapshot;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ContractStreamRepository.class, SearchOfferProjector.class})
+@TestPropertySource(properties = "suntravels.search.stream.fetch-size=2")
+public class ContractStreamRepositoryTest {
+
+    @Autowired
+    private ContractStreamRepository contractStreamRepository;
+
+    @Autowired
+    private SearchOfferProjector searchOfferProjector;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDate today;
+    private Contract current;
+    private Contract expired;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Test Hotel");
+        entityManager.persist(hotel);
+
+        current = contract(hotel, today, today.plusMonths(6));
+        entityManager.persist(roomType(current, "Single Room", 1, 10));
+        entityManager.persist(roomType(current, "Double Room", 2, 10));
+        entityManager.persist(roomType(current, "Family Room", 4, 1));
+
+        expired = contract(hotel, today.minusMonths(6), today.minusDays(1));
+        entityManager.persist(roomType(expired, "Double Room", 2, 10));
+        entityManager.flush();
+        searchOfferProjector.rebuild();
+    }
+
+    @Test
+    public void testStreamValidContracts() {
+        // Act
+        List<ContractSnapshot> streamed = new ArrayList<>();
+        contractStreamRepository.streamValidContracts(today.plusDays(1), today.plusDays(4), 2, 2, streamed::add);
+
+        // Assert
+        assertThat(streamed).hasSize(1);
+        ContractSnapshot contract = streamed.get(0);
+        assertThat(contract.id()).isEqualTo(current.getId());
+        assertThat(contract.hotelName()).isEqualTo("Test Hotel");
+        assertThat(contract.markupBasisPoints()).isEqualTo(1000L);
+        assertThat(contract.roomTypes()).extracting(RoomTypeSnapshot::name).containsExactly("Double Room");
+        assertThat(contract.roomTypes()).extracting(RoomTypeSnapshot::ratePerPersonCents).containsExactly(11000L);
+    }
+
+    @Test
+    public void testStreamValidContractsGroupsRoomTypesPerContract() {
+        // Arrange
+        Contract overlapping = contract(current.getHotel(), today.minusMonths(1), today.plusMonths(1));
+        entityManager.persist(roomType(overlapping, "Suite", 2, 3));
+        entityManager.flush();
+        searchOfferProjector.rebuild();
+
+        // Act
+        List<ContractSnapshot> streamed = new ArrayList<>();
+        contractStreamRepository.streamValidContracts(today.plusDays(1), today.plusDays(4), 1, 1, streamed::add);
+
+        // Assert
+        assertThat(streamed).extracting(ContractSnapshot::id).containsExactly(current.getId(), overlapping.getId());
+        assertThat(streamed.get(0).roomTypes()).hasSize(3);
+        assertThat(streamed.get(1).roomTypes()).extracting(RoomTypeSnapshot::name).containsExactly("Suite");
+    }
+
+    private Contract contract(Hotel hotel, LocalDate startDate, LocalDate endDate) {
+        Contract contract = new Contract();
+        contract.setHotel(hotel);
+        contract.setStartDate(startDate);
+        contract.setEndDate(endDate);
+        contract.setMarkupPercentage(10.0);
+        entityManager.persist(contract);
+        return contract;
+    }
+
+    private RoomType roomType(Contract contract, String name, int maxAdults, int numberOfRooms) {
+        RoomType roomType = new RoomType();
+        roomType.setName(name);
+        roomType.setContract(contract);
+        roomType.setPricePerPerson(100.0);
+        roomType.setNumberOfRooms(numberOfRooms);
+        roomType.setMaxAdults(maxAdults);
+        return roomType;
+    }
+}
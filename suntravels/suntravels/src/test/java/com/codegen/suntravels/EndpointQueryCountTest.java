@@ -0,0 +1,392 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.generator.CatalogGenerator;
+import com.codegen.suntravels.generator.CatalogSpec;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Caps the number of SQL statements Hibernate issues for every REST endpoint, with a catalog of 10 and
+ * of 1000 hotels. Each hotel has one contract with three room types. The caps are the same at both
+ * sizes, so an N+1 coming back into any read or write path fails the build rather than showing up
+ * under load.
+ *
+ * <p>Searches go to the database, with the availability index and the result cache disabled. The
+ * streamed search reads through a JDBC cursor outside of Hibernate, so its cap of zero only proves that
+ * no entity is loaded along the way. Searches read the "search_offers" read model, which the writes keep
+ * up to date through the {@link SearchOfferProjector} with JDBC statements that are not counted here.</p>
+ */
+@SpringBootTest(properties = {
+        "suntravels.search.availability-index.enabled=false",
+        "suntravels.search.cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EndpointQueryCountTest {
+
+    private static final LocalDate START_DATE = LocalDate.now().plusDays(30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private SearchOfferProjector searchOfferProjector;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Nested
+    class WithTenHotels extends Endpoints {
+
+        WithTenHotels() {
+            super(10);
+        }
+    }
+
+    @Nested
+    class WithThousandHotels extends Endpoints {
+
+        WithThousandHotels() {
+            super(1000);
+        }
+    }
+
+    /**
+     * The endpoints, run against a catalog generated once for all of them. Writes create rows or target
+     * the first or the last row of a table, so the other endpoints keep finding a catalog of the same shape.
+     */
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    abstract class Endpoints {
+
+        private final int hotels;
+
+        Endpoints(int hotels) {
+            this.hotels = hotels;
+        }
+
+        /**
+         * Generates one contract with three room types per hotel. Every contract covers the first night
+         * after {@link #START_DATE}.
+         */
+        @BeforeAll
+        void seed() {
+            new CatalogGenerator(jdbcTemplate, transactionManager, 500)
+                    .generate(new CatalogSpec(42, hotels, 1, 1, 120, 120, 3, 3, 5000, 50000, 1.0, START_DATE));
+            searchOfferProjector.rebuild();
+            entityCacheService.evictAll();
+        }
+
+        @AfterAll
+        void clear() {
+            for (String table : List.of("search_offers", "room_allocations", "room_types", "contracts", "hotel_name_trigrams", "hotels")) {
+                jdbcTemplate.update("DELETE FROM " + table);
+            }
+            entityCacheService.evictAll();
+        }
+
+        // Contracts
+
+        @Test
+        void getAllContracts() throws Exception {
+            // The contracts with their hotel's name, then all room types
+            assertStatements(get("/api/contracts/getallcontracts"), 2);
+        }
+
+        @Test
+        void listContracts() throws Exception {
+            // The slice of contracts with their hotel's name, then the slice's room types
+            assertStatements(get("/api/contracts/list").param("sort", "END_DATE").param("size", "50"), 2);
+        }
+
+        @Test
+        void getContractById() throws Exception {
+            // The contract with its hotel, then its room types
+            assertStatements(get("/api/contracts/{id}", firstId("contracts")), 2);
+        }
+
+        @Test
+        void createContract() throws Exception {
+            ContractDTO contract = new ContractDTO();
+            contract.setHotelId(firstId("hotels"));
+            contract.setStartDate(START_DATE);
+            contract.setEndDate(START_DATE.plusMonths(6));
+            contract.setMarkupPercentage(12.5);
+            assertStatements(post("/api/contracts/createcontract").contentType(MediaType.APPLICATION_JSON)
+                                                                  .content(objectMapper.writeValueAsString(contract)), 3);
+        }
+
+        @Test
+        void updateContract() throws Exception {
+            ContractDTO contract = new ContractDTO();
+            contract.setHotelId(firstId("hotels"));
+            contract.setStartDate(START_DATE.minusDays(10));
+            contract.setEndDate(START_DATE.plusMonths(6));
+            contract.setMarkupPercentage(12.5);
+            assertStatements(put("/api/contracts/updatecontract/{id}", firstId("contracts"))
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content(objectMapper.writeValueAsString(contract)), 4);
+        }
+
+        @Test
+        void saveContractWithRoomTypes() throws Exception {
+            long contractId = firstId("contracts");
+            ContractDTO contract = objectMapper.readValue(mockMvc.perform(get("/api/contracts/{id}", contractId))
+                                                                 .andReturn().getResponse().getContentAsString(), ContractDTO.class);
+            contract.setMarkupPercentage(contract.getMarkupPercentage() + 1);
+            contract.getRoomTypes().forEach(roomType -> roomType.setNumberOfRooms(roomType.getNumberOfRooms() + 1));
+            contract.getRoomTypes().remove(contract.getRoomTypes().size() - 1);
+            for (int i = 0; i < 10; i++) {
+                contract.getRoomTypes().add(roomType());
+            }
+            // The contract with its hotel and room types, one batch each for the contract and the added, changed
+            // and removed room types, then the contract and allocations reloaded by the inventory ledger. Blocks of
+            // IDs are reserved on a connection of their own, and not counted
+            assertStatements(put("/api/contracts/{id}/full", contractId).contentType(MediaType.APPLICATION_JSON)
+                                                                         .content(objectMapper.writeValueAsString(contract)), 7);
+        }
+
+        @Test
+        void deleteContract() throws Exception {
+            ContractDTO contract = new ContractDTO();
+            contract.setHotelId(firstId("hotels"));
+            contract.setStartDate(START_DATE);
+            contract.setEndDate(START_DATE.plusMonths(6));
+            contract.setMarkupPercentage(12.5);
+            contract.setRoomTypes(List.of(roomType(), roomType(), roomType()));
+            ContractDTO created = objectMapper.readValue(
+                    mockMvc.perform(post("/api/contracts/createcontract").contentType(MediaType.APPLICATION_JSON)
+                                                                         .content(objectMapper.writeValueAsString(contract)))
+                           .andReturn().getResponse().getContentAsString(), ContractDTO.class);
+            // The room types of the contract are deleted in one batch
+            assertStatements(delete("/api/contracts/deletecontract/{id}", created.getId()), 4);
+        }
+
+        @Test
+        void getContractsExpiringBetween() throws Exception {
+            assertStatements(get("/api/contracts/expiring").param("fromDate", START_DATE.toString())
+                                                           .param("toDate", START_DATE.plusYears(1).toString()), 2);
+        }
+
+        @Test
+        void searchContractsByHotelName() throws Exception {
+            // The page of contracts with their hotel, its count and the room types of the page
+            assertStatements(get("/api/contracts/search").param("hotelName", "Hotel"), 3);
+        }
+
+        @Test
+        void searchContractsByPeriod() throws Exception {
+            assertStatements(get("/api/contracts/search").param("startDate", START_DATE.toString())
+                                                         .param("endDate", START_DATE.plusDays(1).toString()), 3);
+        }
+
+        // Hotels
+
+        @Test
+        void getAllHotels() throws Exception {
+            assertStatements(get("/api/hotels/getallhotels"), 1);
+        }
+
+        @Test
+        void listHotels() throws Exception {
+            assertStatements(get("/api/hotels/list").param("sort", "NAME").param("size", "50"), 1);
+        }
+
+        @Test
+        void getHotelById() throws Exception {
+            assertStatements(get("/api/hotels/{id}", firstId("hotels")), 1);
+        }
+
+        @Test
+        void createHotel() throws Exception {
+            // The hotel, then all of its name trigrams in one batch
+            assertStatements(post("/api/hotels/createhotel").contentType(MediaType.APPLICATION_JSON)
+                                                            .content(objectMapper.writeValueAsString(hotel())), 2);
+        }
+
+        @Test
+        void updateHotel() throws Exception {
+            assertStatements(put("/api/hotels/updatehotel/{id}", firstId("hotels"))
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content(objectMapper.writeValueAsString(hotel())), 6);
+        }
+
+        @Test
+        void deleteHotel() throws Exception {
+            assertStatements(delete("/api/hotels/deletehotel/{id}", lastId("hotels")), 9);
+        }
+
+        // Room types
+
+        @Test
+        void getRoomTypesByContractId() throws Exception {
+            assertStatements(get("/api/room-types/contract/{contractId}", firstId("contracts")), 1);
+        }
+
+        @Test
+        void getRoomTypeById() throws Exception {
+            assertStatements(get("/api/room-types/get-room-type-by-id/{id}", firstId("room_types")), 1);
+        }
+
+        @Test
+        void createRoomType() throws Exception {
+            RoomTypeDTO roomType = roomType();
+            roomType.setContractId(firstId("contracts"));
+            assertStatements(post("/api/room-types/create-room-type").contentType(MediaType.APPLICATION_JSON)
+                                                                     .content(objectMapper.writeValueAsString(roomType)), 4);
+        }
+
+        @Test
+        void updateRoomType() throws Exception {
+            assertStatements(put("/api/room-types/update-room-type/{id}", firstId("room_types"))
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content(objectMapper.writeValueAsString(roomType())), 4);
+        }
+
+        @Test
+        void deleteRoomType() throws Exception {
+            assertStatements(delete("/api/room-types/delete-room-type/{id}", lastId("room_types")), 4);
+        }
+
+        // Searches
+
+        @Test
+        void searchRooms() throws Exception {
+            // The offers of the page of contracts, then its count
+            assertStatements(post("/api/search").param("size", "20").contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(searchRequest())), 2);
+        }
+
+        @Test
+        void searchRoomsByCursor() throws Exception {
+            assertStatements(post("/api/search/cursor").param("size", "20").contentType(MediaType.APPLICATION_JSON)
+                                                       .content(objectMapper.writeValueAsString(searchRequest())), 1);
+        }
+
+        @Test
+        void searchRoomsInBatch() throws Exception {
+            SearchRequestDTO laterStay = searchRequest();
+            laterStay.setCheckInDate(START_DATE.plusDays(1));
+            assertStatements(post("/api/search/batch").contentType(MediaType.APPLICATION_JSON)
+                                                      .content(objectMapper.writeValueAsString(List.of(searchRequest(), laterStay))), 1);
+        }
+
+        @Test
+        void streamRooms() throws Exception {
+            Statistics statistics = statistics();
+            statistics.clear();
+            MvcResult started = mockMvc.perform(post("/api/search/stream").contentType(MediaType.APPLICATION_JSON)
+                                                                          .content(objectMapper.writeValueAsString(searchRequest())))
+                                       .andExpect(request().asyncStarted())
+                                       .andReturn();
+            mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+            assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued by Hibernate").isZero();
+        }
+
+        @Test
+        void getCacheStats() throws Exception {
+            assertStatements(get("/api/search/cache/stats"), 0);
+        }
+
+        // Reports
+
+        @Test
+        void getContractsExpiringReport() throws Exception {
+            assertStatements(get("/api/reports/contracts/expiring").param("fromDate", START_DATE.toString())
+                                                                   .param("toDate", START_DATE.plusYears(1).toString()), 1);
+        }
+
+        @Test
+        void getRoomAvailabilityReport() throws Exception {
+            assertStatements(get("/api/reports/availability").param("fromDate", START_DATE.toString())
+                                                             .param("toDate", START_DATE.plusDays(1).toString()), 2);
+        }
+    }
+
+    private void assertStatements(RequestBuilder request, long max) throws Exception {
+        Statistics statistics = statistics();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements issued by Hibernate").isLessThanOrEqualTo(max);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long firstId(String table) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM " + table, Long.class);
+    }
+
+    private long lastId(String table) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+    }
+
+    private static HotelDTO hotel() {
+        HotelDTO hotel = new HotelDTO();
+        hotel.setName("Hotel Query Count");
+        hotel.setLocation("Galle, Sri Lanka");
+        hotel.setContactDetails("+94 91 1234567");
+        return hotel;
+    }
+
+    private static RoomTypeDTO roomType() {
+        RoomTypeDTO roomType = new RoomTypeDTO();
+        roomType.setName("Deluxe Double Room");
+        roomType.setPricePerPerson(120.0);
+        roomType.setNumberOfRooms(8);
+        roomType.setMaxAdults(2);
+        return roomType;
+    }
+
+    private static SearchRequestDTO searchRequest() {
+        return new SearchRequestDTO(START_DATE, 1, List.of(new RoomRequestDTO(2, 1)));
+    }
+}
@@ -0,0 +1,226 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.CacheRegionStatsDTO;
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.ContractExpiryReportDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.RoomTypeService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "suntravels.search.availability-index.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EntityCacheTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2026, 6, 30);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private long hotelId;
+    private long contractId;
+
+    @BeforeEach
+    void setUp() {
+        inTransaction(() -> {
+            Hotel hotel = new Hotel();
+            hotel.setName("Cached Hotel");
+            hotel.setLocation("Galle");
+            hotel = hotelRepository.save(hotel);
+
+            Contract contract = new Contract();
+            contract.setHotel(hotel);
+            contract.setStartDate(START_DATE);
+            contract.setEndDate(END_DATE);
+            contract.setMarkupPercentage(15.0);
+            contract.getRoomTypes().add(roomType(contract, "Single Room", 1));
+            contract.getRoomTypes().add(roomType(contract, "Double Room", 2));
+            contract.getRoomTypes().add(roomType(contract, "Family Room", 4));
+            contract = contractRepository.save(contract);
+
+            hotelId = hotel.getId();
+            contractId = contract.getId();
+            return null;
+        });
+        entityCacheService.evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotelService.deleteHotel(hotelId); // also removes the search offers written by the room type tests
+    }
+
+    @Test
+    void findById_ShouldBeServedFromTheCacheOnceLoaded() {
+        assertThat(loadRoomTypeNames()).hasSize(3);
+        statistics.clear();
+
+        assertThat(loadRoomTypeNames()).containsExactlyInAnyOrder("Single Room", "Double Room", "Family Room");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(6); // contract, hotel, collection, room types
+    }
+
+    @Test
+    void createAndDeleteRoomType_ShouldEvictTheCachedRoomTypesOfTheContract() {
+        loadRoomTypeNames();
+
+        RoomTypeDTO suite = new RoomTypeDTO();
+        suite.setName("Suite");
+        suite.setContractId(contractId);
+        suite.setPricePerPersonCents(25000L);
+        suite.setNumberOfRooms(1);
+        suite.setMaxAdults(3);
+        RoomTypeDTO created = roomTypeService.createRoomType(suite);
+
+        assertThat(loadRoomTypeNames()).contains("Suite").hasSize(4);
+
+        roomTypeService.deleteRoomType(created.getId());
+
+        assertThat(loadRoomTypeNames()).doesNotContain("Suite").hasSize(3);
+    }
+
+    @Test
+    void expiryReport_ShouldBeServedFromTheQueryCacheUntilTheContractChanges() {
+        LocalDate from = END_DATE.minusDays(10);
+        LocalDate to = END_DATE.plusDays(10);
+        assertThat(contractService.getContractsExpiringBetween(from, to, 0, 10))
+                .extracting(ContractExpiryReportDTO::getContractId)
+                .containsExactly(contractId);
+        statistics.clear();
+
+        assertThat(contractService.getContractsExpiringBetween(from, to, 0, 10)).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        ContractDTO extended = contractService.getContractById(contractId);
+        extended.setEndDate(END_DATE.plusMonths(3));
+        inTransaction(() -> contractService.updateContract(contractId, extended));
+
+        assertThat(contractService.getContractsExpiringBetween(from, to, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void regionStats_ShouldCountHitsAndEvictAllShouldEmptyTheRegions() throws Exception {
+        loadRoomTypeNames();
+        loadRoomTypeNames();
+
+        String body = mockMvc.perform(get("/api/diagnostics/cache"))
+                             .andExpect(status().isOk())
+                             .andReturn().getResponse().getContentAsString();
+        List<CacheRegionStatsDTO> regions = objectMapper.readValue(body, new TypeReference<>() { });
+        assertThat(regions).filteredOn(region -> region.getRegion().equals("contracts"))
+                           .singleElement()
+                           .satisfies(region -> {
+                               assertThat(region.getHitCount()).isEqualTo(1);
+                               assertThat(region.getMissCount()).isEqualTo(1);
+                               assertThat(region.getHitRate()).isEqualTo(0.5);
+                           });
+
+        mockMvc.perform(delete("/api/diagnostics/cache")).andExpect(status().isNoContent());
+        statistics.clear();
+
+        loadRoomTypeNames();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+    }
+
+    @Test
+    void applicationConf_ShouldConfigureEveryRegion() {
+        Config config = ConfigFactory.load();
+
+        for (String region : List.of("hotels", "contracts", "room-types", "contract-room-types",
+                "contract-date-range-queries", "default-query-results-region", "default-update-timestamps-region")) {
+            assertThat(TypesafeConfigurator.from(config, region)).as(region).isPresent();
+        }
+        assertThat(TypesafeConfigurator.from(config, "room-types").orElseThrow().getMaximumSize()).hasValue(500000);
+    }
+
+    /**
+     * Loads the contract, its hotel and its room types in a transaction of their own.
+     */
+    private List<String> loadRoomTypeNames() {
+        return inTransaction(() -> {
+            Contract contract = contractRepository.findById(contractId).orElseThrow();
+            assertThat(contract.getHotel().getName()).isEqualTo("Cached Hotel");
+            return contract.getRoomTypes().stream().map(RoomType::getName).toList();
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static RoomType roomType(Contract contract, String name, int maxAdults) {
+        RoomType roomType = new RoomType();
+        roomType.setName(name);
+        roomType.setContract(contract);
+        roomType.setPricePerPersonCents(10000L);
+        roomType.setNumberOfRooms(5);
+        roomType.setMaxAdults(maxAdults);
+        return roomType;
+    }
+}
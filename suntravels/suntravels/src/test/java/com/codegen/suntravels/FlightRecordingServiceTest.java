@@ -0,0 +1,108 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.RecordingStatusDTO;
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.exception.InvalidRecordingSettingsException;
+import com.codegen.suntravels.exception.RecordingStateException;
+import com.codegen.suntravels.jfr.DtoConversionEvent;
+import com.codegen.suntravels.jfr.RepositoryQueryEvent;
+import com.codegen.suntravels.jfr.SearchEvent;
+import com.codegen.suntravels.service.FlightRecordingService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FlightRecordingServiceTest {
+
+    private final FlightRecordingService flightRecordingService =
+            new FlightRecordingService("default", Duration.ofMinutes(1), 10 * 1024 * 1024, Duration.ofMinutes(5), 20 * 1024 * 1024);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (flightRecordingService.getStatus().isRunning()) {
+            Files.deleteIfExists(flightRecordingService.stop());
+        }
+    }
+
+    @Test
+    void stop_ShouldDumpTheApplicationEventsRecordedSinceStart() throws Exception {
+        RecordingStatusDTO status = flightRecordingService.start(null, null);
+        assertThat(status.isRunning()).isTrue();
+        assertThat(status.getMaxAgeSeconds()).isEqualTo(60);
+
+        SearchRequestDTO searchRequest = new SearchRequestDTO(LocalDate.of(2026, 3, 1), 3,
+                List.of(new RoomRequestDTO(2, 2), new RoomRequestDTO(3, 1)));
+        SearchEvent search = SearchEvent.begin("page", searchRequest);
+        search.scanned(12);
+        search.end(4);
+        RepositoryQueryEvent query = RepositoryQueryEvent.begin("ContractRepository", "findValidContracts");
+        query.end(12);
+        DtoConversionEvent conversion = DtoConversionEvent.begin(SearchRequestDTO.class);
+        conversion.end(7L, 2);
+
+        Path file = flightRecordingService.stop();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                                                      .filter(e -> e.getEventType().getName().startsWith("com.codegen.suntravels."))
+                                                      .toList();
+
+            RecordedEvent recordedSearch = events.stream()
+                                                 .filter(e -> e.getEventType().getName().equals("com.codegen.suntravels.Search"))
+                                                 .findFirst().orElseThrow();
+            assertThat(recordedSearch.getString("operation")).isEqualTo("page");
+            assertThat(recordedSearch.getString("checkInDate")).isEqualTo("2026-03-01");
+            assertThat(recordedSearch.getInt("nights")).isEqualTo(3);
+            assertThat(recordedSearch.getInt("rooms")).isEqualTo(3);
+            assertThat(recordedSearch.getInt("adults")).isEqualTo(7);
+            assertThat(recordedSearch.getInt("contractsScanned")).isEqualTo(12);
+            assertThat(recordedSearch.getInt("results")).isEqualTo(4);
+            assertThat(recordedSearch.getBoolean("cached")).isFalse();
+
+            assertThat(events).extracting(e -> e.getEventType().getName())
+                              .contains("com.codegen.suntravels.RepositoryQuery", "com.codegen.suntravels.DtoConversion");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertThat(flightRecordingService.getStatus().isRunning()).isFalse();
+    }
+
+    @Test
+    void start_ShouldThrowException_WhenARecordingIsRunning() {
+        flightRecordingService.start(null, null);
+
+        assertThatThrownBy(() -> flightRecordingService.start(null, null)).isInstanceOf(RecordingStateException.class);
+    }
+
+    @Test
+    void stop_ShouldThrowException_WhenNoRecordingIsRunning() {
+        assertThatThrownBy(flightRecordingService::stop).isInstanceOf(RecordingStateException.class);
+    }
+
+    @Test
+    void start_ShouldRejectAWindowThatIsUnboundedOrAboveTheLimits() {
+        assertThatThrownBy(() -> flightRecordingService.start(Duration.ofMinutes(6), null))
+                .isInstanceOf(InvalidRecordingSettingsException.class);
+        assertThatThrownBy(() -> flightRecordingService.start(Duration.ZERO, null))
+                .isInstanceOf(InvalidRecordingSettingsException.class);
+        assertThatThrownBy(() -> flightRecordingService.start(null, 20L * 1024 * 1024 + 1))
+                .isInstanceOf(InvalidRecordingSettingsException.class);
+        assertThatThrownBy(() -> flightRecordingService.start(null, 0L))
+                .isInstanceOf(InvalidRecordingSettingsException.class);
+        assertThat(flightRecordingService.getStatus().isRunning()).isFalse();
+
+        RecordingStatusDTO status = flightRecordingService.start(Duration.ofMinutes(5), 20L * 1024 * 1024);
+        assertThat(status.getMaxAgeSeconds()).isEqualTo(300);
+        assertThat(status.getMaxSizeBytes()).isEqualTo(20L * 1024 * 1024);
+    }
+}
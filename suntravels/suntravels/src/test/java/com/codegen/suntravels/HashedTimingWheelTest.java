@@ -0,0 +1,98 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.service.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HashedTimingWheelTest {
+
+    private final List<String> expired = new CopyOnWriteArrayList<>();
+    private HashedTimingWheel<String> wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    @Test
+    void schedule_ShouldExpireTasksInTheOrderOfTheirDelays() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        wheel = new HashedTimingWheel<>("test-wheel", Duration.ofMillis(10), 8, task -> {
+            expired.add(task);
+            latch.countDown();
+        });
+
+        long start = System.nanoTime();
+        wheel.schedule("late", Duration.ofMillis(300));
+        wheel.schedule("now", Duration.ofMillis(-5));
+        wheel.schedule("soon", Duration.ofMillis(50));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(expired).containsExactly("now", "soon", "late");
+        // The 300 ms delay spans several turns of the 80 ms wheel
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancel_ShouldKeepATaskFromExpiring() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HashedTimingWheel<>("test-wheel", Duration.ofMillis(10), 8, task -> {
+            expired.add(task);
+            latch.countDown();
+        });
+
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", Duration.ofMillis(30));
+        HashedTimingWheel.Timeout<String> kept = wheel.schedule("kept", Duration.ofMillis(100));
+        assertThat(wheel.size()).isEqualTo(2);
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(expired).containsExactly("kept");
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(kept.isExpired()).isTrue();
+        assertThat(kept.cancel()).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_ShouldKeepTicksAfterAFailingTask() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HashedTimingWheel<>("test-wheel", Duration.ofMillis(10), 4, task -> {
+            if (task.equals("failing")) {
+                throw new IllegalStateException("Expected by the test");
+            }
+            latch.countDown();
+        });
+
+        wheel.schedule("failing", Duration.ofMillis(10));
+        wheel.schedule("next", Duration.ofMillis(40));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void schedule_ShouldBeRefusedOnceClosed() {
+        wheel = new HashedTimingWheel<>("test-wheel", Duration.ofMillis(10), 8, expired::add);
+        wheel.schedule("dropped", Duration.ofHours(1));
+        wheel.close();
+
+        assertThatThrownBy(() -> wheel.schedule("refused", Duration.ZERO)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new HashedTimingWheel<String>("test-wheel", Duration.ZERO, 8, expired::add))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(expired).isEmpty();
+    }
+}
@@ -0,0 +1,289 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.BookingDTO;
+import com.codegen.suntravels.dto.BookingRequestDTO;
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HoldBookingRequestDTO;
+import com.codegen.suntravels.dto.HoldDTO;
+import com.codegen.suntravels.dto.HoldRequestDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.dto.RoomTypeResultDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.event.InventoryChangedEvent;
+import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.exception.RoomsUnavailableException;
+import com.codegen.suntravels.model.RoomHold;
+import com.codegen.suntravels.repository.RoomHoldRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import com.codegen.suntravels.service.AvailabilityIndex;
+import com.codegen.suntravels.service.BookingService;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.HoldService;
+import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.InventoryLedger;
+import com.codegen.suntravels.service.RoomTypeService;
+import com.codegen.suntravels.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "suntravels.holds.ttl=PT3S",
+        "suntravels.holds.tick=PT0.05S",
+        "suntravels.holds.wheel-size=16",
+        "suntravels.search.cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class HoldServiceTest {
+
+    private static final LocalDate START_DATE = LocalDate.now();
+    private static final LocalDate CHECK_IN = START_DATE.plusDays(5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomHoldRepository roomHoldRepository;
+
+    @Autowired
+    private InventoryLedger inventoryLedger;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RoomTypeDTO doubleRoom;
+
+    @BeforeEach
+    void setUp() {
+        HotelDTO hotel = new HotelDTO();
+        hotel.setName("Palm Beach Resort");
+        hotel.setLocation("Galle");
+        hotel = hotelService.createHotel(hotel);
+
+        ContractDTO contract = new ContractDTO();
+        contract.setHotelId(hotel.getId());
+        contract.setStartDate(START_DATE);
+        contract.setEndDate(START_DATE.plusDays(60));
+        contract.setMarkupPercentage(10.0);
+        contract = contractService.createContract(contract);
+
+        RoomTypeDTO roomType = new RoomTypeDTO();
+        roomType.setName("Double Room");
+        roomType.setContractId(contract.getId());
+        roomType.setPricePerPersonCents(1999L);
+        roomType.setNumberOfRooms(20);
+        roomType.setMaxAdults(2);
+        doubleRoom = roomTypeService.createRoomType(roomType);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("bookings", "room_holds", "search_offers", "room_allocations", "room_types", "contracts", "hotel_name_trigrams", "hotels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityCacheService.evictAll();
+        availabilityIndex.rebuild();
+        inventoryLedger.rebuild();
+    }
+
+    @Test
+    void createHold_ShouldTakeTheRoomsFromSearchesAndBookings() throws Exception {
+        assertThat(availableRooms()).isEqualTo(20);
+
+        mockMvc.perform(post("/api/holds").contentType(MediaType.APPLICATION_JSON)
+                                          .content(objectMapper.writeValueAsString(hold(18))))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.roomTypeId").value(doubleRoom.getId()))
+               .andExpect(jsonPath("$.checkOutDate").value(CHECK_IN.plusDays(2).toString()))
+               .andExpect(jsonPath("$.expiresAt").exists());
+
+        assertThat(availableRooms()).isEqualTo(2);
+        assertThat(allocated()).containsOnly(18);
+        assertThatThrownBy(() -> bookingService.createBooking(
+                new BookingRequestDTO(doubleRoom.getId(), CHECK_IN.plusDays(1), 1, 3, 2, "Jane Perera")))
+                .isInstanceOf(RoomsUnavailableException.class);
+        mockMvc.perform(post("/api/holds").contentType(MediaType.APPLICATION_JSON)
+                                          .content(objectMapper.writeValueAsString(hold(3))))
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createHold_ShouldGiveTheRoomsBackOnceItExpires() {
+        GiveBackThreads.NAMES.clear();
+        int scheduled = holdService.scheduledExpiries();
+        HoldDTO hold = holdService.createHold(hold(5));
+        assertThat(availableRooms()).isEqualTo(15);
+        assertThat(holdService.scheduledExpiries()).isEqualTo(scheduled + 1);
+        assertThat(hold.getExpiresAt()).isAfter(hold.getCreatedAt().plusSeconds(2));
+
+        await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> assertThat(roomHoldRepository.existsById(hold.getId())).isFalse());
+
+        assertThat(availableRooms()).isEqualTo(20);
+        assertThat(allocated()).containsOnly(0);
+        assertThat(holdService.scheduledExpiries()).isEqualTo(scheduled);
+        assertThatThrownBy(() -> holdService.getHoldById(hold.getId())).isInstanceOf(ResourceNotFoundException.class);
+        // The wheel's thread only queues the hold; the database work runs on the task executor
+        assertThat(GiveBackThreads.NAMES).isNotEmpty().doesNotContain("room-hold-expiry");
+    }
+
+    @Test
+    void bookHold_ShouldKeepTheRoomsForTheBooking() throws Exception {
+        int scheduled = holdService.scheduledExpiries();
+        HoldDTO hold = holdService.createHold(hold(2));
+
+        mockMvc.perform(post("/api/holds/{id}/book", hold.getId()).contentType(MediaType.APPLICATION_JSON)
+                                                                   .content(objectMapper.writeValueAsString(new HoldBookingRequestDTO(3, "Jane Perera"))))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/holds/{id}/book", hold.getId()).contentType(MediaType.APPLICATION_JSON)
+                                                                   .content(objectMapper.writeValueAsString(new HoldBookingRequestDTO(2, "Jane Perera"))))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.status").value("CONFIRMED"))
+               .andExpect(jsonPath("$.numberOfRooms").value(2))
+               // 19.99 marked up by 10% is 21.99, for 2 nights, 2 adults and 2 rooms
+               .andExpect(jsonPath("$.totalPriceCents").value(2199 * 2 * 2 * 2));
+        mockMvc.perform(post("/api/holds/{id}/book", hold.getId()).contentType(MediaType.APPLICATION_JSON)
+                                                                   .content(objectMapper.writeValueAsString(new HoldBookingRequestDTO(2, "Jane Perera"))))
+               .andExpect(status().isNotFound());
+
+        assertThat(roomHoldRepository.count()).isZero();
+        assertThat(holdService.scheduledExpiries()).isEqualTo(scheduled);
+        assertThat(allocated()).containsOnly(2);
+        assertThat(availableRooms()).isEqualTo(18);
+    }
+
+    @Test
+    void releaseHold_ShouldGiveTheRoomsBackOnce() throws Exception {
+        int scheduled = holdService.scheduledExpiries();
+        HoldDTO hold = holdService.createHold(hold(4));
+
+        mockMvc.perform(get("/api/holds/{id}", hold.getId()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.numberOfRooms").value(4));
+        mockMvc.perform(delete("/api/holds/{id}", hold.getId()))
+               .andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/holds/{id}", hold.getId()))
+               .andExpect(status().isNotFound());
+
+        assertThat(allocated()).containsOnly(0);
+        assertThat(availableRooms()).isEqualTo(20);
+        assertThat(holdService.scheduledExpiries()).isEqualTo(scheduled);
+    }
+
+    @Test
+    void recover_ShouldReleaseHoldsThatExpiredWhileTheApplicationWasDown() {
+        HoldDTO active = holdService.createHold(hold(3));
+        // A hold taken before a restart whose time ran out in the meantime
+        RoomHold stale = new RoomHold();
+        stale.setRoomType(roomTypeRepository.getReferenceById(doubleRoom.getId()));
+        stale.setCheckInDate(CHECK_IN);
+        stale.setCheckOutDate(CHECK_IN.plusDays(2));
+        stale.setNumberOfRooms(5);
+        stale.setCreatedAt(LocalDateTime.now().minusMinutes(20));
+        stale.setExpiresAt(LocalDateTime.now().minusMinutes(10));
+        Long staleId = roomHoldRepository.save(stale).getId();
+        jdbcTemplate.update("UPDATE room_allocations SET allocated = allocated + 5 WHERE room_type_id = ?", doubleRoom.getId());
+        inventoryLedger.rebuild();
+        assertThat(availableRooms()).isEqualTo(12);
+
+        holdService.recover();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(roomHoldRepository.existsById(staleId)).isFalse());
+        assertThat(roomHoldRepository.existsById(active.getId())).isTrue();
+        assertThat(allocated()).containsOnly(3);
+        assertThat(availableRooms()).isEqualTo(17);
+    }
+
+    private List<Integer> allocated() {
+        return jdbcTemplate.queryForList("SELECT allocated FROM room_allocations WHERE room_type_id = ?", Integer.class,
+                doubleRoom.getId());
+    }
+
+    private int availableRooms() {
+        SearchRequestDTO search = new SearchRequestDTO(CHECK_IN, 2, List.of(new RoomRequestDTO(2, 1)));
+        return searchService.searchAvailableRooms(search, PageRequest.of(0, 10)).getContent().stream()
+                            .flatMap(result -> result.getAvailableRoomTypes().stream())
+                            .mapToInt(RoomTypeResultDTO::getAvailableRooms)
+                            .findFirst()
+                            .orElse(0);
+    }
+
+    private HoldRequestDTO hold(int rooms) {
+        return new HoldRequestDTO(doubleRoom.getId(), CHECK_IN, 2, rooms);
+    }
+
+    /**
+     * Records the names of the threads that give rooms back.
+     */
+    @TestConfiguration
+    static class GiveBackThreads {
+
+        static final List<String> NAMES = new CopyOnWriteArrayList<>();
+
+        @EventListener
+        void onInventoryChanged(InventoryChangedEvent event) {
+            if (event.rooms() < 0) {
+                NAMES.add(Thread.currentThread().getName());
+            }
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.codegen.suntravels;
 
+import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.Hotel;
 import org.junit.jupiter.api.Test;
+import com.codegen.suntravels.repository.ContractPeriod;
+import com.codegen.suntravels.repository.ContractRepository;
 import com.codegen.suntravels.repository.HotelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +25,9 @@ public class HotelRepositoryTest {
     @Autowired
     private HotelRepository hotelRepository;
 
+    @Autowired
+    private ContractRepository contractRepository;
+
     @Test
     public void testSaveHotel() {
         // Arrange
@@ -95,4 +102,31 @@ public class HotelRepositoryTest {
         // Assert
         assertThat(deletedHotel).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindContractPeriodByHotelId() {
+        // Arrange
+        Hotel hotel = new Hotel();
+        hotel.setName("Test Hotel");
+        Hotel savedHotel = hotelRepository.save(hotel);
+        LocalDate today = LocalDate.now();
+        saveContract(savedHotel, today.plusDays(10), today.plusMonths(2));
+        saveContract(savedHotel, today, today.plusMonths(1));
+
+        // Act
+        ContractPeriod period = hotelRepository.findContractPeriodByHotelId(savedHotel.getId());
+
+        // Assert
+        assertThat(period.getFromDate()).isEqualTo(today);
+        assertThat(period.getToDate()).isEqualTo(today.plusMonths(2));
+    }
+
+    private void saveContract(Hotel hotel, LocalDate startDate, LocalDate endDate) {
+        Contract contract = new Contract();
+        contract.setHotel(hotel);
+        contract.setStartDate(startDate);
+        contract.setEndDate(endDate);
+        contract.setMarkupPercentage(10.0);
+        contractRepository.save(contract);
+    }
+}
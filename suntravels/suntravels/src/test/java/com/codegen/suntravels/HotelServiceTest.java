@@ -1,16 +1,22 @@
 package com.codegen.suntravels;
 
 import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
 import com.codegen.suntravels.exception.ResourceNotFoundException;
 import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.repository.CatalogListingRepository;
+import com.codegen.suntravels.repository.CatalogListingRepository.HotelSort;
 import com.codegen.suntravels.repository.HotelRepository;
 import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.ListingCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
 import java.util.List;
@@ -27,6 +33,12 @@ public class HotelServiceTest {
     @Mock
     private HotelRepository hotelRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogListingRepository catalogListingRepository;
+
     @InjectMocks
     private HotelService hotelService;
 
@@ -52,10 +64,8 @@ public class HotelServiceTest {
     @Test
     void getAllHotels_ShouldReturnAllHotels() {
         // Arrange
-        Hotel anotherHotel = new Hotel();
-        anotherHotel.setId(2L);
-        anotherHotel.setName("Another Hotel");
-        when(hotelRepository.findAll()).thenReturn(Arrays.asList(mockHotel, anotherHotel));
+        HotelDTO anotherHotel = new HotelDTO(2L, "Another Hotel", null, null);
+        when(hotelRepository.findAllHotelDTOs()).thenReturn(Arrays.asList(mockHotelDTO, anotherHotel));
 
         // Act
         List<HotelDTO> hotels = hotelService.getAllHotels();
@@ -64,13 +74,32 @@ public class HotelServiceTest {
         assertThat(hotels).hasSize(2);
         assertThat(hotels.get(0).getName()).isEqualTo("Test Hotel");
         assertThat(hotels.get(1).getName()).isEqualTo("Another Hotel");
-        verify(hotelRepository, times(1)).findAll();
+        verify(hotelRepository, never()).findAll();
+    }
+
+    @Test
+    void listHotels_ShouldReturnSliceAndResumeAfterItsLastHotel() {
+        // Arrange
+        HotelDTO nextHotel = new HotelDTO(2L, "Test Hotel", null, null);
+        when(catalogListingRepository.findHotels("%test%", null, HotelSort.NAME, true, null, null, 2))
+                .thenReturn(List.of(mockHotelDTO, nextHotel));
+
+        // Act
+        KeysetSliceDTO<HotelDTO> first = hotelService.listHotels(" TEST ", " ", HotelSort.NAME, Sort.Direction.DESC, null, 1);
+        hotelService.listHotels("test", null, HotelSort.NAME, Sort.Direction.DESC, first.getNextCursor(), 1);
+
+        // Assert
+        assertThat(first.getContent()).containsExactly(mockHotelDTO);
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(ListingCursor.decode(first.getNextCursor(), "NAME", Sort.Direction.DESC))
+                .isEqualTo(new ListingCursor("NAME", Sort.Direction.DESC, 1L, "Test Hotel"));
+        verify(catalogListingRepository).findHotels("%test%", null, HotelSort.NAME, true, "Test Hotel", 1L, 2);
     }
 
     @Test
     void getHotelById_WithValidId_ShouldReturnHotel() {
         // Arrange
-        when(hotelRepository.findById(1L)).thenReturn(Optional.of(mockHotel));
+        when(hotelRepository.findHotelDTOById(1L)).thenReturn(Optional.of(mockHotelDTO));
 
         // Act
         HotelDTO result = hotelService.getHotelById(1L);
@@ -79,19 +108,19 @@ public class HotelServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Test Hotel");
-        verify(hotelRepository, times(1)).findById(1L);
+        verify(hotelRepository, never()).findById(any());
     }
 
     @Test
     void getHotelById_WithInvalidId_ShouldThrowException() {
         // Arrange
-        when(hotelRepository.findById(999L)).thenReturn(Optional.empty());
+        when(hotelRepository.findHotelDTOById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             hotelService.getHotelById(999L);
         });
-        verify(hotelRepository, times(1)).findById(999L);
+        verify(hotelRepository, times(1)).findHotelDTOById(999L);
     }
 
     @Test
@@ -0,0 +1,149 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.InventoryChangedEvent;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomAllocation;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.RoomAllocationRepository;
+import com.codegen.suntravels.service.InventoryLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryLedgerTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private RoomAllocationRepository roomAllocationRepository;
+
+    private InventoryLedger inventoryLedger;
+    private Contract contract;
+    private RoomType roomType;
+    private LocalDate startDate;
+
+    @BeforeEach
+    void setUp() {
+        inventoryLedger = new InventoryLedger(contractRepository, roomAllocationRepository);
+        startDate = LocalDate.of(2025, 6, 1);
+
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Test Hotel");
+
+        contract = new Contract();
+        contract.setId(1L);
+        contract.setHotel(hotel);
+        contract.setStartDate(startDate);
+        contract.setEndDate(startDate.plusDays(30));
+        contract.setMarkupPercentage(10.0);
+
+        roomType = new RoomType();
+        roomType.setId(7L);
+        roomType.setName("Deluxe Room");
+        roomType.setContract(contract);
+        roomType.setPricePerPerson(100.0);
+        roomType.setNumberOfRooms(5);
+        roomType.setMaxAdults(2);
+        contract.setRoomTypes(new ArrayList<>(List.of(roomType)));
+
+        when(contractRepository.findAllWithHotelAndRoomTypes()).thenReturn(List.of(contract));
+    }
+
+    @Test
+    void rebuild_ShouldLoadPersistedAllocations() {
+        when(roomAllocationRepository.findByRoomTypeIds(anyList()))
+                .thenReturn(List.of(new RoomAllocation(1L, roomType, startDate.plusDays(2), 3)));
+
+        inventoryLedger.rebuild();
+
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 2)).isZero();
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 3)).isEqualTo(3);
+        assertThat(inventoryLedger.maxAllocated(99L, startDate, 3)).isZero();
+    }
+
+    @Test
+    void onInventoryChanged_ShouldApplyTheRoomsToEveryNightOfTheStay() {
+        inventoryLedger.rebuild();
+
+        inventoryLedger.onInventoryChanged(new InventoryChangedEvent(7L, startDate.plusDays(1), startDate.plusDays(4), 2));
+
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 1)).isZero();
+        assertThat(inventoryLedger.maxAllocated(7L, startDate.plusDays(3), 1)).isEqualTo(2);
+        assertThat(inventoryLedger.maxAllocated(7L, startDate.plusDays(4), 1)).isZero();
+    }
+
+    @Test
+    void onInventoryChanged_WhenRoomsAreGivenBack_ShouldFreeTheNightsButNeverGoBelowZero() {
+        when(roomAllocationRepository.findByRoomTypeIds(anyList()))
+                .thenReturn(List.of(new RoomAllocation(1L, roomType, startDate, 3)));
+        inventoryLedger.rebuild();
+
+        inventoryLedger.onInventoryChanged(new InventoryChangedEvent(7L, startDate, startDate.plusDays(2), -3));
+
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 2)).isZero();
+    }
+
+    @Test
+    void onInventoryChanged_ShouldIgnoreNightsOutsideTheContractAndUnknownRoomTypes() {
+        inventoryLedger.rebuild();
+
+        inventoryLedger.onInventoryChanged(new InventoryChangedEvent(7L, startDate.minusDays(2), startDate.plusDays(1), 1));
+        inventoryLedger.onInventoryChanged(new InventoryChangedEvent(7L, startDate.plusDays(30), startDate.plusDays(33), 1));
+        inventoryLedger.onInventoryChanged(new InventoryChangedEvent(99L, startDate, startDate.plusDays(1), 1));
+
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 1)).isEqualTo(1);
+        assertThat(inventoryLedger.maxAllocated(7L, startDate.plusDays(1), 29)).isZero();
+        assertThat(inventoryLedger.maxAllocated(7L, startDate.plusDays(30), 1)).isEqualTo(1);
+        assertThat(inventoryLedger.maxAllocated(99L, startDate, 1)).isZero();
+    }
+
+    @Test
+    void onInventoryChanged_FromManyThreads_ShouldApplyEveryChange() throws Exception {
+        inventoryLedger.rebuild();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executor.submit(() -> inventoryLedger.onInventoryChanged(
+                    new InventoryChangedEvent(7L, startDate, startDate.plusDays(4), 1))));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 4)).isEqualTo(200);
+        assertThat(inventoryLedger.maxAllocated(7L, startDate.plusDays(3), 1)).isEqualTo(200);
+    }
+
+    @Test
+    void onContractChanged_WhenContractIsDeleted_ShouldDropItsLedgers() {
+        inventoryLedger.rebuild();
+        when(contractRepository.findByIdWithHotelAndRoomTypes(1L)).thenReturn(Optional.empty());
+
+        inventoryLedger.onContractChanged(new ContractChangedEvent(1L));
+        inventoryLedger.onInventoryChanged(new InventoryChangedEvent(7L, startDate, startDate.plusDays(1), 1));
+
+        assertThat(inventoryLedger.maxAllocated(7L, startDate, 1)).isZero();
+    }
+}
@@ -0,0 +1,48 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.service.Pricing;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PricingTest {
+
+    @Test
+    void toCents_ShouldRoundHalfUpOnTheDecimalValue() {
+        assertThat(Pricing.toCents(1.005)).isEqualTo(101L);
+        assertThat(Pricing.toCents(0.1 + 0.2)).isEqualTo(30L);
+        assertThat(Pricing.toCents(null)).isNull();
+    }
+
+    @Test
+    void toBasisPoints_ShouldConvertPercentages() {
+        assertThat(Pricing.toBasisPoints(12.5)).isEqualTo(1250L);
+        assertThat(Pricing.toBasisPoints(null)).isZero();
+    }
+
+    @Test
+    void markUp_ShouldRoundHalfUpToWholeCents() {
+        assertThat(Pricing.markUp(10000, 1000)).isEqualTo(11000L);
+        assertThat(Pricing.markUp(1999, 1250)).isEqualTo(2249L);
+        assertThat(Pricing.markUp(1, 5000)).isEqualTo(2L);
+        assertThat(Pricing.markUp(1999, 0)).isEqualTo(1999L);
+    }
+
+    @Test
+    void quote_ShouldMultiplyTheRateExactly() {
+        assertThat(Pricing.quote(2249, 3, 2, 2)).isEqualTo(26988L);
+        assertThatThrownBy(() -> Pricing.quote(Long.MAX_VALUE / 2, 3, 1, 1)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void roomType_ShouldStoreTheDecimalPriceAsCents() {
+        RoomType roomType = new RoomType();
+
+        roomType.setPricePerPerson(19.99);
+
+        assertThat(roomType.getPricePerPersonCents()).isEqualTo(1999L);
+        assertThat(roomType.getPricePerPerson()).isEqualTo(19.99);
+    }
+}
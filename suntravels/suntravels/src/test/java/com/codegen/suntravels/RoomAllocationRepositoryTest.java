@@ -0,0 +1,90 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomAllocation;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.repository.RoomAllocationRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+public class RoomAllocationRepositoryTest {
+
+    @Autowired
+    private RoomAllocationRepository roomAllocationRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private RoomType testRoomType;
+
+    @BeforeEach
+    void setUp() {
+        Hotel hotel = new Hotel();
+        hotel.setName("Test Hotel");
+        hotel = hotelRepository.save(hotel);
+
+        Contract contract = new Contract();
+        contract.setHotel(hotel);
+        contract.setStartDate(LocalDate.now());
+        contract.setEndDate(LocalDate.now().plusMonths(6));
+        contract.setMarkupPercentage(10.0);
+        contract = contractRepository.save(contract);
+
+        testRoomType = new RoomType();
+        testRoomType.setName("Deluxe Room");
+        testRoomType.setContract(contract);
+        testRoomType.setPricePerPerson(100.0);
+        testRoomType.setNumberOfRooms(5);
+        testRoomType.setMaxAdults(2);
+        testRoomType = roomTypeRepository.save(testRoomType);
+    }
+
+    @Test
+    public void testAllocateIfAvailableAndRelease() {
+        // Arrange
+        LocalDate night = LocalDate.now().plusDays(3);
+        roomAllocationRepository.save(new RoomAllocation(null, testRoomType, night, 2));
+        roomAllocationRepository.save(new RoomAllocation(null, testRoomType, night.plusDays(1), 4));
+        entityManager.flush();
+
+        // Act
+        int allocated = roomAllocationRepository.allocateIfAvailable(testRoomType.getId(), night, night.plusDays(2), 1);
+        int soldOut = roomAllocationRepository.allocateIfAvailable(testRoomType.getId(), night, night.plusDays(2), 1);
+        int released = roomAllocationRepository.release(testRoomType.getId(), night, night.plusDays(2), 2);
+        entityManager.clear();
+
+        // Assert
+        assertThat(allocated).isEqualTo(2);
+        assertThat(soldOut).isEqualTo(1);
+        assertThat(released).isEqualTo(2);
+        assertThat(roomAllocationRepository.findByRoomTypeIds(List.of(testRoomType.getId())))
+                .extracting(RoomAllocation::getAllocated)
+                .containsExactlyInAnyOrder(2, 3);
+    }
+}
@@ -0,0 +1,96 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.service.RoomAssigner;
+import com.codegen.suntravels.service.RoomTypeSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoomAssignerTest {
+
+    private static final RoomTypeSnapshot DOUBLE = RoomTypeSnapshot.of(1L, "Double Room", 10000, 0, 5, 2);
+    private static final RoomTypeSnapshot QUAD = RoomTypeSnapshot.of(2L, "Quad Room", 9000, 0, 5, 4);
+    private static final RoomTypeSnapshot SUITE = RoomTypeSnapshot.of(3L, "Suite", 20000, 0, 5, 6);
+
+    @Test
+    void assign_ShouldPlaceEachRoomInADifferentRoomTypeWhenNeeded() {
+        // One double and one quad: no single room type is needed for both
+        RoomAssigner.Assignment assignment = RoomAssigner.assign(List.of(DOUBLE, SUITE), new int[]{5, 5}, new int[]{2, 4}, 2);
+
+        assertThat(assignment).isNotNull();
+        assertThat(assignment.roomTypeIndexes()).containsExactly(0, 1);
+        assertThat(assignment.pricesCents()).containsExactly(40000L, 160000L);
+        assertThat(assignment.totalPriceCents()).isEqualTo(200000L);
+    }
+
+    @Test
+    void assign_ShouldPreferTheCheapestRoomTypeThatFits() {
+        RoomAssigner.Assignment assignment = RoomAssigner.assign(List.of(DOUBLE, QUAD), new int[]{5, 5}, new int[]{2, 4}, 1);
+
+        assertThat(assignment.roomTypeIndexes()).containsExactly(1, 1);
+        assertThat(assignment.totalPriceCents()).isEqualTo(54000L);
+    }
+
+    @Test
+    void assign_ShouldRespectTheAvailableRoomsOfEachRoomType() {
+        // Only one cheap quad left: the larger party gets it, the smaller one falls back to the double
+        RoomAssigner.Assignment assignment = RoomAssigner.assign(List.of(DOUBLE, QUAD), new int[]{5, 1}, new int[]{2, 4}, 1);
+
+        assertThat(assignment.roomTypeIndexes()).containsExactly(0, 1);
+        assertThat(assignment.totalPriceCents()).isEqualTo(56000L);
+    }
+
+    @Test
+    void assign_WhenARoomCannotBePlaced_ShouldReturnNull() {
+        assertThat(RoomAssigner.assign(List.of(DOUBLE), new int[]{5}, new int[]{2, 4}, 1)).isNull();
+        assertThat(RoomAssigner.assign(List.of(DOUBLE, QUAD), new int[]{1, 0}, new int[]{2, 2}, 1)).isNull();
+    }
+
+    @Test
+    void assign_ShouldMatchBruteForceSearch() {
+        Random random = new Random(7);
+        for (int run = 0; run < 300; run++) {
+            List<RoomTypeSnapshot> roomTypes = new ArrayList<>();
+            int types = 1 + random.nextInt(4);
+            int[] available = new int[types];
+            for (int type = 0; type < types; type++) {
+                roomTypes.add(RoomTypeSnapshot.of((long) type, "Room " + type, 1000 + random.nextInt(9000), 0, 3, 1 + random.nextInt(4)));
+                available[type] = random.nextInt(3);
+            }
+            int[] adults = random.ints(1 + random.nextInt(5), 1, 5).toArray();
+
+            RoomAssigner.Assignment assignment = RoomAssigner.assign(roomTypes, available, adults, 2);
+            long expected = bruteForce(roomTypes, available.clone(), adults, 0, 2);
+
+            if (expected == Long.MAX_VALUE) {
+                assertThat(assignment).isNull();
+            } else {
+                assertThat(assignment).isNotNull();
+                assertThat(assignment.totalPriceCents()).isEqualTo(expected);
+            }
+        }
+    }
+
+    private static long bruteForce(List<RoomTypeSnapshot> roomTypes, int[] available, int[] adults, int room, int nights) {
+        if (room == adults.length) {
+            return 0;
+        }
+        long best = Long.MAX_VALUE;
+        for (int type = 0; type < roomTypes.size(); type++) {
+            if (available[type] == 0 || roomTypes.get(type).maxAdults() < adults[room]) {
+                continue;
+            }
+            available[type]--;
+            long rest = bruteForce(roomTypes, available, adults, room + 1, nights);
+            available[type]++;
+            if (rest != Long.MAX_VALUE) {
+                best = Math.min(best, rest + roomTypes.get(type).ratePerPersonCents() * nights * adults[room]);
+            }
+        }
+        return best;
+    }
+}
@@ -1,6 +1,7 @@
 package com.codegen.suntravels;
 
 
+import com.codegen.suntravels.dto.RoomTypeDTO;
 import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.Hotel;
 import com.codegen.suntravels.model.RoomType;
@@ -103,35 +104,30 @@ public class RoomTypeRepositoryTest {
     }
 
     @Test
-    public void testFindValidRoomTypesForContract() {
+    public void testFindRoomTypeDTOsByContractId() {
         // Arrange
-        RoomType roomType1 = new RoomType();
-        roomType1.setName("Deluxe Room");
-        roomType1.setContract(testContract);
-        roomType1.setPricePerPerson(100.0);
-        roomType1.setNumberOfRooms(5);
-        roomType1.setMaxAdults(2);
-
-        RoomType roomType2 = new RoomType();
-        roomType2.setName("Family Room");
-        roomType2.setContract(testContract);
-        roomType2.setPricePerPerson(150.0);
-        roomType2.setNumberOfRooms(3);
-        roomType2.setMaxAdults(4);
-
-        roomTypeRepository.save(roomType1);
-        roomTypeRepository.save(roomType2);
+        RoomType roomType = new RoomType();
+        roomType.setName("Deluxe Room");
+        roomType.setContract(testContract);
+        roomType.setPricePerPerson(100.25);
+        roomType.setNumberOfRooms(5);
+        roomType.setMaxAdults(2);
+        roomType = roomTypeRepository.save(roomType);
 
-        // Act - looking for rooms that can handle 3 adults
-        List<RoomType> validRoomTypes = roomTypeRepository.findValidRoomTypesForContract(testContract.getId(), 3);
+        // Act
+        List<RoomTypeDTO> byContract = roomTypeRepository.findRoomTypeDTOsByContractId(testContract.getId());
+        List<RoomTypeDTO> byContracts = roomTypeRepository.findRoomTypeDTOsByContractIdIn(List.of(testContract.getId()));
 
         // Assert
-        assertThat(validRoomTypes).hasSize(1);
-        assertThat(validRoomTypes.get(0).getName()).isEqualTo("Family Room");
+        RoomTypeDTO expected = new RoomTypeDTO(roomType.getId(), "Deluxe Room", testContract.getId(), 10025L, 5, 2);
+        assertThat(byContract).containsExactly(expected);
+        assertThat(byContracts).containsExactly(expected);
+        assertThat(expected.getPricePerPerson()).isEqualTo(100.25);
+        assertThat(roomTypeRepository.findRoomTypeDTOById(roomType.getId())).contains(expected);
     }
 
     @Test
-    public void testFindAvailableRoomTypesForContract() {
+    public void testFindValidRoomTypesForContract() {
         // Arrange
         RoomType roomType1 = new RoomType();
         roomType1.setName("Deluxe Room");
@@ -150,12 +146,12 @@ public class RoomTypeRepositoryTest {
         roomTypeRepository.save(roomType1);
         roomTypeRepository.save(roomType2);
 
-        // Act - looking for 2 rooms that can handle 3 adults
-        List<RoomType> availableRoomTypes = roomTypeRepository.findAvailableRoomTypesForContract(
-                testContract.getId(), 2, 3);
+        // Act - looking for rooms that can handle 3 adults
+        List<RoomType> validRoomTypes = roomTypeRepository.findValidRoomTypesForContract(testContract.getId(), 3);
 
         // Assert
-        assertThat(availableRoomTypes).hasSize(1);
-        assertThat(availableRoomTypes.get(0).getName()).isEqualTo("Family Room");
+        assertThat(validRoomTypes).hasSize(1);
+        assertThat(validRoomTypes.get(0).getName()).isEqualTo("Family Room");
     }
+
 }
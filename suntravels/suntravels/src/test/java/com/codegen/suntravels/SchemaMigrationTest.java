@@ -0,0 +1,192 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.model.SearchOffer;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.SearchOfferRepository;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the Flyway migrations build the schema the entities are validated against, and that the
+ * expiry report and the search queries on the "search_offers" read model are planned on the indexes
+ * added for them.
+ *
+ * <p>The SQL Hibernate generates for each repository method is captured as it is prepared and run again
+ * under EXPLAIN with the same arguments. On H2 the index of each table is read from the plan text; run
+ * the test against MySQL by overriding spring.datasource.url and it is read from the key column.</p>
+ */
+@SpringBootTest(properties = {
+        "suntravels.search.availability-index.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.codegen.suntravels.SchemaMigrationTest$CapturingInspector"
+})
+@ActiveProfiles("test")
+public class SchemaMigrationTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2026, 1, 1);
+    private static final int CONTRACTS = 200;
+    private static final Pattern H2_INDEX = Pattern.compile("/\\* public\\.(\\w+):");
+
+    @Autowired
+    private ContractRepository contractRepository;
+
+    @Autowired
+    private SearchOfferRepository searchOfferRepository;
+
+    @Autowired
+    private SearchOfferProjector searchOfferProjector;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO hotels (name, normalized_name, location) VALUES ('Indexed Hotel', 'indexed hotel', 'Kandy')");
+        long hotelId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM hotels", Long.class);
+        List<Object[]> contracts = new ArrayList<>();
+        for (int i = 0; i < CONTRACTS; i++) {
+            LocalDate startDate = START_DATE.plusDays(i * 7L);
+            contracts.add(new Object[]{hotelId, Date.valueOf(startDate), Date.valueOf(startDate.plusDays(30)), 10.0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO contracts (hotel_id, start_date, end_date, markup_percentage) VALUES (?, ?, ?, ?)", contracts);
+        jdbcTemplate.update("INSERT INTO room_types (contract_id, name, price_per_person_cents, number_of_rooms, max_adults) " +
+                            "SELECT c.id, 'Double Room', 10000, 5, 2 FROM contracts c");
+        jdbcTemplate.update("INSERT INTO room_types (contract_id, name, price_per_person_cents, number_of_rooms, max_adults) " +
+                            "SELECT c.id, 'Family Room', 15000, 2, 4 FROM contracts c");
+        searchOfferProjector.rebuild();
+        analyze();
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("search_offers", "room_types", "contracts", "hotels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void migrations_ShouldBeAppliedInOrder() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE version IS NOT NULL AND success = TRUE ORDER BY installed_rank", String.class))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+    }
+
+    @Test
+    void findContractsExpiringBetween_ShouldUseTheEndDateIndex() {
+        LocalDate from = START_DATE.plusDays(100);
+        LocalDate to = from.plusDays(13);
+
+        assertThat(contractRepository.findContractsExpiringBetween(from, to, Pageable.unpaged())).hasSize(2);
+
+        assertThat(explainCaptured("contracts", from, to)).contains("idx_contracts_end_date");
+    }
+
+    @Test
+    void findFirstSlice_ShouldUseTheStayIndex() {
+        // Late in the catalog, so that few contracts end after the stay
+        LocalDate checkIn = START_DATE.plusDays(1300);
+        LocalDate checkOut = checkIn.plusDays(3);
+
+        assertThat(searchOfferRepository.findFirstSlice(checkIn, checkOut, 3, 1, 10))
+                .extracting(SearchOffer::getRoomTypeName)
+                .containsOnly("Family Room")
+                .hasSize(4);
+
+        assertThat(explainCaptured("search_offers", checkIn, checkOut, 3, 1, 10, 3, 1)).contains("idx_search_offers_stay");
+    }
+
+    @Test
+    void countContracts_ShouldUseTheStayIndex() {
+        LocalDate checkIn = START_DATE.plusDays(1300);
+        LocalDate checkOut = checkIn.plusDays(3);
+
+        assertThat(searchOfferRepository.countContracts(checkIn, checkOut, 2, 1)).isEqualTo(4);
+
+        assertThat(explainCaptured("search_offers", checkIn, checkOut, 2, 1)).contains("idx_search_offers_stay");
+    }
+
+    /**
+     * Explains the last statement Hibernate prepared against a table with the arguments it was run with.
+     *
+     * @return the indexes the plan reads the tables through
+     */
+    private List<String> explainCaptured(String table, Object... args) {
+        String sql = CapturingInspector.STATEMENTS.stream()
+                                                  .filter(statement -> statement.contains(" " + table + " "))
+                                                  .reduce((first, second) -> second)
+                                                  .orElseThrow();
+        Object[] jdbcArgs = Arrays.stream(args)
+                                  .map(arg -> arg instanceof LocalDate date ? Date.valueOf(date) : arg)
+                                  .toArray();
+        return isMySql() ? explainOnMySql(sql, jdbcArgs) : explainOnH2(sql, jdbcArgs);
+    }
+
+    /**
+     * Reads the indexes from H2's plan, where each table is followed by a comment naming the index it is
+     * read through and the conditions looked up in it, e.g. {@code /* public.idx_contracts_end_date: end_date >= ?1 ...}.
+     */
+    private List<String> explainOnH2(String sql, Object[] args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+        return H2_INDEX.matcher(Objects.requireNonNull(plan)).results().map(match -> match.group(1)).toList();
+    }
+
+    /**
+     * Reads the indexes from the key column MySQL's plan has for each table.
+     */
+    private List<String> explainOnMySql(String sql, Object[] args) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, args).stream()
+                           .map(row -> Objects.toString(row.get("key"), ""))
+                           .toList();
+    }
+
+    private void analyze() {
+        if (isMySql()) {
+            jdbcTemplate.execute("ANALYZE TABLE hotels, contracts, room_types, search_offers");
+        } else {
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+    private boolean isMySql() {
+        return jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName().equals("MySQL"));
+    }
+
+    /**
+     * Records every statement Hibernate prepares, so the test can explain exactly what the repository runs.
+     */
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
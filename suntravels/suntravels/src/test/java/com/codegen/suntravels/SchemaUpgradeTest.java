@@ -0,0 +1,127 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.repository.CatalogListingRepository.HotelSort;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.Pricing;
+import com.codegen.suntravels.service.RoomTypeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a database created by spring.jpa.hibernate.ddl-auto=update, before the schema was migrated by
+ * Flyway, is baselined at V1 and migrated to a schema the entities validate against, with its data intact.
+ *
+ * <p>The database is created with the DDL Hibernate generated for the original entities and filled before
+ * the application context starts on it, as an existing production database would be.</p>
+ */
+@SpringBootTest(properties = "suntravels.search.cache.enabled=false")
+@ActiveProfiles("test")
+public class SchemaUpgradeTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:upgrade-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String[] ORIGINAL_SCHEMA = {
+            "create table hotels (id bigint not null auto_increment, contact_details varchar(255), " +
+            "location varchar(255), name varchar(255) not null, primary key (id))",
+            "create table contracts (end_date date not null, markup_percentage float(53), start_date date not null, " +
+            "hotel_id bigint not null, id bigint not null auto_increment, primary key (id))",
+            "create table room_types (max_adults integer, number_of_rooms integer, price_per_person float(53), " +
+            "contract_id bigint not null, id bigint not null auto_increment, name varchar(255) not null, primary key (id))",
+            "alter table contracts add constraint FKm0dyqvbd6q4ujbadfaiscd25x foreign key (hotel_id) references hotels (id)",
+            "alter table room_types add constraint FK4l1wm0p0lxpd7hpbbp1sxbyqs foreign key (contract_id) references contracts (id)"
+    };
+
+    private static final LocalDate START_DATE = LocalDate.now();
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void originalDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (String ddl : ORIGINAL_SCHEMA) {
+                statement.execute(ddl);
+            }
+            statement.execute("insert into hotels (id, name, location) values (1, 'Café  Lanka', 'Kandy')");
+            statement.execute("insert into contracts (id, hotel_id, start_date, end_date, markup_percentage) " +
+                              "values (7, 1, DATE '" + START_DATE + "', DATE '" + START_DATE.plusDays(90) + "', 15.0)");
+            statement.execute("insert into room_types (id, contract_id, name, price_per_person, number_of_rooms, max_adults) " +
+                              "values (11, 7, 'Double Room', 19.99, 5, 2), (12, 7, 'Family Room', 45.5, 2, 4), (13, 7, 'Suite', 10.125, 1, 2)");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void migrate_ShouldBaselineTheOriginalSchemaAndApplyEveryLaterMigration() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class))
+                .containsExactly("BASELINE");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE version IS NOT NULL AND success = TRUE ORDER BY installed_rank", String.class))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9");
+    }
+
+    @Test
+    void migrate_ShouldKeepTheDataAndIndexTheExistingHotels() {
+        assertThat(jdbcTemplate.queryForObject("SELECT normalized_name FROM hotels WHERE id = 1", String.class))
+                .isEqualTo("cafe lanka");
+        assertThat(hotelService.listHotels("LANKA", null, HotelSort.NAME, Sort.Direction.ASC, null, 10).getContent())
+                .extracting(HotelDTO::getName)
+                .containsExactly("Café  Lanka");
+        assertThat(jdbcTemplate.queryForList("SELECT room_type_id FROM search_offers ORDER BY room_type_id", Long.class))
+                .containsExactly(11L, 12L, 13L);
+    }
+
+    @Test
+    void migrate_ShouldConvertThePricesToCentsRoundingHalfUp() {
+        assertThat(jdbcTemplate.queryForList("SELECT price_per_person_cents FROM room_types ORDER BY id", Long.class))
+                .containsExactly(1999L, 4550L, 1013L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns WHERE table_name = 'room_types' AND column_name = 'price_per_person'",
+                Long.class)).isZero();
+        assertThat(roomTypeService.getRoomTypeById(11L).getPricePerPerson()).isEqualTo(19.99);
+        // 15% markup, rounded half-up to whole cents like Pricing.markUp
+        assertThat(jdbcTemplate.queryForList("SELECT rate_per_person_cents FROM search_offers ORDER BY room_type_id", Long.class))
+                .containsExactly(Pricing.markUp(1999, 1500), Pricing.markUp(4550, 1500), Pricing.markUp(1013, 1500));
+    }
+
+    @Test
+    void migrate_ShouldHandOutIdsAfterTheExistingRows() {
+        ContractDTO contract = new ContractDTO();
+        contract.setHotelId(1L);
+        contract.setStartDate(START_DATE);
+        contract.setEndDate(START_DATE.plusDays(30));
+        contract.setMarkupPercentage(10.0);
+
+        assertThat(contractService.createContract(contract).getId()).isGreaterThan(7L);
+    }
+}
@@ -0,0 +1,174 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.repository.RoomTypeRepository;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares search throughput and tail latency with requests handled on Tomcat's platform thread pool
+ * and on virtual threads. Each mode gets its own application on a random port backed by a fresh H2
+ * database, with the availability index and the result cache disabled so every search goes to JDBC.
+ *
+ * <p>Excluded from the regular build, run it with {@code mvn -P load-test test}.</p>
+ */
+@Tag("load")
+public class SearchLoadTest {
+
+    private static final int HOTELS = 50;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int WARMUP_REQUESTS = 500;
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        LoadResult platform = run(false);
+        LoadResult virtual = run(true);
+
+        System.out.printf("%-9s %12s %10s %10s %8s%n", "mode", "requests/s", "p50 (ms)", "p99 (ms)", "errors");
+        for (LoadResult result : List.of(platform, virtual)) {
+            System.out.printf("%-9s %12.0f %10.1f %10.1f %8d%n", result.mode(), result.throughput(),
+                    result.percentile(50), result.percentile(99), result.errors());
+        }
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private LoadResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SuntravelsApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "spring.datasource.hikari.minimum-idle=10",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "suntravels.search.availability-index.enabled=false",
+                        "suntravels.search.cache.enabled=false")
+                .run()) {
+            seed(context);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            byte[] body = context.getBean(ObjectMapper.class).writeValueAsBytes(searchRequest());
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/search?size=10"))
+                                             .header("Content-Type", "application/json")
+                                             .timeout(Duration.ofSeconds(60))
+                                             .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                             .build();
+
+            try (HttpClient client = HttpClient.newHttpClient();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                }
+
+                long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+                AtomicInteger next = new AtomicInteger();
+                AtomicInteger errors = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+
+                long start = System.nanoTime();
+                for (int c = 0; c < CLIENTS; c++) {
+                    futures.add(clients.submit(() -> {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long sent = System.nanoTime();
+                            try {
+                                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                long elapsed = System.nanoTime() - start;
+
+                return new LoadResult(mode, latencies, elapsed, errors.get());
+            }
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        HotelRepository hotelRepository = context.getBean(HotelRepository.class);
+        ContractRepository contractRepository = context.getBean(ContractRepository.class);
+        RoomTypeRepository roomTypeRepository = context.getBean(RoomTypeRepository.class);
+
+        for (int i = 0; i < HOTELS; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setName("Load Hotel " + i);
+            hotel = hotelRepository.save(hotel);
+
+            Contract contract = new Contract();
+            contract.setHotel(hotel);
+            contract.setStartDate(LocalDate.now());
+            contract.setEndDate(LocalDate.now().plusYears(1));
+            contract.setMarkupPercentage(15.0);
+            contract = contractRepository.save(contract);
+
+            for (int adults = 1; adults <= 4; adults++) {
+                RoomType roomType = new RoomType();
+                roomType.setName(adults + " Adult Room");
+                roomType.setContract(contract);
+                roomType.setPricePerPerson(50.0 + adults * 10);
+                roomType.setNumberOfRooms(20);
+                roomType.setMaxAdults(adults);
+                roomTypeRepository.save(roomType);
+            }
+        }
+        // The repositories publish no change events, so the search offers are derived in one go
+        context.getBean(SearchOfferProjector.class).rebuild();
+    }
+
+    private static SearchRequestDTO searchRequest() {
+        return new SearchRequestDTO(LocalDate.now().plusDays(10), 3, List.of(new RoomRequestDTO(2, 1), new RoomRequestDTO(3, 1)));
+    }
+
+    private record LoadResult(String mode, long[] latencies, long elapsedNanos, int errors) {
+
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(int percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
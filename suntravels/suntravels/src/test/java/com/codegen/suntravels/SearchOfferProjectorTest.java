@@ -0,0 +1,190 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.ContractDTO;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.RoomTypeDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.model.SearchOffer;
+import com.codegen.suntravels.repository.SearchOfferRepository;
+import com.codegen.suntravels.service.ContractService;
+import com.codegen.suntravels.service.EntityCacheService;
+import com.codegen.suntravels.service.HotelService;
+import com.codegen.suntravels.service.RoomTypeService;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import com.codegen.suntravels.service.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+        "suntravels.search.availability-index.enabled=false",
+        "suntravels.search.cache.enabled=false",
+        "suntravels.search.offers.rebuild-batch-size=2"
+})
+@ActiveProfiles("test")
+public class SearchOfferProjectorTest {
+
+    private static final LocalDate START_DATE = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2026, 6, 30);
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private ContractService contractService;
+
+    @Autowired
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SearchOfferProjector searchOfferProjector;
+
+    @Autowired
+    private SearchOfferRepository searchOfferRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private HotelDTO hotel;
+    private ContractDTO contract;
+    private RoomTypeDTO doubleRoom;
+
+    @BeforeEach
+    void setUp() {
+        hotel = hotelService.createHotel(hotel("Projected Hotel"));
+        contract = contractService.createContract(contract(hotel.getId(), 10.0));
+        doubleRoom = roomTypeService.createRoomType(roomType(contract.getId(), "Double Room", 2, 1999L));
+        roomTypeService.createRoomType(roomType(contract.getId(), "Family Room", 4, 2500L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("search_offers", "room_allocations", "room_types", "contracts", "hotel_name_trigrams", "hotels")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityCacheService.evictAll();
+    }
+
+    @Test
+    void roomTypeWrites_ShouldProjectOneOfferPerRoomTypeWithTheMarkedUpRate() {
+        assertThat(offers()).extracting(SearchOffer::getRoomTypeName, SearchOffer::getHotelName,
+                                        SearchOffer::getRatePerPersonCents)
+                            .containsExactly(tuple("Double Room", "Projected Hotel", 2199L),
+                                             tuple("Family Room", "Projected Hotel", 2750L));
+
+        roomTypeService.deleteRoomType(doubleRoom.getId());
+
+        assertThat(offers()).extracting(SearchOffer::getRoomTypeName).containsExactly("Family Room");
+    }
+
+    @Test
+    void contractAndHotelWrites_ShouldUpdateTheOffers() {
+        ContractDTO update = contract(hotel.getId(), 50.0);
+        update.setEndDate(END_DATE.plusMonths(1));
+        contractService.updateContract(contract.getId(), update);
+        hotelService.updateHotel(hotel.getId(), hotel("Renamed Hotel"));
+
+        assertThat(offers()).allSatisfy(offer -> {
+            assertThat(offer.getHotelName()).isEqualTo("Renamed Hotel");
+            assertThat(offer.getEndDate()).isEqualTo(END_DATE.plusMonths(1));
+            assertThat(offer.getMarkupBasisPoints()).isEqualTo(5000L);
+        });
+        assertThat(offers()).extracting(SearchOffer::getRatePerPersonCents).containsExactly(2999L, 3750L);
+
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(
+                new SearchRequestDTO(START_DATE.plusDays(1), 2, List.of(new RoomRequestDTO(2, 1))), PageRequest.of(0, 10))
+                                                     .getContent();
+        assertThat(results).extracting(SearchResultDTO::getHotelName).containsExactly("Renamed Hotel");
+        assertThat(results.get(0).getTotalPriceCents()).isEqualTo(2999L * 2 * 2);
+
+        contractService.deleteContract(contract.getId());
+
+        assertThat(offers()).isEmpty();
+    }
+
+    @Test
+    void rolledBackWrite_ShouldLeaveTheOffersUnchanged() {
+        transactionTemplate.executeWithoutResult(status -> {
+            hotelService.updateHotel(hotel.getId(), hotel("Never Committed"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(offers()).extracting(SearchOffer::getHotelName).containsOnly("Projected Hotel");
+    }
+
+    @Test
+    void rebuild_ShouldDeriveTheOffersOfRowsWrittenWithoutTheServices() {
+        ContractDTO second = contractService.createContract(contract(hotel.getId(), 5.0));
+        roomTypeService.createRoomType(roomType(second.getId(), "Single Room", 1, 5000L));
+        ContractDTO third = contractService.createContract(contract(hotel.getId(), 5.0));
+        jdbcTemplate.update("INSERT INTO room_types (name, contract_id, price_per_person_cents, number_of_rooms, max_adults) " +
+                            "VALUES ('Suite', ?, 9000, 1, 3)", third.getId());
+        jdbcTemplate.update("UPDATE contracts SET start_date = ? WHERE id = ?", Date.valueOf(START_DATE.plusDays(7)), contract.getId());
+        jdbcTemplate.update("DELETE FROM room_types WHERE contract_id = ?", second.getId());
+        jdbcTemplate.update("DELETE FROM contracts WHERE id = ?", second.getId());
+
+        long rebuilt = searchOfferProjector.rebuild();
+
+        assertThat(rebuilt).isEqualTo(3);
+        assertThat(offers()).extracting(SearchOffer::getRoomTypeName)
+                            .containsExactlyInAnyOrder("Double Room", "Family Room", "Suite");
+        assertThat(offers()).filteredOn(offer -> offer.getContractId().equals(contract.getId()))
+                            .allSatisfy(offer -> assertThat(offer.getStartDate()).isEqualTo(START_DATE.plusDays(7)));
+    }
+
+    private List<SearchOffer> offers() {
+        return searchOfferRepository.findAll().stream()
+                                    .sorted((a, b) -> a.getRoomTypeId().compareTo(b.getRoomTypeId()))
+                                    .toList();
+    }
+
+    private static HotelDTO hotel(String name) {
+        HotelDTO hotel = new HotelDTO();
+        hotel.setName(name);
+        hotel.setLocation("Galle");
+        return hotel;
+    }
+
+    private static ContractDTO contract(Long hotelId, double markupPercentage) {
+        ContractDTO contract = new ContractDTO();
+        contract.setHotelId(hotelId);
+        contract.setStartDate(START_DATE);
+        contract.setEndDate(END_DATE);
+        contract.setMarkupPercentage(markupPercentage);
+        return contract;
+    }
+
+    private static RoomTypeDTO roomType(Long contractId, String name, int maxAdults, long pricePerPersonCents) {
+        RoomTypeDTO roomType = new RoomTypeDTO();
+        roomType.setName(name);
+        roomType.setContractId(contractId);
+        roomType.setPricePerPersonCents(pricePerPersonCents);
+        roomType.setNumberOfRooms(5);
+        roomType.setMaxAdults(maxAdults);
+        return roomType;
+    }
+}
@@ -0,0 +1,193 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.AssignedRoomDTO;
+import com.codegen.suntravels.dto.KeysetSliceDTO;
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.RoomTypeResultDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.model.Contract;
+import com.codegen.suntravels.model.Hotel;
+import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.repository.ContractStreamRepository;
+import com.codegen.suntravels.service.AvailabilityIndex;
+import com.codegen.suntravels.service.InventoryLedger;
+import com.codegen.suntravels.service.SearchMetrics;
+import com.codegen.suntravels.service.SearchOfferProjector;
+import com.codegen.suntravels.service.SearchResultCache;
+import com.codegen.suntravels.service.SearchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements issued by a search on the database path, so that a lazy association
+ * sneaking back into the search fetch plan shows up as a failing test rather than as an N+1 under load.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({SearchService.class, AvailabilityIndex.class, InventoryLedger.class, SearchResultCache.class,
+        ContractStreamRepository.class, SearchOfferProjector.class, SearchMetrics.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "suntravels.search.availability-index.enabled=false",
+        "suntravels.search.cache.enabled=false"
+})
+public class SearchQueryCountTest {
+
+    private static final int HOTELS = 6;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SearchOfferProjector searchOfferProjector;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private LocalDate checkInDate;
+
+    @BeforeEach
+    void setUp() {
+        checkInDate = LocalDate.now().plusDays(5);
+
+        for (int i = 0; i < HOTELS; i++) {
+            Hotel hotel = new Hotel();
+            hotel.setName("Hotel " + i);
+            entityManager.persist(hotel);
+
+            Contract contract = new Contract();
+            contract.setHotel(hotel);
+            contract.setStartDate(LocalDate.now());
+            contract.setEndDate(LocalDate.now().plusMonths(6));
+            contract.setMarkupPercentage(10.0);
+            entityManager.persist(contract);
+
+            entityManager.persist(roomType(contract, "Single Room", 1, 10));
+            entityManager.persist(roomType(contract, "Double Room", 2, 10));
+            entityManager.persist(roomType(contract, "Family Room", 4, 2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        searchOfferProjector.rebuild(); // the rows were persisted without going through the services
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testSearchPageLoadsInOneStatement() {
+        // Act
+        Page<SearchResultDTO> page = searchService.searchAvailableRooms(request(2, 3), PageRequest.of(0, 10));
+
+        // Assert: one statement for the offers of the page, no count for a partial first page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.getContent()).hasSize(HOTELS);
+        assertThat(page.getTotalElements()).isEqualTo(HOTELS);
+        assertThat(page.getContent().get(0).getAvailableRoomTypes())
+                .extracting(RoomTypeResultDTO::getName)
+                .containsExactlyInAnyOrder("Double Room", "Family Room");
+        assertThat(page.getContent().get(0).getAssignedRooms()).hasSize(3);
+        assertThat(page.getContent().get(0).getTotalPriceCents()).isEqualTo(198000L); // 11000 * 3 nights * 2 adults * 3 rooms
+    }
+
+    @Test
+    public void testFullSearchPageOnlyAddsCountStatement() {
+        // Act
+        Page<SearchResultDTO> page = searchService.searchAvailableRooms(request(1, 1), PageRequest.of(0, 2));
+
+        // Assert: the total is unknown from a full first page, so Spring Data adds a COUNT
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(HOTELS);
+        assertThat(page.getContent().get(0).getAvailableRoomTypes()).hasSize(3);
+    }
+
+    @Test
+    public void testSearchWithoutMatchingRoomTypeLoadsNoContracts() {
+        // Act
+        Page<SearchResultDTO> page = searchService.searchAvailableRooms(request(5, 1), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.getContent()).isEmpty();
+    }
+
+    @Test
+    public void testKeysetSlicesLoadWithoutCountStatement() {
+        // Act: walk all slices of two contracts each
+        List<String> hotelNames = new ArrayList<>();
+        KeysetSliceDTO<SearchResultDTO> slice = searchService.searchAvailableRooms(request(2, 1), null, 2);
+        hotelNames.addAll(slice.getContent().stream().map(SearchResultDTO::getHotelName).toList());
+        int slices = 1;
+        while (slice.isHasNext()) {
+            slice = searchService.searchAvailableRooms(request(2, 1), slice.getNextCursor(), 2);
+            hotelNames.addAll(slice.getContent().stream().map(SearchResultDTO::getHotelName).toList());
+            slices++;
+        }
+
+        // Assert: every contract exactly once, one statement per slice and never a COUNT
+        assertThat(hotelNames).hasSize(HOTELS).doesNotHaveDuplicates();
+        assertThat(slices).isEqualTo(HOTELS / 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(slices);
+    }
+
+    @Test
+    public void testBatchSearchLoadsContractsOnce() {
+        // Arrange: different parties and dates, one party no room type can take
+        SearchRequestDTO laterStay = request(2, 2);
+        laterStay.setCheckInDate(checkInDate.plusWeeks(2));
+        List<SearchRequestDTO> batch = List.of(request(2, 1), request(4, 1), request(5, 1), laterStay);
+
+        // Act
+        List<List<SearchResultDTO>> results = searchService.searchAvailableRoomsInBatch(batch);
+
+        // Assert: a single statement for the whole batch, results in request order
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(results).extracting(List::size).containsExactly(HOTELS, HOTELS, 0, HOTELS);
+        assertThat(results.get(1).get(0).getAssignedRooms())
+                .extracting(AssignedRoomDTO::getRoomName)
+                .containsExactly("Family Room");
+    }
+
+    private SearchRequestDTO request(int adults, int rooms) {
+        SearchRequestDTO request = new SearchRequestDTO();
+        request.setCheckInDate(checkInDate);
+        request.setNumberOfNights(3);
+        request.setRoomRequests(List.of(new RoomRequestDTO(adults, rooms)));
+        return request;
+    }
+
+    private RoomType roomType(Contract contract, String name, int maxAdults, int numberOfRooms) {
+        RoomType roomType = new RoomType();
+        roomType.setName(name);
+        roomType.setContract(contract);
+        roomType.setPricePerPerson(100.0);
+        roomType.setNumberOfRooms(numberOfRooms);
+        roomType.setMaxAdults(maxAdults);
+        return roomType;
+    }
+}
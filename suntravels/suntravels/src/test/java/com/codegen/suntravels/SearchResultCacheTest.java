@@ -0,0 +1,127 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchCacheStatsDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.codegen.suntravels.dto.SearchResultDTO;
+import com.codegen.suntravels.event.ContractChangedEvent;
+import com.codegen.suntravels.event.HotelChangedEvent;
+import com.codegen.suntravels.service.SearchCacheKey;
+import com.codegen.suntravels.service.SearchResultCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchResultCacheTest {
+
+    private SearchResultCache searchResultCache;
+    private AtomicInteger searches;
+    private LocalDate checkInDate;
+    private Pageable pageable;
+
+    @BeforeEach
+    void setUp() {
+        searchResultCache = new SearchResultCache(true, 100, Duration.ofMinutes(5));
+        searches = new AtomicInteger();
+        checkInDate = LocalDate.of(2025, 6, 1);
+        pageable = PageRequest.of(0, 10);
+    }
+
+    @Test
+    void of_ShouldSortAndMergeRoomRequests() {
+        SearchCacheKey split = SearchCacheKey.of(request(checkInDate,
+                new RoomRequestDTO(2, 1), new RoomRequestDTO(1, 1), new RoomRequestDTO(2, 2)), pageable);
+        SearchCacheKey merged = SearchCacheKey.of(request(checkInDate,
+                new RoomRequestDTO(1, null), new RoomRequestDTO(2, 3)), pageable);
+
+        assertThat(split).isEqualTo(merged);
+        assertThat(split.roomRequests()).containsExactly(
+                new SearchCacheKey.RoomRequest(1, 1), new SearchCacheKey.RoomRequest(2, 3));
+    }
+
+    @Test
+    void get_WithEquivalentRequest_ShouldHitTheCache() {
+        search(request(checkInDate, new RoomRequestDTO(2, 1), new RoomRequestDTO(1, 1)));
+        search(request(checkInDate, new RoomRequestDTO(1, 1), new RoomRequestDTO(2, 1)));
+        search(request(checkInDate, new RoomRequestDTO(1, 1), new RoomRequestDTO(2, 1)), PageRequest.of(1, 10));
+
+        SearchCacheStatsDTO stats = searchResultCache.stats();
+        assertThat(searches.get()).isEqualTo(2);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(2);
+        assertThat(stats.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    void onContractChanged_ShouldOnlyInvalidateOverlappingStays() {
+        search(request(checkInDate, new RoomRequestDTO(2, 1)));                // 1 - 4 June
+        search(request(checkInDate.plusDays(30), new RoomRequestDTO(2, 1)));   // 1 - 4 July
+
+        searchResultCache.onContractChanged(new ContractChangedEvent(1L, checkInDate.plusDays(3), checkInDate.plusDays(10)));
+
+        search(request(checkInDate, new RoomRequestDTO(2, 1)));
+        search(request(checkInDate.plusDays(30), new RoomRequestDTO(2, 1)));
+
+        assertThat(searches.get()).isEqualTo(3);
+        assertThat(searchResultCache.stats().getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void onHotelChanged_WithUnknownDates_ShouldInvalidateEverything() {
+        search(request(checkInDate, new RoomRequestDTO(2, 1)));
+        search(request(checkInDate.plusDays(30), new RoomRequestDTO(2, 1)));
+
+        searchResultCache.onHotelChanged(new HotelChangedEvent(1L));
+
+        assertThat(searchResultCache.stats().getSize()).isZero();
+        assertThat(searchResultCache.stats().getInvalidationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringSearch_ShouldNotCacheTheResult() {
+        SearchRequestDTO request = request(checkInDate, new RoomRequestDTO(2, 1));
+
+        searchResultCache.get(request, pageable, () -> {
+            searchResultCache.onContractChanged(new ContractChangedEvent(1L, checkInDate, checkInDate));
+            return Page.empty(pageable);
+        });
+
+        assertThat(searchResultCache.stats().getSize()).isZero();
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysSearch() {
+        searchResultCache = new SearchResultCache(false, 100, Duration.ofMinutes(5));
+
+        search(request(checkInDate, new RoomRequestDTO(2, 1)));
+        search(request(checkInDate, new RoomRequestDTO(2, 1)));
+
+        assertThat(searches.get()).isEqualTo(2);
+        assertThat(searchResultCache.stats().isEnabled()).isFalse();
+    }
+
+    private void search(SearchRequestDTO request) {
+        search(request, pageable);
+    }
+
+    private void search(SearchRequestDTO request, Pageable page) {
+        searchResultCache.get(request, page, () -> {
+            searches.incrementAndGet();
+            return new PageImpl<>(List.of(new SearchResultDTO()), page, 1);
+        });
+    }
+
+    private SearchRequestDTO request(LocalDate checkIn, RoomRequestDTO... roomRequests) {
+        return new SearchRequestDTO(checkIn, 3, List.of(roomRequests));
+    }
+}
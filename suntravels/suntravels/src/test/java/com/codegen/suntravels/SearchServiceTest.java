@@ -217,20 +217,36 @@ import com.codegen.suntravels.dto.*;
 import com.codegen.suntravels.model.Contract;
 import com.codegen.suntravels.model.Hotel;
 import com.codegen.suntravels.model.RoomType;
+import com.codegen.suntravels.service.AvailabilityIndex;
+import com.codegen.suntravels.service.InventoryLedger;
+import com.codegen.suntravels.service.SearchMetrics;
+import com.codegen.suntravels.service.SearchResultCache;
 import com.codegen.suntravels.service.SearchService;
-import com.codegen.suntravels.repository.ContractRepository;
+import com.codegen.suntravels.model.SearchOffer;
+import com.codegen.suntravels.repository.ContractStreamRepository;
 import com.codegen.suntravels.repository.RoomTypeRepository;
+import com.codegen.suntravels.repository.SearchOfferRepository;
+import com.codegen.suntravels.service.ContractSnapshot;
+import com.codegen.suntravels.service.Pricing;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -240,11 +256,28 @@ import static org.mockito.Mockito.*;
 public class SearchServiceTest {
 
     @Mock
-    private ContractRepository contractRepository;
+    private SearchOfferRepository searchOfferRepository;
 
     @Mock
     private RoomTypeRepository roomTypeRepository;
 
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    @Mock
+    private ContractStreamRepository contractStreamRepository;
+
+    @Spy
+    private SearchResultCache searchResultCache = new SearchResultCache(false, 0, Duration.ZERO);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SearchMetrics searchMetrics = new SearchMetrics(meterRegistry);
+
     @InjectMocks
     private SearchService searchService;
 
@@ -254,11 +287,13 @@ public class SearchServiceTest {
     private SearchRequestDTO searchRequestDTO;
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
+    private Pageable pageable;
 
     @BeforeEach
     void setUp() {
         checkInDate = LocalDate.now().plusDays(1);
         checkOutDate = checkInDate.plusDays(3);
+        pageable = PageRequest.of(0, 10);
 
         hotel = new Hotel();
         hotel.setId(1L);
@@ -281,7 +316,7 @@ public class SearchServiceTest {
 
         contract.setRoomTypes(Collections.singletonList(roomType));
 
-        RoomRequestDTO roomRequestDTO = new RoomRequestDTO(2);
+        RoomRequestDTO roomRequestDTO = new RoomRequestDTO(2, 1);
         searchRequestDTO = new SearchRequestDTO();
         searchRequestDTO.setCheckInDate(checkInDate);
         searchRequestDTO.setNumberOfNights(3);
@@ -290,10 +325,9 @@ public class SearchServiceTest {
 
     @Test
     void searchAvailableRooms_WithValidRequest_ShouldReturnResults() {
-        when(contractRepository.findValidContractsForDateRange(checkInDate, checkOutDate))
-                .thenReturn(Collections.singletonList(contract));
+        stubSearch(contract);
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertEquals(1, results.size());
@@ -301,14 +335,30 @@ public class SearchServiceTest {
         assertTrue(results.get(0).getAvailableRoomTypes().get(0).isAvailable());
         assertEquals(660.0, results.get(0).getAvailableRoomTypes().get(0).getTotalPrice());
 
-        verify(contractRepository).findValidContractsForDateRange(checkInDate, checkOutDate);
+        verify(searchOfferRepository).findPage(checkInDate, checkOutDate, 2, 1, 10, 0L);
+        verify(searchOfferRepository, never()).countContracts(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchAvailableRooms_ShouldTimeEveryStageTaggedByResultSize() {
+        stubSearch(contract);
+
+        searchService.searchAvailableRooms(searchRequestDTO, pageable);
+
+        for (String stage : List.of("contract_fetch", "room_type_evaluation", "pricing", "dto_assembly")) {
+            Timer timer = meterRegistry.find(SearchMetrics.METRIC)
+                                       .tags("stage", stage, "operation", "page", "endpoint", "none", "result.size", "1")
+                                       .timer();
+            assertNotNull(timer, stage);
+            assertEquals(1, timer.count());
+        }
     }
 
     @Test
     void searchAvailableRooms_WithEmptyRoomRequests_ShouldReturnEmptyList() {
         searchRequestDTO.setRoomRequests(Collections.emptyList());
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertTrue(results.isEmpty());
@@ -318,7 +368,7 @@ public class SearchServiceTest {
     void searchAvailableRooms_WithNegativeNumberOfNights_ShouldReturnEmptyList() {
         searchRequestDTO.setNumberOfNights(-1);
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertTrue(results.isEmpty());
@@ -326,13 +376,12 @@ public class SearchServiceTest {
 
     @Test
     void searchAvailableRooms_WithRoomRequestExceedingAvailableRooms_ShouldReturnUnavailable() {
-        searchRequestDTO.setRoomRequests(Arrays.asList(new RoomRequestDTO(2), new RoomRequestDTO(2), new RoomRequestDTO(2),
-                new RoomRequestDTO(2), new RoomRequestDTO(2), new RoomRequestDTO(2))); // 6 requests, but only 5 rooms
+        searchRequestDTO.setRoomRequests(Arrays.asList(new RoomRequestDTO(2, 1), new RoomRequestDTO(2, 1), new RoomRequestDTO(2, 1),
+                new RoomRequestDTO(2, 1), new RoomRequestDTO(2, 1), new RoomRequestDTO(2, 1))); // 6 requests, but only 5 rooms
 
-        when(contractRepository.findValidContractsForDateRange(any(), any()))
-                .thenReturn(Collections.singletonList(contract));
+        stubSearch(contract);
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertEquals(1, results.size());
@@ -342,34 +391,69 @@ public class SearchServiceTest {
     @Test
     void searchAvailableRooms_WithHighMarkup_ShouldCalculatePriceCorrectly() {
         contract.setMarkupPercentage(50.0);
-        when(contractRepository.findValidContractsForDateRange(any(), any()))
-                .thenReturn(Collections.singletonList(contract));
+        stubSearch(contract);
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertEquals(1, results.size());
         assertEquals(900.0, results.get(0).getAvailableRoomTypes().get(0).getTotalPrice()); // 100 * 1.5 * 3 * 2 = 900
     }
 
+    @Test
+    void searchAvailableRooms_WithFractionalMarkup_ShouldQuoteWholeCents() {
+        contract.setMarkupPercentage(12.5);
+        roomType.setPricePerPerson(19.99);
+        stubSearch(contract);
+
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
+
+        // 1999 cents marked up by 12.5% is 2248.875, rounded to a nightly rate of 2249 cents; 2249 * 3 * 2 = 13494
+        RoomTypeResultDTO roomTypeResult = results.get(0).getAvailableRoomTypes().get(0);
+        assertEquals(13494L, roomTypeResult.getTotalPriceCents());
+        assertEquals(134.94, roomTypeResult.getTotalPrice());
+    }
+
+    @Test
+    void searchAvailableRooms_WithDoubleAndQuadRequest_ShouldAssignEachRoomToAFittingRoomType() {
+        RoomType quadRoom = new RoomType();
+        quadRoom.setId(2L);
+        quadRoom.setName("Quad Room");
+        quadRoom.setContract(contract);
+        quadRoom.setPricePerPerson(80.0);
+        quadRoom.setNumberOfRooms(1);
+        quadRoom.setMaxAdults(4);
+        contract.setRoomTypes(List.of(roomType, quadRoom));
+        searchRequestDTO.setRoomRequests(List.of(new RoomRequestDTO(2, 1), new RoomRequestDTO(4, 1)));
+        stubSearch(contract);
+
+        SearchResultDTO result = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent().get(0);
+
+        // Neither room type takes both rooms on its own, the single quad goes to the larger party
+        assertTrue(result.getAvailableRoomTypes().stream().noneMatch(RoomTypeResultDTO::isAvailable));
+        assertEquals(List.of("Deluxe Room", "Quad Room"),
+                result.getAssignedRooms().stream().map(AssignedRoomDTO::getRoomName).toList());
+        assertEquals(List.of(2, 4), result.getAssignedRooms().stream().map(AssignedRoomDTO::getAssignedAdults).toList());
+        assertEquals(1716.0, result.getTotalPrice()); // 110 * 3 nights * 2 adults + 88 * 3 nights * 4 adults
+    }
+
     @Test
     void searchAvailableRooms_WithContractsHavingNoRoomTypes_ShouldReturnEmptyResults() {
         contract.setRoomTypes(Collections.emptyList());
-        when(contractRepository.findValidContractsForDateRange(any(), any()))
-                .thenReturn(Collections.singletonList(contract));
+        stubSearch(contract);
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertTrue(results.isEmpty());
     }
 
     @Test
-    void searchAvailableRooms_WithNullContracts_ShouldReturnEmptyResults() {
-        when(contractRepository.findValidContractsForDateRange(any(), any()))
-                .thenReturn(null);
+    void searchAvailableRooms_WithoutMatchingOffers_ShouldReturnEmptyResults() {
+        when(searchOfferRepository.findPage(any(), any(), anyInt(), anyInt(), anyInt(), anyLong()))
+                .thenReturn(List.of());
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertTrue(results.isEmpty());
@@ -378,10 +462,9 @@ public class SearchServiceTest {
     @Test
     void searchAvailableRooms_WithZeroRoomPrice_ShouldReturnZeroPrice() {
         roomType.setPricePerPerson(0.0);
-        when(contractRepository.findValidContractsForDateRange(any(), any()))
-                .thenReturn(Collections.singletonList(contract));
+        stubSearch(contract);
 
-        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO);
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
 
         assertNotNull(results);
         assertEquals(0.0, results.get(0).getAvailableRoomTypes().get(0).getTotalPrice());
@@ -392,10 +475,10 @@ public class SearchServiceTest {
         LocalDate fromDate = LocalDate.now();
         LocalDate toDate = LocalDate.now().plusDays(5);
 
-        when(contractRepository.findValidContractsForDateRange(fromDate, toDate))
-                .thenReturn(Collections.singletonList(contract));
+        when(searchOfferRepository.findPage(fromDate, toDate, 0, 0, 10, 0L))
+                .thenReturn(offersOf(contract));
 
-        List<RoomAvailabilityReportDTO> report = searchService.generateRoomAvailabilityReport(fromDate, toDate);
+        List<RoomAvailabilityReportDTO> report = searchService.generateRoomAvailabilityReport(fromDate, toDate, pageable).getContent();
 
         assertNotNull(report);
         assertEquals(1, report.size());
@@ -405,6 +488,91 @@ public class SearchServiceTest {
         assertEquals(5, report.get(0).getAvailableRooms());
         assertEquals(fromDate, report.get(0).getDate());
 
-        verify(contractRepository).findValidContractsForDateRange(fromDate, toDate);
+        verify(searchOfferRepository).findPage(fromDate, toDate, 0, 0, 10, 0L);
+    }
+
+    @Test
+    void searchAvailableRooms_WithRoomsAllocatedOnOneNight_ShouldReduceAvailableRooms() {
+        stubSearch(contract);
+        when(inventoryLedger.maxAllocated(1L, checkInDate, 3)).thenReturn(4);
+        searchRequestDTO.setRoomRequests(Collections.singletonList(new RoomRequestDTO(2, 2)));
+
+        List<SearchResultDTO> results = searchService.searchAvailableRooms(searchRequestDTO, pageable).getContent();
+
+        assertEquals(1, results.get(0).getAvailableRoomTypes().get(0).getAvailableRooms());
+        assertFalse(results.get(0).getAvailableRoomTypes().get(0).isAvailable());
+    }
+
+    @Test
+    void streamAvailableRooms_ShouldEmitEachContractWithRoomTypes() {
+        Contract empty = new Contract();
+        empty.setId(2L);
+        empty.setHotel(hotel);
+        empty.setMarkupPercentage(10.0);
+        doAnswer(invocation -> {
+            Consumer<ContractSnapshot> consumer = invocation.getArgument(4);
+            consumer.accept(ContractSnapshot.from(contract));
+            consumer.accept(ContractSnapshot.from(empty));
+            return null;
+        }).when(contractStreamRepository).streamValidContracts(eq(checkInDate), eq(checkOutDate), eq(2), eq(1), any());
+
+        List<SearchResultDTO> results = new ArrayList<>();
+        searchService.streamAvailableRooms(searchRequestDTO, results::add);
+
+        assertEquals(1, results.size());
+        assertEquals("Test Hotel", results.get(0).getHotelName());
+        assertEquals(660.0, results.get(0).getAvailableRoomTypes().get(0).getTotalPrice());
+    }
+
+    @Test
+    void streamAvailableRooms_WithInvalidRequest_ShouldNotQuery() {
+        searchRequestDTO.setNumberOfNights(0);
+
+        List<SearchResultDTO> results = new ArrayList<>();
+        searchService.streamAvailableRooms(searchRequestDTO, results::add);
+
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(contractStreamRepository);
+    }
+
+    @Test
+    void searchAvailableRoomsInBatch_ShouldReadContractsOnceAndKeepRequestOrder() {
+        SearchRequestDTO invalid = new SearchRequestDTO();
+        SearchRequestDTO tooLate = new SearchRequestDTO(LocalDate.now().plusDays(29), 3, List.of(new RoomRequestDTO(2, 1)));
+        when(searchOfferRepository.findBatchCandidates(LocalDate.now().plusDays(29), checkOutDate, 2, 1))
+                .thenReturn(offersOf(contract));
+
+        List<List<SearchResultDTO>> results =
+                searchService.searchAvailableRoomsInBatch(Arrays.asList(searchRequestDTO, invalid, tooLate, searchRequestDTO));
+
+        assertEquals(4, results.size());
+        assertEquals(660.0, results.get(0).get(0).getAvailableRoomTypes().get(0).getTotalPrice());
+        assertTrue(results.get(1).isEmpty());
+        assertTrue(results.get(2).isEmpty()); // the contract ends before the check-out date
+        assertEquals(results.get(0), results.get(3));
+        verify(searchOfferRepository, times(1)).findBatchCandidates(any(), any(), anyInt(), anyInt());
+    }
+
+    private void stubSearch(Contract... contracts) {
+        when(searchOfferRepository.findPage(any(), any(), anyInt(), anyInt(), anyInt(), anyLong()))
+                .thenReturn(offersOf(contracts));
+    }
+
+    /**
+     * Derives the search offers of contracts, as the projector writes them.
+     */
+    private static List<SearchOffer> offersOf(Contract... contracts) {
+        List<SearchOffer> offers = new ArrayList<>();
+        for (Contract contract : contracts) {
+            long markupBasisPoints = Pricing.toBasisPoints(contract.getMarkupPercentage());
+            for (RoomType roomType : contract.getRoomTypes()) {
+                offers.add(new SearchOffer(roomType.getId(), roomType.getName(), contract.getId(),
+                        contract.getHotel().getId(), contract.getHotel().getName(), contract.getStartDate(),
+                        contract.getEndDate(), markupBasisPoints, roomType.getPricePerPersonCents(),
+                        Pricing.markUp(roomType.getPricePerPersonCents(), markupBasisPoints),
+                        roomType.getNumberOfRooms(), roomType.getMaxAdults()));
+            }
+        }
+        return offers;
     }
 }
@@ -0,0 +1,78 @@
+package com.codegen.suntravels;
+
+import com.codegen.suntravels.config.ServiceMetricsAspect;
+import com.codegen.suntravels.dto.HotelDTO;
+import com.codegen.suntravels.exception.ResourceNotFoundException;
+import com.codegen.suntravels.repository.CatalogListingRepository;
+import com.codegen.suntravels.repository.HotelRepository;
+import com.codegen.suntravels.service.HotelService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceMetricsAspectTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private CatalogListingRepository catalogListingRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HotelService hotelService;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new HotelService(hotelRepository, catalogListingRepository, eventPublisher));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        hotelService = factory.getProxy();
+    }
+
+    @Test
+    void serviceMethods_ShouldBeTimedWithTheSizeOfTheirResult() {
+        HotelDTO first = new HotelDTO(1L, "First Hotel", null, null);
+        HotelDTO second = new HotelDTO(2L, "Second Hotel", null, null);
+        when(hotelRepository.findAllHotelDTOs()).thenReturn(List.of(first, second));
+
+        hotelService.getAllHotels();
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                                   .tags("service", "HotelService", "method", "getAllHotels", "endpoint", "none",
+                                         "result.size", "2-10", "exception", "none")
+                                   .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void serviceMethods_ShouldBeTimedWithTheExceptionTheyThrow() {
+        when(hotelRepository.findHotelDTOById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> hotelService.getHotelById(99L)).isInstanceOf(ResourceNotFoundException.class);
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC)
+                                   .tags("method", "getHotelById", "result.size", "n/a", "exception", "ResourceNotFoundException")
+                                   .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
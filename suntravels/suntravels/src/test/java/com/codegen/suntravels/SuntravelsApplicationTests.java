@@ -1,13 +1,68 @@
 package com.codegen.suntravels;
 
+import com.codegen.suntravels.dto.RoomRequestDTO;
+import com.codegen.suntravels.dto.SearchRequestDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
 class SuntravelsApplicationTests {
 
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void recordingEndpoints_ShouldNotExistUnlessEnabled() throws Exception {
+		mockMvc.perform(post("/api/diagnostics/recording/start")).andExpect(status().isNotFound());
+		mockMvc.perform(post("/api/diagnostics/recording/stop")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/api/diagnostics/recording")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void pagedEndpoints_ShouldClampTheRequestedSize() throws Exception {
+		String search = objectMapper.writeValueAsString(
+				new SearchRequestDTO(LocalDate.now(), 2, List.of(new RoomRequestDTO(1, 2))));
+		for (String size : List.of(String.valueOf(Integer.MAX_VALUE), "0", "-1")) {
+			mockMvc.perform(get("/api/reports/contracts/expiring").param("fromDate", LocalDate.now().toString())
+							.param("toDate", LocalDate.now().plusYears(1).toString()).param("size", size))
+				   .andExpect(status().isOk());
+			mockMvc.perform(get("/api/reports/availability").param("fromDate", LocalDate.now().toString())
+							.param("toDate", LocalDate.now().plusDays(7).toString()).param("size", size))
+				   .andExpect(status().isOk());
+			mockMvc.perform(get("/api/contracts/expiring").param("fromDate", LocalDate.now().toString())
+							.param("toDate", LocalDate.now().plusYears(1).toString()).param("page", "-1").param("size", size))
+				   .andExpect(status().isOk());
+			mockMvc.perform(get("/api/contracts/search").param("page", "-1").param("size", size))
+				   .andExpect(status().isOk());
+			mockMvc.perform(post("/api/search/cursor").param("size", size)
+							.contentType(MediaType.APPLICATION_JSON).content(search))
+				   .andExpect(status().isOk());
+			mockMvc.perform(post("/api/search").param("size", size)
+							.contentType(MediaType.APPLICATION_JSON).content(search))
+				   .andExpect(status().isOk());
+		}
+	}
+
 }
@@ -126,6 +126,8 @@ export class ContractFormComponent implements OnInit {
   addRoomType() {
     // Make sure the room type has the contract ID
     this.newRoomType.contractId = this.contract.id;
+    // The price is edited in pricePerPerson, drop the stored price so that the server takes the edited one
+    this.newRoomType.pricePerPersonCents = undefined;
     
     if (this.isEditing && this.editingIndex !== null) {
       // Update existing room type
@@ -166,94 +168,24 @@ export class ContractFormComponent implements OnInit {
 
   saveContract() {
     console.log('Attempting to save contract:', this.contract);
-  
-    if (this.contract?.id) {
-      console.log("Updating existing contract with ID:", this.contract.id);
-      this.contractService.updateContract(this.contract.id, this.contract).subscribe({
-        next: (response) => {
-          console.log("Contract updated successfully:", response);
-          if (this.contract.id !== undefined) {
-            this.saveRoomTypes(this.contract.id); // Ensure contract.id is a number
-          }
-        },
-        error: (error) => {
-          console.error("Error updating contract:", error);
-        }
-      });
-    } else {
-      console.log("Creating a new contract...");
-      this.contractService.addContract(this.contract).subscribe({
-        next: (response) => {
-          console.log("Contract successfully saved:", response);
-          if (response.id !== undefined) {
-            this.saveRoomTypes(response.id); // Ensure response.id is defined before passing it
-          }
-        },
-        error: (error) => {
-          console.error("Error saving contract:", error);
-        }
-      });
-    }
-  }
-  
 
-  saveRoomTypes(contractId: number) {
-    console.log(`Saving ${this.contract.roomTypes.length} room types for contract ${contractId}`);
-    
-    // Process each room type
-    let completedCount = 0;
-    let errorCount = 0;
-    
-    if (this.contract.roomTypes.length === 0) {
-      alert('Contract saved successfully!');
-      this.router.navigate(['/contracts']);
-      return;
-    }
-    
-    this.contract.roomTypes.forEach((roomType, index) => {
-      // Ensure contractId is set
-      roomType.contractId = contractId;
-      
-      if (roomType.id) {
-        // Update existing room type
-        this.roomTypeService.updateRoomType(roomType.id, roomType).subscribe({
-          next: () => {
-            completedCount++;
-            this.checkCompletion(completedCount, errorCount);
-          },
-          error: (err) => {
-            console.error(`Error updating room type ${index}:`, err);
-            errorCount++;
-            this.checkCompletion(completedCount, errorCount);
-          }
-        });
-      } else {
-        // Create new room type
-        this.roomTypeService.createRoomType(roomType).subscribe({
-          next: () => {
-            completedCount++;
-            this.checkCompletion(completedCount, errorCount);
-          },
-          error: (err) => {
-            console.error(`Error creating room type ${index}:`, err);
-            errorCount++;
-            this.checkCompletion(completedCount, errorCount);
-          }
-        });
-      }
-    });
-  }
-  
-  checkCompletion(completed: number, errors: number) {
-    const total = this.contract.roomTypes.length;
-    if (completed + errors === total) {
-      if (errors > 0) {
-        alert(`Contract saved with ${errors} errors in room types. Please check the console for details.`);
-      } else {
+    // The contract and its room types are saved by a single request, so either all of the changes are
+    // stored or none of them are
+    const request = this.contract?.id
+      ? this.contractService.saveContractWithRoomTypes(this.contract.id, this.contract)
+      : this.contractService.addContract(this.contract);
+
+    request.subscribe({
+      next: (response) => {
+        console.log("Contract and room types saved successfully:", response);
         alert('Contract and all room types saved successfully!');
+        this.router.navigate(['/contracts']);
+      },
+      error: (error) => {
+        console.error("Error saving contract:", error);
+        alert('The contract could not be saved. Please check the console for details.');
       }
-      this.router.navigate(['/contracts']);
-    }
+    });
   }
 
  
@@ -2,6 +2,7 @@ export interface RoomType {
   id?: number;
   name: string;
   pricePerPerson: number;
+  pricePerPersonCents?: number; // Set by the server; takes precedence over pricePerPerson when sent back
   numberOfRooms: number;
   maxAdults: number;
   contractId?: number;
@@ -5,7 +5,6 @@ import { FormsModule } from '@angular/forms';
 import { SearchService } from '../../service/search.service';
 import { SearchRequest } from '../../model/search-request.model';
 import { SearchResult } from '../../model/search-result.model';
-import { AssignedRoom } from '../../model/assignedRoom.model';
 
 
 
@@ -34,33 +33,13 @@ export class ReservationSearchComponent {
   
     this.searchService.searchAvailableRooms(this.searchRequest).subscribe(
       (results) => {
-        this.searchResults = results.map((hotel) => {
-          let assignedRooms: AssignedRoom[] = [];
-          let totalPrice = 0;
-  
-          // Allocate rooms based on requests
-          this.searchRequest.roomRequests.forEach((request) => {
-            let suitableRoom = hotel.availableRoomTypes.find(room => room.maxAdults >= request.numberOfAdults);
-  
-            if (suitableRoom) {
-              assignedRooms.push({
-                roomName: suitableRoom.name,
-                maxAdults: suitableRoom.maxAdults,
-                price: suitableRoom.totalPrice,
-                assignedAdults: request.numberOfAdults
-              });
-  
-              totalPrice += suitableRoom.totalPrice;
-            }
-          });
-  
-          return {
-            hotelName: hotel.hotelName,
-            availableRoomTypes: hotel.availableRoomTypes, // Keep for debugging if needed
-            assignedRooms: assignedRooms, // New structured data
-            totalPrice: totalPrice
-          };
-        });
+        // Rooms are assigned to the cheapest fitting room types by the server
+        this.searchResults = results.map((hotel) => ({
+          hotelName: hotel.hotelName,
+          availableRoomTypes: hotel.availableRoomTypes, // Keep for debugging if needed
+          assignedRooms: hotel.assignedRooms ?? [],
+          totalPrice: hotel.totalPrice ?? 0
+        }));
   
         this.isLoading = false;
       },
@@ -52,6 +52,11 @@ export class ContractService {
     return this.http.put<Contract>(`${this.apiUrl}/updatecontract/${id}`, contract);
   }
 
+  // Saves the contract and its complete set of room types in one transaction; room types left out are removed
+  saveContractWithRoomTypes(id: number, contract: Contract): Observable<Contract> {
+    return this.http.put<Contract>(`${this.apiUrl}/${id}/full`, contract);
+  }
+
   deleteContract(id: number): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/deletecontract/${id}`);
   }